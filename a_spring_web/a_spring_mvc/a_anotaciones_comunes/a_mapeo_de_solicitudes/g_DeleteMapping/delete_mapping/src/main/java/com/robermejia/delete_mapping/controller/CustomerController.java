@@ -1,8 +1,18 @@
 package com.robermejia.delete_mapping.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,8 +21,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robermejia.comun.busqueda.UsernameIndex;
+import com.robermejia.delete_mapping.model.BatchOperation;
+import com.robermejia.delete_mapping.model.BatchRequest;
+import com.robermejia.delete_mapping.model.BatchResult;
 import com.robermejia.delete_mapping.model.Customer;
 
 @RestController
@@ -24,68 +43,314 @@ public class CustomerController {
             new Customer(345, "Gustavo", "tavo", "345"),
             new Customer(456, "Erica", "eri", "456")));
 
+    // customers y el índice no son thread-safe: todas las lecturas y escrituras van bajo este candado
+    private final Object candado = new Object();
+
+    // Índice de usernames (trie + trigramas), se mantiene en cada POST/PUT/PATCH/DELETE
+    private final UsernameIndex<Customer> index = new UsernameIndex<>(Customer::getUsername);
+    private final ObjectMapper objectMapper;
+
+    public CustomerController(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (Customer c : customers) {
+            index.add(c);
+        }
+    }
+
+    // Como en el batch, todo lo que se devuelve es una copia: se serializa fuera del candado
     @GetMapping("/clientes")
     public List<Customer> getCustomers() {
-        return customers;
+        synchronized (candado) {
+            return copias(customers);
+        }
     }
 
     @GetMapping("/clientes/{username}")
     public Customer getCliente(@PathVariable String username) {
-        for (Customer c : customers) {
-            if (c.getUsername().equalsIgnoreCase(username)) {
-                return c;
+        synchronized (candado) {
+            Customer c = index.exact(username);
+            return c == null ? null : copia(c);
+        }
+    }
+
+    // /clientes?q=ro            => autocompletado por prefijo
+    // /clientes?q=robr&fuzzy=true => tolera errores de tipeo (distancia <= 2)
+    // Va como parámetro de /clientes y no como /clientes/search para no tapar a un cliente con ese username
+    @GetMapping(value = "/clientes", params = "q")
+    public List<Customer> searchClientes(@RequestParam String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "10") int limit) {
+        synchronized (candado) {
+            if (fuzzy) {
+                return copias(index.fuzzy(q, 2, limit));
             }
+            return copias(index.prefix(q, limit));
         }
-        return null;
     }
 
     @PostMapping("/clientes")
     public Customer postCliente(@RequestBody Customer customer) {
-        customers.add(customer);
-        return customer;
+        synchronized (candado) {
+            customers.add(customer);
+            index.add(customer);
+            return copia(customer);
+        }
     }
 
     @PutMapping("/clientes")
     public Customer putCliente(@RequestBody Customer customer) {
-        for (Customer c : customers) {
-            if (c.getID() == customer.getID()) {
-                c.setName(customer.getName());
-                c.setUsername(customer.getUsername());
-                c.setPassword(customer.getPassword());
-                return c;
+        synchronized (candado) {
+            for (Customer c : customers) {
+                if (c.getID() == customer.getID()) {
+                    actualizar(c, customer);
+                    return copia(c);
+                }
             }
+            return null;
         }
-        return null;
     }
 
     @PatchMapping("/clientes")
     public Customer pathCliente(@RequestBody Customer customer){
-        for (Customer c : customers) {
-            if(c.getID() == customer.getID()){
-                if (customer.getName() != null) 
-                    c.setName(customer.getName());
-                if (customer.getUsername() != null) {
-                    c.setUsername(customer.getUsername());
-                }
-                if (customer.getPassword() != null) {
-                    c.setPassword(customer.getPassword());
+        synchronized (candado) {
+            for (Customer c : customers) {
+                if(c.getID() == customer.getID()){
+                    parchear(c, customer);
+                    return copia(c);
                 }
-                return c;     
             }
+            return null;
         }
-        return null;
     }
 
     @DeleteMapping("/clientes/{id}")
     public Customer deleteCliente(@PathVariable int id){
+        synchronized (candado) {
+            for (Customer c : customers) {
+                if (c.getID() == id) {
+                    customers.remove(c);
+                    index.remove(c);
+                    return c;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Varias operaciones (get/create/update/patch/delete) en una sola petición.
+    // Los resultados van en el mismo orden que las operaciones.
+    // Con "atomic": true primero se validan todas y, si alguna falla, no se aplica ninguna: se devuelven
+    // solo los errores, cada uno con el mismo estado que tendría sin "atomic" (400, 404 o 409), y la
+    // respuesta lleva el estado del primero. "operations": null es un 400.
+    // Validación y aplicación ocurren en el hilo de la petición y bajo el mismo candado, así
+    // ninguna otra petición se cuela entre ambas; solo la escritura del JSON va en streaming.
+    @PostMapping("/clientes/_batch")
+    // El tipo declarado tiene que ser ResponseEntity<StreamingResponseBody> (no <?>) para que
+    // Spring lo escriba en streaming; por eso también los errores del modo atómico van así
+    public ResponseEntity<StreamingResponseBody> batchClientes(@RequestBody BatchRequest request) {
+        List<BatchOperation> operaciones = request.getOperations();
+        if (operaciones == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Falta 'operations'");
+        }
+        HttpStatus status = HttpStatus.OK;
+        List<BatchResult> resultados = null;
+        synchronized (candado) {
+            if (request.isAtomic()) {
+                resultados = validar(operaciones);
+                if (!resultados.isEmpty()) {
+                    status = HttpStatus.valueOf(resultados.get(0).getStatus());
+                }
+            }
+            if (status == HttpStatus.OK) {
+                resultados = ejecutar(operaciones);
+            }
+        }
+        List<BatchResult> respuesta = resultados;
+        StreamingResponseBody cuerpo = out -> escribir(respuesta, out);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+
+    private void escribir(List<BatchResult> resultados, OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+            gen.writeStartArray();
+            for (int i = 0; i < resultados.size(); i++) {
+                gen.writeObject(resultados.get(i));
+                if (i % 100 == 99) {
+                    gen.flush();
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    // Se llama con el candado tomado
+    private List<BatchResult> ejecutar(List<BatchOperation> operaciones) {
+        // Un solo recorrido de la lista para indexar por ID; los borrados se aplican al final
+        Map<Integer, Customer> porId = new HashMap<>();
         for (Customer c : customers) {
-            if (c.getID() == id) {
-                customers.remove(c);
-                return c;
+            porId.putIfAbsent(c.getID(), c);
+        }
+        Set<Customer> borrados = new HashSet<>();
+        List<BatchResult> resultados = new ArrayList<>(operaciones.size());
+        try {
+            for (int i = 0; i < operaciones.size(); i++) {
+                resultados.add(ejecutar(i, operaciones.get(i), porId, borrados));
+            }
+        } finally {
+            if (!borrados.isEmpty()) {
+                customers.removeIf(borrados::contains);
             }
         }
-        return null;
+        return resultados;
+    }
+
+    private BatchResult ejecutar(int i, BatchOperation op, Map<Integer, Customer> porId, Set<Customer> borrados) {
+        String error = validarCampos(op);
+        if (error != null) {
+            return error(i, op, HttpStatus.BAD_REQUEST, error);
+        }
+        HttpStatus status = op.getOp().equals("create") ? HttpStatus.CREATED : HttpStatus.OK;
+        BatchResult resultado = new BatchResult(i, op.getOp(), status.value());
+        switch (op.getOp()) {
+            case "get" -> {
+                List<Customer> encontrados = new ArrayList<>();
+                for (Integer id : op.getIds()) {
+                    Customer c = porId.get(id);
+                    if (c != null) {
+                        encontrados.add(copia(c));
+                    }
+                }
+                resultado.setCustomers(encontrados);
+            }
+            case "create" -> {
+                Customer nuevo = op.getCustomer();
+                if (porId.containsKey(nuevo.getID())) {
+                    return error(i, op, HttpStatus.CONFLICT, "Ya existe un cliente con el ID: " + nuevo.getID());
+                }
+                customers.add(nuevo);
+                index.add(nuevo);
+                porId.put(nuevo.getID(), nuevo);
+                resultado.setCustomer(copia(nuevo));
+            }
+            case "update", "patch" -> {
+                Customer c = porId.get(op.getCustomer().getID());
+                if (c == null) {
+                    return error(i, op, HttpStatus.NOT_FOUND, "Cliente no encontrado con el ID: " + op.getCustomer().getID());
+                }
+                if (op.getOp().equals("update")) {
+                    actualizar(c, op.getCustomer());
+                } else {
+                    parchear(c, op.getCustomer());
+                }
+                resultado.setCustomer(copia(c));
+            }
+            case "delete" -> {
+                Customer c = porId.remove(op.getId());
+                if (c == null) {
+                    return error(i, op, HttpStatus.NOT_FOUND, "Cliente no encontrado con el ID: " + op.getId());
+                }
+                index.remove(c);
+                borrados.add(c);
+                resultado.setCustomer(copia(c));
+            }
+            default -> {
+                return error(i, op, HttpStatus.BAD_REQUEST, "Operación no soportada: " + op.getOp());
+            }
+        }
+        return resultado;
+    }
+
+    // Simula el batch sobre los IDs existentes sin modificar nada; se llama con el candado tomado.
+    // Cada error lleva el estado que le daría ejecutar()
+    private List<BatchResult> validar(List<BatchOperation> operaciones) {
+        Set<Integer> ids = new HashSet<>();
+        for (Customer c : customers) {
+            ids.add(c.getID());
+        }
+        List<BatchResult> errores = new ArrayList<>();
+        for (int i = 0; i < operaciones.size(); i++) {
+            BatchOperation op = operaciones.get(i);
+            String error = validarCampos(op);
+            if (error != null) {
+                errores.add(error(i, op, HttpStatus.BAD_REQUEST, error));
+                continue;
+            }
+            switch (op.getOp()) {
+                case "create" -> {
+                    if (!ids.add(op.getCustomer().getID())) {
+                        errores.add(error(i, op, HttpStatus.CONFLICT, "Ya existe un cliente con el ID: " + op.getCustomer().getID()));
+                    }
+                }
+                case "update", "patch" -> {
+                    if (!ids.contains(op.getCustomer().getID())) {
+                        errores.add(error(i, op, HttpStatus.NOT_FOUND, "Cliente no encontrado con el ID: " + op.getCustomer().getID()));
+                    }
+                }
+                case "delete" -> {
+                    if (!ids.remove(op.getId())) {
+                        errores.add(error(i, op, HttpStatus.NOT_FOUND, "Cliente no encontrado con el ID: " + op.getId()));
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return errores;
+    }
+
+    private static String validarCampos(BatchOperation op) {
+        if (op == null) {
+            return "Operación vacía";
+        }
+        if (op.getOp() == null) {
+            return "Falta 'op'";
+        }
+        return switch (op.getOp()) {
+            case "get" -> op.getIds() == null ? "La operación get necesita 'ids'" : null;
+            case "create", "update", "patch" -> op.getCustomer() == null ? "La operación " + op.getOp() + " necesita 'customer'" : null;
+            case "delete" -> op.getId() == null ? "La operación delete necesita 'id'" : null;
+            default -> "Operación no soportada: " + op.getOp();
+        };
+    }
+
+    private static BatchResult error(int i, BatchOperation op, HttpStatus status, String mensaje) {
+        BatchResult resultado = new BatchResult(i, op == null ? null : op.getOp(), status.value());
+        resultado.setError(mensaje);
+        return resultado;
+    }
+
+    // Los resultados se serializan fuera del candado: se copian para no leer un cliente a medio modificar
+    private static Customer copia(Customer c) {
+        return new Customer(c.getID(), c.getName(), c.getUsername(), c.getPassword());
     }
-        
-}
 
+    private static List<Customer> copias(List<Customer> clientes) {
+        List<Customer> copias = new ArrayList<>(clientes.size());
+        for (Customer c : clientes) {
+            copias.add(copia(c));
+        }
+        return copias;
+    }
+
+    private void actualizar(Customer c, Customer datos) {
+        index.remove(c);
+        c.setName(datos.getName());
+        c.setUsername(datos.getUsername());
+        c.setPassword(datos.getPassword());
+        index.add(c);
+    }
+
+    private void parchear(Customer c, Customer datos) {
+        if (datos.getName() != null)
+            c.setName(datos.getName());
+        if (datos.getUsername() != null) {
+            index.remove(c);
+            c.setUsername(datos.getUsername());
+            index.add(c);
+        }
+        if (datos.getPassword() != null) {
+            c.setPassword(datos.getPassword());
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.robermejia.delete_mapping.model;
+
+import java.util.List;
+
+//CLASE DE TIPO POJO: una operación dentro del batch
+// op: "get" (usa ids), "create", "update", "patch" (usan customer), "delete" (usa id)
+public class BatchOperation {
+
+    private String op;
+    private Integer id;
+    private List<Integer> ids;
+    private Customer customer;
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Integer> ids) {
+        this.ids = ids;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+}
@@ -0,0 +1,28 @@
+package com.robermejia.delete_mapping.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//CLASE DE TIPO POJO: cuerpo de POST /clientes/_batch
+public class BatchRequest {
+
+    // true => si una operación falla no se aplica ninguna
+    private boolean atomic;
+    private List<BatchOperation> operations = new ArrayList<>();
+
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    public void setAtomic(boolean atomic) {
+        this.atomic = atomic;
+    }
+
+    public List<BatchOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperation> operations) {
+        this.operations = operations;
+    }
+}
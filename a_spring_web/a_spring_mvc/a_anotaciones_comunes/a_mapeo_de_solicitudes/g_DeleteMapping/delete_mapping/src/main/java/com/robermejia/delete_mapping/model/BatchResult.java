@@ -0,0 +1,59 @@
+package com.robermejia.delete_mapping.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+//CLASE DE TIPO POJO: resultado de una operación del batch (mismo orden que la petición)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+
+    private int index;
+    private String op;
+    private int status;
+    private Customer customer;
+    private List<Customer> customers;
+    private String error;
+
+    public BatchResult(int index, String op, int status) {
+        this.index = index;
+        this.op = op;
+        this.status = status;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public List<Customer> getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(List<Customer> customers) {
+        this.customers = customers;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,83 @@
+package com.robermejia.delete_mapping.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.StringJoiner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+// 1.000 PUT /clientes sueltos frente a un POST /clientes/_batch con las mismas 1.000
+// actualizaciones, por HTTP/1.1 en loopback con conexión reutilizada. No se ejecuta por defecto:
+// mvn test -Dtest=BatchBenchmarkTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchBenchmarkTests {
+
+    private static final int OPERACIONES = 1_000;
+    private static final int RONDAS = 10;
+
+    @LocalServerPort
+    int puerto;
+
+    @Test
+    void unBatchFrenteAPeticionesSueltas() throws Exception {
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            StringJoiner altas = new StringJoiner(",");
+            for (int i = 0; i < OPERACIONES; i++) {
+                altas.add("{\"op\": \"create\", \"customer\": " + cliente(1_000 + i, 0) + "}");
+            }
+            enviar(http, batch(altas.toString()));
+
+            for (int ronda = 0; ronda < RONDAS; ronda++) {
+                // Las dos primeras rondas son de calentamiento
+                boolean informar = ronda >= 2;
+                long inicio = System.nanoTime();
+                for (int i = 0; i < OPERACIONES; i++) {
+                    enviar(http, HttpRequest.newBuilder(url("/clientes")).header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString(cliente(1_000 + i, ronda))).build());
+                }
+                long sueltas = System.nanoTime() - inicio;
+
+                StringJoiner cambios = new StringJoiner(",");
+                for (int i = 0; i < OPERACIONES; i++) {
+                    cambios.add("{\"op\": \"update\", \"customer\": " + cliente(1_000 + i, ronda) + "}");
+                }
+                inicio = System.nanoTime();
+                enviar(http, batch(cambios.toString()));
+                long lote = System.nanoTime() - inicio;
+                if (informar) {
+                    System.out.printf("%d PUT sueltos: %.0f ms (%.0f ops/s); un batch: %.0f ms (%.0f ops/s)%n",
+                            OPERACIONES, sueltas / 1e6, OPERACIONES / (sueltas / 1e9), lote / 1e6,
+                            OPERACIONES / (lote / 1e9));
+                }
+            }
+        }
+    }
+
+    private void enviar(HttpClient http, HttpRequest peticion) throws Exception {
+        HttpResponse<byte[]> respuesta = http.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+        if (respuesta.statusCode() != 200) {
+            throw new AssertionError(respuesta.statusCode() + " " + new String(respuesta.body()));
+        }
+    }
+
+    private HttpRequest batch(String operaciones) {
+        return HttpRequest.newBuilder(url("/clientes/_batch")).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"atomic\": false, \"operations\": [" + operaciones + "]}"))
+                .build();
+    }
+
+    private static String cliente(int id, int version) {
+        return "{\"id\": " + id + ", \"name\": \"Cliente" + id + "\", \"username\": \"cliente" + id + "_" + version
+                + "\", \"password\": \"" + id + "\"}";
+    }
+
+    private URI url(String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+}
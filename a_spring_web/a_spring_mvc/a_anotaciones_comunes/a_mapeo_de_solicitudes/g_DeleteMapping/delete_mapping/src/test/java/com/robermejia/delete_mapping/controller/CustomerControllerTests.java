@@ -0,0 +1,139 @@
+package com.robermejia.delete_mapping.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+// POST /clientes/_batch y búsqueda de usernames; cada test parte de los 4 clientes iniciales
+@WebMvcTest(CustomerController.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CustomerControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void atomicoNoAplicaNadaSiUnaOperacionFalla() throws Exception {
+        resultados(batch(true, """
+                {"op": "create", "customer": {"id": 567, "name": "Lucía", "username": "lu", "password": "567"}},
+                {"op": "delete", "id": 123},
+                {"op": "update", "customer": {"id": 999, "name": "Nadie", "username": "nadie", "password": "x"}}
+                """))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].index").value(2))
+                .andExpect(jsonPath("$[0].status").value(404));
+
+        // Ni el alta ni el borrado anteriores se aplicaron
+        mockMvc.perform(get("/clientes"))
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].id").value(123));
+        mockMvc.perform(get("/clientes/lu")).andExpect(status().isOk())
+                .andExpect(jsonPath("$").doesNotExist());
+    }
+
+    @Test
+    void atomicoDevuelveElEstadoDeCadaOperacion() throws Exception {
+        resultados(batch(true, """
+                {"op": "create", "customer": {"id": 123, "name": "Otro", "username": "otro", "password": "x"}},
+                {"op": "delete"},
+                null,
+                {"op": "delete", "id": 999}
+                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].status").value(409))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].status").value(400))
+                .andExpect(jsonPath("$[3].status").value(404));
+        resultados(batch(true, """
+                {"op": "borrar", "id": 123}
+                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].status").value(400));
+    }
+
+    @Test
+    void operacionesNullEsUnaPeticionInvalida() throws Exception {
+        mockMvc.perform(post("/clientes/_batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"atomic\": false, \"operations\": null}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void atomicoAplicaTodoSiNadaFalla() throws Exception {
+        resultados(batch(true, """
+                {"op": "create", "customer": {"id": 567, "name": "Lucía", "username": "lu", "password": "567"}},
+                {"op": "delete", "id": 123}
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(200));
+
+        mockMvc.perform(get("/clientes"))
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[3].id").value(567));
+    }
+
+    @Test
+    void sinAtomicoAplicaLasQueFuncionanYRechazaIdsDuplicados() throws Exception {
+        resultados(batch(false, """
+                {"op": "create", "customer": {"id": 567, "name": "Lucía", "username": "lu", "password": "567"}},
+                {"op": "create", "customer": {"id": 123, "name": "Otro", "username": "otro", "password": "x"}},
+                {"op": "delete", "id": 999},
+                {"op": "patch", "customer": {"id": 234, "name": "Agustina"}},
+                {"op": "get", "ids": [234, 567]}
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(409))
+                .andExpect(jsonPath("$[2].status").value(404))
+                .andExpect(jsonPath("$[3].customer.name").value("Agustina"))
+                .andExpect(jsonPath("$[4].customers.length()").value(2));
+
+        mockMvc.perform(get("/clientes"))
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].name").value("Roberto"));
+        mockMvc.perform(get("/clientes/otro")).andExpect(jsonPath("$").doesNotExist());
+    }
+
+    private ResultActions resultados(RequestBuilder peticion) throws Exception {
+        MvcResult asincrono = mockMvc.perform(peticion).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(asincrono));
+    }
+
+    @Test
+    void buscaPorPrefijoYAproximadaSinTaparUsernames() throws Exception {
+        mockMvc.perform(post("/clientes").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": 567, \"name\": \"Sara\", \"username\": \"search\", \"password\": \"567\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/clientes/search")).andExpect(jsonPath("$.id").value(567));
+        mockMvc.perform(get("/clientes").param("q", "TA"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("tavo"));
+        mockMvc.perform(get("/clientes").param("q", "ery").param("fuzzy", "true"))
+                .andExpect(jsonPath("$[0].username").value("eri"));
+        // Sin q sigue siendo el listado completo
+        mockMvc.perform(get("/clientes")).andExpect(jsonPath("$.length()").value(5));
+    }
+
+    private static RequestBuilder batch(boolean atomico, String operaciones) {
+        return post("/clientes/_batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"atomic\": " + atomico + ", \"operations\": [" + operaciones + "]}");
+    }
+}
@@ -1,5 +1,7 @@
 package com.robermejia.path_mapping.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -10,9 +12,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.robermejia.comun.busqueda.UsernameIndex;
 import com.robermejia.path_mapping.model.Customer;
+import com.robermejia.path_mapping.service.CustomerPatch;
 
 @RestController
 public class CustomerController {
@@ -23,6 +28,15 @@ public class CustomerController {
             new Customer(345, "Gustavo", "tavo", "345"),
             new Customer(456, "Erica", "eri", "456")));
 
+    // Índice de usernames (trie + trigramas), se mantiene en cada POST/PUT/PATCH
+    private final UsernameIndex<Customer> index = new UsernameIndex<>(Customer::getUsername);
+
+    public CustomerController() {
+        for (Customer c : customers) {
+            index.add(c);
+        }
+    }
+
     @GetMapping("/clientes")
     public List<Customer> getCustomers() {
         return customers;
@@ -30,17 +44,26 @@ public class CustomerController {
 
     @GetMapping("/clientes/{username}")
     public Customer getCliente(@PathVariable String username) {
-        for (Customer c : customers) {
-            if (c.getUsername().equalsIgnoreCase(username)) {
-                return c;
-            }
+        return index.exact(username);
+    }
+
+    // /clientes?q=ro            => autocompletado por prefijo
+    // /clientes?q=robr&fuzzy=true => tolera errores de tipeo (distancia <= 2)
+    // Va como parámetro de /clientes y no como /clientes/search para no tapar a un cliente con ese username
+    @GetMapping(value = "/clientes", params = "q")
+    public List<Customer> searchClientes(@RequestParam String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (fuzzy) {
+            return index.fuzzy(q, 2, limit);
         }
-        return null;
+        return index.prefix(q, limit);
     }
 
     @PostMapping("/clientes")
     public Customer postCliente(@RequestBody Customer customer) {
         customers.add(customer);
+        index.add(customer);
         return customer;
     }
 
@@ -48,9 +71,11 @@ public class CustomerController {
     public Customer putCliente(@RequestBody Customer customer) {
         for (Customer c : customers) {
             if (c.getID() == customer.getID()) {
+                index.remove(c);
                 c.setName(customer.getName());
                 c.setUsername(customer.getUsername());
                 c.setPassword(customer.getPassword());
+                index.add(c);
                 return c;
             }
         }
@@ -64,7 +89,9 @@ public class CustomerController {
                 if (customer.getName() != null) 
                     c.setName(customer.getName());
                 if (customer.getUsername() != null) {
+                    index.remove(c);
                     c.setUsername(customer.getUsername());
+                    index.add(c);
                 }
                 if (customer.getPassword() != null) {
                     c.setPassword(customer.getPassword());
@@ -74,5 +101,47 @@ public class CustomerController {
         }
         return null;
     }
-        
+
+    // PATCH /clientes/{id} con Content-Type application/merge-patch+json (RFC 7396).
+    // A diferencia de pathCliente, un null explícito borra el campo.
+    @PatchMapping(value = "/clientes/{id}", consumes = { "application/merge-patch+json", "application/json" })
+    public Customer mergePatchCliente(@PathVariable int id, InputStream body) throws IOException {
+        Customer c = buscarPorId(id);
+        if (c == null) {
+            return null;
+        }
+        return aplicar(c, new CustomerPatch(c).mergePatch(body));
+    }
+
+    // PATCH /clientes/{id} con Content-Type application/json-patch+json (RFC 6902)
+    @PatchMapping(value = "/clientes/{id}", consumes = "application/json-patch+json")
+    public Customer jsonPatchCliente(@PathVariable int id, InputStream body) throws IOException {
+        Customer c = buscarPorId(id);
+        if (c == null) {
+            return null;
+        }
+        return aplicar(c, new CustomerPatch(c).jsonPatch(body));
+    }
+
+    private Customer aplicar(Customer c, CustomerPatch patch) {
+        boolean reindexar = patch.cambiaUsername(c);
+        if (reindexar) {
+            index.remove(c);
+        }
+        patch.aplicarA(c);
+        if (reindexar) {
+            index.add(c);
+        }
+        return c;
+    }
+
+    private Customer buscarPorId(int id) {
+        for (Customer c : customers) {
+            if (c.getID() == id) {
+                return c;
+            }
+        }
+        return null;
+    }
+
 }
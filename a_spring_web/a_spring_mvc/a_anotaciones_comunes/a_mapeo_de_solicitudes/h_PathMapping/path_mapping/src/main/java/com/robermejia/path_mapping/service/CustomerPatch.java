@@ -0,0 +1,183 @@
+package com.robermejia.path_mapping.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.robermejia.path_mapping.model.Customer;
+
+// Aplica un PATCH leyendo el cuerpo con el parser en streaming de Jackson: solo se tocan
+// los campos que aparecen en el documento, sin construir un Customer intermedio.
+// - RFC 7396 (merge patch): {"name": "Nuevo", "password": null}  => null borra el campo
+// - RFC 6902 (json patch):  [{"op": "replace", "path": "/name", "value": "Nuevo"}]
+// Los cambios se hacen sobre una copia de los campos y se aplican al final,
+// así un patch inválido no deja el cliente modificado a medias.
+// Un cuerpo que no es JSON válido o no tiene la forma esperada es un 400.
+public class CustomerPatch {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final int NAME = 0;
+    private static final int USERNAME = 1;
+    private static final int PASSWORD = 2;
+    private static final String[] CAMPOS = { "name", "username", "password" };
+
+    private final String[] valores;
+
+    public CustomerPatch(Customer customer) {
+        this.valores = new String[] { customer.getName(), customer.getUsername(), customer.getPassword() };
+    }
+
+    public CustomerPatch mergePatch(InputStream body) throws IOException {
+        try (JsonParser p = FACTORY.createParser(body)) {
+            leerMergePatch(p);
+        } catch (JsonProcessingException e) {
+            throw invalido("JSON mal formado: " + e.getOriginalMessage());
+        }
+        return this;
+    }
+
+    public CustomerPatch jsonPatch(InputStream body) throws IOException {
+        try (JsonParser p = FACTORY.createParser(body)) {
+            leerJsonPatch(p);
+        } catch (JsonProcessingException e) {
+            throw invalido("JSON mal formado: " + e.getOriginalMessage());
+        }
+        return this;
+    }
+
+    private void leerMergePatch(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw invalido("El merge patch debe ser un objeto JSON");
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = p.currentName();
+            JsonToken valor = p.nextToken();
+            int i = indice(campo);
+            if (i < 0) {
+                // ID y campos desconocidos se ignoran
+                p.skipChildren();
+                continue;
+            }
+            valores[i] = leerTexto(p, valor, campo);
+        }
+    }
+
+    private void leerJsonPatch(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_ARRAY) {
+            throw invalido("El json patch debe ser un arreglo de operaciones");
+        }
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            // Sin esta comprobación un elemento que no es objeto cortaba el bucle y se aplicaba medio patch
+            if (t != JsonToken.START_OBJECT) {
+                throw invalido("Cada operación del json patch debe ser un objeto");
+            }
+            String op = null;
+            String path = null;
+            String from = null;
+            String value = null;
+            boolean conValor = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = p.currentName();
+                JsonToken valor = p.nextToken();
+                switch (campo) {
+                    case "op" -> op = p.getValueAsString();
+                    case "path" -> path = p.getValueAsString();
+                    case "from" -> from = p.getValueAsString();
+                    case "value" -> {
+                        value = leerTexto(p, valor, "value");
+                        conValor = true;
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+            aplicar(op, path, from, value, conValor);
+        }
+    }
+
+    public boolean cambiaUsername(Customer customer) {
+        return !Objects.equals(customer.getUsername(), valores[USERNAME]);
+    }
+
+    public void aplicarA(Customer customer) {
+        customer.setName(valores[NAME]);
+        customer.setUsername(valores[USERNAME]);
+        customer.setPassword(valores[PASSWORD]);
+    }
+
+    private void aplicar(String op, String path, String from, String value, boolean conValor) {
+        if (op == null || path == null) {
+            throw invalido("Cada operación necesita 'op' y 'path'");
+        }
+        int destino = indicePath(path);
+        switch (op) {
+            case "add", "replace" -> {
+                if (!conValor) {
+                    throw invalido("La operación " + op + " necesita 'value'");
+                }
+                valores[destino] = value;
+            }
+            case "remove" -> valores[destino] = null;
+            case "test" -> {
+                // RFC 6902 §4.6: test necesita value (null también vale)
+                if (!conValor) {
+                    throw invalido("La operación test necesita 'value'");
+                }
+                if (!Objects.equals(valores[destino], value)) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Falló la prueba sobre " + path);
+                }
+            }
+            case "copy", "move" -> {
+                if (from == null) {
+                    throw invalido("La operación " + op + " necesita 'from'");
+                }
+                int origen = indicePath(from);
+                String copia = valores[origen];
+                if (op.equals("move")) {
+                    valores[origen] = null;
+                }
+                valores[destino] = copia;
+            }
+            default -> throw invalido("Operación no soportada: " + op);
+        }
+    }
+
+    private static String leerTexto(JsonParser p, JsonToken t, String campo) throws IOException {
+        if (t == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (t != JsonToken.VALUE_STRING) {
+            throw invalido("El campo " + campo + " debe ser un texto o null");
+        }
+        return p.getText();
+    }
+
+    private static int indicePath(String path) {
+        int i = path.startsWith("/") ? indice(path.substring(1)) : -1;
+        if (i < 0) {
+            throw invalido("Ruta no modificable: " + path);
+        }
+        return i;
+    }
+
+    private static int indice(String campo) {
+        for (int i = 0; i < CAMPOS.length; i++) {
+            if (CAMPOS[i].equals(campo)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ResponseStatusException invalido(String mensaje) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, mensaje);
+    }
+}
@@ -0,0 +1,82 @@
+package com.robermejia.path_mapping.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+// PATCH /clientes/{id} (merge patch y json patch); cada test parte de los 4 clientes iniciales
+@WebMvcTest(CustomerController.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CustomerControllerTests {
+
+    private static final String MERGE = "application/merge-patch+json";
+    private static final String JSON_PATCH = "application/json-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void aplicaMergePatchYJsonPatch() throws Exception {
+        patchear(MERGE, "{\"name\": \"Rober\", \"password\": null}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Rober"))
+                .andExpect(jsonPath("$.password").doesNotExist());
+        patchear(JSON_PATCH, """
+                [{"op": "test", "path": "/username", "value": "rober"},
+                 {"op": "replace", "path": "/username", "value": "roberto"}]""")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("roberto"));
+        mockMvc.perform(get("/clientes/roberto")).andExpect(jsonPath("$.id").value(123));
+    }
+
+    @Test
+    void jsonMalFormadoEsBadRequest() throws Exception {
+        patchear(MERGE, "{\"name\": \"Rober\"").andExpect(status().isBadRequest());
+        patchear(MERGE, "{name: 1}").andExpect(status().isBadRequest());
+        patchear(JSON_PATCH, "[{\"op\": \"remove\", \"path\": \"/name\"},").andExpect(status().isBadRequest());
+        sinCambios();
+    }
+
+    @Test
+    void unElementoQueNoEsObjetoEsBadRequest() throws Exception {
+        // Antes se aplicaba la primera operación y se ignoraba el resto
+        patchear(JSON_PATCH, """
+                [{"op": "replace", "path": "/name", "value": "Rober"},
+                 "remove",
+                 {"op": "remove", "path": "/password"}]""")
+                .andExpect(status().isBadRequest());
+        patchear(JSON_PATCH, "[{\"op\": \"replace\", \"path\": \"/name\", \"value\": \"Rober\"}, 1]")
+                .andExpect(status().isBadRequest());
+        sinCambios();
+    }
+
+    @Test
+    void testSinValueEsBadRequest() throws Exception {
+        patchear(JSON_PATCH, """
+                [{"op": "test", "path": "/password"},
+                 {"op": "replace", "path": "/name", "value": "Rober"}]""")
+                .andExpect(status().isBadRequest());
+        sinCambios();
+        // Con value null compara contra un campo vacío: 409 porque tiene contraseña
+        patchear(JSON_PATCH, "[{\"op\": \"test\", \"path\": \"/password\", \"value\": null}]")
+                .andExpect(status().isConflict());
+    }
+
+    private ResultActions patchear(String tipo, String cuerpo) throws Exception {
+        return mockMvc.perform(patch("/clientes/123").contentType(tipo).content(cuerpo));
+    }
+
+    private void sinCambios() throws Exception {
+        mockMvc.perform(get("/clientes/rober"))
+                .andExpect(jsonPath("$.name").value("Roberto"))
+                .andExpect(jsonPath("$.password").value("123"));
+    }
+}
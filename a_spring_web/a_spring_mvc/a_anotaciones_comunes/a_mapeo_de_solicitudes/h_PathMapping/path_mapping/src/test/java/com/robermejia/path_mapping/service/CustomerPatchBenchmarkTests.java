@@ -0,0 +1,70 @@
+package com.robermejia.path_mapping.service;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robermejia.path_mapping.model.Customer;
+
+// Bytes asignados y tiempo por PATCH: CustomerPatch (parser en streaming) frente a lo que hace
+// PATCH /clientes (Jackson construye un Customer y se copian los campos no nulos).
+// Solo la lectura del cuerpo y la modificación, sin HTTP. No se ejecuta por defecto:
+// mvn test -Dtest=CustomerPatchBenchmarkTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CustomerPatchBenchmarkTests {
+
+    private static final int CALENTAMIENTO = 200_000;
+    private static final int RONDAS = 1_000_000;
+    private static final byte[] CUERPO = "{\"id\": 123, \"name\": \"Rober\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private interface Patch {
+        void aplicar(Customer c) throws Exception;
+    }
+
+    @Test
+    void streamingFrenteACustomerIntermedio() throws Exception {
+        // Como el ObjectMapper de Spring Boot: constructor por nombres de parámetro
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        Patch intermedio = c -> {
+            Customer customer = mapper.readValue(new ByteArrayInputStream(CUERPO), Customer.class);
+            if (customer.getName() != null) {
+                c.setName(customer.getName());
+            }
+            if (customer.getUsername() != null) {
+                c.setUsername(customer.getUsername());
+            }
+            if (customer.getPassword() != null) {
+                c.setPassword(customer.getPassword());
+            }
+        };
+        Patch streaming = c -> new CustomerPatch(c).mergePatch(new ByteArrayInputStream(CUERPO)).aplicarA(c);
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            // La primera vuelta es de calentamiento
+            medir("Customer intermedio (PATCH /clientes)", intermedio, vuelta == 1);
+            medir("CustomerPatch merge patch", streaming, vuelta == 1);
+        }
+    }
+
+    private void medir(String nombre, Patch patch, boolean informar) throws Exception {
+        Customer c = new Customer(123, "Roberto", "rober", "123");
+        int rondas = informar ? RONDAS : CALENTAMIENTO;
+        long id = Thread.currentThread().threadId();
+        long bytes = hilos.getThreadAllocatedBytes(id);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < rondas; i++) {
+            patch.aplicar(c);
+        }
+        long nanos = System.nanoTime() - inicio;
+        bytes = hilos.getThreadAllocatedBytes(id) - bytes;
+        if (informar) {
+            System.out.printf("%s: %d bytes y %.0f ns por PATCH%n", nombre, bytes / rondas, (double) nanos / rondas);
+        }
+    }
+}
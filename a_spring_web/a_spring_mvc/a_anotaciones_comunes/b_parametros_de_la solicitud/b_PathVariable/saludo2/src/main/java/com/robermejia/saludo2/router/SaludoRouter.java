@@ -0,0 +1,38 @@
+package com.robermejia.saludo2.router;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.web.servlet.function.RouterFunctions.route;
+
+// Misma respuesta que MensajePersonalizadoController pero con el modelo funcional de Spring MVC
+// (RouterFunction): "Hola, " ya está codificado y solo se codifica la parte variable, que se
+// escribe directamente en la respuesta sin pasar por los conversores de mensajes
+@Configuration
+public class SaludoRouter {
+
+    private static final byte[] HOLA = "Hola, ".getBytes(StandardCharsets.UTF_8);
+    private static final String TEXTO = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8).toString();
+
+    @Bean
+    public RouterFunction<ServerResponse> saludoFuncional() {
+        return route()
+                .GET("/fn/saludo/{saludo}", peticion -> {
+                    byte[] saludo = peticion.pathVariable("saludo").getBytes(StandardCharsets.UTF_8);
+                    return ServerResponse.ok().build((request, respuesta) -> {
+                        respuesta.setContentType(TEXTO);
+                        respuesta.setContentLength(HOLA.length + saludo.length);
+                        respuesta.getOutputStream().write(HOLA);
+                        respuesta.getOutputStream().write(saludo);
+                        // null: la respuesta ya está escrita, no hay vista que renderizar
+                        return null;
+                    });
+                })
+                .build();
+    }
+}
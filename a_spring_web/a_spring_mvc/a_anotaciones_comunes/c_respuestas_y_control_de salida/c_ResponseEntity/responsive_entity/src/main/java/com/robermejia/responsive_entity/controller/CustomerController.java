@@ -1,30 +1,64 @@
 package com.robermejia.responsive_entity.controller;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
+import com.robermejia.comun.concurrencia.SingleFlight;
+import com.robermejia.responsive_entity.model.ChangeEvent;
 import com.robermejia.responsive_entity.model.Customer;
+import com.robermejia.responsive_entity.model.LoginRequest;
+import com.robermejia.responsive_entity.service.ChangeFeed;
+import com.robermejia.responsive_entity.service.PasswordService;
 
 @RestController
 @RequestMapping("/clientes")
 public class CustomerController {
 
-    List<Customer> customers = new ArrayList<>(Arrays.asList(
+    // CopyOnWriteArrayList: las respuestas asíncronas modifican la lista desde el pool de hash.
+    // Las escrituras (alta, cambio, baja y su evento) van además bajo "candado": buscar, modificar y
+    // publicar son un solo paso, así un cambio nunca se aplica ni se publica sobre un cliente ya borrado
+    List<Customer> customers = new CopyOnWriteArrayList<>(Arrays.asList(
             new Customer(123, "Roberto", "rober", "123"),
             new Customer(234, "Agustín", "agus", "234"),
             new Customer(345, "Gustavo", "tavo", "345"),
             new Customer(456, "Erica", "eri", "456")));
 
+    private final Object candado = new Object();
+    private final PasswordService passwordService;
+    private final ChangeFeed changeFeed;
+    // Peticiones simultáneas del mismo username comparten un único recorrido de la lista
+    private final SingleFlight<String, Optional<Customer>> porUsername;
+
+    public CustomerController(PasswordService passwordService, ChangeFeed changeFeed,
+            @Value("${clientes.coalescencia.timeout-ms:2000}") long timeoutMs) {
+        this.passwordService = passwordService;
+        this.changeFeed = changeFeed;
+        this.porUsername = new SingleFlight<>(Duration.ofMillis(timeoutMs));
+    }
+
     @RequestMapping(method = RequestMethod.GET)
     // @GetMapping
     public ResponseEntity<List<Customer>> getCustomers() {
@@ -35,73 +69,198 @@ public class CustomerController {
     @RequestMapping(value = "/{username}", method = RequestMethod.GET)
     // @GetMapping("/{username}")
     public ResponseEntity<?> getCliente(@PathVariable String username) {
+        Optional<Customer> cliente;
+        try {
+            cliente = porUsername.get(username.toLowerCase(Locale.ROOT), () -> buscar(username));
+        } catch (SingleFlight.TiempoAgotadoException e) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(e.getMessage());
+        }
+        if (cliente.isPresent()) {
+            //return c;
+            return ResponseEntity.ok(cliente.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Cliente no encontrado con el ID: " + username);
+    }
+
+    private Optional<Customer> buscar(String username) {
         for (Customer c : customers) {
             if (c.getUsername().equalsIgnoreCase(username)) {
-                //return c;
-                return ResponseEntity.ok(c);
+                return Optional.of(c);
             }
         }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Cliente no encontrado con el ID: " + username);
+        return Optional.empty();
     }
 
+    // El hash de la contraseña se calcula fuera del hilo de la petición; Spring MVC
+    // completa la respuesta cuando termina el CompletableFuture.
     @RequestMapping(method = RequestMethod.POST)
     // @PostMapping
-    public ResponseEntity<?> postCliente(@RequestBody Customer customer) {
-        customers.add(customer);
-        //return customer;
-        return ResponseEntity.status(HttpStatus.CREATED).body("Cliente no encontrado con el ID:  " + customer.getID());
+    public CompletableFuture<ResponseEntity<?>> postCliente(@RequestBody Customer customer) {
+        return hashOpcional(customer.getPassword()).<ResponseEntity<?>>thenApply(hash -> {
+            customer.setPassword(hash);
+            synchronized (candado) {
+                customers.add(customer);
+                changeFeed.publish(ChangeFeed.CREATED, customer);
+            }
+            //return customer;
+            return ResponseEntity.status(HttpStatus.CREATED).body("Cliente no encontrado con el ID:  " + customer.getID());
+        }).exceptionally(this::servicioOcupado);
     }
 
     @RequestMapping(method = RequestMethod.PUT)
     // @PutMapping
-    public ResponseEntity<?> putCliente(@RequestBody Customer customer) {
-        for (Customer c : customers) {
-            if (c.getID() == customer.getID()) {
+    public CompletableFuture<ResponseEntity<?>> putCliente(@RequestBody Customer customer) {
+        if (porId(customer.getID()) == null) {
+            //return null;
+            return CompletableFuture.completedFuture(noEncontrado(customer.getID()));
+        }
+        // El hash se calcula fuera del candado; el cliente se vuelve a buscar al aplicar el cambio
+        return hashOpcional(customer.getPassword()).<ResponseEntity<?>>thenApply(hash -> {
+            synchronized (candado) {
+                Customer c = porId(customer.getID());
+                if (c == null) {
+                    return noEncontrado(customer.getID());
+                }
                 c.setName(customer.getName());
                 c.setUsername(customer.getUsername());
-                c.setPassword(customer.getPassword());
-                //return c;
-                return ResponseEntity.ok("Cliente modificado exitosamente: " + customer.getID());
+                c.setPassword(hash);
+                changeFeed.publish(ChangeFeed.UPDATED, c);
             }
-        }
-        //return null;
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Cliente no encontrado con el ID: " + customer.getID());
+            //return c;
+            return ResponseEntity.ok("Cliente modificado exitosamente: " + customer.getID());
+        }).exceptionally(this::servicioOcupado);
     }
 
     @RequestMapping(method = RequestMethod.PATCH)
     // @PatchMapping
-    public ResponseEntity<?> pathCliente(@RequestBody Customer customer) {
-        for (Customer c : customers) {
-            if (c.getID() == customer.getID()) {
+    public CompletableFuture<ResponseEntity<?>> pathCliente(@RequestBody Customer customer) {
+        if (porId(customer.getID()) == null) {
+            //return null;
+            return CompletableFuture.completedFuture(noEncontrado(customer.getID()));
+        }
+        return hashOpcional(customer.getPassword()).<ResponseEntity<?>>thenApply(hash -> {
+            synchronized (candado) {
+                Customer c = porId(customer.getID());
+                if (c == null) {
+                    return noEncontrado(customer.getID());
+                }
                 if (customer.getName() != null)
                     c.setName(customer.getName());
                 if (customer.getUsername() != null) {
                     c.setUsername(customer.getUsername());
                 }
-                if (customer.getPassword() != null) {
-                    c.setPassword(customer.getPassword());
+                if (hash != null) {
+                    c.setPassword(hash);
                 }
-                //return c;
-                return ResponseEntity.ok("Cliente modificado exitosamente con el ID: " + customer.getID());
+                changeFeed.publish(ChangeFeed.UPDATED, c);
             }
-        }
-        //return null;
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Cliente no encontrado con el ID: " + customer.getID());
+            //return c;
+            return ResponseEntity.ok("Cliente modificado exitosamente con el ID: " + customer.getID());
+        }).exceptionally(this::servicioOcupado);
     }
 
     @RequestMapping(value = "/{id}", method = RequestMethod.DELETE)
     // @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCliente(@PathVariable int id) {
-        for (Customer c : customers) {
-            if (c.getID() == id) {
+        synchronized (candado) {
+            Customer c = porId(id);
+            if (c != null) {
                 customers.remove(c);
+                changeFeed.publish(ChangeFeed.DELETED, c);
                 //return c;
                 return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Mensaje no leído : " + id);
             }
         }
         //return null;
+        return noEncontrado(id);
+    }
+
+    private Customer porId(int id) {
+        for (Customer c : customers) {
+            if (c.getID() == id) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    private static ResponseEntity<?> noEncontrado(int id) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Cliente no encontrado con el ID: " + id);
     }
 
-}
+    // Verifica usuario y contraseña. Si el hash guardado usa otro coste (o texto plano)
+    // se reemplaza por uno nuevo con la configuración actual. Un usuario inexistente
+    // pasa por el mismo hash que uno real y recibe la misma respuesta.
+    @RequestMapping(value = "/login", method = RequestMethod.POST)
+    // @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest login) {
+        for (Customer c : customers) {
+            if (c.getUsername().equalsIgnoreCase(login.getUsername())) {
+                String guardado = c.getPassword();
+                return passwordService.verify(login.getPassword(), guardado).<ResponseEntity<?>>thenApply(v -> {
+                    if (!v.valida()) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Credenciales incorrectas");
+                    }
+                    if (v.nuevoHash() != null) {
+                        synchronized (candado) {
+                            if (guardado.equals(c.getPassword())) {
+                                c.setPassword(v.nuevoHash());
+                            }
+                        }
+                    }
+                    return ResponseEntity.ok("Login correcto: " + c.getUsername());
+                }).exceptionally(this::servicioOcupado);
+            }
+        }
+        return passwordService.verifyDesconocido(login.getPassword()).<ResponseEntity<?>>thenApply(
+                v -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Credenciales incorrectas"))
+                .exceptionally(this::servicioOcupado);
+    }
 
+    // Stream SSE de cambios. Para reanudar se envía la última secuencia recibida en
+    // Last-Event-ID (lo hace el navegador al reconectar) o en ?since=
+    @RequestMapping(value = "/changes", method = RequestMethod.GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    // @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "since", required = false) Long since) {
+        SseEmitter emitter = new SseEmitter(0L);
+        long desde = lastEventId != null ? lastEventId : since != null ? since : 0;
+        ChangeFeed.Suscripcion suscripcion = changeFeed.subscribe(desde, new ChangeFeed.Sink() {
+            @Override
+            public void send(ChangeEvent event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.seq()))
+                        .name(event.type())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(suscripcion::cerrar);
+        emitter.onTimeout(suscripcion::cerrar);
+        emitter.onError(e -> suscripcion.cerrar());
+        return emitter;
+    }
+
+    private CompletableFuture<String> hashOpcional(String password) {
+        if (password == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return passwordService.hash(password);
+    }
+
+    // Cola del pool de hash llena => 503 con Retry-After para que el cliente reintente
+    private ResponseEntity<?> servicioOcupado(Throwable error) {
+        Throwable causa = error instanceof CompletionException ? error.getCause() : error;
+        if (causa instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Servidor ocupado, inténtelo más tarde");
+        }
+        throw error instanceof CompletionException ce ? ce : new CompletionException(causa);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.robermejia.responsive_entity.model;
+
+// Evento del feed de cambios de clientes. type: created, updated, deleted o reset
+// (reset = el historial ya no tiene los eventos pedidos, hay que volver a leer GET /clientes).
+// No incluye la contraseña.
+public record ChangeEvent(long seq, String type, int id, String name, String username) {
+
+    public static ChangeEvent of(long seq, String type, Customer customer) {
+        return new ChangeEvent(seq, type, customer.getID(), customer.getName(), customer.getUsername());
+    }
+}
@@ -1,5 +1,7 @@
 package com.robermejia.responsive_entity.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 //CLASE DE TIPO POJO, porqué solo tiene atributos getter y setters y constructor
 public class Customer {
 
@@ -39,6 +41,8 @@ public class Customer {
         this.username = username;
     }
 
+    // Se recibe en POST/PUT/PATCH pero nunca se serializa: es el hash PBKDF2 (sal e iteraciones incluidas)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     public String getPassword() {
         return password;
     }
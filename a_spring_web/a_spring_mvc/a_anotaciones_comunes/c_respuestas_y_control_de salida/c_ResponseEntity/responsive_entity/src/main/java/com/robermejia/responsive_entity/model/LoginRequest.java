@@ -0,0 +1,32 @@
+package com.robermejia.responsive_entity.model;
+
+//CLASE DE TIPO POJO con los datos de inicio de sesión
+public class LoginRequest {
+
+    private String username;
+    private String password;
+
+    public LoginRequest() {
+    }
+
+    public LoginRequest(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
@@ -0,0 +1,287 @@
+package com.robermejia.responsive_entity.service;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.robermejia.responsive_entity.model.ChangeEvent;
+import com.robermejia.responsive_entity.model.Customer;
+
+import jakarta.annotation.PreDestroy;
+
+// Feed de cambios de clientes con números de secuencia crecientes.
+// - Guarda los últimos eventos en un buffer circular para poder reanudar desde una secuencia.
+// - Cada suscriptor tiene sus pendientes indexados por ID de cliente: si llega otro cambio del
+//   mismo cliente antes de enviarse el anterior, solo se conserva el último (coalescing).
+// - Si un suscriptor acumula más de maxPendientes clientes distintos se le desconecta;
+//   al reconectar reanuda desde su última secuencia.
+// Los envíos se hacen desde un pool compartido, no hay un hilo por suscriptor:
+// - cada turno envía como mucho "lote" eventos y vuelve a la cola del pool, así un suscriptor con
+//   mucho atraso no acapara un hilo;
+// - un envío que tarda más de escrituraMs (cliente parado con el buffer TCP lleno) desconecta al
+//   suscriptor y el pool suma un hilo mientras ese envío siga bloqueado, así los clientes lentos
+//   no dejan sin hilos al resto. El hilo queda libre cuando el contenedor agota su propio timeout
+//   de escritura.
+@Service
+public class ChangeFeed {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String RESET = "reset";
+
+    // Destino de los eventos de un suscriptor (p. ej. un SseEmitter)
+    public interface Sink {
+        void send(ChangeEvent event) throws IOException;
+
+        void close();
+    }
+
+    private final ChangeEvent[] historial;
+    private final int maxPendientes;
+    private final int lote;
+    private final long escrituraNanos;
+    private final int hilos;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService vigilante;
+    // Envíos que superaron escrituraMs y siguen ocupando un hilo del pool
+    private int atascados;
+    private final Set<Suscripcion> suscripciones = ConcurrentHashMap.newKeySet();
+    // Última secuencia asignada; solo se modifica con el lock del feed
+    private long ultimaSeq;
+
+    public ChangeFeed(
+            @Value("${clientes.changes.historial:1024}") int historial,
+            @Value("${clientes.changes.pendientes:1000}") int maxPendientes,
+            @Value("${clientes.changes.hilos:4}") int hilos,
+            @Value("${clientes.changes.lote:64}") int lote,
+            @Value("${clientes.changes.escritura-ms:5000}") long escrituraMs) {
+        this.historial = new ChangeEvent[historial];
+        this.maxPendientes = maxPendientes;
+        this.lote = lote;
+        this.escrituraNanos = TimeUnit.MILLISECONDS.toNanos(escrituraMs);
+        this.hilos = hilos;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "clientes-changes-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.vigilante = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "clientes-changes-vigilante");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodo = Math.max(1, escrituraMs / 4);
+        vigilante.scheduleWithFixedDelay(this::vigilar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    public long publish(String type, Customer customer) {
+        synchronized (this) {
+            ChangeEvent event = ChangeEvent.of(++ultimaSeq, type, customer);
+            historial[(int) (event.seq() % historial.length)] = event;
+            for (Suscripcion s : suscripciones) {
+                s.offer(event);
+            }
+            return event.seq();
+        }
+    }
+
+    // desde: última secuencia que el cliente ya recibió (0 = solo eventos nuevos)
+    public Suscripcion subscribe(long desde, Sink sink) {
+        Suscripcion s = new Suscripcion(sink);
+        synchronized (this) {
+            if (desde > 0) {
+                long primera = Math.max(1, ultimaSeq - historial.length + 1);
+                if (desde > ultimaSeq || desde + 1 < primera) {
+                    s.offer(new ChangeEvent(ultimaSeq, RESET, -1, null, null));
+                } else {
+                    for (long seq = desde + 1; seq <= ultimaSeq; seq++) {
+                        s.offer(historial[(int) (seq % historial.length)]);
+                    }
+                }
+            }
+            suscripciones.add(s);
+        }
+        return s;
+    }
+
+    public void unsubscribe(Suscripcion s) {
+        suscripciones.remove(s);
+    }
+
+    public int getSuscriptores() {
+        return suscripciones.size();
+    }
+
+    public synchronized long getUltimaSeq() {
+        return ultimaSeq;
+    }
+
+    // Hilos del pool ahora mismo (hilos + envíos atascados)
+    public int getHilos() {
+        return executor.getCorePoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        vigilante.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    // Desconecta a los suscriptores con un envío de más de escrituraMs y repone su hilo
+    private void vigilar() {
+        long ahora = System.nanoTime();
+        for (Suscripcion s : suscripciones) {
+            long desde = s.enviandoDesde;
+            if (desde != 0 && ahora - desde > escrituraNanos && s.atascada.compareAndSet(false, true)) {
+                ajustarHilos(1);
+                s.cerrar();
+            }
+        }
+    }
+
+    private void ajustarHilos(int diferencia) {
+        synchronized (executor) {
+            atascados += diferencia;
+            int total = hilos + atascados;
+            // El máximo nunca puede quedar por debajo del núcleo
+            if (diferencia > 0) {
+                executor.setMaximumPoolSize(total);
+                executor.setCorePoolSize(total);
+            } else {
+                executor.setCorePoolSize(total);
+                executor.setMaximumPoolSize(total);
+            }
+        }
+    }
+
+    public final class Suscripcion {
+
+        private final Sink sink;
+        private final LinkedHashMap<Integer, ChangeEvent> pendientes = new LinkedHashMap<>();
+        private final AtomicBoolean programada = new AtomicBoolean();
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+        private final AtomicBoolean sinkCerrado = new AtomicBoolean();
+        private final AtomicBoolean atascada = new AtomicBoolean();
+        // System.nanoTime() al empezar el envío en curso, 0 si no hay ninguno
+        private volatile long enviandoDesde;
+        private long coalescidos;
+
+        private Suscripcion(Sink sink) {
+            this.sink = sink;
+        }
+
+        private void offer(ChangeEvent event) {
+            if (cerrada.get()) {
+                return;
+            }
+            boolean desbordada = false;
+            synchronized (pendientes) {
+                // remove + put: el evento pasa al final y el orden de secuencias se mantiene
+                if (pendientes.remove(event.id()) != null) {
+                    coalescidos++;
+                } else if (pendientes.size() >= maxPendientes) {
+                    pendientes.clear();
+                    desbordada = true;
+                }
+                if (!desbordada) {
+                    pendientes.put(event.id(), event);
+                }
+            }
+            if (desbordada) {
+                cerrar();
+                return;
+            }
+            programar();
+        }
+
+        private void programar() {
+            if (programada.compareAndSet(false, true)) {
+                executor.execute(this::drenar);
+            }
+        }
+
+        // Un turno: hasta "lote" eventos; si quedan más se vuelve a la cola del pool
+        private void drenar() {
+            try {
+                for (int enviados = 0; enviados < lote && !cerrada.get(); enviados++) {
+                    ChangeEvent event;
+                    synchronized (pendientes) {
+                        Iterator<ChangeEvent> it = pendientes.values().iterator();
+                        if (!it.hasNext()) {
+                            break;
+                        }
+                        event = it.next();
+                        it.remove();
+                    }
+                    enviandoDesde = System.nanoTime();
+                    try {
+                        sink.send(event);
+                    } catch (IOException | RuntimeException e) {
+                        cerrar();
+                    } finally {
+                        enviandoDesde = 0;
+                    }
+                }
+            } finally {
+                if (atascada.get()) {
+                    // El vigilante repuso este hilo: se devuelve
+                    ajustarHilos(-1);
+                }
+            }
+            if (cerrada.get()) {
+                // El cierre (I/O sobre la conexión) siempre se hace aquí, nunca con un candado tomado
+                if (sinkCerrado.compareAndSet(false, true)) {
+                    sink.close();
+                }
+                return;
+            }
+            programada.set(false);
+            // Un offer o un cerrar() que llegó mientras programada seguía en true no programó nada
+            boolean quedan;
+            synchronized (pendientes) {
+                quedan = !pendientes.isEmpty();
+            }
+            if (quedan || cerrada.get()) {
+                programar();
+            }
+        }
+
+        // No hace I/O: deja de aceptar eventos y el cierre del sink lo hace el hilo de envío
+        public void cerrar() {
+            if (cerrada.compareAndSet(false, true)) {
+                unsubscribe(this);
+                synchronized (pendientes) {
+                    pendientes.clear();
+                }
+                // Si hay un turno en curso, él cierra el sink al terminar su envío
+                if (programada.compareAndSet(false, true)) {
+                    executor.execute(this::drenar);
+                }
+            }
+        }
+
+        public boolean isCerrada() {
+            return cerrada.get();
+        }
+
+        public long getCoalescidos() {
+            synchronized (pendientes) {
+                return coalescidos;
+            }
+        }
+    }
+}
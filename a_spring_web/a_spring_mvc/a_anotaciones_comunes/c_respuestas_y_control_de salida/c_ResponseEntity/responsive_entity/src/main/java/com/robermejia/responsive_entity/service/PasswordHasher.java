@@ -0,0 +1,119 @@
+package com.robermejia.responsive_entity.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+// Hash de contraseñas con PBKDF2 (incluido en el JDK, sin dependencias extra).
+// Formato guardado: pbkdf2$<iteraciones>$<salt base64>$<hash base64>
+// Un valor guardado corrupto (iteraciones o base64 inválidos) no verifica nunca, en lugar de lanzar.
+public class PasswordHasher {
+
+    private static final String PREFIJO = "pbkdf2";
+    private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    // Un valor corrupto con un coste enorme bloquearía un hilo del pool durante minutos
+    private static final int MAX_ITERACIONES = 10_000_000;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iteraciones;
+    // Hash de una contraseña aleatoria: se verifica contra él cuando el usuario no existe
+    // o tiene la contraseña en texto plano, para que tarde lo mismo que un usuario real
+    private final String ficticio;
+
+    public PasswordHasher(int iteraciones) {
+        if (iteraciones < 1 || iteraciones > MAX_ITERACIONES) {
+            throw new IllegalArgumentException("Las iteraciones deben estar entre 1 y " + MAX_ITERACIONES + ": " + iteraciones);
+        }
+        this.iteraciones = iteraciones;
+        byte[] aleatoria = new byte[SALT_BYTES];
+        random.nextBytes(aleatoria);
+        this.ficticio = hash(Base64.getEncoder().encodeToString(aleatoria));
+    }
+
+    public int getIteraciones() {
+        return iteraciones;
+    }
+
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iteraciones);
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIJO + "$" + iteraciones + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+    }
+
+    public boolean verify(String password, String guardado) {
+        if (password == null || guardado == null) {
+            return false;
+        }
+        String[] partes = guardado.split("\\$");
+        if (partes.length != 4 || !PREFIJO.equals(partes[0])) {
+            // Contraseña antigua en texto plano: se compara en tiempo constante y se rehashea en el login
+            verifyFicticio(password);
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), guardado.getBytes(StandardCharsets.UTF_8));
+        }
+        int coste = coste(partes[1]);
+        if (coste < 0) {
+            return false;
+        }
+        byte[] salt;
+        byte[] esperado;
+        try {
+            Base64.Decoder b64 = Base64.getDecoder();
+            salt = b64.decode(partes[2]);
+            esperado = b64.decode(partes[3]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (salt.length == 0) {
+            return false;
+        }
+        byte[] calculado = pbkdf2(password, salt, coste);
+        return MessageDigest.isEqual(esperado, calculado);
+    }
+
+    // Mismo trabajo que verify con un usuario real; el resultado siempre es false
+    public boolean verifyFicticio(String password) {
+        if (password != null) {
+            verify(password, ficticio);
+        }
+        return false;
+    }
+
+    // true si el valor guardado está en texto plano o se generó con otro coste
+    public boolean needsRehash(String guardado) {
+        if (guardado == null) {
+            return false;
+        }
+        String[] partes = guardado.split("\\$");
+        return partes.length != 4 || !PREFIJO.equals(partes[0]) || coste(partes[1]) != iteraciones;
+    }
+
+    // Iteraciones guardadas, o -1 si no son un número válido
+    private static int coste(String texto) {
+        try {
+            int coste = Integer.parseInt(texto);
+            return coste >= 1 && coste <= MAX_ITERACIONES ? coste : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iteraciones) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iteraciones, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITMO).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo calcular el hash de la contraseña", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.robermejia.responsive_entity.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+// Ejecuta el hash (deliberadamente costoso) en un pool propio y acotado,
+// para no bloquear los hilos de Tomcat. Si la cola está llena se rechaza la tarea
+// (RejectedExecutionException) y el controlador responde 503.
+@Service
+public class PasswordService {
+
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordService(
+            @Value("${clientes.password.iteraciones:210000}") int iteraciones,
+            @Value("${clientes.password.hilos:2}") int hilos,
+            @Value("${clientes.password.cola:64}") int cola) {
+        this.hasher = new PasswordHasher(iteraciones);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> hash(String password) {
+        return enviar(() -> hasher.hash(password));
+    }
+
+    // Verifica la contraseña; si es correcta y el hash guardado está desactualizado
+    // devuelve también el nuevo hash para reemplazarlo (rehash en el login).
+    public CompletableFuture<Verificacion> verify(String password, String guardado) {
+        return enviar(() -> {
+            if (!hasher.verify(password, guardado)) {
+                return new Verificacion(false, null);
+            }
+            String nuevoHash = hasher.needsRehash(guardado) ? hasher.hash(password) : null;
+            return new Verificacion(true, nuevoHash);
+        });
+    }
+
+    // Login de un usuario que no existe: mismo coste que verify, para no revelar por el
+    // tiempo de respuesta qué usernames están registrados
+    public CompletableFuture<Verificacion> verifyDesconocido(String password) {
+        return enviar(() -> new Verificacion(hasher.verifyFicticio(password), null));
+    }
+
+    // supplyAsync lanza RejectedExecutionException de forma síncrona; se convierte en un futuro fallido
+    private <T> CompletableFuture<T> enviar(Supplier<T> tarea) {
+        try {
+            return CompletableFuture.supplyAsync(tarea, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public int getPendientes() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public record Verificacion(boolean valida, String nuevoHash) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.robermejia.responsive_entity.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.robermejia.comun.concurrencia.ConcurrencyLimitInterceptor;
+
+// Sobrecarga de POST /clientes: el hash PBKDF2 es lento y la respuesta es asíncrona,
+// así que cada alta ocupa su hueco hasta que termina el CompletableFuture
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "concurrencia.escritura.inicial=4", "concurrencia.escritura.maximo=4", "clientes.password.iteraciones=100000" })
+class ConcurrencyLimitInterceptorTests {
+
+    private static final String ENDPOINT = "POST /clientes";
+
+    @LocalServerPort
+    int puerto;
+
+    @Autowired
+    ConcurrencyLimitInterceptor limites;
+
+    @Test
+    void lasAltasQueNoCabenRecibenServicioNoDisponible() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        List<CompletableFuture<HttpResponse<String>>> respuestas = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            String cliente = "{\"id\": " + (1000 + i) + ", \"name\": \"Cliente\", \"username\": \"user" + i + "\", \"password\": \"secreto\"}";
+            HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/clientes"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(cliente))
+                    .build();
+            respuestas.add(http.sendAsync(peticion, HttpResponse.BodyHandlers.ofString()));
+        }
+        int creados = 0;
+        int rechazados = 0;
+        for (CompletableFuture<HttpResponse<String>> r : respuestas) {
+            HttpResponse<String> respuesta = r.get();
+            if (respuesta.statusCode() == 201) {
+                creados++;
+            } else {
+                assertEquals(503, respuesta.statusCode());
+                assertEquals("1", respuesta.headers().firstValue("Retry-After").orElse(null));
+                rechazados++;
+            }
+        }
+        assertTrue(creados >= 4, "creados: " + creados);
+        assertTrue(rechazados > 0);
+        assertEquals(rechazados, limites.getLimite(ENDPOINT).getRechazadas());
+
+        // Las respuestas asíncronas liberan su hueco al completarse
+        for (int i = 0; i < 100 && limites.getLimite(ENDPOINT).getEnCurso() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, limites.getLimite(ENDPOINT).getEnCurso());
+        // Las lecturas tienen su propio límite
+        HttpResponse<String> lectura = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/clientes/rober")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, lectura.statusCode());
+    }
+}
@@ -0,0 +1,179 @@
+package com.robermejia.responsive_entity.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.robermejia.responsive_entity.model.Customer;
+import com.robermejia.responsive_entity.service.ChangeFeed;
+import com.robermejia.responsive_entity.service.PasswordService;
+
+// Cada test parte de los 4 clientes iniciales (contraseñas en texto plano)
+@SpringBootTest(properties = { "clientes.password.iteraciones=1000", "registro.acceso.activo=false",
+        "clientes.coalescencia.timeout-ms=1000" })
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CustomerControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerController controller;
+
+    // Lista cuyo recorrido se queda parado hasta que el test lo libera
+    static class ListaLenta extends CopyOnWriteArrayList<Customer> {
+        final AtomicInteger recorridos = new AtomicInteger();
+        final CountDownLatch dentro = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+
+        ListaLenta(List<Customer> clientes) {
+            super(clientes);
+        }
+
+        @Override
+        public Iterator<Customer> iterator() {
+            recorridos.incrementAndGet();
+            dentro.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.iterator();
+        }
+    }
+
+    @Test
+    void loginCorrectoRehasheaYSigueFuncionando() throws Exception {
+        login("rober", "123").andExpect(status().isOk()).andExpect(content().string("Login correcto: rober"));
+        // Ya con el hash PBKDF2 guardado
+        login("ROBER", "123").andExpect(status().isOk());
+        login("rober", "1234").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void usuarioInexistenteRespondeIgualQueContrasenaIncorrecta() throws Exception {
+        String incorrecta = login("rober", "mal").andExpect(status().isUnauthorized())
+                .andReturn().getResponse().getContentAsString();
+        login("nadie", "mal").andExpect(status().isUnauthorized()).andExpect(content().string(incorrecta));
+    }
+
+    @Test
+    void lasRespuestasNoIncluyenLaContrasena() throws Exception {
+        login("rober", "123").andExpect(status().isOk());
+        mockMvc.perform(get("/clientes"))
+                .andExpect(jsonPath("$[0].username").value("rober"))
+                .andExpect(jsonPath("$[0].password").doesNotExist());
+        mockMvc.perform(get("/clientes/rober"))
+                .andExpect(jsonPath("$.name").value("Roberto"))
+                .andExpect(jsonPath("$.password").doesNotExist());
+    }
+
+    // El hash del PUT termina después de un DELETE del mismo cliente: ni lo modifica ni publica UPDATED
+    @Test
+    void unCambioQueTerminaTrasElBorradoNoResucitaAlCliente() throws Exception {
+        CompletableFuture<String> hash = new CompletableFuture<>();
+        PasswordService hashLento = new PasswordService(1000, 1, 1) {
+            @Override
+            public CompletableFuture<String> hash(String password) {
+                return hash;
+            }
+        };
+        ChangeFeed feed = new ChangeFeed(64, 100, 1, 64, 5000);
+        try {
+            CustomerController clientes = new CustomerController(hashLento, feed, 1000);
+            CompletableFuture<ResponseEntity<?>> put = clientes.putCliente(new Customer(234, "Agustina", "agus", "nueva"));
+            assertEquals(HttpStatus.NO_CONTENT, clientes.deleteCliente(234).getStatusCode());
+            long trasBorrar = feed.getUltimaSeq();
+
+            hash.complete("hash");
+            assertEquals(HttpStatus.NOT_FOUND, put.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(trasBorrar, feed.getUltimaSeq());
+            assertNull(clientes.getCustomers().getBody().stream().filter(c -> c.getID() == 234).findAny().orElse(null));
+        } finally {
+            feed.shutdown();
+            hashLento.shutdown();
+        }
+    }
+
+    @Test
+    void busquedasSimultaneasDelMismoUsernameRecorrenLaListaUnaVez() throws Exception {
+        ListaLenta lista = new ListaLenta(controller.customers);
+        controller.customers = lista;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResponseEntity<?>>> respuestas = new ArrayList<>();
+            respuestas.add(pool.submit(() -> controller.getCliente("rober")));
+            lista.dentro.await();
+            // La clave no distingue mayúsculas
+            for (int i = 0; i < 7; i++) {
+                String username = i % 2 == 0 ? "ROBER" : "rober";
+                respuestas.add(pool.submit(() -> controller.getCliente(username)));
+            }
+            Thread.sleep(300);
+            lista.liberar.countDown();
+            for (Future<ResponseEntity<?>> respuesta : respuestas) {
+                assertEquals(HttpStatus.OK, respuesta.get(5, TimeUnit.SECONDS).getStatusCode());
+            }
+            assertEquals(1, lista.recorridos.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void siLaBusquedaEnCursoTardaDemasiadoRespondeGatewayTimeout() throws Exception {
+        ListaLenta lista = new ListaLenta(controller.customers);
+        controller.customers = lista;
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<?>> primera = pool.submit(() -> controller.getCliente("agus"));
+            lista.dentro.await();
+
+            assertEquals(HttpStatus.GATEWAY_TIMEOUT, controller.getCliente("agus").getStatusCode());
+            lista.liberar.countDown();
+            assertEquals(HttpStatus.OK, primera.get(5, TimeUnit.SECONDS).getStatusCode());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        MvcResult pendiente = mockMvc.perform(post("/clientes/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pendiente));
+    }
+}
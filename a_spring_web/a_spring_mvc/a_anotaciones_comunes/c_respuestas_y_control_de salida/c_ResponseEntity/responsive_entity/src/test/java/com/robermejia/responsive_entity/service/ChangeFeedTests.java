@@ -0,0 +1,275 @@
+package com.robermejia.responsive_entity.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.robermejia.responsive_entity.model.ChangeEvent;
+import com.robermejia.responsive_entity.model.Customer;
+
+class ChangeFeedTests {
+
+    private final ChangeFeed feed = new ChangeFeed(64, 100, 4, 8, 200);
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void milesDeSuscriptoresRecibenSecuenciasCrecientes() throws Exception {
+        int suscriptores = 5000;
+        int clientes = 10;
+        int eventos = 2000;
+        CountDownLatch terminados = new CountDownLatch(suscriptores);
+        List<Receptor> receptores = new ArrayList<>();
+        for (int i = 0; i < suscriptores; i++) {
+            Receptor r = new Receptor(eventos, terminados);
+            receptores.add(r);
+            feed.subscribe(0, r);
+        }
+
+        Customer[] customers = new Customer[clientes];
+        for (int i = 0; i < clientes; i++) {
+            customers[i] = new Customer(i, "nombre", "user" + i, null);
+        }
+        for (int i = 1; i <= eventos; i++) {
+            Customer c = customers[i % clientes];
+            c.setName("nombre" + i);
+            feed.publish(ChangeFeed.UPDATED, c);
+        }
+
+        assertTrue(terminados.await(30, TimeUnit.SECONDS));
+        for (Receptor r : receptores) {
+            assertTrue(r.ordenado, "secuencias fuera de orden");
+            // Con coalescing cada cliente termina con su último nombre publicado
+            for (int i = 0; i < clientes; i++) {
+                int ultimo = eventos - ((eventos - i) % clientes);
+                assertEquals("nombre" + ultimo, r.nombres.get(i));
+            }
+        }
+    }
+
+    @Test
+    void reanudaDesdeElHistorial() {
+        Customer c = new Customer(1, "a", "u", null);
+        for (int i = 0; i < 10; i++) {
+            feed.publish(ChangeFeed.UPDATED, new Customer(i, "n" + i, "u" + i, null));
+        }
+        List<ChangeEvent> recibidos = new ArrayList<>();
+        CountDownLatch listo = new CountDownLatch(1);
+        feed.subscribe(7, new ChangeFeed.Sink() {
+            @Override
+            public void send(ChangeEvent event) {
+                recibidos.add(event);
+                if (event.seq() == 11) {
+                    listo.countDown();
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        feed.publish(ChangeFeed.CREATED, c);
+        try {
+            assertTrue(listo.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        assertEquals(List.of(8L, 9L, 10L, 11L), recibidos.stream().map(ChangeEvent::seq).toList());
+    }
+
+    @Test
+    void enviaResetSiLaSecuenciaYaNoEstaEnElHistorial() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            feed.publish(ChangeFeed.UPDATED, new Customer(i, "n", "u", null));
+        }
+        CountDownLatch listo = new CountDownLatch(1);
+        List<ChangeEvent> recibidos = new ArrayList<>();
+        feed.subscribe(5, new ChangeFeed.Sink() {
+            @Override
+            public void send(ChangeEvent event) {
+                recibidos.add(event);
+                listo.countDown();
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        assertTrue(listo.await(5, TimeUnit.SECONDS));
+        assertEquals(ChangeFeed.RESET, recibidos.get(0).type());
+        assertEquals(100L, recibidos.get(0).seq());
+    }
+
+    // Más clientes parados que hilos: el resto sigue recibiendo y los parados se desconectan
+    @Test
+    void losSuscriptoresParadosNoBloqueanAlResto() throws Exception {
+        CountDownLatch soltar = new CountDownLatch(1);
+        CountDownLatch bloqueados = new CountDownLatch(6);
+        List<ChangeFeed.Suscripcion> parados = new ArrayList<>();
+        AtomicInteger cierres = new AtomicInteger();
+        for (int i = 0; i < 6; i++) {
+            parados.add(feed.subscribe(0, new ChangeFeed.Sink() {
+                @Override
+                public void send(ChangeEvent event) throws IOException {
+                    bloqueados.countDown();
+                    try {
+                        soltar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IOException("timeout de escritura");
+                }
+
+                @Override
+                public void close() {
+                    cierres.incrementAndGet();
+                }
+            }));
+        }
+        CountDownLatch recibido = new CountDownLatch(1);
+        feed.subscribe(0, new ChangeFeed.Sink() {
+            @Override
+            public void send(ChangeEvent event) {
+                if (event.seq() == 2) {
+                    recibido.countDown();
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        feed.publish(ChangeFeed.CREATED, new Customer(1, "a", "u", null));
+        // Con 4 hilos solo 4 parados pueden bloquearse a la vez; el vigilante repone hilos
+        assertTrue(bloqueados.await(5, TimeUnit.SECONDS));
+        feed.publish(ChangeFeed.UPDATED, new Customer(1, "b", "u", null));
+        assertTrue(recibido.await(5, TimeUnit.SECONDS));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.getSuscriptores() > 1 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        for (ChangeFeed.Suscripcion s : parados) {
+            assertTrue(s.isCerrada());
+        }
+        assertEquals(1, feed.getSuscriptores());
+        assertEquals(10, feed.getHilos());
+        assertEquals(0, cierres.get());
+
+        // Al desbloquearse cada envío, su hilo cierra el sink y el pool vuelve a su tamaño
+        soltar.countDown();
+        while ((cierres.get() < 6 || feed.getHilos() != 4) && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(6, cierres.get());
+        assertEquals(4, feed.getHilos());
+    }
+
+    // Un atraso mayor que el lote se envía en varios turnos sin perder eventos
+    @Test
+    void unAtrasoMayorQueElLoteLlegaCompleto() throws Exception {
+        for (int i = 1; i <= 50; i++) {
+            feed.publish(ChangeFeed.CREATED, new Customer(i, "n", "u" + i, null));
+        }
+        List<Long> recibidos = new ArrayList<>();
+        CountDownLatch listo = new CountDownLatch(1);
+        feed.subscribe(1, new ChangeFeed.Sink() {
+            @Override
+            public void send(ChangeEvent event) {
+                recibidos.add(event.seq());
+                if (event.seq() == 50) {
+                    listo.countDown();
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        assertTrue(listo.await(5, TimeUnit.SECONDS));
+        assertEquals(49, recibidos.size());
+        assertEquals(2L, recibidos.get(0));
+    }
+
+    // Al desbordarse los pendientes el sink se cierra en un hilo de envío, no en el que publica
+    @Test
+    void elCierrePorDesbordamientoNoSeHaceAlPublicar() throws Exception {
+        CountDownLatch soltar = new CountDownLatch(1);
+        CountDownLatch cerrado = new CountDownLatch(1);
+        CountDownLatch enviando = new CountDownLatch(1);
+        Thread publicador = Thread.currentThread();
+        AtomicReference<Thread> hiloDelCierre = new AtomicReference<>();
+        ChangeFeed.Suscripcion s = feed.subscribe(0, new ChangeFeed.Sink() {
+            @Override
+            public void send(ChangeEvent event) {
+                enviando.countDown();
+                try {
+                    soltar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void close() {
+                hiloDelCierre.set(Thread.currentThread());
+                cerrado.countDown();
+            }
+        });
+        feed.publish(ChangeFeed.CREATED, new Customer(0, "n", "u0", null));
+        assertTrue(enviando.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 101; i++) {
+            feed.publish(ChangeFeed.CREATED, new Customer(i, "n", "u" + i, null));
+        }
+        assertTrue(s.isCerrada());
+        assertFalse(cerrado.await(50, TimeUnit.MILLISECONDS));
+        soltar.countDown();
+        assertTrue(cerrado.await(5, TimeUnit.SECONDS));
+        assertTrue(hiloDelCierre.get() != publicador);
+    }
+
+    private static final class Receptor implements ChangeFeed.Sink {
+
+        private final long ultimaEsperada;
+        private final CountDownLatch terminados;
+        private final ConcurrentHashMap<Integer, String> nombres = new ConcurrentHashMap<>();
+        private volatile long ultimaSeq;
+        private volatile boolean ordenado = true;
+
+        private Receptor(long ultimaEsperada, CountDownLatch terminados) {
+            this.ultimaEsperada = ultimaEsperada;
+            this.terminados = terminados;
+        }
+
+        @Override
+        public void send(ChangeEvent event) {
+            if (event.seq() <= ultimaSeq) {
+                ordenado = false;
+            }
+            ultimaSeq = event.seq();
+            nombres.put(event.id(), event.name());
+            if (event.seq() == ultimaEsperada) {
+                terminados.countDown();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.robermejia.responsive_entity.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PasswordHasherTests {
+
+    private final PasswordHasher hasher = new PasswordHasher(1_000);
+
+    @Test
+    void verificaYDetectaCambiosDeCoste() {
+        String guardado = hasher.hash("secreto");
+        assertTrue(guardado.startsWith("pbkdf2$1000$"));
+        assertNotEquals(guardado, hasher.hash("secreto"));
+        assertTrue(hasher.verify("secreto", guardado));
+        assertFalse(hasher.verify("Secreto", guardado));
+        assertFalse(hasher.verify(null, guardado));
+        assertFalse(hasher.needsRehash(guardado));
+
+        PasswordHasher masCaro = new PasswordHasher(2_000);
+        assertTrue(masCaro.verify("secreto", guardado));
+        assertTrue(masCaro.needsRehash(guardado));
+    }
+
+    @Test
+    void textoPlanoAntiguo() {
+        assertTrue(hasher.verify("123", "123"));
+        assertFalse(hasher.verify("1234", "123"));
+        assertTrue(hasher.needsRehash("123"));
+    }
+
+    @Test
+    void unValorCorruptoNoVerificaNiLanza() {
+        String bueno = hasher.hash("secreto");
+        String[] partes = bueno.split("\\$");
+        for (String corrupto : List.of(
+                "pbkdf2$mil$" + partes[2] + "$" + partes[3],
+                "pbkdf2$0$" + partes[2] + "$" + partes[3],
+                "pbkdf2$-5$" + partes[2] + "$" + partes[3],
+                "pbkdf2$2147483647$" + partes[2] + "$" + partes[3],
+                "pbkdf2$1000$no*es*base64$" + partes[3],
+                "pbkdf2$1000$" + partes[2] + "$%%%",
+                "pbkdf2$1000$$" + partes[3])) {
+            assertFalse(hasher.verify("secreto", corrupto), corrupto);
+            // Tampoco lanza: solo se consulta tras un verify correcto, pero no debe dar 500
+            hasher.needsRehash(corrupto);
+        }
+    }
+
+    @Test
+    void elHashFicticioNuncaVerifica() {
+        assertFalse(hasher.verifyFicticio("secreto"));
+        assertFalse(hasher.verifyFicticio(null));
+    }
+}
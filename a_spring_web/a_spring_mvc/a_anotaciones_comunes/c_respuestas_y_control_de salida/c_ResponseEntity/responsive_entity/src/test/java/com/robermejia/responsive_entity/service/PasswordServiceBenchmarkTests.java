@@ -0,0 +1,67 @@
+package com.robermejia.responsive_entity.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// Logins por segundo y latencia con distintos costes de PBKDF2: 16 clientes a la vez contra
+// el pool de hash (2 hilos, cola 64, como en application.properties). La latencia incluye
+// la espera en la cola. No se ejecuta por defecto:
+// mvn test -Dtest=PasswordServiceBenchmarkTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PasswordServiceBenchmarkTests {
+
+    private static final int CLIENTES = 16;
+    private static final long DURACION_MS = 5_000;
+
+    @Test
+    void loginConDistintosCostes() throws Exception {
+        for (int iteraciones : new int[] { 10_000, 50_000, 210_000, 600_000 }) {
+            medir(iteraciones);
+        }
+    }
+
+    private static void medir(int iteraciones) throws Exception {
+        PasswordService service = new PasswordService(iteraciones, 2, 64);
+        String guardado = new PasswordHasher(iteraciones).hash("secreto");
+        // Calentamiento
+        service.verify("secreto", guardado).join();
+        ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES);
+        long fin = System.currentTimeMillis() + DURACION_MS;
+        List<Future<List<Long>>> resultados = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (int c = 0; c < CLIENTES; c++) {
+            resultados.add(clientes.submit(() -> {
+                List<Long> tiempos = new ArrayList<>();
+                while (System.currentTimeMillis() < fin) {
+                    long t = System.nanoTime();
+                    CompletableFuture<PasswordService.Verificacion> v = service.verify("secreto", guardado);
+                    if (!v.join().valida()) {
+                        throw new AssertionError();
+                    }
+                    tiempos.add(System.nanoTime() - t);
+                }
+                return tiempos;
+            }));
+        }
+        List<Long> todos = new ArrayList<>();
+        for (Future<List<Long>> r : resultados) {
+            todos.addAll(r.get());
+        }
+        long total = System.nanoTime() - inicio;
+        clientes.shutdown();
+        service.shutdown();
+        long[] tiempos = todos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(tiempos);
+        System.out.printf("%d iteraciones: %.1f logins/s, p50=%.0f ms p99=%.0f ms (%d logins)%n", iteraciones,
+                tiempos.length / (total / 1e9), tiempos[tiempos.length / 2] / 1e6,
+                tiempos[tiempos.length * 99 / 100] / 1e6, tiempos.length);
+    }
+}
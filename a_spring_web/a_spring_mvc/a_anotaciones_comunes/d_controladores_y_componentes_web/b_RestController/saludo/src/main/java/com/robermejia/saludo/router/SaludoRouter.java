@@ -0,0 +1,39 @@
+package com.robermejia.saludo.router;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.web.servlet.function.RouterFunctions.route;
+
+// Misma respuesta que SaludoController pero con el modelo funcional de Spring MVC (RouterFunction),
+// pensada para sondas que la llaman miles de veces por segundo: sin resolución de argumentos ni
+// conversores de mensajes, los bytes ya codificados se escriben directamente en la respuesta
+@Configuration
+public class SaludoRouter {
+
+    private static final byte[] SALUDO = "Hello, world".getBytes(StandardCharsets.UTF_8);
+    private static final String TEXTO = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8).toString();
+
+    @Bean
+    public RouterFunction<ServerResponse> saludoFuncional() {
+        return route()
+                .GET("/fn/saludo", peticion -> constante())
+                .GET("/fn/hello", peticion -> constante())
+                .build();
+    }
+
+    private static ServerResponse constante() {
+        return ServerResponse.ok().build((peticion, respuesta) -> {
+            respuesta.setContentType(TEXTO);
+            respuesta.setContentLength(SALUDO.length);
+            respuesta.getOutputStream().write(SALUDO);
+            // null: la respuesta ya está escrita, no hay vista que renderizar
+            return null;
+        });
+    }
+}
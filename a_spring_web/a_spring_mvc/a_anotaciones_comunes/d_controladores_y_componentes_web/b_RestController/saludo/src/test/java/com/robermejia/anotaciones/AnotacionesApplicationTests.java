@@ -1,9 +1,10 @@
 package com.robermejia.anotaciones;
 
+import com.robermejia.saludo.AnotacionesApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(classes = AnotacionesApplication.class)
 class AnotacionesApplicationTests {
 
 	@Test
@@ -0,0 +1,33 @@
+package com.robermejia.saludo.router;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SaludoRouterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void respondeIgualQueElController() throws Exception {
+        for (String ruta : new String[] {"saludo", "hello"}) {
+            MvcResult anotado = mockMvc.perform(get("/" + ruta)).andReturn();
+            MvcResult funcional = mockMvc.perform(get("/fn/" + ruta)).andReturn();
+
+            assertEquals(200, funcional.getResponse().getStatus());
+            assertEquals(anotado.getResponse().getContentType(), funcional.getResponse().getContentType());
+            assertArrayEquals(anotado.getResponse().getContentAsByteArray(), funcional.getResponse().getContentAsByteArray());
+            assertEquals(12, funcional.getResponse().getContentLength());
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.jpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+// Necesario para el volcado periódico de WriteBehindService
+@EnableScheduling
 public class SpringJpaRelationApplication {
 
 	public static void main(String[] args) {
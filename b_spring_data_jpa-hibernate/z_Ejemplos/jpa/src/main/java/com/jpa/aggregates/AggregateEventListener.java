@@ -0,0 +1,171 @@
+package com.jpa.aggregates;
+
+import com.jpa.entities.Club;
+import com.jpa.entities.FootballCompetition;
+import com.jpa.entities.Player;
+import com.jpa.events.HibernateEvents;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreCollectionRemoveEvent;
+import org.hibernate.event.spi.PreCollectionRemoveEventListener;
+import org.hibernate.event.spi.PreCollectionUpdateEvent;
+import org.hibernate.event.spi.PreCollectionUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Traduce los eventos de Hibernate sobre Player y sobre la colección Club.footballCompetitions
+// (filas de club_competition) en cambios de SquadAggregates. Los cambios se aplican solo si la
+// transacción se confirma, y el commit y su cambio no se separan para SquadAggregates.reconstruir().
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AggregateEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PreCollectionUpdateEventListener, PreCollectionRemoveEventListener {
+
+    private final EntityManagerFactory emf;
+    private final SquadAggregates aggregates;
+
+    @PostConstruct
+    void registrar() {
+        HibernateEvents.registrar(emf, this, EventType.POST_INSERT, EventType.POST_UPDATE, EventType.POST_DELETE,
+                EventType.POST_COLLECTION_RECREATE, EventType.PRE_COLLECTION_UPDATE, EventType.PRE_COLLECTION_REMOVE);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Player) {
+            Long club = club(event.getPersister(), event.getState());
+            Integer edad = edad(event.getPersister(), event.getState());
+            HibernateEvents.alConfirmar(event.getSession(), aggregates.cambios(),
+                    () -> aggregates.jugadorCambiado(null, null, club, edad));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            return;
+        }
+        if (event.getOldState() == null) {
+            // Actualización sin estado previo (p. ej. merge de una entidad separada): lo corrige la reconstrucción
+            log.warn("Actualización de Player {} sin estado previo, los agregados pueden desfasarse", event.getId());
+            return;
+        }
+        Long clubAntes = club(event.getPersister(), event.getOldState());
+        Integer edadAntes = edad(event.getPersister(), event.getOldState());
+        Long clubDespues = club(event.getPersister(), event.getState());
+        Integer edadDespues = edad(event.getPersister(), event.getState());
+        HibernateEvents.alConfirmar(event.getSession(), aggregates.cambios(),
+                () -> aggregates.jugadorCambiado(clubAntes, edadAntes, clubDespues, edadDespues));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Player) {
+            Long club = club(event.getPersister(), event.getDeletedState());
+            Integer edad = edad(event.getPersister(), event.getDeletedState());
+            HibernateEvents.alConfirmar(event.getSession(), aggregates.cambios(),
+                    () -> aggregates.jugadorCambiado(club, edad, null, null));
+        }
+    }
+
+    // La colección se crea entera (club nuevo o colección sustituida): todas sus competiciones ganan un club
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        PersistentCollection<?> coleccion = event.getCollection();
+        if (HibernateEvents.esCompeticionesDeClub(event)) {
+            Set<Long> nuevas = ids((Collection<?>) coleccion);
+            HibernateEvents.alConfirmar(event.getSession(), aggregates.cambios(),
+                    () -> nuevas.forEach(id -> aggregates.inscripcionesCambiadas(id, 1)));
+        }
+    }
+
+    // Antes de actualizar, la foto (snapshot) aún tiene las competiciones originales: la diferencia son las filas
+    // que se insertan y borran en club_competition
+    @Override
+    public void onPreUpdateCollection(PreCollectionUpdateEvent event) {
+        PersistentCollection<?> coleccion = event.getCollection();
+        if (!HibernateEvents.esCompeticionesDeClub(event)) {
+            return;
+        }
+        if (!coleccion.wasInitialized()) {
+            log.warn("Colección {} sin inicializar, los agregados pueden desfasarse", coleccion.getRole());
+            return;
+        }
+        Set<Long> antes = ids(((Map<?, ?>) coleccion.getStoredSnapshot()).keySet());
+        Set<Long> despues = ids((Collection<?>) coleccion);
+        Set<Long> altas = new HashSet<>(despues);
+        altas.removeAll(antes);
+        Set<Long> bajas = new HashSet<>(antes);
+        bajas.removeAll(despues);
+        HibernateEvents.alConfirmar(event.getSession(), aggregates.cambios(), () -> {
+            altas.forEach(id -> aggregates.inscripcionesCambiadas(id, 1));
+            bajas.forEach(id -> aggregates.inscripcionesCambiadas(id, -1));
+        });
+    }
+
+    // El club se borra o su colección se sustituye: se retira de todas las competiciones de la foto
+    @Override
+    public void onPreRemoveCollection(PreCollectionRemoveEvent event) {
+        PersistentCollection<?> coleccion = event.getCollection();
+        if (!HibernateEvents.esCompeticionesDeClub(event)) {
+            return;
+        }
+        if (!(coleccion.getStoredSnapshot() instanceof Map<?, ?> foto)) {
+            log.warn("Colección {} sin foto previa, los agregados pueden desfasarse", coleccion.getRole());
+            return;
+        }
+        Set<Long> bajas = ids(foto.keySet());
+        HibernateEvents.alConfirmar(event.getSession(), aggregates.cambios(),
+                () -> bajas.forEach(id -> aggregates.inscripcionesCambiadas(id, -1)));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static Long club(EntityPersister persister, Object[] estado) {
+        Object club = valor(persister, estado, "club");
+        return club instanceof Club c ? c.getId() : null;
+    }
+
+    private static Integer edad(EntityPersister persister, Object[] estado) {
+        return (Integer) valor(persister, estado, "age");
+    }
+
+    private static Object valor(EntityPersister persister, Object[] estado, String propiedad) {
+        String[] nombres = persister.getPropertyNames();
+        for (int i = 0; i < nombres.length; i++) {
+            if (nombres[i].equals(propiedad)) {
+                return estado[i];
+            }
+        }
+        return null;
+    }
+
+    private static Set<Long> ids(Collection<?> competiciones) {
+        Set<Long> ids = new HashSet<>();
+        for (Object competicion : competiciones) {
+            ids.add(((FootballCompetition) competicion).getId());
+        }
+        return ids;
+    }
+}
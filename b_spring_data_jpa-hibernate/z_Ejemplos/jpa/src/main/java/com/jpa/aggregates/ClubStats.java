@@ -0,0 +1,24 @@
+package com.jpa.aggregates;
+
+// Agregados de la plantilla de un club. Se guarda la suma de edades (y cuántos jugadores tienen edad)
+// en lugar de la media, para poder sumar y restar jugadores sin recalcular.
+public record ClubStats(long jugadores, long jugadoresConEdad, long sumaEdades) {
+
+    public static final ClubStats VACIO = new ClubStats(0, 0, 0);
+
+    public static ClubStats jugador(Integer edad) {
+        return new ClubStats(1, edad != null ? 1 : 0, edad != null ? edad : 0);
+    }
+
+    public ClubStats mas(ClubStats otro) {
+        return new ClubStats(jugadores + otro.jugadores, jugadoresConEdad + otro.jugadoresConEdad, sumaEdades + otro.sumaEdades);
+    }
+
+    public ClubStats menos(ClubStats otro) {
+        return new ClubStats(jugadores - otro.jugadores, jugadoresConEdad - otro.jugadoresConEdad, sumaEdades - otro.sumaEdades);
+    }
+
+    public Double edadMedia() {
+        return jugadoresConEdad == 0 ? null : (double) sumaEdades / jugadoresConEdad;
+    }
+}
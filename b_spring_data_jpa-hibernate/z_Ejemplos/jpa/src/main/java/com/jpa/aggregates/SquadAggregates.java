@@ -0,0 +1,252 @@
+package com.jpa.aggregates;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Agregados de plantillas (jugadores y edad media por club) y de competiciones (clubes inscritos).
+// La proyección en memoria se actualiza con cada cambio confirmado y se lee en tiempo constante;
+// las tablas club_aggregate y competition_aggregate se actualizan en segundo plano con los ids modificados.
+// Quien confirma un cambio en la base de datos tiene tomado cambios() desde antes del commit hasta aplicar
+// su diferencia: así reconstruir() ve cada cambio o en las tablas de origen y en la proyección, o en ninguna.
+@Slf4j
+@Service
+public class SquadAggregates {
+
+    private static final String RECONSTRUIR_CLUBES = """
+            SELECT c.id, COUNT(p.id), COUNT(p.age), COALESCE(SUM(p.age), 0)
+            FROM club c LEFT JOIN player p ON p.id_club = c.id GROUP BY c.id""";
+    private static final String RECONSTRUIR_COMPETICIONES = """
+            SELECT fc.id, COUNT(cc.club)
+            FROM football_competition fc LEFT JOIN club_competition cc ON cc.competition = fc.id GROUP BY fc.id""";
+    private static final String UPDATE_CLUB =
+            "UPDATE club_aggregate SET players = ?, players_with_age = ?, age_sum = ? WHERE club_id = ?";
+    private static final String INSERT_CLUB =
+            "INSERT INTO club_aggregate (players, players_with_age, age_sum, club_id) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_COMPETICION = "UPDATE competition_aggregate SET clubs = ? WHERE competition_id = ?";
+    private static final String INSERT_COMPETICION = "INSERT INTO competition_aggregate (clubs, competition_id) VALUES (?, ?)";
+
+    public record Reconstruccion(Instant momento, int clubes, int competiciones, int desfasados) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    private volatile Map<Long, ClubStats> clubes = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> competiciones = new ConcurrentHashMap<>();
+    // Ids modificados desde el último volcado a las tablas
+    private final Set<Long> clubesSucios = ConcurrentHashMap.newKeySet();
+    private final Set<Long> competicionesSucias = ConcurrentHashMap.newKeySet();
+    // Ids que ya tienen fila en las tablas: se actualizan con UPDATE, el resto con INSERT
+    private final Set<Long> clubesEnTabla = ConcurrentHashMap.newKeySet();
+    private final Set<Long> competicionesEnTabla = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock escribiendo = new ReentrantLock();
+    private final ReentrantReadWriteLock cambios = new ReentrantReadWriteLock();
+    private volatile Reconstruccion ultimaReconstruccion;
+
+    public SquadAggregates(JdbcTemplate jdbc, TransactionTemplate tx) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+    }
+
+    public ClubStats club(long clubId) {
+        return clubes.getOrDefault(clubId, ClubStats.VACIO);
+    }
+
+    public long clubesInscritos(long competitionId) {
+        return competiciones.getOrDefault(competitionId, 0L);
+    }
+
+    public Reconstruccion getUltimaReconstruccion() {
+        return ultimaReconstruccion;
+    }
+
+    // Parte compartida: varios commits a la vez; reconstruir() toma la exclusiva mientras consulta y sustituye
+    public Lock cambios() {
+        return cambios.readLock();
+    }
+
+    // Un jugador se crea (antes = null), se borra (después = null) o cambia de club o de edad
+    public void jugadorCambiado(Long clubAntes, Integer edadAntes, Long clubDespues, Integer edadDespues) {
+        if (Objects.equals(clubAntes, clubDespues) && Objects.equals(edadAntes, edadDespues)) {
+            return;
+        }
+        if (clubAntes != null) {
+            sumarClub(clubAntes, ClubStats.VACIO.menos(ClubStats.jugador(edadAntes)));
+        }
+        if (clubDespues != null) {
+            sumarClub(clubDespues, ClubStats.jugador(edadDespues));
+        }
+    }
+
+    public void inscripcionesCambiadas(long competitionId, long diferencia) {
+        if (diferencia != 0) {
+            competiciones.merge(competitionId, diferencia, Long::sum);
+            competicionesSucias.add(competitionId);
+        }
+    }
+
+    // Escribe en las tablas los valores actuales de los ids modificados
+    @Scheduled(fixedDelayString = "${futbol.agregados.intervalo-ms:1000}")
+    public void volcar() {
+        escribiendo.lock();
+        try {
+            volcarClubes();
+            volcarCompeticiones();
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron volcar los agregados, se reintentará", e);
+        } finally {
+            escribiendo.unlock();
+        }
+    }
+
+    // Recalcula todo desde las tablas de origen y corrige el desfase que haya podido acumularse
+    // (escrituras fuera de Hibernate, caídas entre el commit y el volcado...)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${futbol.agregados.reconstruccion:0 0 4 * * *}")
+    public void reconstruir() {
+        escribiendo.lock();
+        try {
+            Map<Long, ClubStats> nuevosClubes = new ConcurrentHashMap<>();
+            Map<Long, Long> nuevasCompeticiones = new ConcurrentHashMap<>();
+            int desfasados;
+            // Sin commits a medio aplicar: uno anterior está en la consulta y en los mapas viejos (que se
+            // descartan), uno posterior se suma ya a los mapas nuevos
+            cambios.writeLock().lock();
+            try {
+                jdbc.query(RECONSTRUIR_CLUBES, (RowCallbackHandler) rs -> nuevosClubes.put(rs.getLong(1),
+                        new ClubStats(rs.getLong(2), rs.getLong(3), rs.getLong(4))));
+                jdbc.query(RECONSTRUIR_COMPETICIONES, (RowCallbackHandler) rs -> nuevasCompeticiones.put(rs.getLong(1), rs.getLong(2)));
+
+                desfasados = diferencias(clubes, nuevosClubes, ClubStats.VACIO) + diferencias(competiciones, nuevasCompeticiones, 0L);
+                clubes = nuevosClubes;
+                competiciones = nuevasCompeticiones;
+                clubesSucios.clear();
+                competicionesSucias.clear();
+            } finally {
+                cambios.writeLock().unlock();
+            }
+
+            tx.executeWithoutResult(status -> {
+                jdbc.update("DELETE FROM club_aggregate");
+                jdbc.batchUpdate(INSERT_CLUB, filasClubes(nuevosClubes.keySet()));
+                jdbc.update("DELETE FROM competition_aggregate");
+                jdbc.batchUpdate(INSERT_COMPETICION, filasCompeticiones(nuevasCompeticiones.keySet()));
+            });
+            clubesEnTabla.clear();
+            clubesEnTabla.addAll(nuevosClubes.keySet());
+            competicionesEnTabla.clear();
+            competicionesEnTabla.addAll(nuevasCompeticiones.keySet());
+
+            // En el arranque la proyección está vacía: ahí todo "difiere" y no es un desfase
+            boolean arranque = ultimaReconstruccion == null;
+            ultimaReconstruccion = new Reconstruccion(Instant.now(), nuevosClubes.size(), nuevasCompeticiones.size(),
+                    arranque ? 0 : desfasados);
+            if (!arranque && desfasados > 0) {
+                log.warn("Agregados reconstruidos: {} entradas estaban desfasadas", desfasados);
+            }
+        } finally {
+            escribiendo.unlock();
+        }
+    }
+
+    private void sumarClub(long clubId, ClubStats diferencia) {
+        clubes.merge(clubId, diferencia, ClubStats::mas);
+        clubesSucios.add(clubId);
+    }
+
+    private void volcarClubes() {
+        List<Long> ids = retirar(clubesSucios);
+        try {
+            List<Object[]> filas = filasClubes(ids);
+            escribir(filas, clubesEnTabla, UPDATE_CLUB, INSERT_CLUB);
+        } catch (DataAccessException e) {
+            clubesSucios.addAll(ids);
+            throw e;
+        }
+    }
+
+    private void volcarCompeticiones() {
+        List<Long> ids = retirar(competicionesSucias);
+        try {
+            escribir(filasCompeticiones(ids), competicionesEnTabla, UPDATE_COMPETICION, INSERT_COMPETICION);
+        } catch (DataAccessException e) {
+            competicionesSucias.addAll(ids);
+            throw e;
+        }
+    }
+
+    // Cada fila termina con el id, que es el último parámetro tanto del UPDATE como del INSERT
+    private void escribir(List<Object[]> filas, Set<Long> enTabla, String update, String insert) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        List<Object[]> actualizar = new ArrayList<>();
+        List<Object[]> insertar = new ArrayList<>();
+        for (Object[] fila : filas) {
+            (enTabla.contains((Long) fila[fila.length - 1]) ? actualizar : insertar).add(fila);
+        }
+        tx.executeWithoutResult(status -> {
+            jdbc.batchUpdate(update, actualizar);
+            jdbc.batchUpdate(insert, insertar);
+        });
+        insertar.forEach(fila -> enTabla.add((Long) fila[fila.length - 1]));
+    }
+
+    private List<Object[]> filasClubes(Iterable<Long> ids) {
+        List<Object[]> filas = new ArrayList<>();
+        for (Long id : ids) {
+            ClubStats stats = club(id);
+            filas.add(new Object[] {stats.jugadores(), stats.jugadoresConEdad(), stats.sumaEdades(), id});
+        }
+        return filas;
+    }
+
+    private List<Object[]> filasCompeticiones(Iterable<Long> ids) {
+        List<Object[]> filas = new ArrayList<>();
+        for (Long id : ids) {
+            filas.add(new Object[] {clubesInscritos(id), id});
+        }
+        return filas;
+    }
+
+    private static List<Long> retirar(Set<Long> sucios) {
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> it = sucios.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    private static <V> int diferencias(Map<Long, V> antes, Map<Long, V> despues, V vacio) {
+        Set<Long> ids = new HashSet<>(antes.keySet());
+        ids.addAll(despues.keySet());
+        int diferentes = 0;
+        for (Long id : ids) {
+            if (!antes.getOrDefault(id, vacio).equals(despues.getOrDefault(id, vacio))) {
+                diferentes++;
+            }
+        }
+        return diferentes;
+    }
+}
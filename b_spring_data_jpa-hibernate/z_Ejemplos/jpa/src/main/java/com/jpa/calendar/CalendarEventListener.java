@@ -0,0 +1,93 @@
+package com.jpa.calendar;
+
+import com.jpa.entities.FootballCompetition;
+import com.jpa.events.HibernateEvents;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+// Invalida CompetitionCalendar cuando se confirma un cambio en FootballCompetition o en las inscripciones
+// (colección Club.footballCompetitions)
+@Component
+@RequiredArgsConstructor
+public class CalendarEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private final EntityManagerFactory emf;
+    private final CompetitionCalendar calendar;
+
+    @PostConstruct
+    void registrar() {
+        HibernateEvents.registrar(emf, this, EventType.POST_INSERT, EventType.POST_UPDATE, EventType.POST_DELETE,
+                EventType.POST_COLLECTION_RECREATE, EventType.POST_COLLECTION_UPDATE, EventType.POST_COLLECTION_REMOVE);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof FootballCompetition) {
+            alConfirmar(event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof FootballCompetition) {
+            alConfirmar(event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof FootballCompetition) {
+            alConfirmar(event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        if (HibernateEvents.esCompeticionesDeClub(event)) {
+            alConfirmar(event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        if (HibernateEvents.esCompeticionesDeClub(event)) {
+            alConfirmar(event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        if (HibernateEvents.esCompeticionesDeClub(event)) {
+            alConfirmar(event.getSession());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // Se invalida al terminar la transacción, aunque se deshaga: una lectura dentro de ella pudo cargar
+    // el calendario con sus cambios, e invalidar de más solo cuesta una recarga
+    private void alConfirmar(EventSource session) {
+        HibernateEvents.alTerminar(session, calendar::invalidar);
+    }
+}
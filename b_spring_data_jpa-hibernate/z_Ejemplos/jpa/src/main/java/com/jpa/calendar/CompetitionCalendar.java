@@ -0,0 +1,133 @@
+package com.jpa.calendar;
+
+import com.jpa.dto.CompetitionView;
+import com.jpa.entities.FootballCompetition;
+import com.jpa.repository.FootballCompetitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// "Qué competiciones (y con qué clubes) están activas en una fecha o se solapan con un rango".
+// Las consultas se responden desde un árbol de intervalos en memoria con todas las competiciones;
+// cualquier cambio confirmado lo invalida y la siguiente lectura lo reconstruye. La variante
+// solapadasSql hace la misma consulta contra la base de datos con los índices de fechas.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompetitionCalendar {
+
+    private static final String COMPETICIONES =
+            "SELECT id, name, start_date, end_date FROM football_competition WHERE start_date IS NOT NULL";
+    private static final String INSCRIPCIONES = "SELECT competition, club FROM club_competition";
+
+    // El árbol de una versión; se completa cuando termina la carga
+    private record Instantanea(long version, CompletableFuture<IntervalTree<CompetitionView>> arbol) {
+    }
+
+    private final FootballCompetitionRepository competitionRepository;
+    private final JdbcTemplate jdbc;
+
+    // Se incrementa con cada cambio; una instantánea de una versión anterior ya no sirve
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Instantanea> actual = new AtomicReference<>();
+
+    public List<CompetitionView> activas(LocalDate fecha) {
+        return solapadas(fecha, fecha);
+    }
+
+    public List<CompetitionView> solapadas(LocalDate desde, LocalDate hasta) {
+        return arbol().solapados(desde.toEpochDay(), hasta.toEpochDay());
+    }
+
+    // Misma respuesta que solapadas(), pero consultando la base de datos
+    @Transactional(readOnly = true)
+    public List<CompetitionView> solapadasSql(LocalDate desde, LocalDate hasta) {
+        List<FootballCompetition> competiciones = competitionRepository.solapadas(desde, hasta);
+        if (competiciones.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<Long>> clubes = new HashMap<>();
+        for (Object[] fila : competitionRepository.clubesInscritosEnSolapadas(desde, hasta)) {
+            clubes.computeIfAbsent(((Number) fila[0]).longValue(), id -> new ArrayList<>()).add(((Number) fila[1]).longValue());
+        }
+        return competiciones.stream()
+                .map(fc -> new CompetitionView(fc.getId(), fc.getName(), fc.getStartDate(), fc.getEndDate(),
+                        List.copyOf(clubes.getOrDefault(fc.getId(), List.of()))))
+                .toList();
+    }
+
+    // Lo llaman CalendarEventListener y CompetitionService después de cada commit que toca
+    // football_competition o club_competition
+    public void invalidar() {
+        version.incrementAndGet();
+    }
+
+    // Sin candado: el primer lector que ve la instantánea desfasada publica una nueva (compareAndSet) y la
+    // carga; los demás esperan a esa misma carga en lugar de repetirla, y las lecturas de la versión
+    // vigente no esperan nunca. La versión se lee antes de cargar: si hay un cambio durante la carga,
+    // la siguiente lectura vuelve a cargar.
+    private IntervalTree<CompetitionView> arbol() {
+        while (true) {
+            long leida = version.get();
+            Instantanea instantanea = actual.get();
+            if (instantanea != null && instantanea.version() >= leida) {
+                return esperar(instantanea.arbol());
+            }
+            Instantanea nueva = new Instantanea(leida, new CompletableFuture<>());
+            if (actual.compareAndSet(instantanea, nueva)) {
+                try {
+                    nueva.arbol().complete(cargar());
+                } catch (RuntimeException | Error e) {
+                    // Los que esperaban reciben el error; el siguiente lector vuelve a intentarlo
+                    actual.compareAndSet(nueva, null);
+                    nueva.arbol().completeExceptionally(e);
+                    throw e;
+                }
+                return esperar(nueva.arbol());
+            }
+        }
+    }
+
+    private static IntervalTree<CompetitionView> esperar(CompletableFuture<IntervalTree<CompetitionView>> arbol) {
+        try {
+            return arbol.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    private IntervalTree<CompetitionView> cargar() {
+        long inicio = System.nanoTime();
+        Map<Long, List<Long>> clubes = new HashMap<>();
+        jdbc.query(INSCRIPCIONES, fila -> {
+            clubes.computeIfAbsent(fila.getLong(1), id -> new ArrayList<>()).add(fila.getLong(2));
+        });
+        List<IntervalTree.Intervalo<CompetitionView>> intervalos = new ArrayList<>();
+        jdbc.query(COMPETICIONES, fila -> {
+            long id = fila.getLong(1);
+            LocalDate startDate = fila.getObject(3, LocalDate.class);
+            LocalDate endDate = fila.getObject(4, LocalDate.class);
+            CompetitionView vista = new CompetitionView(id, fila.getString(2), startDate, endDate,
+                    List.copyOf(clubes.getOrDefault(id, List.of())));
+            // Sin fecha de fin, la competición sigue activa indefinidamente
+            intervalos.add(new IntervalTree.Intervalo<>(startDate.toEpochDay(),
+                    endDate != null ? endDate.toEpochDay() : Long.MAX_VALUE, vista));
+        });
+        IntervalTree<CompetitionView> arbol = new IntervalTree<>(intervalos);
+        log.debug("Calendario de competiciones cargado: {} competiciones en {} ms", arbol.size(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        return arbol;
+    }
+}
@@ -0,0 +1,78 @@
+package com.jpa.calendar;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Árbol de intervalos estático e inmutable. Los intervalos se ordenan por inicio y forman un árbol binario
+// balanceado implícito: la raíz de cada tramo [lo, hi) es su elemento central y maxFin guarda el mayor
+// fin de su subárbol. Una consulta descarta los subárboles que acaban antes de "desde" o empiezan
+// después de "hasta", así que cuesta O(log n + k) para k resultados.
+final class IntervalTree<T> {
+
+    // Intervalo cerrado [inicio, fin]
+    record Intervalo<T>(long inicio, long fin, T valor) {
+    }
+
+    private final long[] inicios;
+    private final long[] fines;
+    private final long[] maxFin;
+    private final List<T> valores;
+
+    IntervalTree(List<Intervalo<T>> intervalos) {
+        List<Intervalo<T>> ordenados = new ArrayList<>(intervalos);
+        ordenados.sort(Comparator.comparingLong(Intervalo::inicio));
+        int n = ordenados.size();
+        inicios = new long[n];
+        fines = new long[n];
+        maxFin = new long[n];
+        valores = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            inicios[i] = ordenados.get(i).inicio();
+            fines[i] = ordenados.get(i).fin();
+            valores.add(ordenados.get(i).valor());
+        }
+        calcularMaxFin(0, n);
+    }
+
+    int size() {
+        return inicios.length;
+    }
+
+    // Valores cuyos intervalos se solapan con [desde, hasta], ordenados por inicio
+    List<T> solapados(long desde, long hasta) {
+        List<T> resultado = new ArrayList<>();
+        buscar(0, inicios.length, desde, hasta, resultado);
+        return resultado;
+    }
+
+    private long calcularMaxFin(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int medio = (lo + hi) >>> 1;
+        long max = Math.max(fines[medio], Math.max(calcularMaxFin(lo, medio), calcularMaxFin(medio + 1, hi)));
+        maxFin[medio] = max;
+        return max;
+    }
+
+    private void buscar(int lo, int hi, long desde, long hasta, List<T> resultado) {
+        if (lo >= hi) {
+            return;
+        }
+        int medio = (lo + hi) >>> 1;
+        // Todo el subárbol termina antes de la consulta
+        if (maxFin[medio] < desde) {
+            return;
+        }
+        buscar(lo, medio, desde, hasta, resultado);
+        // Este nodo y todo lo que queda a su derecha empiezan después de la consulta
+        if (inicios[medio] > hasta) {
+            return;
+        }
+        if (fines[medio] >= desde) {
+            resultado.add(valores.get(medio));
+        }
+        buscar(medio + 1, hi, desde, hasta, resultado);
+    }
+}
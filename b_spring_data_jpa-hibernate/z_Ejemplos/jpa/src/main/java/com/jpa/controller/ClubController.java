@@ -0,0 +1,33 @@
+package com.jpa.controller;
+
+import com.jpa.dto.ClubView;
+import com.jpa.service.FootballService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/clubes")
+@RequiredArgsConstructor
+public class ClubController {
+
+    private final FootballService footballService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ClubView> getClub(@PathVariable long id) {
+        return ResponseEntity.of(footballService.findClub(id));
+    }
+
+    // 202: la actualización está en el diario y se escribirá en la base de datos en segundo plano
+    @PutMapping("/{id}")
+    public ResponseEntity<ClubView> putClub(@PathVariable long id, @RequestBody ClubView datos) {
+        return footballService.updateClub(id, datos)
+                .map(club -> ResponseEntity.accepted().body(club))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,59 @@
+package com.jpa.controller;
+
+import com.jpa.calendar.CompetitionCalendar;
+import com.jpa.dto.CompetitionView;
+import com.jpa.service.CompetitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/competiciones")
+@RequiredArgsConstructor
+public class CompetitionController {
+
+    private final CompetitionService competitionService;
+    private final CompetitionCalendar calendar;
+
+    // GET /competiciones/activas?fecha=2025-03-01 o ?desde=2025-01-01&hasta=2025-06-30
+    // Con sql=true se consulta la base de datos en lugar del árbol en memoria
+    @GetMapping("/activas")
+    public List<CompetitionView> activas(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+                                         @RequestParam(defaultValue = "false") boolean sql) {
+        if (fecha != null) {
+            desde = fecha;
+            hasta = fecha;
+        }
+        if (desde == null || hasta == null || desde.isAfter(hasta)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Indica fecha, o desde y hasta con desde <= hasta");
+        }
+        return sql ? calendar.solapadasSql(desde, hasta) : calendar.solapadas(desde, hasta);
+    }
+
+    // Cuerpo: lista de ids de club, p. ej. [1, 2, 3]
+    @PostMapping("/{id}/clubes")
+    public Map<String, Integer> inscribir(@PathVariable long id, @RequestBody List<Long> clubIds) {
+        return Map.of("inscritos", competitionService.inscribir(id, clubIds));
+    }
+
+    // DELETE /competiciones/{id}/clubes?ids=1,2,3
+    @DeleteMapping("/{id}/clubes")
+    public Map<String, Integer> retirar(@PathVariable long id, @RequestParam("ids") List<Long> clubIds) {
+        return Map.of("retirados", competitionService.retirar(id, clubIds));
+    }
+}
@@ -0,0 +1,95 @@
+package com.jpa.controller;
+
+import com.jpa.diagnostics.QueryDiagnostics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Expone las estadísticas de Hibernate (hibernate.generate_statistics) y lo recogido por QueryDiagnostics.
+// Las mismas cifras se publican como métricas en /actuator/metrics/hibernate.*
+@RestController
+@RequestMapping("/diagnostico")
+public class DiagnosticsController {
+
+    private final Statistics estadisticas;
+    private final QueryDiagnostics diagnostics;
+
+    public DiagnosticsController(EntityManagerFactory emf, QueryDiagnostics diagnostics) {
+        this.estadisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        this.diagnostics = diagnostics;
+    }
+
+    @GetMapping("/hibernate")
+    public Map<String, Object> getEstadisticas(@RequestParam(defaultValue = "10") int top) {
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("activas", estadisticas.isStatisticsEnabled());
+        resumen.put("sesionesAbiertas", estadisticas.getSessionOpenCount());
+        resumen.put("transacciones", estadisticas.getTransactionCount());
+        resumen.put("sentenciasPreparadas", estadisticas.getPrepareStatementCount());
+        resumen.put("consultas", estadisticas.getQueryExecutionCount());
+        resumen.put("consultaMaxMs", estadisticas.getQueryExecutionMaxTime());
+        resumen.put("consultaMasLenta", estadisticas.getQueryExecutionMaxTimeQueryString());
+        resumen.put("entidadesCargadas", estadisticas.getEntityLoadCount());
+        resumen.put("entidadesTraidas", estadisticas.getEntityFetchCount());
+        resumen.put("entidadesInsertadas", estadisticas.getEntityInsertCount());
+        resumen.put("entidadesActualizadas", estadisticas.getEntityUpdateCount());
+        resumen.put("entidadesBorradas", estadisticas.getEntityDeleteCount());
+        resumen.put("coleccionesCargadas", estadisticas.getCollectionLoadCount());
+        resumen.put("coleccionesTraidas", estadisticas.getCollectionFetchCount());
+        resumen.put("cacheSegundoNivelAciertos", estadisticas.getSecondLevelCacheHitCount());
+        resumen.put("cacheSegundoNivelFallos", estadisticas.getSecondLevelCacheMissCount());
+        resumen.put("cacheConsultasAciertos", estadisticas.getQueryCacheHitCount());
+        resumen.put("cacheConsultasFallos", estadisticas.getQueryCacheMissCount());
+        resumen.put("topConsultas", topConsultas(top));
+        return resumen;
+    }
+
+    // Reinicia los contadores, útil antes de medir un caso de uso concreto
+    @DeleteMapping("/hibernate")
+    public ResponseEntity<Void> reiniciar() {
+        estadisticas.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/consultas-lentas")
+    public List<QueryDiagnostics.ConsultaLenta> getConsultasLentas() {
+        return diagnostics.consultasLentas();
+    }
+
+    @GetMapping("/n-mas-uno")
+    public List<QueryDiagnostics.NMasUno> getNMasUno() {
+        return diagnostics.deteccionesNMasUno();
+    }
+
+    // Consultas HQL/JPQL ordenadas por tiempo total acumulado
+    private List<Map<String, Object>> topConsultas(int top) {
+        return Arrays.stream(estadisticas.getQueries())
+                .map(hql -> Map.entry(hql, estadisticas.getQueryStatistics(hql)))
+                .sorted(Comparator.comparingLong((Map.Entry<String, QueryStatistics> e) -> e.getValue().getExecutionTotalTime()).reversed())
+                .limit(Math.max(0, top))
+                .map(e -> {
+                    Map<String, Object> consulta = new LinkedHashMap<>();
+                    consulta.put("consulta", e.getKey());
+                    consulta.put("ejecuciones", e.getValue().getExecutionCount());
+                    consulta.put("filas", e.getValue().getExecutionRowCount());
+                    consulta.put("totalMs", e.getValue().getExecutionTotalTime());
+                    consulta.put("mediaMs", e.getValue().getExecutionAvgTime());
+                    consulta.put("maxMs", e.getValue().getExecutionMaxTime());
+                    return consulta;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,33 @@
+package com.jpa.controller;
+
+import com.jpa.dto.PlayerView;
+import com.jpa.service.FootballService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/jugadores")
+@RequiredArgsConstructor
+public class PlayerController {
+
+    private final FootballService footballService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PlayerView> getPlayer(@PathVariable long id) {
+        return ResponseEntity.of(footballService.findPlayer(id));
+    }
+
+    // 202: la actualización está en el diario y se escribirá en la base de datos en segundo plano
+    @PutMapping("/{id}")
+    public ResponseEntity<PlayerView> putPlayer(@PathVariable long id, @RequestBody PlayerView datos) {
+        return footballService.updatePlayer(id, datos)
+                .map(player -> ResponseEntity.accepted().body(player))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,39 @@
+package com.jpa.controller;
+
+import com.jpa.dto.ClubView;
+import com.jpa.dto.PlayerView;
+import com.jpa.search.FootballSearchService;
+import com.jpa.search.FootballSearchService.Resultado;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// Búsqueda por texto (parcial, sin tildes y ordenada por relevancia): GET /buscar/jugadores?q=nunez
+// limite se ajusta a 1..100
+@RestController
+@RequestMapping("/buscar")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final FootballSearchService searchService;
+
+    @GetMapping("/jugadores")
+    public Resultado<PlayerView> buscarJugadores(@RequestParam String q, @RequestParam(defaultValue = "20") int limite) {
+        return searchService.buscarJugadores(q, limite);
+    }
+
+    @GetMapping("/clubes")
+    public Resultado<ClubView> buscarClubes(@RequestParam String q, @RequestParam(defaultValue = "20") int limite) {
+        return searchService.buscarClubes(q, limite);
+    }
+
+    @PostMapping("/_reindexar")
+    public ResponseEntity<Void> reindexar() throws InterruptedException {
+        searchService.reindexar();
+        return ResponseEntity.noContent().build();
+    }
+}
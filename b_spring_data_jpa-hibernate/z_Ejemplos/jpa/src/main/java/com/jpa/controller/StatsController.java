@@ -0,0 +1,44 @@
+package com.jpa.controller;
+
+import com.jpa.aggregates.ClubStats;
+import com.jpa.aggregates.SquadAggregates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Lecturas en tiempo constante de la proyección de SquadAggregates (sin COUNT ni AVG en la base de datos)
+@RestController
+@RequestMapping("/estadisticas")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final SquadAggregates aggregates;
+
+    @GetMapping("/clubes/{id}")
+    public Map<String, Object> getClub(@PathVariable long id) {
+        ClubStats stats = aggregates.club(id);
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("clubId", id);
+        respuesta.put("jugadores", stats.jugadores());
+        respuesta.put("edadMedia", stats.edadMedia());
+        return respuesta;
+    }
+
+    @GetMapping("/competiciones/{id}")
+    public Map<String, Object> getCompeticion(@PathVariable long id) {
+        return Map.of("competitionId", id, "clubes", aggregates.clubesInscritos(id));
+    }
+
+    // Reconstrucción manual (además de la programada en futbol.agregados.reconstruccion)
+    @PostMapping("/_reconstruir")
+    public SquadAggregates.Reconstruccion reconstruir() {
+        aggregates.reconstruir();
+        return aggregates.getUltimaReconstruccion();
+    }
+}
@@ -0,0 +1,33 @@
+package com.jpa.diagnostics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Envuelve el DataSource para que cada sentencia pase por QueryDiagnostics.
+// Sustituye a spring.jpa.show-sql, que imprimía todo por consola de forma síncrona.
+@Configuration
+public class DataSourceProxyConfig {
+
+    // static para que el post-procesador se registre antes que el resto de beans
+    @Bean
+    static BeanPostProcessor dataSourceProxy(ObjectProvider<QueryDiagnostics> diagnostics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(diagnostics.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
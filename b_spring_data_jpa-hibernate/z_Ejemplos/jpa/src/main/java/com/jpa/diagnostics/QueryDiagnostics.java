@@ -0,0 +1,202 @@
+package com.jpa.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Escucha cada sentencia JDBC (a través de datasource-proxy) para registrar consultas lentas
+// con sus parámetros y detectar patrones N+1 dentro de una misma petición HTTP.
+// Métricas: jpa.consultas.lentas y jpa.consultas.repetidas (N+1)
+@Slf4j
+@Component
+public class QueryDiagnostics implements QueryExecutionListener {
+
+    // Cuántas consultas lentas y detecciones N+1 recientes se conservan para el endpoint
+    private static final int MAX_RECIENTES = 100;
+    // Cuántos juegos de parámetros se guardan de una sentencia en lote
+    private static final int MAX_LOTES = 5;
+
+    // Estado de la petición en curso; lo abre y cierra RequestDiagnosticsFilter
+    private static final ThreadLocal<Peticion> PETICION = new ThreadLocal<>();
+
+    private final long umbralMs;
+    private final int umbralRepeticiones;
+    private final Counter contadorLentas;
+    private final Counter contadorNMasUno;
+
+    private final Deque<ConsultaLenta> lentas = new ArrayDeque<>();
+    private final Deque<NMasUno> detecciones = new ArrayDeque<>();
+
+    public QueryDiagnostics(@Value("${diagnostico.consultas.umbral-ms:200}") long umbralMs,
+                            @Value("${diagnostico.n-mas-uno.umbral:5}") int umbralRepeticiones,
+                            MeterRegistry registry) {
+        this.umbralMs = umbralMs;
+        this.umbralRepeticiones = umbralRepeticiones;
+        this.contadorLentas = Counter.builder("jpa.consultas.lentas")
+                .description("Sentencias que superan diagnostico.consultas.umbral-ms")
+                .register(registry);
+        this.contadorNMasUno = Counter.builder("jpa.consultas.repetidas")
+                .description("Patrones N+1: un SELECT repetido diagnostico.n-mas-uno.umbral veces en una petición")
+                .register(registry);
+    }
+
+    public record ConsultaLenta(Instant momento, long ms, String sql, List<List<String>> parametros, String casoDeUso) {
+    }
+
+    public record NMasUno(Instant momento, String casoDeUso, String sql, int repeticiones) {
+    }
+
+    // Contadores de una petición: sentencias por tipo y cuántas veces se repite cada SELECT
+    public static final class Peticion {
+        private final String casoDeUso;
+        private final Map<String, Integer> repeticiones = new HashMap<>();
+        private final Map<String, Integer> porTipo = new HashMap<>();
+        private int sentencias;
+
+        private Peticion(String casoDeUso) {
+            this.casoDeUso = casoDeUso;
+        }
+
+        public String getCasoDeUso() {
+            return casoDeUso;
+        }
+
+        public int getSentencias() {
+            return sentencias;
+        }
+
+        // Tipo = primera palabra de la sentencia en minúsculas: select, insert, update, delete...
+        public int getSentencias(String tipo) {
+            return porTipo.getOrDefault(tipo, 0);
+        }
+
+        public Map<String, Integer> getPorTipo() {
+            return porTipo;
+        }
+    }
+
+    public void iniciar(String casoDeUso) {
+        PETICION.set(new Peticion(casoDeUso));
+    }
+
+    public Peticion terminar() {
+        Peticion peticion = PETICION.get();
+        PETICION.remove();
+        return peticion;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo info, List<QueryInfo> consultas) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo info, List<QueryInfo> consultas) {
+        Peticion peticion = PETICION.get();
+        if (peticion != null) {
+            for (QueryInfo consulta : consultas) {
+                contar(peticion, consulta.getQuery());
+            }
+        }
+        if (info.getElapsedTime() >= umbralMs) {
+            registrarLenta(info, consultas, peticion);
+        }
+    }
+
+    public List<ConsultaLenta> consultasLentas() {
+        synchronized (lentas) {
+            return new ArrayList<>(lentas);
+        }
+    }
+
+    public List<NMasUno> deteccionesNMasUno() {
+        synchronized (detecciones) {
+            return new ArrayList<>(detecciones);
+        }
+    }
+
+    private void contar(Peticion peticion, String sql) {
+        peticion.sentencias++;
+        String texto = sql.stripLeading();
+        int fin = 0;
+        while (fin < texto.length() && Character.isLetter(texto.charAt(fin))) {
+            fin++;
+        }
+        String tipo = texto.substring(0, fin).toLowerCase(Locale.ROOT);
+        peticion.porTipo.merge(tipo, 1, Integer::sum);
+        if (!tipo.equals("select")) {
+            return;
+        }
+        // La sentencia ya llega parametrizada (con ?), así que el texto identifica el patrón
+        int veces = peticion.repeticiones.merge(sql, 1, Integer::sum);
+        if (veces == umbralRepeticiones) {
+            // Solo se informa una vez por sentencia y petición
+            NMasUno deteccion = new NMasUno(Instant.now(), peticion.casoDeUso, sql, veces);
+            log.warn("Posible N+1 en {}: la misma consulta se ejecutó {} veces: {}", peticion.casoDeUso, veces, sql);
+            contadorNMasUno.increment();
+            agregar(detecciones, deteccion);
+        }
+    }
+
+    private void registrarLenta(ExecutionInfo info, List<QueryInfo> consultas, Peticion peticion) {
+        String casoDeUso = peticion != null ? peticion.casoDeUso + " (" + llamador() + ")" : llamador();
+        for (QueryInfo consulta : consultas) {
+            List<List<String>> parametros = parametros(consulta);
+            log.warn("Consulta lenta ({} ms) en {}: {} parámetros={}", info.getElapsedTime(), casoDeUso, consulta.getQuery(), parametros);
+            agregar(lentas, new ConsultaLenta(Instant.now(), info.getElapsedTime(), consulta.getQuery(), parametros, casoDeUso));
+        }
+        contadorLentas.increment();
+    }
+
+    private static List<List<String>> parametros(QueryInfo consulta) {
+        List<List<String>> resultado = new ArrayList<>();
+        for (List<ParameterSetOperation> lote : consulta.getParametersList()) {
+            if (resultado.size() == MAX_LOTES) {
+                break;
+            }
+            List<String> valores = new ArrayList<>(lote.size());
+            for (ParameterSetOperation operacion : lote) {
+                Object[] args = operacion.getArgs();
+                // args[0] es la posición del parámetro y args[1] el valor (setNull solo trae el tipo)
+                valores.add(args.length > 1 && !ParameterSetOperation.isSetNullParameterOperation(operacion)
+                        ? String.valueOf(args[1]) : "null");
+            }
+            resultado.add(valores);
+        }
+        return resultado;
+    }
+
+    // Primer método de la aplicación en la pila, sin contar este paquete ni los proxies de Spring
+    private static String llamador() {
+        return StackWalker.getInstance().walk(pila -> pila
+                .filter(f -> f.getClassName().startsWith("com.jpa.")
+                        && !f.getClassName().startsWith("com.jpa.diagnostics.")
+                        && !f.getClassName().contains("$$"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+                .orElse("desconocido"));
+    }
+
+    private static <T> void agregar(Deque<T> cola, T elemento) {
+        synchronized (cola) {
+            if (cola.size() == MAX_RECIENTES) {
+                cola.removeFirst();
+            }
+            cola.addLast(elemento);
+        }
+    }
+}
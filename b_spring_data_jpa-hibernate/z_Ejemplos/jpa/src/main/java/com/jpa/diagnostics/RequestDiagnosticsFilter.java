@@ -0,0 +1,35 @@
+package com.jpa.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Abre un contexto de diagnóstico por petición para contar sentencias y detectar N+1
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestDiagnosticsFilter extends OncePerRequestFilter {
+
+    private final QueryDiagnostics diagnostics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        diagnostics.iniciar(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryDiagnostics.Peticion peticion = diagnostics.terminar();
+            if (peticion != null && peticion.getSentencias() > 0) {
+                log.debug("{} ejecutó {} sentencias {}", peticion.getCasoDeUso(), peticion.getSentencias(), peticion.getPorTipo());
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.jpa.dto;
+
+import com.jpa.entities.Club;
+
+// Vista plana de Club para la API
+public record ClubView(Long id, String name) {
+
+    public static ClubView of(Club club) {
+        return new ClubView(club.getId(), club.getName());
+    }
+}
@@ -0,0 +1,8 @@
+package com.jpa.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Vista plana de FootballCompetition con los ids de sus clubes inscritos; endDate null = sin terminar
+public record CompetitionView(Long id, String name, LocalDate startDate, LocalDate endDate, List<Long> clubIds) {
+}
@@ -0,0 +1,12 @@
+package com.jpa.dto;
+
+import com.jpa.entities.Player;
+
+// Vista plana de Player para la API: evita serializar la entidad (y sus relaciones perezosas)
+public record PlayerView(Long id, String name, String lastName, Integer age, String nationality, Long clubId) {
+
+    public static PlayerView of(Player player) {
+        return new PlayerView(player.getId(), player.getName(), player.getLastName(), player.getAge(),
+                player.getNationality(), player.getClub() != null ? player.getClub().getId() : null);
+    }
+}
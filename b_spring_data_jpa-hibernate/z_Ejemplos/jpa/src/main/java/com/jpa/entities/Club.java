@@ -3,33 +3,85 @@ package com.jpa.entities;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-@Data
+// LOMBOX => @Getter/@Setter en lugar de @Data: equals/hashCode se escriben a mano (ver abajo)
+@Getter
+@Setter
+@ToString
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
+// HIBERNATE SEARCH => Se indexa en Lucene (ver Player)
+@Indexed
 public class Club {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @FullTextField(analyzer = "nombre_parcial", searchAnalyzer = "nombre")
+    @FullTextField(name = "name_exacto", analyzer = "nombre")
     private String name;
 
+    @ToString.Exclude
     @OneToOne(targetEntity = Coach.class, cascade = CascadeType.PERSIST)
     private Coach coach;
 
+    @ToString.Exclude
     @OneToMany(targetEntity = Player.class, fetch = FetchType.LAZY)
     private List<Player> players;
 
+    @ToString.Exclude
     @ManyToOne(targetEntity = FootballAssociation.class, fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     private FootballAssociation footballAssociation;
 
+    // HIBERNATE => Club es el lado propietario de la relación n a n: solo sus cambios escriben en club_competition.
+    // Con un Set, añadir o quitar una competición es un INSERT o DELETE de una fila (con un List, un "bag",
+    // Hibernate borraba y reinsertaba todas las filas del club).
+    @ToString.Exclude
+    @Builder.Default
     @ManyToMany(targetEntity = FootballCompetition.class, fetch = FetchType.LAZY)
-    @JoinTable(name = "club_competition", joinColumns = @JoinColumn(name = "club"), inverseJoinColumns = @JoinColumn(name = "competition"))
-    private List<FootballCompetition> footballCompetitions;
+    @JoinTable(name = "club_competition", joinColumns = @JoinColumn(name = "club"), inverseJoinColumns = @JoinColumn(name = "competition"),
+            indexes = @Index(name = "idx_club_competition_competition", columnList = "competition"))
+    private Set<FootballCompetition> footballCompetitions = new HashSet<>();
+
+    // Mantienen sincronizados los dos lados de la relación en memoria
+    public void inscribir(FootballCompetition competition) {
+        footballCompetitions.add(competition);
+        competition.getClubs().add(this);
+    }
+
+    public void retirar(FootballCompetition competition) {
+        footballCompetitions.remove(competition);
+        competition.getClubs().remove(this);
+    }
+
+    // HIBERNATE => Igualdad por id y hashCode constante: la entidad sigue encontrándose en un Set
+    // aunque el id se asigne al persistirla
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Club club)) {
+            return false;
+        }
+        return id != null && id.equals(club.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Club.class.hashCode();
+    }
 }
@@ -0,0 +1,32 @@
+package com.jpa.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// LOMBOX
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+// HIBERNATE => Tabla materializada con los agregados de cada club; la mantiene SquadAggregates
+@Entity
+@Table(name = "club_aggregate")
+public class ClubAggregate {
+
+    // HIBERNATE => LLave primaría (el id del club, no se genera)
+    @Id
+    @Column(name = "club_id")
+    private Long clubId;
+
+    private long players;
+
+    @Column(name = "players_with_age")
+    private long playersWithAge;
+
+    @Column(name = "age_sum")
+    private long ageSum;
+}
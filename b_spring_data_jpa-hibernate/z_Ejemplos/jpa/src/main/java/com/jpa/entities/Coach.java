@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 // HIBERNATE => Indica que es una entidad persistente
+@Entity
 public class Coach {
 
     // HIBERNATE => LLave primaría
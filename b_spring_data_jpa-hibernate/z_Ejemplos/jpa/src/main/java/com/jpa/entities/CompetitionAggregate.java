@@ -0,0 +1,26 @@
+package com.jpa.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// LOMBOX
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+// HIBERNATE => Tabla materializada con el número de clubes de cada competición; la mantiene SquadAggregates
+@Entity
+@Table(name = "competition_aggregate")
+public class CompetitionAggregate {
+
+    // HIBERNATE => LLave primaría (el id de la competición, no se genera)
+    @Id
+    @Column(name = "competition_id")
+    private Long competitionId;
+
+    private long clubs;
+}
@@ -3,19 +3,30 @@ package com.jpa.entities;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 // LOMBOX
-@Data
+@Getter
+@Setter
+@ToString
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 // HIBERNATE => Indica que es una entidad persistente
 @Entity
+// HIBERNATE => Índices compuestos para las consultas de solapamiento de fechas (ver CompetitionCalendar):
+// por inicio cuando el rango buscado es reciente y por fin cuando es antiguo
+@Table(indexes = {
+        @Index(name = "idx_competition_inicio_fin", columnList = "start_date, end_date"),
+        @Index(name = "idx_competition_fin_inicio", columnList = "end_date, start_date")
+})
 public class FootballCompetition {
 
     // HIBERNATE => LLave primaría
@@ -37,7 +48,27 @@ public class FootballCompetition {
     @Column(name = "end_date", columnDefinition = "DATE")
     private LocalDate endDate;
 
-    // HIBERNATE => Relación de n a n con la tabla relacionada
-    @ManyToMany(targetEntity = Club.class, fetch = FetchType.LAZY)
-    private List<Club> clubs;
+    // HIBERNATE => Relación de n a n con la tabla relacionada. mappedBy indica que es el lado inverso:
+    // reutiliza la tabla club_competition de Club en lugar de crear otra tabla de unión.
+    @ToString.Exclude
+    @Builder.Default
+    @ManyToMany(targetEntity = Club.class, fetch = FetchType.LAZY, mappedBy = "footballCompetitions")
+    private Set<Club> clubs = new HashSet<>();
+
+    // HIBERNATE => Igualdad por id y hashCode constante (ver Club)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FootballCompetition competition)) {
+            return false;
+        }
+        return id != null && id.equals(competition.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return FootballCompetition.class.hashCode();
+    }
 }
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 
 @Data
 @AllArgsConstructor
@@ -12,6 +14,8 @@ import lombok.NoArgsConstructor;
 @Builder
 // HIBERNATE => Indica que es una entidad persistente
 @Entity
+// HIBERNATE SEARCH => Se indexa en Lucene; el índice se actualiza al confirmar cada transacción
+@Indexed
 public class Player {
 
     // HIBERNATE => LLave primaría
@@ -19,13 +23,21 @@ public class Player {
     // HIBERNATE => Especificar valore de llava primaria
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // HIBERNATE SEARCH => Campo de texto para búsquedas parciales y otro para palabras completas (puntúa más)
+    @FullTextField(analyzer = "nombre_parcial", searchAnalyzer = "nombre")
+    @FullTextField(name = "name_exacto", analyzer = "nombre")
     private String name;
 
 
     // HIBERNATE => Personaliza detalles de la tabla como: nombre, longitud, null, unico
     @Column(name = "last_name")
+    @FullTextField(analyzer = "nombre_parcial", searchAnalyzer = "nombre")
+    @FullTextField(name = "lastName_exacto", analyzer = "nombre")
     private String lastName;
     private Integer age;
+
+    @FullTextField(analyzer = "nombre")
     private String nationality;
 
     // HIBERNATE => Relación de n a 1 con la tabla relacionada
@@ -0,0 +1,75 @@
+package com.jpa.events;
+
+import com.jpa.entities.Club;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+
+import java.util.concurrent.locks.Lock;
+
+// Lo que comparten los listeners de eventos de Hibernate (AggregateEventListener, CalendarEventListener):
+// el registro en la SessionFactory, reconocer la colección Club.footballCompetitions y aplazar el
+// trabajo hasta que termina la transacción
+public final class HibernateEvents {
+
+    private static final String COMPETICIONES_DEL_CLUB = Club.class.getName() + ".footballCompetitions";
+
+    private HibernateEvents() {
+    }
+
+    // El listener debe implementar la interfaz de cada tipo de evento
+    @SuppressWarnings("unchecked")
+    public static void registrar(EntityManagerFactory emf, Object listener, EventType<?>... tipos) {
+        EventListenerRegistry registro = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        for (EventType<?> tipo : tipos) {
+            registro.appendListeners((EventType<Object>) tipo, listener);
+        }
+    }
+
+    // En una colección recién creada el rol aún no está asignado: se reconoce por su dueño
+    public static boolean esCompeticionesDeClub(AbstractCollectionEvent event) {
+        return COMPETICIONES_DEL_CLUB.equals(event.getCollection().getRole())
+                || event.getAffectedOwnerOrNull() instanceof Club club && club.getFootballCompetitions() == event.getCollection();
+    }
+
+    // Los eventos llegan durante el flush; el cambio se aplica después, y solo si hay commit
+    public static void alConfirmar(EventSource session, Runnable cambio) {
+        session.getActionQueue().registerProcess((exito, s) -> {
+            if (exito) {
+                cambio.run();
+            }
+        });
+    }
+
+    // Como alConfirmar, pero "candado" se toma justo antes del commit y se suelta después de aplicar el
+    // cambio: quien tome la otra parte del candado nunca ve el commit sin el cambio
+    public static void alConfirmar(EventSource session, Lock candado, Runnable cambio) {
+        boolean[] tomado = new boolean[1];
+        session.getActionQueue().registerProcess(s -> {
+            candado.lock();
+            tomado[0] = true;
+        });
+        session.getActionQueue().registerProcess((exito, s) -> {
+            // Si otro proceso previo al commit falló, este no llegó a tomar el candado
+            if (!tomado[0]) {
+                return;
+            }
+            try {
+                if (exito) {
+                    cambio.run();
+                }
+            } finally {
+                candado.unlock();
+            }
+        });
+    }
+
+    // Como alConfirmar, pero también si la transacción se deshace
+    public static void alTerminar(EventSource session, Runnable accion) {
+        session.getActionQueue().registerProcess((exito, s) -> accion.run());
+    }
+}
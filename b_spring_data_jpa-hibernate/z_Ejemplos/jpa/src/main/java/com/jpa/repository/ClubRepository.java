@@ -0,0 +1,7 @@
+package com.jpa.repository;
+
+import com.jpa.entities.Club;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ClubRepository extends JpaRepository<Club, Long> {
+}
@@ -0,0 +1,43 @@
+package com.jpa.repository;
+
+import com.jpa.entities.FootballCompetition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface FootballCompetitionRepository extends JpaRepository<FootballCompetition, Long> {
+
+    // Inscribe varios clubes en una sola sentencia; los que ya estaban inscritos o no existen se ignoran
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO club_competition (club, competition)
+            SELECT c.id, fc.id FROM club c, football_competition fc
+            WHERE fc.id = :competition AND c.id IN (:clubs)
+              AND NOT EXISTS (SELECT 1 FROM club_competition cc WHERE cc.club = c.id AND cc.competition = fc.id)
+            """, nativeQuery = true)
+    int inscribirClubes(@Param("competition") long competitionId, @Param("clubs") Collection<Long> clubIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM club_competition WHERE competition = :competition AND club IN (:clubs)", nativeQuery = true)
+    int retirarClubes(@Param("competition") long competitionId, @Param("clubs") Collection<Long> clubIds);
+
+    // Competiciones que se solapan con [desde, hasta] (endDate null = sin terminar); usa idx_competition_inicio_fin
+    @Query("""
+            SELECT fc FROM FootballCompetition fc
+            WHERE fc.startDate <= :hasta AND (fc.endDate IS NULL OR fc.endDate >= :desde)
+            ORDER BY fc.startDate""")
+    List<FootballCompetition> solapadas(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    // Pares (competición, club) de las competiciones que devuelve solapadas(desde, hasta), con un join en lugar
+    // de una lista IN con todos sus ids; usa idx_competition_inicio_fin e idx_club_competition_competition
+    @Query(value = """
+            SELECT cc.competition, cc.club FROM club_competition cc
+            JOIN football_competition fc ON fc.id = cc.competition
+            WHERE fc.start_date <= :hasta AND (fc.end_date IS NULL OR fc.end_date >= :desde)""", nativeQuery = true)
+    List<Object[]> clubesInscritosEnSolapadas(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+}
@@ -0,0 +1,7 @@
+package com.jpa.repository;
+
+import com.jpa.entities.Player;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PlayerRepository extends JpaRepository<Player, Long> {
+}
@@ -0,0 +1,27 @@
+package com.jpa.search;
+
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+// Analizadores del índice de jugadores y clubes (hibernate.search.backend.analysis.configurer)
+public class FootballAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        // Palabras en minúsculas y sin tildes: "Núñez" y "nunez" son el mismo término
+        context.analyzer("nombre").custom()
+                .tokenizer("standard")
+                .tokenFilter("lowercase")
+                .tokenFilter("asciiFolding");
+
+        // Además indexa los prefijos de cada palabra ("gue", "guer"...) para búsquedas parciales
+        // sin LIKE '%x%'; al buscar se usa "nombre" para no trocear también la consulta
+        context.analyzer("nombre_parcial").custom()
+                .tokenizer("standard")
+                .tokenFilter("lowercase")
+                .tokenFilter("asciiFolding")
+                .tokenFilter("edgeNGram")
+                .param("minGramSize", "2")
+                .param("maxGramSize", "20");
+    }
+}
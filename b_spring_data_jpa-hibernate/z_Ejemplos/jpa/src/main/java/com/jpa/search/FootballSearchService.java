@@ -0,0 +1,107 @@
+package com.jpa.search;
+
+import com.jpa.dto.ClubView;
+import com.jpa.dto.PlayerView;
+import com.jpa.entities.Club;
+import com.jpa.entities.Player;
+import com.jpa.writebehind.WritesFlushed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.search.engine.search.common.BooleanOperator;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+// Búsqueda de texto completo sobre el índice Lucene de Player y Club (Hibernate Search).
+// Hibernate Search actualiza el índice al confirmar cada transacción; lo que se escribe por JDBC
+// (write-behind) se reindexa al recibir WritesFlushed.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FootballSearchService {
+
+    public record Acierto<T>(T valor, float puntuacion) {
+    }
+
+    public record Resultado<T>(long total, long milisegundos, List<Acierto<T>> aciertos) {
+    }
+
+    // Cada acierto carga su entidad: una búsqueda nunca devuelve más de LIMITE_MAXIMO
+    static final int LIMITE_MAXIMO = 100;
+
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+
+    // Coincidir con la palabra completa puntúa más que con un prefijo
+    @Transactional(readOnly = true)
+    public Resultado<PlayerView> buscarJugadores(String texto, int limite) {
+        SearchResult<Acierto<PlayerView>> resultado = Search.session(em).search(Player.class)
+                .select(f -> f.composite()
+                        .from(f.entity(), f.score())
+                        .as((player, puntuacion) -> new Acierto<>(PlayerView.of(player), puntuacion)))
+                .where(f -> f.simpleQueryString()
+                        .fields("name_exacto", "lastName_exacto").boost(3f)
+                        .fields("name", "lastName", "nationality")
+                        .matching(texto)
+                        .defaultOperator(BooleanOperator.AND))
+                .fetch(limitar(limite));
+        return new Resultado<>(resultado.total().hitCountLowerBound(), resultado.took().toMillis(), resultado.hits());
+    }
+
+    @Transactional(readOnly = true)
+    public Resultado<ClubView> buscarClubes(String texto, int limite) {
+        SearchResult<Acierto<ClubView>> resultado = Search.session(em).search(Club.class)
+                .select(f -> f.composite()
+                        .from(f.entity(), f.score())
+                        .as((club, puntuacion) -> new Acierto<>(ClubView.of(club), puntuacion)))
+                .where(f -> f.simpleQueryString()
+                        .field("name_exacto").boost(3f)
+                        .field("name")
+                        .matching(texto)
+                        .defaultOperator(BooleanOperator.AND))
+                .fetch(limitar(limite));
+        return new Resultado<>(resultado.total().hitCountLowerBound(), resultado.took().toMillis(), resultado.hits());
+    }
+
+    private static int limitar(int limite) {
+        return Math.clamp(limite, 1, LIMITE_MAXIMO);
+    }
+
+    // Reconstruye el índice completo leyendo la base de datos
+    public void reindexar() throws InterruptedException {
+        long inicio = System.nanoTime();
+        Search.mapping(emf).scope(List.of(Player.class, Club.class)).massIndexer().startAndWait();
+        log.info("Índice de búsqueda reconstruido en {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // Las escrituras diferidas se aplicaron con JDBC: se cargan las entidades y se reindexan al confirmar.
+    // Un volcado trae hasta futbol.write-behind.umbral ids: se cargan con un IN por tipo, no uno a uno
+    @EventListener
+    @Transactional
+    public void alVolcar(WritesFlushed volcado) {
+        SearchSession sesion = Search.session(em);
+        reindexar(sesion, Player.class, volcado.playerIds());
+        reindexar(sesion, Club.class, volcado.clubIds());
+    }
+
+    private void reindexar(SearchSession sesion, Class<?> tipo, Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Object entidad : em.unwrap(Session.class).byMultipleIds(tipo).multiLoad(List.copyOf(ids))) {
+            // null si la fila ya no existe
+            if (entidad != null) {
+                sesion.indexingPlan().addOrUpdate(entidad);
+            }
+        }
+    }
+}
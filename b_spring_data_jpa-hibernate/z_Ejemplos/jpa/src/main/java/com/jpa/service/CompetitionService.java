@@ -0,0 +1,76 @@
+package com.jpa.service;
+
+import com.jpa.aggregates.SquadAggregates;
+import com.jpa.calendar.CompetitionCalendar;
+import com.jpa.repository.FootballCompetitionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+
+// Altas y bajas masivas de clubes en una competición con SQL por conjuntos,
+// sin cargar las colecciones club_competition en memoria
+@Service
+@RequiredArgsConstructor
+public class CompetitionService {
+
+    private final FootballCompetitionRepository competitionRepository;
+    private final SquadAggregates aggregates;
+    private final CompetitionCalendar calendar;
+
+    @Transactional
+    public int inscribir(long competitionId, Collection<Long> clubIds) {
+        comprobar(competitionId);
+        int inscritos = clubIds.isEmpty() ? 0 : competitionRepository.inscribirClubes(competitionId, clubIds);
+        alConfirmar(competitionId, inscritos);
+        return inscritos;
+    }
+
+    @Transactional
+    public int retirar(long competitionId, Collection<Long> clubIds) {
+        comprobar(competitionId);
+        int retirados = clubIds.isEmpty() ? 0 : competitionRepository.retirarClubes(competitionId, clubIds);
+        alConfirmar(competitionId, -retirados);
+        return retirados;
+    }
+
+    // El SQL nativo no genera eventos de Hibernate: los agregados y el calendario se ajustan aquí tras el commit,
+    // con SquadAggregates.cambios() tomado desde antes del commit
+    private void alConfirmar(long competitionId, int diferencia) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean tomado;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                aggregates.cambios().lock();
+                tomado = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!tomado) {
+                    return;
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        aggregates.inscripcionesCambiadas(competitionId, diferencia);
+                        calendar.invalidar();
+                    }
+                } finally {
+                    aggregates.cambios().unlock();
+                }
+            }
+        });
+    }
+
+    private void comprobar(long competitionId) {
+        if (!competitionRepository.existsById(competitionId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe la competición " + competitionId);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.jpa.service;
+
+import com.jpa.dto.ClubView;
+import com.jpa.dto.PlayerView;
+import com.jpa.repository.ClubRepository;
+import com.jpa.repository.PlayerRepository;
+import com.jpa.writebehind.WriteBehindService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+
+// Lecturas y escrituras de jugadores y clubes. Las escrituras van por WriteBehindService y las lecturas
+// consultan primero lo pendiente, para que cada cliente vea sus propias escrituras.
+@Service
+@RequiredArgsConstructor
+public class FootballService {
+
+    private final PlayerRepository playerRepository;
+    private final ClubRepository clubRepository;
+    private final WriteBehindService writeBehind;
+
+    @Transactional(readOnly = true)
+    public Optional<PlayerView> findPlayer(long id) {
+        return writeBehind.pendientePlayer(id).or(() -> playerRepository.findById(id).map(PlayerView::of));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ClubView> findClub(long id) {
+        return writeBehind.pendienteClub(id).or(() -> clubRepository.findById(id).map(ClubView::of));
+    }
+
+    public Optional<PlayerView> updatePlayer(long id, PlayerView datos) {
+        if (writeBehind.pendientePlayer(id).isEmpty() && !playerRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        // Se valida aquí para no encolar una escritura que la base de datos rechazaría al volcarla
+        if (datos.clubId() != null && writeBehind.pendienteClub(datos.clubId()).isEmpty()
+                && !clubRepository.existsById(datos.clubId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No existe el club " + datos.clubId());
+        }
+        return Optional.of(writeBehind.actualizarPlayer(id, datos));
+    }
+
+    public Optional<ClubView> updateClub(long id, ClubView datos) {
+        if (writeBehind.pendienteClub(id).isEmpty() && !clubRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(writeBehind.actualizarClub(id, datos));
+    }
+}
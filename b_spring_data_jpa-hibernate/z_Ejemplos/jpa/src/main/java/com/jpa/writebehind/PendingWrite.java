@@ -0,0 +1,91 @@
+package com.jpa.writebehind;
+
+import com.jpa.dto.ClubView;
+import com.jpa.dto.PlayerView;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Estado completo de una entidad pendiente de escribir. Al guardar el estado entero (y no el cambio)
+// varias actualizaciones de la misma entidad se fusionan quedándose con la última.
+public record PendingWrite(long seq, Tipo tipo, long id, String name, String lastName, Integer age,
+                           String nationality, Long clubId) {
+
+    public enum Tipo { PLAYER, CLUB }
+
+    // Identifica la entidad: la clave por la que se fusionan las escrituras
+    public record Clave(Tipo tipo, long id) {
+    }
+
+    public static PendingWrite player(long seq, long id, PlayerView datos) {
+        return new PendingWrite(seq, Tipo.PLAYER, id, datos.name(), datos.lastName(), datos.age(),
+                datos.nationality(), datos.clubId());
+    }
+
+    public static PendingWrite club(long seq, long id, ClubView datos) {
+        return new PendingWrite(seq, Tipo.CLUB, id, datos.name(), null, null, null, null);
+    }
+
+    public Clave clave() {
+        return new Clave(tipo, id);
+    }
+
+    public PlayerView toPlayerView() {
+        return new PlayerView(id, name, lastName, age, nationality, clubId);
+    }
+
+    public ClubView toClubView() {
+        return new ClubView(id, name);
+    }
+
+    byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(seq);
+            out.writeByte(tipo.ordinal());
+            out.writeLong(id);
+            escribirTexto(out, name);
+            escribirTexto(out, lastName);
+            out.writeBoolean(age != null);
+            if (age != null) {
+                out.writeInt(age);
+            }
+            escribirTexto(out, nationality);
+            out.writeBoolean(clubId != null);
+            if (clubId != null) {
+                out.writeLong(clubId);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static PendingWrite fromBytes(byte[] datos) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(datos));
+        long seq = in.readLong();
+        Tipo tipo = Tipo.values()[in.readByte()];
+        long id = in.readLong();
+        String name = leerTexto(in);
+        String lastName = leerTexto(in);
+        Integer age = in.readBoolean() ? in.readInt() : null;
+        String nationality = leerTexto(in);
+        Long clubId = in.readBoolean() ? in.readLong() : null;
+        return new PendingWrite(seq, tipo, id, name, lastName, age, nationality, clubId);
+    }
+
+    private static void escribirTexto(DataOutputStream out, String texto) throws IOException {
+        out.writeBoolean(texto != null);
+        if (texto != null) {
+            out.writeUTF(texto);
+        }
+    }
+
+    private static String leerTexto(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
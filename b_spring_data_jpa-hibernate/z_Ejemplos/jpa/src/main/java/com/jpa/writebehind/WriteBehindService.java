@@ -0,0 +1,288 @@
+package com.jpa.writebehind;
+
+import com.jpa.aggregates.SquadAggregates;
+import com.jpa.dto.ClubView;
+import com.jpa.dto.PlayerView;
+import com.jpa.writebehind.PendingWrite.Clave;
+import com.jpa.writebehind.PendingWrite.Tipo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+// Escritura diferida (write-behind) de Player y Club: la actualización se confirma en cuanto queda
+// en el diario local y se vuelca a la base de datos después, en lotes JDBC.
+@Slf4j
+@Service
+public class WriteBehindService {
+
+    private static final String UPDATE_PLAYER =
+            "UPDATE player SET name = ?, last_name = ?, age = ?, nationality = ?, id_club = ? WHERE id = ?";
+    private static final String UPDATE_CLUB = "UPDATE club SET name = ? WHERE id = ?";
+
+    private static final ParameterizedPreparedStatementSetter<PendingWrite> PARAMETROS_PLAYER = (ps, p) -> {
+        ps.setObject(1, p.name(), Types.VARCHAR);
+        ps.setObject(2, p.lastName(), Types.VARCHAR);
+        ps.setObject(3, p.age(), Types.INTEGER);
+        ps.setObject(4, p.nationality(), Types.VARCHAR);
+        ps.setObject(5, p.clubId(), Types.BIGINT);
+        ps.setLong(6, p.id());
+    };
+    private static final ParameterizedPreparedStatementSetter<PendingWrite> PARAMETROS_CLUB = (ps, p) -> {
+        ps.setObject(1, p.name(), Types.VARCHAR);
+        ps.setLong(2, p.id());
+    };
+
+    private final JdbcTemplate jdbc;
+    private final SquadAggregates aggregates;
+    private final ApplicationEventPublisher eventos;
+    private final WriteJournal diario;
+    // Escrituras que la base de datos rechazó tras haber respondido 202; no se reintentan
+    private final WriteJournal rechazadas;
+    private final int tamanoLote;
+    private final int umbral;
+
+    // Última escritura pendiente de cada entidad; es también la fuente de lectura de lo aún no volcado
+    private final ConcurrentHashMap<Clave, PendingWrite> pendientes = new ConcurrentHashMap<>();
+    // Diario y pendientes se modifican juntos bajo este candado para que nunca diverjan
+    private final Object candado = new Object();
+    private final ReentrantLock vaciando = new ReentrantLock();
+    private final AtomicBoolean vaciadoSolicitado = new AtomicBoolean();
+    private final ExecutorService vaciador = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "write-behind");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private long secuencia;
+
+    public WriteBehindService(JdbcTemplate jdbc, SquadAggregates aggregates, ApplicationEventPublisher eventos,
+                              @Value("${futbol.write-behind.diario:data/write-behind.journal}") Path archivo,
+                              @Value("${futbol.write-behind.lote:500}") int tamanoLote,
+                              @Value("${futbol.write-behind.umbral:1000}") int umbral) throws IOException {
+        this.jdbc = jdbc;
+        this.aggregates = aggregates;
+        this.eventos = eventos;
+        this.diario = new WriteJournal(archivo);
+        this.rechazadas = new WriteJournal(archivo.resolveSibling(archivo.getFileName() + ".rechazadas"));
+        this.tamanoLote = tamanoLote;
+        this.umbral = umbral;
+    }
+
+    // Tras una caída, lo que quedó en el diario vuelve a estar pendiente (y visible para lecturas)
+    @PostConstruct
+    public void recuperar() throws IOException {
+        List<PendingWrite> registros = diario.leer();
+        synchronized (candado) {
+            for (PendingWrite registro : registros) {
+                pendientes.merge(registro.clave(), registro, (actual, nuevo) -> nuevo.seq() > actual.seq() ? nuevo : actual);
+                secuencia = Math.max(secuencia, registro.seq());
+            }
+        }
+        if (!registros.isEmpty()) {
+            log.info("Recuperadas {} escrituras pendientes del diario", pendientes.size());
+        }
+    }
+
+    public PlayerView actualizarPlayer(long id, PlayerView datos) {
+        return encolar(seq -> PendingWrite.player(seq, id, datos)).toPlayerView();
+    }
+
+    public ClubView actualizarClub(long id, ClubView datos) {
+        return encolar(seq -> PendingWrite.club(seq, id, datos)).toClubView();
+    }
+
+    public Optional<PlayerView> pendientePlayer(long id) {
+        return Optional.ofNullable(pendientes.get(new Clave(Tipo.PLAYER, id))).map(PendingWrite::toPlayerView);
+    }
+
+    public Optional<ClubView> pendienteClub(long id) {
+        return Optional.ofNullable(pendientes.get(new Clave(Tipo.CLUB, id))).map(PendingWrite::toClubView);
+    }
+
+    public int pendientes() {
+        return pendientes.size();
+    }
+
+    // Escrituras descartadas por violar una restricción, en el orden en que se rechazaron
+    public List<PendingWrite> rechazadas() throws IOException {
+        return rechazadas.leer();
+    }
+
+    // Vuelca lo pendiente en lotes JDBC; se ejecuta periódicamente y al superar el umbral
+    @Scheduled(fixedDelayString = "${futbol.write-behind.intervalo-ms:1000}")
+    public void vaciar() {
+        vaciando.lock();
+        try {
+            List<PendingWrite> lote = new ArrayList<>(pendientes.values());
+            if (lote.isEmpty()) {
+                return;
+            }
+            List<PendingWrite> volcadas;
+            try {
+                volcadas = volcar(lote);
+            } catch (DataAccessException e) {
+                log.error("No se pudieron volcar {} escrituras, se reintentará", lote.size(), e);
+                return;
+            }
+            synchronized (candado) {
+                // remove(clave, valor): si llegó una escritura más nueva mientras tanto, sigue pendiente
+                volcadas.forEach(p -> pendientes.remove(p.clave(), p));
+                try {
+                    diario.reescribir(pendientes.values());
+                } catch (IOException e) {
+                    // El diario sigue siendo válido, solo contiene escrituras ya volcadas (reaplicarlas es idempotente)
+                    log.warn("No se pudo compactar el diario de escrituras", e);
+                }
+            }
+            // Avisa a quien mantiene copias derivadas de estas filas (p. ej. el índice de búsqueda)
+            eventos.publishEvent(new WritesFlushed(ids(volcadas, Tipo.PLAYER), ids(volcadas, Tipo.CLUB)));
+        } finally {
+            vaciando.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() throws IOException, InterruptedException {
+        vaciador.shutdown();
+        vaciador.awaitTermination(10, TimeUnit.SECONDS);
+        vaciar();
+        diario.close();
+        rechazadas.close();
+    }
+
+    private PendingWrite encolar(LongFunction<PendingWrite> crear) {
+        PendingWrite escritura;
+        synchronized (candado) {
+            escritura = crear.apply(secuencia + 1);
+            try {
+                diario.append(escritura);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo registrar la escritura en el diario", e);
+            }
+            secuencia++;
+            pendientes.put(escritura.clave(), escritura);
+        }
+        if (pendientes.size() >= umbral && vaciadoSolicitado.compareAndSet(false, true)) {
+            vaciador.execute(() -> {
+                vaciadoSolicitado.set(false);
+                vaciar();
+            });
+        }
+        return escritura;
+    }
+
+    // Devuelve las escrituras que ya no hay que reintentar (aplicadas o descartadas)
+    private List<PendingWrite> volcar(List<PendingWrite> lote) {
+        List<PendingWrite> players = new ArrayList<>();
+        List<PendingWrite> clubs = new ArrayList<>();
+        for (PendingWrite escritura : lote) {
+            (escritura.tipo() == Tipo.PLAYER ? players : clubs).add(escritura);
+        }
+        // Estas escrituras no pasan por Hibernate: los agregados se ajustan con el club y la edad anteriores
+        Map<Long, Object[]> anteriores = estadoAnterior(players);
+        // Cada sentencia se confirma sola (sin transacción): el UPDATE y su ajuste van con cambios() tomado
+        Lock cambios = aggregates.cambios();
+        try {
+            cambios.lock();
+            try {
+                jdbc.batchUpdate(UPDATE_PLAYER, players, tamanoLote, PARAMETROS_PLAYER);
+                players.forEach(p -> actualizarAgregados(p, anteriores));
+            } finally {
+                cambios.unlock();
+            }
+            jdbc.batchUpdate(UPDATE_CLUB, clubs, tamanoLote, PARAMETROS_CLUB);
+            return lote;
+        } catch (DataIntegrityViolationException e) {
+            // Una fila rompe una restricción (p. ej. un club inexistente): se aísla volcando una a una
+            log.warn("El lote viola una restricción, se vuelca fila a fila", e);
+            List<PendingWrite> resueltas = new ArrayList<>();
+            for (PendingWrite escritura : lote) {
+                try {
+                    if (escritura.tipo() == Tipo.PLAYER) {
+                        cambios.lock();
+                        try {
+                            jdbc.update(UPDATE_PLAYER, ps -> PARAMETROS_PLAYER.setValues(ps, escritura));
+                            actualizarAgregados(escritura, anteriores);
+                        } finally {
+                            cambios.unlock();
+                        }
+                    } else {
+                        jdbc.update(UPDATE_CLUB, ps -> PARAMETROS_CLUB.setValues(ps, escritura));
+                    }
+                } catch (DataIntegrityViolationException rechazo) {
+                    rechazar(escritura, rechazo);
+                }
+                resueltas.add(escritura);
+            }
+            return resueltas;
+        }
+    }
+
+    // El cliente ya recibió 202: la escritura se guarda aparte para poder revisarla o reaplicarla a mano
+    private void rechazar(PendingWrite escritura, DataIntegrityViolationException rechazo) {
+        log.error("Se descarta la escritura {} {} (guardada en el archivo de rechazadas): {}",
+                escritura.tipo(), escritura.id(), rechazo.getMessage());
+        try {
+            rechazadas.append(escritura);
+        } catch (IOException e) {
+            log.error("No se pudo guardar la escritura rechazada {} {}", escritura.tipo(), escritura.id(), e);
+        }
+    }
+
+    private static Set<Long> ids(List<PendingWrite> escrituras, Tipo tipo) {
+        return escrituras.stream().filter(p -> p.tipo() == tipo).map(PendingWrite::id).collect(Collectors.toSet());
+    }
+
+    // id -> {id_club, age} de los jugadores antes de sobrescribirlos
+    private Map<Long, Object[]> estadoAnterior(List<PendingWrite> players) {
+        if (players.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Object[]> anteriores = new HashMap<>();
+        for (int desde = 0; desde < players.size(); desde += tamanoLote) {
+            List<PendingWrite> tramo = players.subList(desde, Math.min(players.size(), desde + tamanoLote));
+            String huecos = String.join(", ", Collections.nCopies(tramo.size(), "?"));
+            jdbc.query("SELECT id, id_club, age FROM player WHERE id IN (" + huecos + ")",
+                    rs -> {
+                        anteriores.put(rs.getLong(1), new Object[] {rs.getObject(2, Long.class), rs.getObject(3, Integer.class)});
+                    },
+                    tramo.stream().map(PendingWrite::id).toArray());
+        }
+        return anteriores;
+    }
+
+    private void actualizarAgregados(PendingWrite player, Map<Long, Object[]> anteriores) {
+        Object[] anterior = anteriores.get(player.id());
+        if (anterior != null) {
+            aggregates.jugadorCambiado((Long) anterior[0], (Integer) anterior[1], player.clubId(), player.age());
+        }
+    }
+}
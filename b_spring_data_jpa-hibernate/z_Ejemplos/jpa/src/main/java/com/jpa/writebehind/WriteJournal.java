@@ -0,0 +1,146 @@
+package com.jpa.writebehind;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Diario local de solo-añadir. Cada registro es [longitud][crc32][PendingWrite] y se fuerza a disco
+// antes de confirmar la escritura, así una caída no pierde lo que ya se respondió al cliente.
+public class WriteJournal implements Closeable {
+
+    // Un registro mayor indica basura en el archivo (p. ej. una cabecera a medio escribir)
+    private static final int MAX_REGISTRO = 1 << 20;
+
+    private final Path archivo;
+    private FileChannel canal;
+
+    public WriteJournal(Path archivo) throws IOException {
+        this.archivo = archivo;
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        if (carpeta != null) {
+            Files.createDirectories(carpeta);
+        }
+        this.canal = abrir(archivo);
+    }
+
+    // Lee los registros válidos y recorta la cola que quedó a medias por una caída
+    public synchronized List<PendingWrite> leer() throws IOException {
+        List<PendingWrite> registros = new ArrayList<>();
+        long valido = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)))) {
+            while (true) {
+                int longitud;
+                int crc;
+                byte[] datos;
+                try {
+                    longitud = in.readInt();
+                    if (longitud <= 0 || longitud > MAX_REGISTRO) {
+                        break;
+                    }
+                    crc = in.readInt();
+                    datos = new byte[longitud];
+                    in.readFully(datos);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (crc != crc(datos)) {
+                    break;
+                }
+                registros.add(PendingWrite.fromBytes(datos));
+                valido += 8 + longitud;
+            }
+        }
+        if (valido < canal.size()) {
+            canal.truncate(valido);
+            canal.force(true);
+        }
+        canal.position(valido);
+        return registros;
+    }
+
+    public synchronized void append(PendingWrite escritura) throws IOException {
+        escribir(canal, escritura);
+        canal.force(false);
+    }
+
+    // Sustituye el diario por uno que solo contiene las escrituras aún pendientes.
+    // El canal del temporal pasa a ser el del diario tras el rename; si algo falla antes,
+    // se sigue usando el canal anterior y el diario queda como estaba.
+    public synchronized void reescribir(Collection<PendingWrite> pendientes) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        FileChannel nuevo = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            for (PendingWrite escritura : pendientes) {
+                escribir(nuevo, escritura);
+            }
+            nuevo.force(true);
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            nuevo.close();
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        // El rename solo es duradero cuando se sincroniza la carpeta que lo contiene
+        sincronizarCarpeta();
+        FileChannel anterior = canal;
+        canal = nuevo;
+        anterior.close();
+    }
+
+    public synchronized long size() throws IOException {
+        return canal.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        canal.close();
+    }
+
+    private void sincronizarCarpeta() throws IOException {
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        if (carpeta == null) {
+            return;
+        }
+        try (FileChannel directorio = FileChannel.open(carpeta, StandardOpenOption.READ)) {
+            directorio.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows no permite abrir una carpeta como canal; allí el rename ya es duradero
+        }
+    }
+
+    private static FileChannel abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        canal.position(canal.size());
+        return canal;
+    }
+
+    private static void escribir(FileChannel canal, PendingWrite escritura) throws IOException {
+        byte[] datos = escritura.toBytes();
+        ByteBuffer registro = ByteBuffer.allocate(8 + datos.length);
+        registro.putInt(datos.length).putInt(crc(datos)).put(datos).flip();
+        while (registro.hasRemaining()) {
+            canal.write(registro);
+        }
+    }
+
+    private static int crc(byte[] datos) {
+        CRC32 crc = new CRC32();
+        crc.update(datos);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,7 @@
+package com.jpa.writebehind;
+
+import java.util.Set;
+
+// Evento publicado tras volcar escrituras diferidas: esas filas cambiaron sin pasar por Hibernate
+public record WritesFlushed(Set<Long> playerIds, Set<Long> clubIds) {
+}
@@ -0,0 +1,203 @@
+package com.jpa.aggregates;
+
+import com.jpa.entities.Club;
+import com.jpa.entities.FootballCompetition;
+import com.jpa.entities.Player;
+import com.jpa.service.CompetitionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+class SquadAggregatesTests {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    SquadAggregates aggregates;
+
+    @Autowired
+    CompetitionService competitionService;
+
+    @Test
+    void sigueLosCambiosDeJugadores() {
+        long[] ids = tx.execute(status -> {
+            Club alianza = club("Alianza");
+            Club cristal = club("Cristal");
+            Player uno = jugador("Hernan", 30, alianza);
+            jugador("Kevin", 20, alianza);
+            jugador("Sin edad", null, alianza);
+            em.flush();
+            return new long[] {alianza.getId(), cristal.getId(), uno.getId()};
+        });
+        assertEquals(3, aggregates.club(ids[0]).jugadores());
+        assertEquals(25.0, aggregates.club(ids[0]).edadMedia());
+
+        // Cambio de club y de edad
+        tx.executeWithoutResult(status -> {
+            Player uno = em.find(Player.class, ids[2]);
+            uno.setAge(32);
+            uno.setClub(em.find(Club.class, ids[1]));
+        });
+        assertEquals(2, aggregates.club(ids[0]).jugadores());
+        assertEquals(20.0, aggregates.club(ids[0]).edadMedia());
+        assertEquals(32.0, aggregates.club(ids[1]).edadMedia());
+
+        // Una transacción que se deshace no cambia nada
+        tx.executeWithoutResult(status -> {
+            em.remove(em.find(Player.class, ids[2]));
+            em.flush();
+            status.setRollbackOnly();
+        });
+        assertEquals(1, aggregates.club(ids[1]).jugadores());
+
+        tx.executeWithoutResult(status -> em.remove(em.find(Player.class, ids[2])));
+        assertEquals(0, aggregates.club(ids[1]).jugadores());
+        assertEquals(null, aggregates.club(ids[1]).edadMedia());
+        assertSinDesfase();
+    }
+
+    @Test
+    void sigueLasInscripciones() {
+        long[] ids = tx.execute(status -> {
+            FootballCompetition liga = FootballCompetition.builder().name("Liga 1").build();
+            em.persist(liga);
+            Club a = club("Melgar");
+            Club b = club("Cienciano");
+            Club c = club("Sporting");
+            a.inscribir(liga);
+            b.inscribir(liga);
+            em.flush();
+            return new long[] {liga.getId(), a.getId(), b.getId(), c.getId()};
+        });
+        assertEquals(2, aggregates.clubesInscritos(ids[0]));
+
+        tx.executeWithoutResult(status -> {
+            Club a = em.find(Club.class, ids[1]);
+            a.retirar(em.find(FootballCompetition.class, ids[0]));
+        });
+        assertEquals(1, aggregates.clubesInscritos(ids[0]));
+
+        competitionService.inscribir(ids[0], List.of(ids[1], ids[3]));
+        assertEquals(3, aggregates.clubesInscritos(ids[0]));
+        competitionService.retirar(ids[0], List.of(ids[2]));
+        assertEquals(2, aggregates.clubesInscritos(ids[0]));
+        assertSinDesfase();
+    }
+
+    @Test
+    void laReconstruccionCorrigeElDesfaseYLaTablaCoincide() {
+        long clubId = tx.execute(status -> {
+            Club club = club("Binacional");
+            jugador("Donald", 28, club);
+            em.flush();
+            return club.getId();
+        });
+        // Un cambio hecho a espaldas de Hibernate desfasa la proyección
+        jdbc.update("UPDATE player SET age = 40 WHERE id_club = ?", clubId);
+        assertEquals(28.0, aggregates.club(clubId).edadMedia());
+
+        aggregates.reconstruir();
+        assertEquals(40.0, aggregates.club(clubId).edadMedia());
+        assertEquals(1, aggregates.getUltimaReconstruccion().desfasados());
+
+        tx.executeWithoutResult(status -> jugador("Otro", 20, em.find(Club.class, clubId)));
+        aggregates.volcar();
+        assertEquals(60L, jdbc.queryForObject("SELECT age_sum FROM club_aggregate WHERE club_id = ?", Long.class, clubId));
+        assertEquals(2L, jdbc.queryForObject("SELECT players FROM club_aggregate WHERE club_id = ?", Long.class, clubId));
+    }
+
+    // Un commit cuyo ajuste aún no se ha aplicado: la reconstrucción espera en lugar de contarlo dos veces
+    @Test
+    void laReconstruccionEsperaALosCommitsAMedioAplicar() throws Exception {
+        long clubId = tx.execute(status -> club("Mannucci").getId());
+
+        Lock cambios = aggregates.cambios();
+        cambios.lock();
+        CompletableFuture<Void> reconstruccion;
+        try {
+            jdbc.update("INSERT INTO player (name, age, id_club) VALUES ('Pendiente', 22, ?)", clubId);
+            reconstruccion = CompletableFuture.runAsync(aggregates::reconstruir);
+            Thread.sleep(200);
+            assertFalse(reconstruccion.isDone());
+            aggregates.jugadorCambiado(null, null, clubId, 22);
+        } finally {
+            cambios.unlock();
+        }
+        reconstruccion.get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, aggregates.club(clubId).jugadores());
+        assertSinDesfase();
+    }
+
+    @Test
+    void reconstruirMientrasSeConfirmanCambiosNoCreaDesfase() throws Exception {
+        long clubId = tx.execute(status -> club("Cusco").getId());
+        int hilos = 4;
+        int porHilo = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                tareas.add(executor.submit(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        int edad = 18 + i % 20;
+                        tx.executeWithoutResult(status -> jugador("Concurrente", edad, em.find(Club.class, clubId)));
+                    }
+                }));
+            }
+            while (!tareas.stream().allMatch(Future::isDone)) {
+                aggregates.reconstruir();
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(hilos * porHilo, aggregates.club(clubId).jugadores());
+        // Si alguna reconstrucción intermedia hubiera perdido o duplicado un cambio, esta lo vería
+        assertSinDesfase();
+    }
+
+    private void assertSinDesfase() {
+        aggregates.reconstruir();
+        assertEquals(0, aggregates.getUltimaReconstruccion().desfasados());
+    }
+
+    private Club club(String nombre) {
+        Club club = Club.builder().name(nombre).build();
+        em.persist(club);
+        return club;
+    }
+
+    private Player jugador(String nombre, Integer edad, Club club) {
+        Player jugador = Player.builder().name(nombre).age(edad).club(club).build();
+        em.persist(jugador);
+        return jugador;
+    }
+}
@@ -0,0 +1,82 @@
+package com.jpa.calendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Árbol en memoria frente a SQL con índices. No se ejecuta por defecto:
+// mvn test -Dtest=CompetitionCalendarBenchmarkTests -Dbenchmark=true [-Dbenchmark.competiciones=100000]
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CompetitionCalendarBenchmarkTests {
+
+    private static final LocalDate INICIO = LocalDate.of(2000, 1, 1);
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    CompetitionCalendar calendar;
+
+    @Test
+    void cacheFrenteASql() {
+        int total = Integer.getInteger("benchmark.competiciones", 100_000);
+        Random random = new Random(42);
+        // Competiciones de 1 a 300 días repartidas en 30 años, con 4 clubes cada una
+        jdbc.update("INSERT INTO club (name) SELECT 'Club ' || x FROM SYSTEM_RANGE(1, 2000)");
+        long primerClub = jdbc.queryForObject("SELECT MIN(id) FROM club", Long.class);
+        List<Object[]> competiciones = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            LocalDate inicio = INICIO.plusDays(random.nextInt(30 * 365));
+            competiciones.add(new Object[] {"Competición " + i, inicio, inicio.plusDays(1 + random.nextInt(300))});
+        }
+        jdbc.batchUpdate("INSERT INTO football_competition (name, start_date, end_date, cuantity_price) VALUES (?, ?, ?, 0)", competiciones);
+        jdbc.update("""
+                INSERT INTO club_competition (club, competition)
+                SELECT DISTINCT ? + MOD(fc.id * 7 + x * 13, 2000), fc.id FROM football_competition fc, SYSTEM_RANGE(1, 4)""", primerClub);
+        calendar.invalidar();
+
+        List<LocalDate[]> consultas = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDate desde = INICIO.plusDays(random.nextInt(30 * 365));
+            consultas.add(new LocalDate[] {desde, desde.plusDays(i % 2 == 0 ? 0 : 7)});
+        }
+        long carga = System.nanoTime();
+        calendar.solapadas(INICIO, INICIO);
+        System.out.printf("Árbol cargado con %d competiciones en %d ms%n", total, (System.nanoTime() - carga) / 1_000_000);
+
+        for (LocalDate[] consulta : consultas.subList(0, 20)) {
+            assertEquals(calendar.solapadasSql(consulta[0], consulta[1]).size(), calendar.solapadas(consulta[0], consulta[1]).size());
+        }
+        medir("árbol", total, consultas, calendar::solapadas);
+        medir("SQL", total, consultas, calendar::solapadasSql);
+    }
+
+    private static void medir(String nombre, int total, List<LocalDate[]> consultas,
+                              BiFunction<LocalDate, LocalDate, List<?>> consulta) {
+        for (LocalDate[] rango : consultas) {
+            consulta.apply(rango[0], rango[1]);
+        }
+        long[] tiempos = new long[consultas.size()];
+        long resultados = 0;
+        for (int i = 0; i < tiempos.length; i++) {
+            long t = System.nanoTime();
+            resultados += consulta.apply(consultas.get(i)[0], consultas.get(i)[1]).size();
+            tiempos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(tiempos);
+        System.out.printf("%s sobre %d competiciones (%d resultados de media): p50=%.3f ms p99=%.3f ms%n", nombre, total,
+                resultados / tiempos.length, tiempos[tiempos.length / 2] / 1e6, tiempos[tiempos.length * 99 / 100] / 1e6);
+    }
+}
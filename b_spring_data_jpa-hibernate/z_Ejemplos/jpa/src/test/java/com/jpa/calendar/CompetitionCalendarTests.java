@@ -0,0 +1,145 @@
+package com.jpa.calendar;
+
+import com.jpa.dto.CompetitionView;
+import com.jpa.entities.Club;
+import com.jpa.entities.FootballCompetition;
+import com.jpa.service.CompetitionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class CompetitionCalendarTests {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    CompetitionCalendar calendar;
+
+    @Autowired
+    CompetitionService competitionService;
+
+    @Test
+    void elArbolCoincideConLaFuerzaBruta() {
+        Random random = new Random(7);
+        List<IntervalTree.Intervalo<Integer>> intervalos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long inicio = random.nextInt(1000);
+            intervalos.add(new IntervalTree.Intervalo<>(inicio, inicio + random.nextInt(60), i));
+        }
+        IntervalTree<Integer> arbol = new IntervalTree<>(intervalos);
+        for (int i = 0; i < 2000; i++) {
+            long desde = random.nextInt(1100) - 50;
+            long hasta = desde + random.nextInt(30);
+            List<Integer> esperado = intervalos.stream()
+                    .filter(intervalo -> intervalo.inicio() <= hasta && intervalo.fin() >= desde)
+                    .map(IntervalTree.Intervalo::valor)
+                    .sorted()
+                    .toList();
+            assertEquals(esperado, arbol.solapados(desde, hasta).stream().sorted().toList());
+        }
+        assertTrue(new IntervalTree<Integer>(List.of()).solapados(0, 10).isEmpty());
+    }
+
+    @Test
+    void respondeComoLaBaseDeDatosYSeInvalidaConLosCambios() {
+        long[] ids = tx.execute(status -> {
+            FootballCompetition apertura = competicion("Apertura", BASE, BASE.plusMonths(5));
+            FootballCompetition clausura = competicion("Clausura", BASE.plusMonths(6), BASE.plusMonths(11));
+            FootballCompetition copa = competicion("Copa", BASE.plusMonths(3), null);
+            Club club = Club.builder().name("Sport Boys").build();
+            em.persist(club);
+            club.inscribir(apertura);
+            club.inscribir(copa);
+            em.flush();
+            return new long[] {apertura.getId(), clausura.getId(), copa.getId(), club.getId()};
+        });
+
+        Map<Long, CompetitionView> activas = porId(calendar.activas(BASE.plusMonths(4)));
+        assertTrue(activas.containsKey(ids[0]));
+        assertFalse(activas.containsKey(ids[1]));
+        assertEquals(List.of(ids[3]), activas.get(ids[2]).clubIds());
+        // La copa no tiene fecha de fin: sigue activa años después
+        assertTrue(porId(calendar.activas(BASE.plusYears(10))).containsKey(ids[2]));
+        assertIgualQueSql();
+
+        // Cambios por Hibernate
+        tx.executeWithoutResult(status -> em.find(FootballCompetition.class, ids[1]).setStartDate(BASE.plusMonths(4)));
+        assertTrue(porId(calendar.activas(BASE.plusMonths(4))).containsKey(ids[1]));
+
+        // Y por SQL nativo
+        competitionService.inscribir(ids[1], List.of(ids[3]));
+        assertEquals(List.of(ids[3]), porId(calendar.activas(BASE.plusMonths(7))).get(ids[1]).clubIds());
+        competitionService.retirar(ids[2], List.of(ids[3]));
+        assertEquals(List.of(), porId(calendar.activas(BASE.plusMonths(7))).get(ids[2]).clubIds());
+        assertIgualQueSql();
+    }
+
+    // Muchos lectores a la vez con invalidaciones entre medias: todos ven un árbol completo y, al final,
+    // el de los últimos cambios
+    @Test
+    void lectoresConcurrentesMientrasSeInvalida() throws Exception {
+        long id = tx.execute(status -> competicion("Relámpago", BASE.plusYears(3), BASE.plusYears(3).plusDays(9)).getId());
+        LocalDate dia = BASE.plusYears(3).plusDays(5);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> lecturas = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                if (i % 50 == 0) {
+                    calendar.invalidar();
+                }
+                lecturas.add(pool.submit(() -> porId(calendar.activas(dia)).containsKey(id)));
+            }
+            for (Future<Boolean> lectura : lecturas) {
+                assertTrue(lectura.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        tx.executeWithoutResult(status -> em.find(FootballCompetition.class, id).setEndDate(BASE.plusYears(3).plusDays(1)));
+        assertFalse(porId(calendar.activas(dia)).containsKey(id));
+    }
+
+    private void assertIgualQueSql() {
+        for (int dias = -40; dias < 500; dias += 13) {
+            LocalDate desde = BASE.plusDays(dias);
+            LocalDate hasta = desde.plusDays(dias % 3 == 0 ? 0 : 20);
+            assertEquals(porId(calendar.solapadasSql(desde, hasta)), porId(calendar.solapadas(desde, hasta)));
+        }
+    }
+
+    private FootballCompetition competicion(String nombre, LocalDate inicio, LocalDate fin) {
+        FootballCompetition competicion = FootballCompetition.builder().name(nombre).startDate(inicio).endDate(fin).build();
+        em.persist(competicion);
+        return competicion;
+    }
+
+    private static Map<Long, CompetitionView> porId(List<CompetitionView> competiciones) {
+        return competiciones.stream().collect(Collectors.toMap(CompetitionView::id, Function.identity()));
+    }
+}
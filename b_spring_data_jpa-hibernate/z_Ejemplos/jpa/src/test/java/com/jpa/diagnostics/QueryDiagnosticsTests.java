@@ -0,0 +1,92 @@
+package com.jpa.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "diagnostico.n-mas-uno.umbral=3")
+class QueryDiagnosticsTests {
+
+    @Autowired
+    QueryDiagnostics diagnostics;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    MeterRegistry registry;
+
+    // Las sentencias pasan por el DataSource envuelto con datasource-proxy
+    @Test
+    void detectaElMismoSelectRepetidoUnaVezPorPeticion() {
+        double antes = registry.get("jpa.consultas.repetidas").counter().count();
+        int previas = diagnostics.deteccionesNMasUno().size();
+
+        diagnostics.iniciar("GET /prueba");
+        for (long id = 1; id <= 5; id++) {
+            jdbc.queryForList("SELECT id FROM club WHERE id = ?", Long.class, id);
+        }
+        jdbc.queryForList("SELECT id FROM player WHERE id = ?", Long.class, 1L);
+        QueryDiagnostics.Peticion peticion = diagnostics.terminar();
+
+        assertEquals(6, peticion.getSentencias("select"));
+        List<QueryDiagnostics.NMasUno> detecciones = diagnostics.deteccionesNMasUno();
+        assertEquals(previas + 1, detecciones.size());
+        QueryDiagnostics.NMasUno deteccion = detecciones.getLast();
+        assertEquals("GET /prueba", deteccion.casoDeUso());
+        assertEquals("SELECT id FROM club WHERE id = ?", deteccion.sql());
+        assertEquals(3, deteccion.repeticiones());
+        assertEquals(antes + 1, registry.get("jpa.consultas.repetidas").counter().count());
+
+        // Fuera de una petición no se cuenta nada
+        for (long id = 1; id <= 5; id++) {
+            jdbc.queryForList("SELECT id FROM club WHERE id = ?", Long.class, id);
+        }
+        assertNull(diagnostics.terminar());
+        assertEquals(previas + 1, diagnostics.deteccionesNMasUno().size());
+    }
+
+    // En H2 ninguna sentencia tarda 200 ms: se entrega al listener como lo haría datasource-proxy
+    @Test
+    void registraLasConsultasLentasConSusParametros() throws Exception {
+        double antes = registry.get("jpa.consultas.lentas").counter().count();
+        QueryInfo consulta = new QueryInfo("SELECT * FROM player WHERE club_id = ? AND nationality = ?");
+        consulta.getParametersList().add(List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                        new Object[] {1, 7L}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                        new Object[] {2, Types.VARCHAR})));
+
+        diagnostics.iniciar("GET /lenta");
+        diagnostics.afterQuery(ejecucion(150), List.of(new QueryInfo("SELECT 1")));
+        diagnostics.afterQuery(ejecucion(250), List.of(consulta));
+        diagnostics.terminar();
+
+        QueryDiagnostics.ConsultaLenta lenta = diagnostics.consultasLentas().getLast();
+        assertEquals(250, lenta.ms());
+        assertEquals(consulta.getQuery(), lenta.sql());
+        assertEquals(List.of(List.of("7", "null")), lenta.parametros());
+        assertTrue(lenta.casoDeUso().startsWith("GET /lenta"), lenta.casoDeUso());
+        // La de 150 ms no llega al umbral (200 ms)
+        assertEquals(antes + 1, registry.get("jpa.consultas.lentas").counter().count());
+    }
+
+    private static ExecutionInfo ejecucion(long ms) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(ms);
+        return info;
+    }
+}
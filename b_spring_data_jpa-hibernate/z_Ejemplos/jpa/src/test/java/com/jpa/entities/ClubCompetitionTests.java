@@ -0,0 +1,99 @@
+package com.jpa.entities;
+
+import com.jpa.diagnostics.QueryDiagnostics;
+import com.jpa.service.CompetitionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ClubCompetitionTests {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    QueryDiagnostics diagnostics;
+
+    @Autowired
+    CompetitionService competitionService;
+
+    @Test
+    void inscribirUnClubEsUnSoloInsert() {
+        long[] ids = tx.execute(status -> {
+            FootballCompetition liga = competicion("Liga 1");
+            Club alianza = club("Alianza");
+            Club cristal = club("Cristal");
+            alianza.inscribir(liga);
+            em.flush();
+            return new long[] {liga.getId(), cristal.getId()};
+        });
+
+        QueryDiagnostics.Peticion peticion = contando(() -> tx.executeWithoutResult(status -> {
+            Club cristal = em.find(Club.class, ids[1]);
+            cristal.inscribir(em.find(FootballCompetition.class, ids[0]));
+        }));
+
+        assertEquals(1, peticion.getSentencias("insert"));
+        assertEquals(0, peticion.getSentencias("delete"));
+        assertEquals(2L, contarInscritos(ids[0]));
+    }
+
+    @Test
+    void inscribeYRetiraVariosClubesConUnaSentencia() {
+        long[] ids = tx.execute(status -> {
+            FootballCompetition copa = competicion("Copa");
+            Club a = club("Melgar");
+            Club b = club("Cienciano");
+            Club c = club("Sporting");
+            a.inscribir(copa);
+            em.flush();
+            return new long[] {copa.getId(), a.getId(), b.getId(), c.getId()};
+        });
+        List<Long> clubes = List.of(ids[1], ids[2], ids[3], -1L);
+
+        // El club ya inscrito y el inexistente se ignoran
+        QueryDiagnostics.Peticion alta = contando(() -> assertEquals(2, competitionService.inscribir(ids[0], clubes)));
+        assertEquals(1, alta.getSentencias("insert"));
+        assertEquals(3L, contarInscritos(ids[0]));
+
+        QueryDiagnostics.Peticion baja = contando(() -> assertEquals(2, competitionService.retirar(ids[0], List.of(ids[1], ids[2]))));
+        assertEquals(1, baja.getSentencias("delete"));
+        assertEquals(1L, contarInscritos(ids[0]));
+    }
+
+    private QueryDiagnostics.Peticion contando(Runnable accion) {
+        diagnostics.iniciar("test");
+        accion.run();
+        return diagnostics.terminar();
+    }
+
+    private FootballCompetition competicion(String nombre) {
+        FootballCompetition competicion = FootballCompetition.builder().name(nombre).build();
+        em.persist(competicion);
+        return competicion;
+    }
+
+    private Club club(String nombre) {
+        Club club = Club.builder().name(nombre).build();
+        em.persist(club);
+        return club;
+    }
+
+    private long contarInscritos(long competitionId) {
+        return tx.execute(status -> em.createQuery(
+                        "select count(c) from Club c join c.footballCompetitions fc where fc.id = :id", Long.class)
+                .setParameter("id", competitionId)
+                .getSingleResult());
+    }
+}
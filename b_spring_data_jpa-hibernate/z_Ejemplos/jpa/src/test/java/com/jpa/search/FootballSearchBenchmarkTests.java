@@ -0,0 +1,69 @@
+package com.jpa.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Latencia de búsqueda con muchos jugadores. No se ejecuta por defecto:
+// mvn test -Dtest=FootballSearchBenchmarkTests -Dbenchmark=true [-Dbenchmark.jugadores=1000000]
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FootballSearchBenchmarkTests {
+
+    private static final String[] NOMBRES = {"José", "Juan", "Luis", "Álvaro", "Andrés", "Raúl", "Iván", "Óscar",
+            "Jesús", "Martín", "Sebastián", "Joaquín", "Hernán", "Nicolás", "Tomás", "Ramón", "Ángel", "Rubén"};
+    private static final String[] APELLIDOS = {"Núñez", "Pérez", "González", "Rodríguez", "Gómez", "Fernández", "López",
+            "Martínez", "Sánchez", "Ramírez", "Quispe", "Guerrero", "Farfán", "Cueva", "Peña", "Ibáñez", "Muñoz"};
+    private static final String[] PAISES = {"Perú", "México", "Colombia", "Chile", "Argentina", "España", "Ecuador"};
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    FootballSearchService searchService;
+
+    @Test
+    void latenciaDeBusqueda() throws InterruptedException {
+        int total = Integer.getInteger("benchmark.jugadores", 1_000_000);
+        Random random = new Random(42);
+        long inicio = System.nanoTime();
+        List<Object[]> lote = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            // Un sufijo numérico hace que los apellidos no se repitan tanto
+            lote.add(new Object[] {NOMBRES[random.nextInt(NOMBRES.length)],
+                    APELLIDOS[random.nextInt(APELLIDOS.length)] + random.nextInt(1000),
+                    18 + random.nextInt(20), PAISES[random.nextInt(PAISES.length)]});
+            if (lote.size() == 10_000 || i == total - 1) {
+                jdbc.batchUpdate("INSERT INTO player (name, last_name, age, nationality) VALUES (?, ?, ?, ?)", lote);
+                lote.clear();
+            }
+        }
+        System.out.printf("Insertados %d jugadores en %d ms%n", total, (System.nanoTime() - inicio) / 1_000_000);
+
+        inicio = System.nanoTime();
+        searchService.reindexar();
+        System.out.printf("Indexados en %d ms%n", (System.nanoTime() - inicio) / 1_000_000);
+
+        String[] consultas = {"jose nunez", "nunez", "nu", "perez42", "alvaro peru", "ibanez 7", "quispe", "raul muñoz",
+                "gonz", "martin chile"};
+        for (int i = 0; i < 50; i++) {
+            searchService.buscarJugadores(consultas[i % consultas.length], 20);
+        }
+        long[] tiempos = new long[500];
+        for (int i = 0; i < tiempos.length; i++) {
+            long t = System.nanoTime();
+            searchService.buscarJugadores(consultas[i % consultas.length], 20);
+            tiempos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(tiempos);
+        System.out.printf("Búsqueda (20 resultados, con carga de entidades) sobre %d jugadores: p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                total, tiempos[tiempos.length / 2] / 1e6, tiempos[tiempos.length * 99 / 100] / 1e6, tiempos[tiempos.length - 1] / 1e6);
+    }
+}
@@ -0,0 +1,125 @@
+package com.jpa.search;
+
+import com.jpa.diagnostics.QueryDiagnostics;
+import com.jpa.dto.PlayerView;
+import com.jpa.entities.Club;
+import com.jpa.entities.Player;
+import com.jpa.search.FootballSearchService.Acierto;
+import com.jpa.writebehind.WriteBehindService;
+import com.jpa.writebehind.WritesFlushed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class FootballSearchServiceTests {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    FootballSearchService searchService;
+
+    @Autowired
+    WriteBehindService writeBehind;
+
+    @Autowired
+    QueryDiagnostics diagnostics;
+
+    @Test
+    void buscaSinTildesPorPrefijoYOrdenaPorRelevancia() {
+        tx.executeWithoutResult(status -> {
+            Club club = Club.builder().name("Atlético Grau").build();
+            em.persist(club);
+            em.persist(Player.builder().name("Álvaro").lastName("Ampuero").nationality("Perú").club(club).build());
+            em.persist(Player.builder().name("José").lastName("Núñez").nationality("Perú").club(club).build());
+            em.persist(Player.builder().name("Juan").lastName("Nuñovero").nationality("Chile").club(club).build());
+        });
+
+        assertEquals(List.of("Núñez"), apellidos(searchService.buscarJugadores("jose nunez", 10).aciertos()));
+        // "nu" es prefijo de los dos apellidos
+        assertEquals(Set.of("Núñez", "Nuñovero"), Set.copyOf(apellidos(searchService.buscarJugadores("nu", 10).aciertos())));
+        assertEquals("Núñez", searchService.buscarJugadores("nunez | nuñovero", 10).aciertos().get(0).valor().lastName());
+        assertEquals(2, searchService.buscarJugadores("peru", 10).total());
+        assertEquals("Atlético Grau", searchService.buscarClubes("atletico", 10).aciertos().get(0).valor().name());
+    }
+
+    @Test
+    void reindexaLasEscriturasDiferidasYDesdeLaBaseDeDatos() throws InterruptedException {
+        long id = tx.execute(status -> {
+            Player player = Player.builder().name("Piero").lastName("Quispe").build();
+            em.persist(player);
+            return player.getId();
+        });
+
+        writeBehind.actualizarPlayer(id, new PlayerView(null, "Piero", "Quispilupu", null, null, null));
+        writeBehind.vaciar();
+        assertEquals(1, searchService.buscarJugadores("quispilupu", 10).total());
+
+        // Un cambio por SQL directo no llega al índice hasta reindexar
+        jdbc.update("UPDATE player SET last_name = 'Zambrano' WHERE id = ?", id);
+        assertEquals(0, searchService.buscarJugadores("zambrano", 10).total());
+        searchService.reindexar();
+        assertEquals(1, searchService.buscarJugadores("zambrano", 10).total());
+        assertTrue(searchService.buscarJugadores("quispilupu", 10).aciertos().isEmpty());
+    }
+
+    @Test
+    void unVolcadoGrandeSeCargaSinNMasUno() {
+        List<Long> ids = tx.execute(status -> {
+            List<Long> nuevos = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                Player player = Player.builder().name("Volcado" + i).lastName("Antes").build();
+                em.persist(player);
+                nuevos.add(player.getId());
+            }
+            return nuevos;
+        });
+        // Como el write-behind: la base de datos cambia sin pasar por Hibernate
+        jdbc.update("UPDATE player SET last_name = 'Despues' WHERE name LIKE 'Volcado%'");
+
+        diagnostics.iniciar("volcado");
+        searchService.alVolcar(new WritesFlushed(Set.copyOf(ids), Set.of(-1L)));
+        QueryDiagnostics.Peticion peticion = diagnostics.terminar();
+
+        // Un SELECT ... IN para los 200 jugadores y otro para el club inexistente
+        assertTrue(peticion.getSentencias("select") <= 2, "sentencias: " + peticion.getPorTipo());
+        assertEquals(200, searchService.buscarJugadores("despues", 10).total());
+    }
+
+    @Test
+    void elLimiteSeAjustaEntreUnoYElMaximo() {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < FootballSearchService.LIMITE_MAXIMO + 20; i++) {
+                em.persist(Player.builder().name("Jugador" + i).lastName("Relleno").nationality("Islandia").build());
+            }
+        });
+
+        FootballSearchService.Resultado<PlayerView> todos = searchService.buscarJugadores("islandia", 1_000_000);
+        assertEquals(FootballSearchService.LIMITE_MAXIMO + 20, todos.total());
+        assertEquals(FootballSearchService.LIMITE_MAXIMO, todos.aciertos().size());
+        assertEquals(1, searchService.buscarJugadores("islandia", 0).aciertos().size());
+        assertEquals(1, searchService.buscarJugadores("islandia", -5).aciertos().size());
+    }
+
+    private static List<String> apellidos(List<Acierto<PlayerView>> aciertos) {
+        return aciertos.stream().map(a -> a.valor().lastName()).toList();
+    }
+}
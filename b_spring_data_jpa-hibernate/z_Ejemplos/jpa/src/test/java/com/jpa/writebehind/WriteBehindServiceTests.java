@@ -0,0 +1,166 @@
+package com.jpa.writebehind;
+
+import com.jpa.aggregates.SquadAggregates;
+import com.jpa.dto.ClubView;
+import com.jpa.dto.PlayerView;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindServiceTests {
+
+    @TempDir
+    Path carpeta;
+
+    private JdbcTemplate jdbc;
+    private SquadAggregates aggregates;
+    private Path diario;
+
+    @BeforeEach
+    void crearBaseDeDatos() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + carpeta.getFileName() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        aggregates = new SquadAggregates(jdbc, new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        jdbc.execute("CREATE TABLE club (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbc.execute("CREATE TABLE player (id BIGINT PRIMARY KEY, name VARCHAR(255), last_name VARCHAR(255), "
+                + "age INT, nationality VARCHAR(255), id_club BIGINT REFERENCES club(id))");
+        jdbc.update("INSERT INTO club (id, name) VALUES (1, 'Alianza'), (2, 'Universitario')");
+        jdbc.update("INSERT INTO player (id, name, last_name, age, nationality, id_club) VALUES (10, 'Paolo', 'Guerrero', 40, 'Peru', 1)");
+        jdbc.execute("CREATE TABLE football_competition (id BIGINT PRIMARY KEY)");
+        jdbc.execute("CREATE TABLE club_competition (club BIGINT, competition BIGINT)");
+        jdbc.execute("CREATE TABLE club_aggregate (club_id BIGINT PRIMARY KEY, players BIGINT, players_with_age BIGINT, age_sum BIGINT)");
+        jdbc.execute("CREATE TABLE competition_aggregate (competition_id BIGINT PRIMARY KEY, clubs BIGINT)");
+        aggregates.reconstruir();
+        diario = carpeta.resolve("write-behind.journal");
+    }
+
+    @Test
+    void fusionaLasActualizacionesYLeeLoPendiente() throws IOException {
+        WriteBehindService servicio = nuevoServicio();
+        servicio.actualizarPlayer(10, new PlayerView(null, "Paolo", "Guerrero", 41, "Peru", 1L));
+        servicio.actualizarPlayer(10, new PlayerView(null, "Paolo", "Guerrero", 42, "Peru", 2L));
+        servicio.actualizarClub(1, new ClubView(null, "Alianza Lima"));
+
+        // Las dos escrituras del jugador quedan en una sola, visible antes de volcarse
+        assertEquals(2, servicio.pendientes());
+        assertEquals(42, servicio.pendientePlayer(10).orElseThrow().age());
+        assertEquals(40, edad(10));
+
+        servicio.vaciar();
+
+        assertEquals(0, servicio.pendientes());
+        assertEquals(42, edad(10));
+        assertEquals(2L, jdbc.queryForObject("SELECT id_club FROM player WHERE id = 10", Long.class));
+        assertEquals("Alianza Lima", jdbc.queryForObject("SELECT name FROM club WHERE id = 1", String.class));
+        assertEquals(0, Files.size(diario));
+        // El jugador pasa del club 1 al 2 con otra edad, sin eventos de Hibernate
+        assertEquals(0, aggregates.club(1).jugadores());
+        assertEquals(1, aggregates.club(2).jugadores());
+        assertEquals(42.0, aggregates.club(2).edadMedia());
+    }
+
+    @Test
+    void recuperaTrasUnaCaidaSinVolcar() throws IOException {
+        WriteBehindService antes = nuevoServicio();
+        antes.actualizarPlayer(10, new PlayerView(null, "Paolo", "Guerrero", 41, "Peru", 1L));
+        antes.actualizarPlayer(10, new PlayerView(null, "Paolo", "Guerrero", 43, "Peru", 1L));
+        // Caída: el proceso muere sin vaciar ni cerrar
+
+        WriteBehindService despues = nuevoServicio();
+        assertEquals(43, despues.pendientePlayer(10).orElseThrow().age());
+        despues.vaciar();
+        assertEquals(43, edad(10));
+
+        // Las escrituras nuevas siguen numerándose después de las recuperadas
+        despues.actualizarPlayer(10, new PlayerView(null, "Paolo", "Guerrero", 44, "Peru", 1L));
+        assertEquals(44, nuevoServicio().pendientePlayer(10).orElseThrow().age());
+    }
+
+    @Test
+    void descartaUnRegistroAMedioEscribir() throws IOException {
+        WriteBehindService antes = nuevoServicio();
+        antes.actualizarClub(2, new ClubView(null, "Universitario de Deportes"));
+        long valido = Files.size(diario);
+        // Caída en mitad de un append: cabecera completa pero datos truncados
+        Files.write(diario, new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+
+        WriteBehindService despues = nuevoServicio();
+        assertEquals(1, despues.pendientes());
+        assertEquals(valido, Files.size(diario));
+        despues.vaciar();
+        assertEquals("Universitario de Deportes", jdbc.queryForObject("SELECT name FROM club WHERE id = 2", String.class));
+    }
+
+    @Test
+    void conservaLoPendienteSiLaBaseDeDatosFalla() throws IOException {
+        WriteBehindService servicio = nuevoServicio();
+        servicio.actualizarClub(1, new ClubView(null, "Alianza Lima"));
+        jdbc.execute("ALTER TABLE club RENAME TO club_tmp");
+
+        servicio.vaciar();
+        assertEquals(1, servicio.pendientes());
+        assertTrue(Files.size(diario) > 0);
+
+        jdbc.execute("ALTER TABLE club_tmp RENAME TO club");
+        servicio.vaciar();
+        assertEquals(0, servicio.pendientes());
+        assertEquals("Alianza Lima", jdbc.queryForObject("SELECT name FROM club WHERE id = 1", String.class));
+    }
+
+    @Test
+    void aislaLaFilaQueRompeUnaRestriccion() throws IOException {
+        jdbc.update("INSERT INTO player (id, name) VALUES (11, 'Claudio')");
+        WriteBehindService servicio = nuevoServicio();
+        servicio.actualizarPlayer(10, new PlayerView(null, "Paolo", "Guerrero", 41, "Peru", 99L));
+        servicio.actualizarPlayer(11, new PlayerView(null, "Claudio", "Pizarro", 46, "Peru", 2L));
+
+        servicio.vaciar();
+
+        assertEquals(0, servicio.pendientes());
+        assertEquals(40, edad(10));
+        assertEquals(46, edad(11));
+        // La escritura rechazada no se pierde: queda en el archivo de rechazadas, también tras reiniciar
+        assertEquals(99L, servicio.rechazadas().get(0).clubId());
+        assertEquals(List.of(10L), nuevoServicio().rechazadas().stream().map(PendingWrite::id).toList());
+    }
+
+    @Test
+    void sigueAnadiendoSiFallaLaCompactacion() throws IOException {
+        WriteBehindService servicio = nuevoServicio();
+        servicio.actualizarClub(1, new ClubView(null, "Alianza Lima"));
+        // Una carpeta en el lugar del temporal hace fallar la compactación
+        Path temporal = Files.createDirectories(carpeta.resolve("write-behind.journal.tmp"));
+        Files.createFile(temporal.resolve("ocupado"));
+
+        servicio.vaciar();
+        assertEquals(0, servicio.pendientes());
+
+        // El diario sigue abierto y las escrituras nuevas se registran y se recuperan
+        servicio.actualizarClub(2, new ClubView(null, "Universitario de Deportes"));
+        assertEquals("Universitario de Deportes", nuevoServicio().pendienteClub(2).orElseThrow().name());
+    }
+
+    private WriteBehindService nuevoServicio() throws IOException {
+        WriteBehindService servicio = new WriteBehindService(jdbc, aggregates, evento -> { }, diario, 100, 1_000);
+        servicio.recuperar();
+        return servicio;
+    }
+
+    private int edad(long id) {
+        return jdbc.queryForObject("SELECT age FROM player WHERE id = ?", Integer.class, id);
+    }
+}
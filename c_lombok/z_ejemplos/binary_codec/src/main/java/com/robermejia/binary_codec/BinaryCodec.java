@@ -0,0 +1,18 @@
+package com.robermejia.binary_codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marca un POJO para que BinaryCodecProcessor genere <Clase>Codec en el mismo paquete.
+// Cada campo serializado lleva su número con @BinaryField; los static y transient se ignoran.
+// Tipos soportados: int, long, boolean, double, sus wrappers y String.
+// El POJO necesita constructor sin argumentos, getters y setters (p. ej. generados por Lombok).
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface BinaryCodec {
+
+    // Versión del esquema que se escribe en la cabecera de cada mensaje
+    int version() default 1;
+}
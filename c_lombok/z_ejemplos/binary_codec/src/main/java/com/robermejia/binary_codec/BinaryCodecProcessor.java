@@ -0,0 +1,229 @@
+package com.robermejia.binary_codec;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+// Genera <Clase>Codec para cada clase anotada con @BinaryCodec, sin reflexión en tiempo de
+// ejecución. Se basa en los campos declarados y en la convención getX/isX/setX, así funciona
+// aunque los getters y setters los genere Lombok en la misma compilación.
+// El número de cada campo sale de su @BinaryField, nunca del orden de declaración.
+@SupportedAnnotationTypes("com.robermejia.binary_codec.BinaryCodec")
+public class BinaryCodecProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(BinaryCodec.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@BinaryCodec solo se puede usar en clases");
+                continue;
+            }
+            TypeElement clase = (TypeElement) element;
+            List<Campo> campos = campos(clase);
+            if (campos != null) {
+                generar(clase, campos, clase.getAnnotation(BinaryCodec.class).version());
+            }
+        }
+        return true;
+    }
+
+    private List<Campo> campos(TypeElement clase) {
+        List<Campo> campos = new ArrayList<>();
+        Map<Integer, String> numeros = new HashMap<>();
+        boolean ok = true;
+        for (Element e : clase.getEnclosedElements()) {
+            if (e.getKind() != ElementKind.FIELD || e.getModifiers().contains(Modifier.STATIC)
+                    || e.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            VariableElement campo = (VariableElement) e;
+            Tipo tipo = Tipo.de(campo.asType());
+            if (tipo == null) {
+                error(campo, "Tipo no soportado por @BinaryCodec: " + campo.asType());
+                ok = false;
+                continue;
+            }
+            String nombre = campo.getSimpleName().toString();
+            BinaryField numero = campo.getAnnotation(BinaryField.class);
+            if (numero == null) {
+                error(campo, "Falta @BinaryField con el número del campo (o marcarlo transient)");
+                ok = false;
+                continue;
+            }
+            if (numero.value() < 1 || numero.value() > BinaryField.MAX) {
+                error(campo, "El número de @BinaryField debe estar entre 1 y " + BinaryField.MAX);
+                ok = false;
+                continue;
+            }
+            String repetido = numeros.putIfAbsent(numero.value(), nombre);
+            if (repetido != null) {
+                error(campo, "El número " + numero.value() + " ya lo usa el campo " + repetido);
+                ok = false;
+                continue;
+            }
+            campos.add(new Campo(nombre, tipo, numero.value()));
+        }
+        return ok ? campos : null;
+    }
+
+    private void generar(TypeElement clase, List<Campo> campos, int version) {
+        String paquete = ((PackageElement) clase.getEnclosingElement()).getQualifiedName().toString();
+        String nombre = clase.getSimpleName().toString();
+        String codec = nombre + "Codec";
+        StringBuilder src = new StringBuilder();
+        if (!paquete.isEmpty()) {
+            src.append("package ").append(paquete).append(";\n\n");
+        }
+        src.append("import com.robermejia.binary_codec.BinaryReader;\n");
+        src.append("import com.robermejia.binary_codec.BinaryWriter;\n\n");
+        src.append("// Generado por BinaryCodecProcessor a partir de ").append(nombre).append(". No editar.\n");
+        src.append("public final class ").append(codec).append(" {\n\n");
+        src.append("    public static final int VERSION = ").append(version).append(";\n\n");
+        src.append("    private ").append(codec).append("() {\n    }\n\n");
+
+        src.append("    public static void encode(").append(nombre).append(" value, BinaryWriter out) {\n");
+        src.append("        out.writeVarInt(VERSION);\n");
+        for (Campo c : campos) {
+            String getter = "value." + c.getter() + "()";
+            if (c.tipo.primitivo) {
+                src.append("        out.writeTag(").append(c.numero).append(", BinaryWriter.").append(c.tipo.wire).append(");\n");
+                src.append("        out.").append(c.tipo.escribir).append("(").append(getter).append(");\n");
+            } else {
+                // Los null no se escriben: al leer el campo queda con su valor por defecto
+                String local = c.nombre + "Valor";
+                src.append("        ").append(c.tipo.java).append(" ").append(local).append(" = ").append(getter).append(";\n");
+                src.append("        if (").append(local).append(" != null) {\n");
+                src.append("            out.writeTag(").append(c.numero).append(", BinaryWriter.").append(c.tipo.wire).append(");\n");
+                src.append("            out.").append(c.tipo.escribir).append("(").append(local).append(");\n");
+                src.append("        }\n");
+            }
+        }
+        src.append("        out.writeVarInt(0);\n");
+        src.append("    }\n\n");
+
+        src.append("    public static byte[] encode(").append(nombre).append(" value) {\n");
+        src.append("        BinaryWriter out = new BinaryWriter();\n");
+        src.append("        encode(value, out);\n");
+        src.append("        return out.toByteArray();\n");
+        src.append("    }\n\n");
+
+        src.append("    public static ").append(nombre).append(" decode(BinaryReader in) {\n");
+        src.append("        int version = in.readVarInt();\n");
+        src.append("        if (version < 1) {\n");
+        src.append("            throw new IllegalStateException(\"Versión de ").append(nombre).append(" no válida: \" + version);\n");
+        src.append("        }\n");
+        src.append("        ").append(nombre).append(" value = new ").append(nombre).append("();\n");
+        src.append("        for (int tag = in.readVarInt(); tag != 0; tag = in.readVarInt()) {\n");
+        src.append("            switch (tag >>> 3) {\n");
+        for (Campo c : campos) {
+            // Si el tipo de la etiqueta no es el esperado (el campo cambió de tipo) se salta
+            src.append("                case ").append(c.numero).append(" -> {\n");
+            src.append("                    if ((tag & 7) == BinaryWriter.").append(c.tipo.wire).append(") {\n");
+            src.append("                        value.").append(c.setter()).append("(in.").append(c.tipo.leer).append("());\n");
+            src.append("                    } else {\n");
+            src.append("                        in.skip(tag & 7);\n");
+            src.append("                    }\n");
+            src.append("                }\n");
+        }
+        src.append("                default -> in.skip(tag & 7);\n");
+        src.append("            }\n");
+        src.append("        }\n");
+        src.append("        return value;\n");
+        src.append("    }\n\n");
+
+        src.append("    public static ").append(nombre).append(" decode(byte[] bytes) {\n");
+        src.append("        return decode(new BinaryReader(bytes));\n");
+        src.append("    }\n");
+        src.append("}\n");
+
+        String qualified = paquete.isEmpty() ? codec : paquete + "." + codec;
+        try {
+            JavaFileObject archivo = processingEnv.getFiler().createSourceFile(qualified, clase);
+            try (Writer w = archivo.openWriter()) {
+                w.write(src.toString());
+            }
+        } catch (IOException e) {
+            error(clase, "No se pudo generar " + qualified + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String mensaje) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, mensaje, element);
+    }
+
+    private record Campo(String nombre, Tipo tipo, int numero) {
+
+        String getter() {
+            String sufijo = Character.toUpperCase(nombre.charAt(0)) + nombre.substring(1);
+            return (tipo.java.equals("boolean") ? "is" : "get") + sufijo;
+        }
+
+        String setter() {
+            return "set" + Character.toUpperCase(nombre.charAt(0)) + nombre.substring(1);
+        }
+    }
+
+    private enum Tipo {
+        INT("int", true, "VARINT", "writeSInt", "readSInt"),
+        LONG("long", true, "VARINT", "writeSLong", "readSLong"),
+        BOOLEAN("boolean", true, "VARINT", "writeBoolean", "readBoolean"),
+        DOUBLE("double", true, "FIXED64", "writeDouble", "readDouble"),
+        INTEGER_OBJ("Integer", false, "VARINT", "writeSInt", "readSInt"),
+        LONG_OBJ("Long", false, "VARINT", "writeSLong", "readSLong"),
+        BOOLEAN_OBJ("Boolean", false, "VARINT", "writeBoolean", "readBoolean"),
+        DOUBLE_OBJ("Double", false, "FIXED64", "writeDouble", "readDouble"),
+        STRING("String", false, "LEN", "writeString", "readString");
+
+        private final String java;
+        private final boolean primitivo;
+        private final String wire;
+        private final String escribir;
+        private final String leer;
+
+        Tipo(String java, boolean primitivo, String wire, String escribir, String leer) {
+            this.java = java;
+            this.primitivo = primitivo;
+            this.wire = wire;
+            this.escribir = escribir;
+            this.leer = leer;
+        }
+
+        static Tipo de(TypeMirror tipo) {
+            return switch (tipo.toString()) {
+                case "int" -> INT;
+                case "long" -> LONG;
+                case "boolean" -> BOOLEAN;
+                case "double" -> DOUBLE;
+                case "java.lang.Integer" -> INTEGER_OBJ;
+                case "java.lang.Long" -> LONG_OBJ;
+                case "java.lang.Boolean" -> BOOLEAN_OBJ;
+                case "java.lang.Double" -> DOUBLE_OBJ;
+                case "java.lang.String" -> STRING;
+                default -> null;
+            };
+        }
+    }
+}
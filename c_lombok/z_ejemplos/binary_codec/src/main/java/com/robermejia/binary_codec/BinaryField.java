@@ -0,0 +1,19 @@
+package com.robermejia.binary_codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Número de un campo en el formato binario (1 a MAX). Es lo que se escribe en la etiqueta,
+// así que no debe cambiar nunca: los campos se pueden reordenar o renombrar, y los que se
+// eliminan no deben reutilizar su número.
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface BinaryField {
+
+    // La etiqueta es (número << 3 | tipo) en un int
+    int MAX = (1 << 28) - 1;
+
+    int value();
+}
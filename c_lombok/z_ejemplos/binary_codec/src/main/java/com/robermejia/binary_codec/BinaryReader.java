@@ -0,0 +1,118 @@
+package com.robermejia.binary_codec;
+
+import java.nio.charset.StandardCharsets;
+
+// Lector del formato de BinaryWriter. Se puede reutilizar con reset() sobre otro buffer.
+public final class BinaryReader {
+
+    private byte[] buffer;
+    private int posicion;
+    private int limite;
+
+    public BinaryReader() {
+        this(new byte[0]);
+    }
+
+    public BinaryReader(byte[] buffer) {
+        reset(buffer, 0, buffer.length);
+    }
+
+    public BinaryReader reset(byte[] buffer, int desde, int longitud) {
+        if (desde < 0 || longitud < 0 || longitud > buffer.length - desde) {
+            throw new IndexOutOfBoundsException("Rango fuera del buffer: " + desde + " + " + longitud);
+        }
+        this.buffer = buffer;
+        this.posicion = desde;
+        this.limite = desde + longitud;
+        return this;
+    }
+
+    public boolean hasRemaining() {
+        return posicion < limite;
+    }
+
+    public int readVarInt() {
+        int resultado = 0;
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+            byte b = leerByte();
+            resultado |= (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return resultado;
+            }
+        }
+        throw new IllegalStateException("Varint mal formado");
+    }
+
+    public long readVarLong() {
+        long resultado = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = leerByte();
+            resultado |= (long) (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return resultado;
+            }
+        }
+        throw new IllegalStateException("Varint mal formado");
+    }
+
+    public int readSInt() {
+        int v = readVarInt();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    public long readSLong() {
+        long v = readVarLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    public boolean readBoolean() {
+        return leerByte() != 0;
+    }
+
+    public double readDouble() {
+        requerir(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (long) (buffer[posicion++] & 0xFF) << (8 * i);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String readString() {
+        int longitud = readVarInt();
+        requerir(longitud);
+        String valor = new String(buffer, posicion, longitud, StandardCharsets.UTF_8);
+        posicion += longitud;
+        return valor;
+    }
+
+    // Salta un campo desconocido según su tipo de la etiqueta
+    public void skip(int tipo) {
+        switch (tipo) {
+            case BinaryWriter.VARINT -> readVarLong();
+            case BinaryWriter.FIXED64 -> {
+                requerir(8);
+                posicion += 8;
+            }
+            case BinaryWriter.LEN -> {
+                int longitud = readVarInt();
+                requerir(longitud);
+                posicion += longitud;
+            }
+            default -> throw new IllegalStateException("Tipo de campo desconocido: " + tipo);
+        }
+    }
+
+    private byte leerByte() {
+        requerir(1);
+        return buffer[posicion++];
+    }
+
+    // bytes > limite - posicion en vez de posicion + bytes > limite: con una longitud cercana a
+    // Integer.MAX_VALUE la suma se desborda a negativo y pasaría la comprobación
+    private void requerir(int bytes) {
+        if (bytes < 0 || bytes > limite - posicion) {
+            throw new IllegalStateException("Mensaje truncado");
+        }
+    }
+}
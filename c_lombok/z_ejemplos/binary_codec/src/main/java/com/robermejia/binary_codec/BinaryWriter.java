@@ -0,0 +1,148 @@
+package com.robermejia.binary_codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+// Escritor binario con buffer reutilizable: reset() vacía el buffer sin liberar memoria.
+// - Enteros como varint (7 bits por byte); los que tienen signo con zigzag
+// - Textos como longitud varint + bytes UTF-8 (codificados sin crear byte[] intermedios)
+// - Cada campo va precedido de una etiqueta (número de campo << 3 | tipo) para poder
+//   saltar campos desconocidos al leer con una versión anterior
+public final class BinaryWriter {
+
+    public static final int VARINT = 0;
+    public static final int FIXED64 = 1;
+    public static final int LEN = 2;
+
+    private byte[] buffer;
+    private int posicion;
+
+    public BinaryWriter() {
+        this(64);
+    }
+
+    public BinaryWriter(int capacidad) {
+        this.buffer = new byte[capacidad];
+    }
+
+    public BinaryWriter reset() {
+        posicion = 0;
+        return this;
+    }
+
+    public int size() {
+        return posicion;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, posicion);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, posicion);
+    }
+
+    public void writeTag(int campo, int tipo) {
+        writeVarInt((campo << 3) | tipo);
+    }
+
+    public void writeVarInt(int valor) {
+        asegurar(5);
+        while ((valor & ~0x7F) != 0) {
+            buffer[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        buffer[posicion++] = (byte) valor;
+    }
+
+    public void writeVarLong(long valor) {
+        asegurar(10);
+        while ((valor & ~0x7FL) != 0) {
+            buffer[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        buffer[posicion++] = (byte) valor;
+    }
+
+    public void writeSInt(int valor) {
+        writeVarInt((valor << 1) ^ (valor >> 31));
+    }
+
+    public void writeSLong(long valor) {
+        writeVarLong((valor << 1) ^ (valor >> 63));
+    }
+
+    public void writeBoolean(boolean valor) {
+        asegurar(1);
+        buffer[posicion++] = (byte) (valor ? 1 : 0);
+    }
+
+    public void writeDouble(double valor) {
+        long bits = Double.doubleToRawLongBits(valor);
+        asegurar(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[posicion++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    public void writeString(String valor) {
+        int longitud = utf8Length(valor);
+        writeVarInt(longitud);
+        asegurar(longitud);
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                buffer[posicion++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[posicion++] = (byte) (0xC0 | (c >> 6));
+                buffer[posicion++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < valor.length()
+                    && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, valor.charAt(++i));
+                buffer[posicion++] = (byte) (0xF0 | (cp >> 18));
+                buffer[posicion++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buffer[posicion++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buffer[posicion++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate suelto: se sustituye por '?' como hace String.getBytes
+                buffer[posicion++] = (byte) '?';
+            } else {
+                buffer[posicion++] = (byte) (0xE0 | (c >> 12));
+                buffer[posicion++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[posicion++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String valor) {
+        int longitud = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                longitud++;
+            } else if (c < 0x800) {
+                longitud += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < valor.length()
+                    && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                longitud += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                longitud++;
+            } else {
+                longitud += 3;
+            }
+        }
+        return longitud;
+    }
+
+    private void asegurar(int bytes) {
+        if (posicion + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, posicion + bytes));
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.robermejia.lombok.model;
 
+import com.robermejia.binary_codec.BinaryCodec;
+import com.robermejia.binary_codec.BinaryField;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,7 +21,12 @@ import lombok.Setter;
 //  Puedes personalizar el comportamiento con el atributo includeFieldNames = true.
 
 // @NoArgsConstructor => Crea contructor vacio
+
+// @BinaryCodec: no es de Lombok, genera en compilación ClubCodec (codec binario compacto)
+// usando los getters/setters y el constructor vacío que genera Lombok. Cada campo lleva su
+// número fijo en el formato con @BinaryField.
 //@Data
+@BinaryCodec
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -27,7 +35,9 @@ import lombok.Setter;
 // Clase POJO
 public class Club {
 
+    @BinaryField(1)
     private int id;
+    @BinaryField(2)
     private String nombre;
 
 }
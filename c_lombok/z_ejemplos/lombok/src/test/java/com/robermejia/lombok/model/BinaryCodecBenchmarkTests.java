@@ -0,0 +1,88 @@
+package com.robermejia.lombok.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robermejia.binary_codec.BinaryReader;
+import com.robermejia.binary_codec.BinaryWriter;
+
+// Codecs generados por @BinaryCodec frente a la serialización de Java y Jackson (JSON):
+// mensajes por segundo al codificar y decodificar y bytes por mensaje, con un POJO que tiene
+// todos los tipos soportados (Jugador). No se ejecuta por defecto:
+// mvn test -Dtest=BinaryCodecBenchmarkTests -Dbenchmark=true -Djava.version=21
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BinaryCodecBenchmarkTests {
+
+    private static final int CALENTAMIENTO = 200_000;
+    private static final int MENSAJES = 1_000_000;
+
+    private final ObjectMapper jackson = new ObjectMapper();
+
+    // Evita que el JIT descarte los resultados
+    private static volatile long sumidero;
+
+    private interface Codificar<T> {
+        byte[] ejecutar(T valor) throws Exception;
+    }
+
+    private interface Decodificar<T> {
+        T ejecutar(byte[] bytes) throws Exception;
+    }
+
+    @Test
+    void binarioFrenteASerializacionYJackson() throws Exception {
+        Jugador jugador = new Jugador(7, "Jarlan Barrera", "Centrocampista", 1_700_000_000_000L, 2_500_000.5, true, 10,
+                1234);
+
+        BinaryWriter out = new BinaryWriter();
+        BinaryReader in = new BinaryReader();
+        medir("@BinaryCodec", jugador, j -> {
+            out.reset();
+            JugadorCodec.encode(j, out);
+            return out.toByteArray();
+        }, b -> JugadorCodec.decode(in.reset(b, 0, b.length)));
+        medir("Serialización Java", jugador, this::java, BinaryCodecBenchmarkTests::leerJava);
+        medir("Jackson", jugador, jackson::writeValueAsBytes, b -> jackson.readValue(b, Jugador.class));
+    }
+
+    private static <T> void medir(String nombre, T valor, Codificar<T> codificar, Decodificar<?> decodificar)
+            throws Exception {
+        byte[] bytes = codificar.ejecutar(valor);
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            sumidero += codificar.ejecutar(valor).length;
+            sumidero += decodificar.ejecutar(bytes).hashCode();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MENSAJES; i++) {
+            sumidero += codificar.ejecutar(valor).length;
+        }
+        long codificacion = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        for (int i = 0; i < MENSAJES; i++) {
+            sumidero += decodificar.ejecutar(bytes).hashCode();
+        }
+        long decodificacion = System.nanoTime() - inicio;
+        System.out.printf("%s: %d bytes, codificar %.0f msg/s, decodificar %.0f msg/s%n", nombre, bytes.length,
+                MENSAJES / (codificacion / 1e9), MENSAJES / (decodificacion / 1e9));
+    }
+
+    private byte[] java(Object valor) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(valor);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object leerJava(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.robermejia.lombok.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.robermejia.binary_codec.BinaryReader;
+import com.robermejia.binary_codec.BinaryWriter;
+
+class ClubCodecTests {
+
+    @Test
+    void codificaYDecodificaUnClub() {
+        Club club = new Club(1234, "Atlético Nacional");
+
+        byte[] bytes = ClubCodec.encode(club);
+        Club leido = ClubCodec.decode(bytes);
+
+        assertEquals(1234, leido.getId());
+        assertEquals("Atlético Nacional", leido.getNombre());
+        // versión + etiqueta + varint(1234) + etiqueta + longitud + 18 bytes UTF-8 + fin
+        assertEquals(1 + 1 + 2 + 1 + 1 + 18 + 1, bytes.length);
+    }
+
+    @Test
+    void reutilizaElBufferEntreMensajes() {
+        BinaryWriter out = new BinaryWriter();
+        BinaryReader in = new BinaryReader();
+        for (int i = 0; i < 100; i++) {
+            out.reset();
+            ClubCodec.encode(new Club(i, i % 2 == 0 ? null : "Club " + i), out);
+            Club leido = ClubCodec.decode(in.reset(out.buffer(), 0, out.size()));
+            assertEquals(i, leido.getId());
+            if (i % 2 == 0) {
+                assertNull(leido.getNombre());
+            } else {
+                assertEquals("Club " + i, leido.getNombre());
+            }
+        }
+    }
+
+    // Un mensaje en el que id llega como texto (otra versión cambió su tipo): se salta y el resto se lee
+    @Test
+    void saltaLosCamposConOtroTipo() {
+        BinaryWriter out = new BinaryWriter();
+        out.writeVarInt(1);
+        out.writeTag(1, BinaryWriter.LEN);
+        out.writeString("1234");
+        out.writeTag(2, BinaryWriter.LEN);
+        out.writeString("Millonarios");
+        out.writeVarInt(0);
+
+        Club leido = ClubCodec.decode(out.toByteArray());
+
+        assertEquals(0, leido.getId());
+        assertEquals("Millonarios", leido.getNombre());
+    }
+
+    // Una longitud cercana a Integer.MAX_VALUE no puede desbordar la comprobación de límites
+    @Test
+    void rechazaLongitudesQueDesbordan() {
+        BinaryWriter out = new BinaryWriter();
+        out.writeVarInt(1);
+        out.writeTag(2, BinaryWriter.LEN);
+        out.writeVarInt(Integer.MAX_VALUE);
+        out.writeString("x");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ClubCodec.decode(out.toByteArray()));
+        assertEquals("Mensaje truncado", e.getMessage());
+    }
+}
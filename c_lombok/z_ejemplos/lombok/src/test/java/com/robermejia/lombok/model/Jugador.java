@@ -0,0 +1,40 @@
+package com.robermejia.lombok.model;
+
+import java.io.Serializable;
+
+import com.robermejia.binary_codec.BinaryCodec;
+import com.robermejia.binary_codec.BinaryField;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// POJO con todos los tipos que soporta @BinaryCodec, para BinaryCodecBenchmarkTests.
+// Serializable para poder compararlo con la serialización de Java.
+@BinaryCodec
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class Jugador implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @BinaryField(1)
+    private int id;
+    @BinaryField(2)
+    private String nombre;
+    @BinaryField(3)
+    private String posicion;
+    @BinaryField(4)
+    private long fichadoEn;
+    @BinaryField(5)
+    private double valorMercado;
+    @BinaryField(6)
+    private boolean titular;
+    @BinaryField(7)
+    private Integer dorsal;
+    @BinaryField(8)
+    private Integer clubId;
+}
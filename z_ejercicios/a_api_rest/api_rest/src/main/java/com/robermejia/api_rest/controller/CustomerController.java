@@ -1,26 +1,56 @@
 package com.robermejia.api_rest.controller;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.robermejia.api_rest.model.Customer;
+import com.robermejia.api_rest.service.OffHeapCustomerStore;
 
 @RestController
 public class CustomerController {
 
-    List<Customer>customers = new ArrayList<>(Arrays.asList(
-        new Customer(123, "Roberto", "rober",  "123"),
-        new Customer(234, "Agustín", "agus",  "234"),
-        new Customer(345, "Gustavo", "tavo",  "345"),
-        new Customer(456, "Erica", "eri",  "456")
-    ));
+    // Los clientes se guardan fuera del heap (ver OffHeapCustomerStore)
+    private final OffHeapCustomerStore customers;
+
+    public CustomerController(OffHeapCustomerStore customers) {
+        this.customers = customers;
+    }
 
     @GetMapping("/clientes")
     public List<Customer> getCustomers(){
-        return customers;
+        return customers.findAll();
+    }
+
+    @GetMapping("/clientes/{id}")
+    public Customer getCliente(@PathVariable int id){
+        return customers.get(id);
+    }
+
+    @PostMapping("/clientes")
+    public Customer postCliente(@RequestBody Customer customer){
+        Customer creado;
+        try {
+            creado = customers.add(customer);
+        } catch (IllegalArgumentException e) {
+            // Un texto que no cabe en el registro de tamaño fijo
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (creado == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya existe el cliente con id " + customer.getID());
+        }
+        return creado;
+    }
+
+    @DeleteMapping("/clientes/{id}")
+    public Customer deleteCliente(@PathVariable int id){
+        return customers.remove(id);
     }
 }
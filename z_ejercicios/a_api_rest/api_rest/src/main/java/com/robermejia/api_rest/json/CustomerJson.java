@@ -0,0 +1,77 @@
+package com.robermejia.api_rest.json;
+
+import java.io.IOException;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.robermejia.comun.json.JsonTokens;
+import com.robermejia.api_rest.model.Customer;
+
+// Serializador y deserializador escritos a mano para Customer. @JsonComponent los registra
+// en el ObjectMapper de Spring: sin reflexión sobre getID()/getName()... y escribiendo
+// directamente en el stream de salida con nombres de campo pre-codificados.
+// El JSON es el mismo que generaba Jackson ("id" por getID()); al leer se acepta "id" o "ID".
+// Los valores se leen con JsonTokens (librería comun): un tipo inesperado responde 400.
+@JsonComponent
+public class CustomerJson {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString PASSWORD = new SerializedString("password");
+
+    public static class Serializer extends JsonSerializer<Customer> {
+
+        @Override
+        public void serialize(Customer customer, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(customer);
+            gen.writeFieldName(ID);
+            gen.writeNumber(customer.getID());
+            gen.writeFieldName(NAME);
+            gen.writeString(customer.getName());
+            gen.writeFieldName(USERNAME);
+            gen.writeString(customer.getUsername());
+            gen.writeFieldName(PASSWORD);
+            gen.writeString(customer.getPassword());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Customer> {
+
+        @Override
+        public Customer deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            int id = 0;
+            String name = null;
+            String username = null;
+            String password = null;
+            JsonToken t = p.currentToken();
+            if (t == JsonToken.START_OBJECT) {
+                t = p.nextToken();
+            }
+            for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String campo = p.currentName();
+                JsonToken valor = p.nextToken();
+                switch (campo) {
+                    case "id", "ID" -> id = JsonTokens.entero(p, valor, campo);
+                    case "name" -> name = JsonTokens.texto(p, valor, campo);
+                    case "username" -> username = JsonTokens.texto(p, valor, campo);
+                    case "password" -> password = JsonTokens.texto(p, valor, campo);
+                    default -> p.skipChildren();
+                }
+            }
+            if (t != JsonToken.END_OBJECT) {
+                return (Customer) ctxt.handleUnexpectedToken(Customer.class, p);
+            }
+            return new Customer(id, name, username, password);
+        }
+    }
+}
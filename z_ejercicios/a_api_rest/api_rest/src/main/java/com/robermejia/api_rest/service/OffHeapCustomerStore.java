@@ -0,0 +1,416 @@
+package com.robermejia.api_rest.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.robermejia.api_rest.model.Customer;
+
+import jakarta.annotation.PreDestroy;
+
+// Almacén de clientes fuera del heap con la Foreign Function & Memory API (Java 22+).
+// Cada cliente es un registro de tamaño fijo dentro de un MemorySegment y el índice por ID
+// es una tabla hash de direccionamiento abierto (sondeo lineal), también fuera del heap.
+// Así millones de clientes no ocupan heap ni alargan las pausas del GC.
+//
+// Si clientes.store.archivo tiene una ruta, los registros se mapean a ese archivo y
+// sobreviven a un reinicio (el índice se reconstruye al arrancar).
+@Service
+public class OffHeapCustomerStore {
+
+    // Cabecera: magic, versión, registros usados (marca de agua) y primer registro libre
+    private static final int MAGIC = 0x434C4945; // "CLIE"
+    private static final int VERSION = 1;
+    private static final long CABECERA = 64;
+    private static final long OFF_MAGIC = 0;
+    private static final long OFF_VERSION = 4;
+    private static final long OFF_USADOS = 8;
+    private static final long OFF_LIBRE = 12;
+
+    // Registro: id, estado (1 = ocupado; si está libre, id guarda el siguiente libre)
+    // y tres textos UTF-8 con longitud (short, -1 = null) y bytes de tamaño máximo fijo
+    private static final long REGISTRO = 200;
+    private static final long OFF_ID = 0;
+    private static final long OFF_ESTADO = 4;
+    private static final long OFF_NAME = 8;
+    private static final int MAX_NAME = 62;
+    private static final long OFF_USERNAME = 72;
+    private static final int MAX_USERNAME = 30;
+    private static final long OFF_PASSWORD = 104;
+    private static final int MAX_PASSWORD = 94;
+
+    private static final int OCUPADO = 1;
+    private static final int SIN_LIBRE = -1;
+
+    // Índice: pares (id, registro + 1); 0 en el valor = hueco vacío
+    private static final long SLOT = 8;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Path archivo;
+    private final FileChannel canal;
+
+    private Arena arenaDatos;
+    private MemorySegment datos;
+    private long capacidad;
+
+    private Arena arenaIndice;
+    private MemorySegment indice;
+    private long mascara;
+    private int tamano;
+
+    public OffHeapCustomerStore(
+            @Value("${clientes.store.archivo:}") String archivo,
+            @Value("${clientes.store.capacidad:1024}") int capacidadInicial) {
+        this.archivo = archivo == null || archivo.isBlank() ? null : Path.of(archivo);
+        try {
+            if (this.archivo == null) {
+                this.canal = null;
+                reservarDatos(Math.max(16, capacidadInicial));
+                iniciarCabecera();
+            } else {
+                this.canal = FileChannel.open(this.archivo, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                boolean existente = canal.size() >= CABECERA;
+                long registrosArchivo = existente ? (canal.size() - CABECERA) / REGISTRO : 0;
+                reservarDatos(Math.max(Math.max(16, capacidadInicial), registrosArchivo));
+                if (existente && datos.get(INT, OFF_MAGIC) == MAGIC) {
+                    if (datos.get(INT, OFF_VERSION) != VERSION) {
+                        throw new IllegalStateException("Versión de archivo no soportada: " + this.archivo);
+                    }
+                } else {
+                    iniciarCabecera();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el almacén de clientes", e);
+        }
+        reconstruirIndice();
+        if (tamano == 0) {
+            put(new Customer(123, "Roberto", "rober", "123"));
+            put(new Customer(234, "Agustín", "agus", "234"));
+            put(new Customer(345, "Gustavo", "tavo", "345"));
+            put(new Customer(456, "Erica", "eri", "456"));
+        }
+    }
+
+    public Customer get(int id) {
+        lock.readLock().lock();
+        try {
+            long registro = buscar(id);
+            return registro < 0 ? null : leer(registro);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Inserta el cliente solo si su ID no existe; null si ya existía
+    public Customer add(Customer customer) {
+        validar(customer);
+        lock.writeLock().lock();
+        try {
+            if (buscar(customer.getID()) >= 0) {
+                return null;
+            }
+            long registro = reservarRegistro();
+            insertarIndice(customer.getID(), registro);
+            escribir(registro, customer);
+            return customer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Inserta o reemplaza el cliente con el mismo ID
+    public Customer put(Customer customer) {
+        validar(customer);
+        lock.writeLock().lock();
+        try {
+            long registro = buscar(customer.getID());
+            if (registro < 0) {
+                registro = reservarRegistro();
+                insertarIndice(customer.getID(), registro);
+            }
+            escribir(registro, customer);
+            return customer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Customer remove(int id) {
+        lock.writeLock().lock();
+        try {
+            long registro = buscar(id);
+            if (registro < 0) {
+                return null;
+            }
+            Customer borrado = leer(registro);
+            borrarIndice(id);
+            // El registro pasa a la lista de libres
+            long base = CABECERA + registro * REGISTRO;
+            datos.set(INT, base + OFF_ESTADO, 0);
+            datos.set(INT, base + OFF_ID, datos.get(INT, OFF_LIBRE));
+            datos.set(INT, OFF_LIBRE, (int) registro);
+            return borrado;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Customer> findAll() {
+        lock.readLock().lock();
+        try {
+            int usados = datos.get(INT, OFF_USADOS);
+            List<Customer> resultado = new ArrayList<>(tamano);
+            for (long r = 0; r < usados; r++) {
+                if (datos.get(INT, CABECERA + r * REGISTRO + OFF_ESTADO) == OCUPADO) {
+                    resultado.add(leer(r));
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tamano;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (canal != null) {
+                datos.force();
+            }
+            arenaDatos.close();
+            arenaIndice.close();
+            if (canal != null) {
+                canal.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void validar(Customer customer) {
+        validarTexto("name", customer.getName(), MAX_NAME);
+        validarTexto("username", customer.getUsername(), MAX_USERNAME);
+        validarTexto("password", customer.getPassword(), MAX_PASSWORD);
+    }
+
+    private static void validarTexto(String campo, String valor, int max) {
+        if (valor != null && valor.getBytes(StandardCharsets.UTF_8).length > max) {
+            throw new IllegalArgumentException("El campo " + campo + " supera los " + max + " bytes");
+        }
+    }
+
+    // ---- registros ----
+
+    private void iniciarCabecera() {
+        datos.set(INT, OFF_MAGIC, MAGIC);
+        datos.set(INT, OFF_VERSION, VERSION);
+        datos.set(INT, OFF_USADOS, 0);
+        datos.set(INT, OFF_LIBRE, SIN_LIBRE);
+    }
+
+    private long reservarRegistro() {
+        int libre = datos.get(INT, OFF_LIBRE);
+        if (libre != SIN_LIBRE) {
+            datos.set(INT, OFF_LIBRE, datos.get(INT, CABECERA + libre * REGISTRO + OFF_ID));
+            return libre;
+        }
+        int usados = datos.get(INT, OFF_USADOS);
+        if (usados == capacidad) {
+            crecerDatos();
+        }
+        datos.set(INT, OFF_USADOS, usados + 1);
+        return usados;
+    }
+
+    private void escribir(long registro, Customer customer) {
+        long base = CABECERA + registro * REGISTRO;
+        datos.set(INT, base + OFF_ID, customer.getID());
+        escribirTexto(base + OFF_NAME, customer.getName());
+        escribirTexto(base + OFF_USERNAME, customer.getUsername());
+        escribirTexto(base + OFF_PASSWORD, customer.getPassword());
+        datos.set(INT, base + OFF_ESTADO, OCUPADO);
+    }
+
+    private Customer leer(long registro) {
+        long base = CABECERA + registro * REGISTRO;
+        return new Customer(datos.get(INT, base + OFF_ID), leerTexto(base + OFF_NAME),
+                leerTexto(base + OFF_USERNAME), leerTexto(base + OFF_PASSWORD));
+    }
+
+    private void escribirTexto(long offset, String valor) {
+        if (valor == null) {
+            datos.set(SHORT, offset, (short) -1);
+            return;
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        datos.set(SHORT, offset, (short) bytes.length);
+        MemorySegment.copy(bytes, 0, datos, ValueLayout.JAVA_BYTE, offset + 2, bytes.length);
+    }
+
+    private String leerTexto(long offset) {
+        short longitud = datos.get(SHORT, offset);
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        MemorySegment.copy(datos, ValueLayout.JAVA_BYTE, offset + 2, bytes, 0, longitud);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void reservarDatos(long registros) throws IOException {
+        long bytes = CABECERA + registros * REGISTRO;
+        Arena arena = Arena.ofShared();
+        MemorySegment segmento;
+        if (canal == null) {
+            segmento = arena.allocate(bytes, 8);
+            if (datos != null) {
+                MemorySegment.copy(datos, 0, segmento, 0, datos.byteSize());
+            }
+        } else {
+            // Mapear más allá del final amplía el archivo
+            segmento = canal.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+        }
+        if (arenaDatos != null) {
+            arenaDatos.close();
+        }
+        arenaDatos = arena;
+        datos = segmento;
+        capacidad = registros;
+    }
+
+    private void crecerDatos() {
+        try {
+            reservarDatos(capacidad * 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo ampliar el almacén de clientes", e);
+        }
+    }
+
+    // ---- índice por ID (direccionamiento abierto, sondeo lineal) ----
+
+    private void reconstruirIndice() {
+        int usados = datos.get(INT, OFF_USADOS);
+        crearIndice(Math.max(16, Long.highestOneBit(Math.max(1, usados) * 2L) << 1));
+        for (long r = 0; r < usados; r++) {
+            long base = CABECERA + r * REGISTRO;
+            if (datos.get(INT, base + OFF_ESTADO) == OCUPADO) {
+                insertarIndice(datos.get(INT, base + OFF_ID), r);
+            }
+        }
+    }
+
+    private void crearIndice(long slots) {
+        if (arenaIndice != null) {
+            arenaIndice.close();
+        }
+        arenaIndice = Arena.ofShared();
+        indice = arenaIndice.allocate(slots * SLOT, 8);
+        indice.fill((byte) 0);
+        mascara = slots - 1;
+        tamano = 0;
+    }
+
+    private long buscar(int id) {
+        for (long s = hash(id) & mascara;; s = (s + 1) & mascara) {
+            int valor = indice.get(INT, s * SLOT + 4);
+            if (valor == 0) {
+                return -1;
+            }
+            if (indice.get(INT, s * SLOT) == id) {
+                return valor - 1;
+            }
+        }
+    }
+
+    private void insertarIndice(int id, long registro) {
+        // Factor de carga máximo 0.5
+        if ((tamano + 1) * 2L > mascara + 1) {
+            redimensionarIndice();
+        }
+        long s = hash(id) & mascara;
+        while (indice.get(INT, s * SLOT + 4) != 0) {
+            s = (s + 1) & mascara;
+        }
+        indice.set(INT, s * SLOT, id);
+        indice.set(INT, s * SLOT + 4, (int) registro + 1);
+        tamano++;
+    }
+
+    // Borrado con desplazamiento hacia atrás: no deja lápidas en la tabla
+    private void borrarIndice(int id) {
+        long s = hash(id) & mascara;
+        while (indice.get(INT, s * SLOT) != id || indice.get(INT, s * SLOT + 4) == 0) {
+            s = (s + 1) & mascara;
+        }
+        long hueco = s;
+        for (long j = (hueco + 1) & mascara; indice.get(INT, j * SLOT + 4) != 0; j = (j + 1) & mascara) {
+            long ideal = hash(indice.get(INT, j * SLOT)) & mascara;
+            // Se mueve j al hueco si su posición ideal no está entre hueco (excluido) y j (incluido)
+            boolean entre = hueco <= j ? (hueco < ideal && ideal <= j) : (hueco < ideal || ideal <= j);
+            if (!entre) {
+                MemorySegment.copy(indice, j * SLOT, indice, hueco * SLOT, SLOT);
+                hueco = j;
+            }
+        }
+        indice.set(INT, hueco * SLOT, 0);
+        indice.set(INT, hueco * SLOT + 4, 0);
+        tamano--;
+    }
+
+    private void redimensionarIndice() {
+        MemorySegment anterior = indice;
+        Arena arenaAnterior = arenaIndice;
+        long slotsAnteriores = mascara + 1;
+        arenaIndice = null;
+        crearIndice(slotsAnteriores * 2);
+        for (long s = 0; s < slotsAnteriores; s++) {
+            int valor = anterior.get(INT, s * SLOT + 4);
+            if (valor != 0) {
+                insertarIndice(anterior.get(INT, s * SLOT), valor - 1);
+            }
+        }
+        arenaAnterior.close();
+    }
+
+    private static long hash(int id) {
+        // Mezcla de bits (murmur3 fmix32) para repartir IDs consecutivos
+        int h = id;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & 0xffffffffL;
+    }
+}
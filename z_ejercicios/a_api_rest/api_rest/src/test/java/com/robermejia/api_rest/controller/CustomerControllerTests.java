@@ -0,0 +1,44 @@
+package com.robermejia.api_rest.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CustomerControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void altaDeClientes() throws Exception {
+        mockMvc.perform(post("/clientes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":900,\"name\":\"Ana\",\"username\":\"ana\",\"password\":\"900\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Ana"));
+
+        // Un id existente no se sobrescribe
+        mockMvc.perform(post("/clientes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":123,\"name\":\"Otro\",\"username\":\"otro\",\"password\":\"x\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/clientes/123"))
+                .andExpect(jsonPath("$.name").value("Roberto"));
+
+        // Un texto que no cabe en el registro es un error del cliente
+        mockMvc.perform(post("/clientes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":901,\"name\":\"" + "x".repeat(100) + "\",\"username\":\"u\",\"password\":\"p\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/clientes/901"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").doesNotExist());
+    }
+}
@@ -0,0 +1,59 @@
+package com.robermejia.api_rest.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.robermejia.api_rest.model.Customer;
+
+class CustomerJsonTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(Customer.class, new CustomerJson.Serializer())
+            .addDeserializer(Customer.class, new CustomerJson.Deserializer()));
+
+    @Test
+    void idaYVuelta() throws Exception {
+        String json = MAPPER.writeValueAsString(new Customer(123, "Roberto", "rober", null));
+        assertEquals("{\"id\":123,\"name\":\"Roberto\",\"username\":\"rober\",\"password\":null}", json);
+
+        Customer leido = MAPPER.readValue(json, Customer.class);
+        assertEquals(123, leido.getID());
+        assertEquals("Roberto", leido.getName());
+        assertEquals("rober", leido.getUsername());
+        assertNull(leido.getPassword());
+        // También con "ID", como lo aceptaba Jackson por getID()
+        assertEquals(5, MAPPER.readValue("{\"ID\": 5}", Customer.class).getID());
+    }
+
+    @Test
+    void saltaCamposDesconocidosConObjetosYArrays() throws Exception {
+        Customer leido = MAPPER.readValue("""
+                {"extra": {"id": 99, "l": [1, {"name": "x"}]}, "id": 7, "roles": [["a"]], "username": "ana"}
+                """, Customer.class);
+        assertEquals(7, leido.getID());
+        assertEquals("ana", leido.getUsername());
+        assertNull(leido.getName());
+    }
+
+    @Test
+    void rechazaTiposIncorrectos() {
+        for (String json : List.of(
+                "{\"id\": \"abc\"}",
+                "{\"id\": [1], \"username\": \"ana\"}",
+                "{\"ID\": true}",
+                "{\"username\": {\"valor\": \"ana\"}, \"id\": 7}",
+                "{\"password\": [\"123\"]}")) {
+            assertThrows(MismatchedInputException.class, () -> MAPPER.readValue(json, Customer.class), json);
+        }
+        assertThrows(JsonProcessingException.class, () -> MAPPER.readValue("{\"id\": 99999999999}", Customer.class));
+    }
+}
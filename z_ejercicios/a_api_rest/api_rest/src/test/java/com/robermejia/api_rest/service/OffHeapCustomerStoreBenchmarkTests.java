@@ -0,0 +1,104 @@
+package com.robermejia.api_rest.service;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.robermejia.api_rest.model.Customer;
+
+// Heap retenido y pausas del GC con OffHeapCustomerStore frente a un List<Customer> con los
+// mismos clientes. Con cada uno cargado se mide un GC completo (su coste crece con lo que está
+// vivo en el heap) y las colecciones durante una ráfaga de objetos temporales, como las de una
+// petición. No se ejecuta por defecto:
+// mvn test -Dtest=OffHeapCustomerStoreBenchmarkTests -Dbenchmark=true -Djava.version=21
+//     -Dmaven.compiler.enablePreview=true "-DargLine=--enable-preview -Xmx2g"
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OffHeapCustomerStoreBenchmarkTests {
+
+    private static final int CLIENTES = 2_000_000;
+    private static final int TEMPORALES = 20_000_000;
+
+    private static final int EN_VUELO = 10_000;
+
+    @Test
+    void heapYPausasFrenteAUnaLista() {
+        System.out.printf("Colectores: %s%n", ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .map(GarbageCollectorMXBean::getName).toList());
+        long base = usada();
+        List<Customer> lista = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CLIENTES; i++) {
+            lista.add(cliente(i));
+        }
+        long carga = System.nanoTime() - inicio;
+        informar("List<Customer>", usada() - base, carga, lista.size(), lista);
+        lista = null;
+
+        base = usada();
+        OffHeapCustomerStore store = new OffHeapCustomerStore("", 1024);
+        try {
+            inicio = System.nanoTime();
+            for (int i = 0; i < CLIENTES; i++) {
+                store.put(cliente(i));
+            }
+            carga = System.nanoTime() - inicio;
+            informar("OffHeapCustomerStore", usada() - base, carga, store.size(), store);
+        } finally {
+            store.close();
+        }
+    }
+
+    // vivo: la estructura cargada, que tiene que seguir alcanzable durante las medidas
+    private static void informar(String nombre, long heap, long carga, int clientes, Object vivo) {
+        System.out.printf("%s: %d MB de heap para %d clientes (carga %.0f ms)%n", nombre, heap >> 20, clientes,
+                carga / 1e6);
+
+        long inicio = System.nanoTime();
+        System.gc();
+        System.out.printf("  GC completo: %.0f ms%n", (System.nanoTime() - inicio) / 1e6);
+
+        long[] antes = gc();
+        inicio = System.nanoTime();
+        // Objetos de vida corta (los últimos EN_VUELO siguen vivos, así el JIT no puede eliminarlos)
+        Customer[] enVuelo = new Customer[EN_VUELO];
+        for (int i = 0; i < TEMPORALES; i++) {
+            enVuelo[i % EN_VUELO] = new Customer(i, "Temporal " + i, "u", "p");
+        }
+        long rafaga = System.nanoTime() - inicio;
+        long[] despues = gc();
+        long colecciones = despues[0] - antes[0];
+        long pausas = despues[1] - antes[1];
+        System.out.printf("  %d objetos temporales: %.0f ms, %d colecciones, %d ms en GC (%.1f ms de media)%n",
+                TEMPORALES, rafaga / 1e6, colecciones, pausas, colecciones == 0 ? 0.0 : (double) pausas / colecciones);
+        Reference.reachabilityFence(enVuelo);
+        Reference.reachabilityFence(vivo);
+    }
+
+    // Colecciones y milisegundos acumulados de todos los colectores
+    private static long[] gc() {
+        long colecciones = 0;
+        long ms = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            colecciones += Math.max(0, gc.getCollectionCount());
+            ms += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {colecciones, ms};
+    }
+
+    private static Customer cliente(int i) {
+        return new Customer(1_000 + i, "Cliente número " + i, "usuario" + i, "contraseña" + i);
+    }
+
+    private static long usada() {
+        Runtime r = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return r.totalMemory() - r.freeMemory();
+    }
+}
@@ -0,0 +1,98 @@
+package com.robermejia.api_rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.robermejia.api_rest.model.Customer;
+
+class OffHeapCustomerStoreTests {
+
+    @Test
+    void escriturasYLecturasConcurrentes() throws Exception {
+        OffHeapCustomerStore store = new OffHeapCustomerStore("", 16);
+        int hilos = 8;
+        int porHilo = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int base = 1_000 + h * porHilo;
+                tareas.add(executor.submit(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        store.put(new Customer(base + i, "nombre" + i, "user" + i, "pw"));
+                        assertEquals("nombre" + i, store.get(base + i).getName());
+                    }
+                    // Se borra la mitad para ejercitar la lista de libres y el índice
+                    for (int i = 0; i < porHilo; i += 2) {
+                        assertEquals(base + i, store.remove(base + i).getID());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> t : tareas) {
+                t.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 4 clientes iniciales + la mitad de los insertados
+        assertEquals(4 + hilos * porHilo / 2, store.size());
+        assertEquals(store.size(), store.findAll().size());
+        assertNull(store.get(1_000));
+        assertEquals("nombre1", store.get(1_001).getName());
+        store.close();
+    }
+
+    @Test
+    void losDatosSobrevivenAUnReinicio() throws Exception {
+        Path archivo = Files.createTempFile("clientes", ".dat");
+        Files.delete(archivo);
+        try {
+            OffHeapCustomerStore store = new OffHeapCustomerStore(archivo.toString(), 16);
+            for (int i = 0; i < 1_000; i++) {
+                store.put(new Customer(1_000 + i, "nombre" + i, "user" + i, null));
+            }
+            store.remove(1_010);
+            store.close();
+
+            OffHeapCustomerStore reabierto = new OffHeapCustomerStore(archivo.toString(), 16);
+            assertEquals(999 + 4, reabierto.size());
+            assertNull(reabierto.get(1_010));
+            assertEquals("user500", reabierto.get(1_500).getUsername());
+            assertNull(reabierto.get(1_500).getPassword());
+            reabierto.close();
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    void rechazaTextosMasLargosQueElRegistro() {
+        OffHeapCustomerStore store = new OffHeapCustomerStore("", 16);
+        assertThrows(IllegalArgumentException.class,
+                () -> store.put(new Customer(1, "x".repeat(100), "u", "p")));
+        store.close();
+    }
+
+    @Test
+    void addNoReemplazaUnIdExistente() {
+        OffHeapCustomerStore store = new OffHeapCustomerStore("", 16);
+        assertNull(store.add(new Customer(123, "Otro", "otro", "x")));
+        assertEquals("Roberto", store.get(123).getName());
+        assertEquals("Nuevo", store.add(new Customer(1, "Nuevo", "nuevo", "x")).getName());
+        assertEquals(5, store.size());
+        store.close();
+    }
+}
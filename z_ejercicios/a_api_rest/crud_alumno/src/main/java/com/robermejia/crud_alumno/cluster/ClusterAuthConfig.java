@@ -0,0 +1,49 @@
+package com.robermejia.crud_alumno.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// /admin/cluster solo atiende a otros nodos: la cabecera X-Cluster-Token tiene que coincidir
+// con alumnos.cluster.token (401 si no). Sin token configurado los endpoints quedan cerrados (403).
+@Configuration
+public class ClusterAuthConfig implements WebMvcConfigurer {
+
+    public static final String CABECERA = "X-Cluster-Token";
+
+    private final byte[] token;
+
+    public ClusterAuthConfig(@Value("${alumnos.cluster.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+                    throws Exception {
+                if (token.length == 0) {
+                    response.sendError(HttpStatus.FORBIDDEN.value(), "alumnos.cluster.token no está configurado");
+                    return false;
+                }
+                String recibido = request.getHeader(CABECERA);
+                // Comparación en tiempo constante
+                if (recibido == null || !MessageDigest.isEqual(token, recibido.getBytes(StandardCharsets.UTF_8))) {
+                    response.sendError(HttpStatus.UNAUTHORIZED.value());
+                    return false;
+                }
+                return true;
+            }
+        }).addPathPatterns(StudentCluster.MIEMBROS, StudentCluster.MIEMBROS + "/**");
+    }
+}
@@ -0,0 +1,51 @@
+package com.robermejia.crud_alumno.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Anillo de hash consistente con nodos virtuales: cada nodo ocupa varias posiciones del anillo
+// para repartir los ids de forma pareja. Al entrar o salir un nodo solo cambian de dueño
+// los ids de los tramos que ocupaba. Es inmutable: un cambio de miembros crea otro anillo.
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, String> anillo = new TreeMap<>();
+    private final List<String> nodos;
+
+    public ConsistentHashRing(List<String> nodos, int nodosVirtuales) {
+        this.nodos = List.copyOf(nodos);
+        for (String nodo : this.nodos) {
+            for (int v = 0; v < nodosVirtuales; v++) {
+                anillo.put(hash(nodo + "#" + v), nodo);
+            }
+        }
+    }
+
+    public String owner(int id) {
+        if (anillo.isEmpty()) {
+            throw new IllegalStateException("El cluster no tiene nodos");
+        }
+        Map.Entry<Long, String> e = anillo.ceilingEntry(hash(Integer.toString(id)));
+        return e != null ? e.getValue() : anillo.firstEntry().getValue();
+    }
+
+    public List<String> getNodos() {
+        return nodos;
+    }
+
+    private static long hash(String clave) {
+        try {
+            byte[] d = MessageDigest.getInstance("MD5").digest(clave.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (d[i] & 0xff);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
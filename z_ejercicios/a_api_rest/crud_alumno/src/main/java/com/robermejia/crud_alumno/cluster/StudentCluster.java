@@ -0,0 +1,247 @@
+package com.robermejia.crud_alumno.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import com.robermejia.crud_alumno.model.Student;
+import com.robermejia.crud_alumno.service.StudentStore;
+
+// Modo cluster: varias instancias se reparten los alumnos por id con hash consistente.
+// Cualquier nodo acepta la petición; si el dueño del id es otro nodo se reenvía a su
+// endpoint interno /admin/cluster/local. Las búsquedas sin id (listado, por nombre)
+// consultan a todos los nodos. Entre nodos se envía la cabecera X-Cluster-Token con
+// alumnos.cluster.token (ver ClusterAuthConfig).
+// Con alumnos.cluster.nodos vacío funciona como antes, solo con el StudentStore local.
+//
+// Ejemplo con dos nodos:
+//   java -jar crud_alumno.jar --server.port=8081 --alumnos.cluster.yo=http://localhost:8081
+//        --alumnos.cluster.nodos=http://localhost:8081,http://localhost:8082 --alumnos.cluster.token=secreto
+@Service
+public class StudentCluster {
+
+    static final String MIEMBROS = "/admin/cluster";
+    static final String LOCAL = MIEMBROS + "/local";
+    static final String RECIBIR = MIEMBROS + "/recibir";
+
+    private static final Logger log = LoggerFactory.getLogger(StudentCluster.class);
+    private static final ParameterizedTypeReference<List<Student>> LISTA = new ParameterizedTypeReference<>() {
+    };
+
+    private final StudentStore store;
+    private final RestClient http;
+    private final String yo;
+    private final int nodosVirtuales;
+    private volatile ConsistentHashRing anillo;
+
+    public StudentCluster(StudentStore store, RestClient.Builder restClient,
+            @Value("${alumnos.cluster.yo:}") String yo,
+            @Value("${alumnos.cluster.nodos:}") String nodos,
+            @Value("${alumnos.cluster.vnodos:128}") int nodosVirtuales,
+            @Value("${alumnos.cluster.token:}") String token) {
+        this.store = store;
+        // El builder de Spring Boot usa el mismo ObjectMapper (y los codecs de StudentJson)
+        this.http = restClient.defaultHeader(ClusterAuthConfig.CABECERA, token).build();
+        this.yo = yo;
+        this.nodosVirtuales = nodosVirtuales;
+        List<String> miembros = nodos.isBlank() ? List.of() : Arrays.stream(nodos.split(",")).map(String::trim).toList();
+        if (!miembros.isEmpty()) {
+            if (!miembros.contains(yo)) {
+                throw new IllegalStateException("alumnos.cluster.yo (" + yo + ") no está en alumnos.cluster.nodos");
+            }
+            if (token.isBlank()) {
+                throw new IllegalStateException("El modo cluster necesita alumnos.cluster.token");
+            }
+            this.anillo = new ConsistentHashRing(miembros, nodosVirtuales);
+            // Cada nodo arranca con los alumnos de ejemplo: se queda solo con los suyos
+            store.removeIf(id -> !esMio(id));
+        }
+    }
+
+    public boolean isActivo() {
+        return anillo != null;
+    }
+
+    public List<String> getNodos() {
+        ConsistentHashRing a = anillo;
+        return a == null ? List.of() : a.getNodos();
+    }
+
+    public List<Student> findAll() {
+        if (!isActivo()) {
+            return store.findAll();
+        }
+        List<Student> todos = new ArrayList<>();
+        for (String nodo : getNodos()) {
+            todos.addAll(nodo.equals(yo) ? store.findAll() : http.get().uri(nodo + LOCAL).retrieve().body(LISTA));
+        }
+        return todos;
+    }
+
+    public Student findByName(String name) {
+        if (!isActivo()) {
+            return store.findByName(name);
+        }
+        for (String nodo : getNodos()) {
+            Student s = nodo.equals(yo) ? store.findByName(name)
+                    : http.get().uri(nodo + LOCAL + "/{name}", name).retrieve().body(Student.class);
+            if (s != null) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    public Student add(Student student) {
+        String dueno = dueno(student.getId());
+        if (dueno == null) {
+            return store.add(student);
+        }
+        return http.post().uri(dueno + LOCAL).contentType(MediaType.APPLICATION_JSON).body(student).retrieve()
+                .body(Student.class);
+    }
+
+    public Student update(Student student) {
+        String dueno = dueno(student.getId());
+        if (dueno == null) {
+            return store.update(student);
+        }
+        return http.put().uri(dueno + LOCAL).contentType(MediaType.APPLICATION_JSON).body(student).retrieve()
+                .body(Student.class);
+    }
+
+    public Student delete(int id) {
+        String dueno = dueno(id);
+        if (dueno == null) {
+            return store.delete(id);
+        }
+        return http.delete().uri(dueno + LOCAL + "/{id}", id).retrieve().body(Student.class);
+    }
+
+    // Alumnos transferidos por otro nodo durante un rebalanceo: se insertan o reemplazan
+    public void recibir(List<Student> students) {
+        for (Student s : students) {
+            if (store.update(s) == null) {
+                store.add(s);
+            }
+        }
+    }
+
+    // El cambio de miembros no llegó a todos los nodos y se deshizo
+    public static class CambioIncompletoException extends RuntimeException {
+
+        private final List<String> fallidos;
+
+        CambioIncompletoException(List<String> fallidos) {
+            super("No se pudo avisar a " + fallidos + "; se mantienen los miembros anteriores");
+            this.fallidos = List.copyOf(fallidos);
+        }
+
+        public List<String> getFallidos() {
+            return fallidos;
+        }
+    }
+
+    // Nuevo conjunto de nodos (alta o baja). Si propagar es true se avisa al resto de nodos,
+    // incluidos los que salen. Si alguno no responde, los que ya aceptaron vuelven a los
+    // miembros anteriores y se lanza CambioIncompletoException: todos siguen con el mismo anillo.
+    // Al final este nodo siempre rebalancea con el anillo que quede: envía a su dueño los alumnos
+    // que ya no le corresponden, incluidos los que le llegaran durante un cambio deshecho.
+    public synchronized void cambiarMiembros(List<String> nodos, boolean propagar) {
+        ConsistentHashRing anterior = anillo;
+        List<String> fallidos = new ArrayList<>();
+        if (propagar) {
+            List<String> avisar = new ArrayList<>(nodos);
+            List<String> previos = anterior != null ? anterior.getNodos() : List.of();
+            for (String n : previos) {
+                if (!avisar.contains(n)) {
+                    avisar.add(n);
+                }
+            }
+            List<String> avisados = new ArrayList<>();
+            for (String nodo : avisar) {
+                if (nodo.equals(yo)) {
+                    continue;
+                }
+                if (avisar(nodo, nodos)) {
+                    avisados.add(nodo);
+                } else {
+                    fallidos.add(nodo);
+                }
+            }
+            if (!fallidos.isEmpty()) {
+                for (String nodo : avisados) {
+                    if (!avisar(nodo, previos)) {
+                        log.error("{} no volvió a los miembros anteriores {}: revisar a mano", nodo, previos);
+                    }
+                }
+            }
+        }
+        if (fallidos.isEmpty()) {
+            anillo = nodos.contains(yo) ? new ConsistentHashRing(nodos, nodosVirtuales) : null;
+            rebalancear(new ConsistentHashRing(nodos, nodosVirtuales));
+            return;
+        }
+        if (anterior != null) {
+            rebalancear(anterior);
+        }
+        throw new CambioIncompletoException(fallidos);
+    }
+
+    private boolean avisar(String nodo, List<String> nodos) {
+        try {
+            http.put().uri(nodo + MIEMBROS + "?propagar=false").contentType(MediaType.APPLICATION_JSON)
+                    .body(nodos).retrieve().toBodilessEntity();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("No se pudo avisar a {} del cambio de miembros", nodo, e);
+            return false;
+        }
+    }
+
+    private void rebalancear(ConsistentHashRing nuevo) {
+        if (nuevo.getNodos().isEmpty()) {
+            return;
+        }
+        List<Student> salientes = store.removeIf(id -> !nuevo.owner(id).equals(yo));
+        Map<String, List<Student>> porNodo = new LinkedHashMap<>();
+        for (Student s : salientes) {
+            porNodo.computeIfAbsent(nuevo.owner(s.getId()), k -> new ArrayList<>()).add(s);
+        }
+        for (Map.Entry<String, List<Student>> e : porNodo.entrySet()) {
+            try {
+                http.post().uri(e.getKey() + RECIBIR).contentType(MediaType.APPLICATION_JSON).body(e.getValue())
+                        .retrieve().toBodilessEntity();
+                log.info("Transferidos {} alumnos a {}", e.getValue().size(), e.getKey());
+            } catch (RuntimeException ex) {
+                // Si el nodo destino no responde los alumnos se quedan aquí
+                log.warn("No se pudieron transferir alumnos a {}", e.getKey(), ex);
+                recibir(e.getValue());
+            }
+        }
+    }
+
+    private boolean esMio(int id) {
+        return anillo.owner(id).equals(yo);
+    }
+
+    // null si el id es de este nodo (o no hay cluster), si no la URL del dueño
+    private String dueno(int id) {
+        ConsistentHashRing a = anillo;
+        if (a == null) {
+            return null;
+        }
+        String dueno = a.owner(id);
+        return dueno.equals(yo) ? null : dueno;
+    }
+}
@@ -0,0 +1,82 @@
+package com.robermejia.crud_alumno.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.robermejia.crud_alumno.cluster.StudentCluster;
+import com.robermejia.crud_alumno.model.Student;
+import com.robermejia.crud_alumno.service.StudentStore;
+
+// Endpoints internos entre nodos del cluster, fuera de /alumnos para no chocar con
+// GET /alumnos/{name} y protegidos con X-Cluster-Token (ClusterAuthConfig).
+// /local trabaja solo con los datos de este nodo, sin volver a enrutar.
+@RestController
+@RequestMapping("/admin/cluster")
+public class ClusterController {
+
+    private final StudentStore store;
+    private final StudentCluster cluster;
+
+    public ClusterController(StudentStore store, StudentCluster cluster) {
+        this.store = store;
+        this.cluster = cluster;
+    }
+
+    @GetMapping
+    public List<String> getNodos() {
+        return cluster.getNodos();
+    }
+
+    // Alta o baja de nodos: PUT con la lista completa de nodos
+    @PutMapping
+    public List<String> putNodos(@RequestBody List<String> nodos,
+            @RequestParam(defaultValue = "true") boolean propagar) {
+        try {
+            cluster.cambiarMiembros(nodos, propagar);
+        } catch (StudentCluster.CambioIncompletoException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, e.getMessage());
+        }
+        return cluster.getNodos();
+    }
+
+    @PostMapping("/recibir")
+    public void recibir(@RequestBody List<Student> students) {
+        cluster.recibir(students);
+    }
+
+    @GetMapping("/local")
+    public List<Student> getLocal() {
+        return store.findAll();
+    }
+
+    @GetMapping("/local/{name}")
+    public Student getLocal(@PathVariable String name) {
+        return store.findByName(name);
+    }
+
+    @PostMapping("/local")
+    public Student postLocal(@RequestBody Student student) {
+        return store.add(student);
+    }
+
+    @PutMapping("/local")
+    public Student putLocal(@RequestBody Student student) {
+        return store.update(student);
+    }
+
+    @DeleteMapping("/local/{id}")
+    public Student deleteLocal(@PathVariable int id) {
+        return store.delete(id);
+    }
+}
@@ -1,10 +1,12 @@
 package com.robermejia.crud_alumno.controller;
 
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,7 +15,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.robermejia.comun.concurrencia.SingleFlight;
+import com.robermejia.crud_alumno.cluster.StudentCluster;
 import com.robermejia.crud_alumno.model.Student;
 
 @RestController
@@ -21,58 +26,46 @@ import com.robermejia.crud_alumno.model.Student;
 
 public class StudentController {
 
-    private List<Student> students = new ArrayList<>(Arrays.asList(
-        new Student(1,"Roberto", 25,"roberto@gmail.com", "Programación"),
-        new Student(2,"Manuel", 23,"manuel@gmail.com", "Redes"),
-        new Student(3,"Daniel", 20,"daniel@gmail.com", "Algoritmos"),
-        new Student(4,"Miguel", 30,"miguel@gmail.com", "Redes 2"),
-        new Student(5,"Axel", 19,"axel@gmail.com", "Base de datos")
-        ) 
-    );
+    // Los alumnos se guardan en columnas (ver StudentStore); en modo cluster
+    // StudentCluster reenvía cada operación al nodo dueño del id
+    private final StudentCluster students;
+    // Búsquedas por nombre simultáneas (en cluster consultan a todos los nodos) se hacen una sola vez
+    private final SingleFlight<String, Student> porNombre;
+
+    public StudentController(StudentCluster students,
+            @Value("${alumnos.coalescencia.timeout-ms:2000}") long timeoutMs) {
+        this.students = students;
+        this.porNombre = new SingleFlight<>(Duration.ofMillis(timeoutMs));
+    }
 
     @GetMapping
     public List<Student> getStudent(){
-        return students;
+        return students.findAll();
     }
 
     @GetMapping("/{name}")
     public Student getStudent(@PathVariable String name) {
-        for (Student s : students) {
-            if (s.getName().equalsIgnoreCase(name)) {
-                return s;
-            }
+        // La búsqueda ignora mayúsculas, así que "Ana" y "ana" comparten resultado
+        try {
+            return porNombre.get(name.toLowerCase(Locale.ROOT), () -> students.findByName(name));
+        } catch (SingleFlight.TiempoAgotadoException e) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, e.getMessage());
         }
-        return null;
     }
 
     @PostMapping
     public Student postStudent(@RequestBody Student student) {
-        students.add(student);
-        return student;
+        return students.add(student);
     }
 
     @PutMapping
     public Student putStudent(@RequestBody Student student) {
-    for (Student s : students) {
-            if (s.getId() == student.getId()) {
-                s.setName(student.getName());
-                s.setAge(student.getAge());
-                s.setEmail(student.getEmail());
-                s.setCourse(student.getCourse());
-                return s;          }
-        }
-        return null;
+        return students.update(student);
     }
 
     @DeleteMapping("/{id}")
     public Student deleteStudent(@PathVariable int id){
-        for (Student s : students) {
-            if (s.getId() == id) {
-                students.remove(s);
-                return s;
-            }
-        }
-        return null;
+        return students.delete(id);
     }
     
 }
@@ -0,0 +1,172 @@
+package com.robermejia.crud_alumno.controller;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.protobuf.Empty;
+import com.robermejia.crud_alumno.cluster.StudentCluster;
+import com.robermejia.crud_alumno.grpc.Alumno;
+import com.robermejia.crud_alumno.grpc.AlumnosGrpc;
+import com.robermejia.crud_alumno.grpc.Exportacion;
+import com.robermejia.crud_alumno.grpc.IdAlumno;
+import com.robermejia.crud_alumno.grpc.LoteAlumnos;
+import com.robermejia.crud_alumno.grpc.NombreAlumno;
+import com.robermejia.crud_alumno.grpc.ResumenAlta;
+import com.robermejia.crud_alumno.model.Student;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+// La API de StudentController en gRPC (src/main/proto/alumnos.proto), sobre el mismo
+// StudentCluster: lo que se crea por un lado se ve por el otro. GrpcServer lo publica
+// en alumnos.grpc.puerto.
+// A diferencia de REST, un alumno inexistente es NOT_FOUND en lugar de una respuesta vacía.
+@Service
+public class StudentGrpcService extends AlumnosGrpc.AlumnosImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentGrpcService.class);
+
+    private final StudentCluster students;
+    private final int tamanoLote;
+
+    public StudentGrpcService(StudentCluster students,
+            @Value("${alumnos.grpc.tamano-lote:500}") int tamanoLote) {
+        this.students = students;
+        this.tamanoLote = tamanoLote;
+    }
+
+    @Override
+    public void obtener(NombreAlumno peticion, StreamObserver<Alumno> respuesta) {
+        responder(students.findByName(peticion.getName()), "No existe el alumno " + peticion.getName(), respuesta);
+    }
+
+    @Override
+    public void guardar(Alumno alumno, StreamObserver<Alumno> respuesta) {
+        responder(students.update(aStudent(alumno)), "No existe el alumno con id " + alumno.getId(), respuesta);
+    }
+
+    @Override
+    public void eliminar(IdAlumno peticion, StreamObserver<Alumno> respuesta) {
+        responder(students.delete(peticion.getId()), "No existe el alumno con id " + peticion.getId(), respuesta);
+    }
+
+    @Override
+    public void listar(Empty peticion, StreamObserver<Alumno> respuesta) {
+        enviar(students.findAll().iterator(), StudentGrpcService::aAlumno, respuesta);
+    }
+
+    @Override
+    public void exportar(Exportacion peticion, StreamObserver<LoteAlumnos> respuesta) {
+        int tamano = peticion.getTamanoLote() > 0 ? peticion.getTamanoLote() : tamanoLote;
+        List<Student> todos = students.findAll();
+        Iterator<List<Student>> lotes = new Iterator<>() {
+            private int desde;
+
+            @Override
+            public boolean hasNext() {
+                return desde < todos.size();
+            }
+
+            @Override
+            public List<Student> next() {
+                int hasta = Math.min(desde + tamano, todos.size());
+                List<Student> lote = todos.subList(desde, hasta);
+                desde = hasta;
+                return lote;
+            }
+        };
+        enviar(lotes, lote -> {
+            LoteAlumnos.Builder mensaje = LoteAlumnos.newBuilder();
+            for (Student student : lote) {
+                mensaje.addAlumnos(aAlumno(student));
+            }
+            return mensaje.build();
+        }, respuesta);
+    }
+
+    @Override
+    public StreamObserver<Alumno> crearVarios(StreamObserver<ResumenAlta> respuesta) {
+        return new StreamObserver<>() {
+            private int creados;
+
+            @Override
+            public void onNext(Alumno alumno) {
+                students.add(aStudent(alumno));
+                creados++;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // Los alumnos ya recibidos se quedan creados, igual que varios POST seguidos
+                log.warn("Alta masiva interrumpida tras {} alumnos: {}", creados, Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                respuesta.onNext(ResumenAlta.newBuilder().setCreados(creados).build());
+                respuesta.onCompleted();
+            }
+        };
+    }
+
+    private static void responder(Student student, String noEncontrado, StreamObserver<Alumno> respuesta) {
+        if (student == null) {
+            respuesta.onError(Status.NOT_FOUND.withDescription(noEncontrado).asRuntimeException());
+            return;
+        }
+        respuesta.onNext(aAlumno(student));
+        respuesta.onCompleted();
+    }
+
+    // Envía solo mientras el cliente puede recibir (isReady), así un listado grande hacia
+    // un cliente lento no se acumula entero en los buffers del servidor
+    private static <T, M> void enviar(Iterator<T> elementos, Function<T, M> mensaje, StreamObserver<M> respuesta) {
+        ServerCallStreamObserver<M> salida = (ServerCallStreamObserver<M>) respuesta;
+        // Sin este handler onNext lanzaría una excepción si el cliente cancela a mitad
+        salida.setOnCancelHandler(() -> {
+        });
+        salida.setOnReadyHandler(new Runnable() {
+            private boolean terminado;
+
+            @Override
+            public void run() {
+                while (!terminado && salida.isReady() && !salida.isCancelled()) {
+                    if (!elementos.hasNext()) {
+                        terminado = true;
+                        salida.onCompleted();
+                        return;
+                    }
+                    salida.onNext(mensaje.apply(elementos.next()));
+                }
+            }
+        });
+    }
+
+    static Alumno aAlumno(Student student) {
+        Alumno.Builder alumno = Alumno.newBuilder()
+                .setId(student.getId())
+                .setAge(student.getAge());
+        // En proto3 los strings no admiten null: un campo ausente llega como ""
+        if (student.getName() != null) {
+            alumno.setName(student.getName());
+        }
+        if (student.getEmail() != null) {
+            alumno.setEmail(student.getEmail());
+        }
+        if (student.getCourse() != null) {
+            alumno.setCourse(student.getCourse());
+        }
+        return alumno.build();
+    }
+
+    static Student aStudent(Alumno alumno) {
+        return new Student(alumno.getId(), alumno.getName(), alumno.getAge(), alumno.getEmail(), alumno.getCourse());
+    }
+}
@@ -0,0 +1,46 @@
+package com.robermejia.crud_alumno.grpc;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import com.robermejia.crud_alumno.cluster.ClusterAuthConfig;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+// El mismo control que /admin/cluster (ClusterAuthConfig): la cabecera x-cluster-token tiene
+// que coincidir con alumnos.cluster.token (UNAUTHENTICATED si no). Sin token configurado
+// se rechaza toda llamada (PERMISSION_DENIED).
+public class GrpcAuthInterceptor implements ServerInterceptor {
+
+    public static final Metadata.Key<String> CABECERA =
+            Metadata.Key.of(ClusterAuthConfig.CABECERA, Metadata.ASCII_STRING_MARSHALLER);
+
+    private final byte[] token;
+
+    public GrpcAuthInterceptor(String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata cabeceras,
+            ServerCallHandler<Q, R> siguiente) {
+        if (token.length == 0) {
+            call.close(Status.PERMISSION_DENIED.withDescription("alumnos.cluster.token no está configurado"),
+                    new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        String recibido = cabeceras.get(CABECERA);
+        // Comparación en tiempo constante
+        if (recibido == null || !MessageDigest.isEqual(token, recibido.getBytes(StandardCharsets.UTF_8))) {
+            call.close(Status.UNAUTHENTICATED, new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return siguiente.startCall(call, cabeceras);
+    }
+}
@@ -0,0 +1,93 @@
+package com.robermejia.crud_alumno.grpc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.robermejia.crud_alumno.controller.StudentGrpcService;
+
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+
+// Servidor gRPC (Netty) que arranca y para con el contexto de Spring, en su propio puerto
+// junto al Tomcat de la API REST. alumnos.grpc.puerto=0 elige un puerto libre.
+// Desactivado por defecto (alumnos.grpc.activo): el puerto va en claro y permite crear y
+// borrar alumnos, así que cada llamada exige el token del cluster (GrpcAuthInterceptor).
+// El límite de concurrencia y el log de acceso de HTTP no se aplican a estas llamadas.
+@Component
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final StudentGrpcService alumnos;
+    private final String token;
+    private final boolean activo;
+    private final int puerto;
+    private final long esperaParadaMs;
+    private volatile Server server;
+
+    public GrpcServer(StudentGrpcService alumnos,
+            @Value("${alumnos.cluster.token:}") String token,
+            @Value("${alumnos.grpc.activo:false}") boolean activo,
+            @Value("${alumnos.grpc.puerto:9090}") int puerto,
+            @Value("${alumnos.grpc.espera-parada-ms:5000}") long esperaParadaMs) {
+        this.alumnos = alumnos;
+        this.token = token;
+        this.activo = activo;
+        this.puerto = puerto;
+        this.esperaParadaMs = esperaParadaMs;
+    }
+
+    @Override
+    public void start() {
+        if (!activo) {
+            return;
+        }
+        try {
+            server = NettyServerBuilder.forPort(puerto)
+                    .addService(ServerInterceptors.intercept(alumnos, new GrpcAuthInterceptor(token)))
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el puerto gRPC " + puerto, e);
+        }
+        log.info("gRPC escuchando en el puerto {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server s = server;
+        if (s == null) {
+            return;
+        }
+        // Las llamadas en curso (p. ej. una exportación) terminan; las nuevas se rechazan
+        s.shutdown();
+        try {
+            if (!s.awaitTermination(esperaParadaMs, TimeUnit.MILLISECONDS)) {
+                s.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            s.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // Puerto real (útil con alumnos.grpc.puerto=0); -1 si no está arrancado
+    public int getPuerto() {
+        Server s = server;
+        return s == null ? -1 : s.getPort();
+    }
+}
@@ -0,0 +1,81 @@
+package com.robermejia.crud_alumno.json;
+
+import java.io.IOException;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.robermejia.comun.json.JsonTokens;
+import com.robermejia.crud_alumno.model.Student;
+
+// Serializador y deserializador escritos a mano para Student. @JsonComponent los registra
+// en el ObjectMapper de Spring, así Jackson no usa reflexión sobre los getters y escribe
+// directamente en el stream de salida. Los nombres de campo van pre-codificados.
+// Los valores se leen con JsonTokens (librería comun): un tipo inesperado responde 400.
+@JsonComponent
+public class StudentJson {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString AGE = new SerializedString("age");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString COURSE = new SerializedString("course");
+
+    public static class Serializer extends JsonSerializer<Student> {
+
+        @Override
+        public void serialize(Student student, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(student);
+            gen.writeFieldName(ID);
+            gen.writeNumber(student.getId());
+            gen.writeFieldName(NAME);
+            gen.writeString(student.getName());
+            gen.writeFieldName(AGE);
+            gen.writeNumber(student.getAge());
+            gen.writeFieldName(EMAIL);
+            gen.writeString(student.getEmail());
+            gen.writeFieldName(COURSE);
+            gen.writeString(student.getCourse());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Student> {
+
+        @Override
+        public Student deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            int id = 0;
+            String name = null;
+            int age = 0;
+            String email = null;
+            String course = null;
+            JsonToken t = p.currentToken();
+            if (t == JsonToken.START_OBJECT) {
+                t = p.nextToken();
+            }
+            for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String campo = p.currentName();
+                JsonToken valor = p.nextToken();
+                switch (campo) {
+                    case "id" -> id = JsonTokens.entero(p, valor, campo);
+                    case "name" -> name = JsonTokens.texto(p, valor, campo);
+                    case "age" -> age = JsonTokens.entero(p, valor, campo);
+                    case "email" -> email = JsonTokens.texto(p, valor, campo);
+                    case "course" -> course = JsonTokens.texto(p, valor, campo);
+                    default -> p.skipChildren();
+                }
+            }
+            if (t != JsonToken.END_OBJECT) {
+                return (Student) ctxt.handleUnexpectedToken(Student.class, p);
+            }
+            return new Student(id, name, age, email, course);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.robermejia.crud_alumno.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+import org.springframework.stereotype.Service;
+
+import com.robermejia.crud_alumno.model.Student;
+
+// Almacén de alumnos en columnas (struct of arrays) en lugar de un List<Student>:
+// - id y edad en int[] primitivos
+// - curso y nombre codificados con un diccionario (se repiten mucho): cada fila guarda un int
+// - email en un único byte[] UTF-8 con offset y longitud por fila
+// Los Student solo se crean al devolverlos por la API.
+// Los borrados marcan la fila y se compacta cuando la mitad de las filas están borradas,
+// así se mantiene el orden de inserción. Los diccionarios cuentan cuántas filas usan cada
+// texto y liberan los que nadie usa; el byte[] de emails se compacta también cuando la
+// mitad son emails cambiados o borrados.
+@Service
+public class StudentStore {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final int NULO = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Diccionario cursos = new Diccionario();
+    private final Diccionario nombres = new Diccionario();
+
+    private int[] ids = new int[CAPACIDAD_INICIAL];
+    private int[] edades = new int[CAPACIDAD_INICIAL];
+    private int[] cursoCodigos = new int[CAPACIDAD_INICIAL];
+    private int[] nombreCodigos = new int[CAPACIDAD_INICIAL];
+    private int[] emailOffsets = new int[CAPACIDAD_INICIAL];
+    private int[] emailLongitudes = new int[CAPACIDAD_INICIAL];
+    private byte[] emails = new byte[CAPACIDAD_INICIAL * 16];
+    private int emailsUsados;
+    // Bytes de emails que ya no usa ninguna fila (cambiados o borrados)
+    private int emailsLibres;
+    private final BitSet borrados = new BitSet();
+    private int filas;
+    private int vivas;
+
+    public StudentStore() {
+        add(new Student(1, "Roberto", 25, "roberto@gmail.com", "Programación"));
+        add(new Student(2, "Manuel", 23, "manuel@gmail.com", "Redes"));
+        add(new Student(3, "Daniel", 20, "daniel@gmail.com", "Algoritmos"));
+        add(new Student(4, "Miguel", 30, "miguel@gmail.com", "Redes 2"));
+        add(new Student(5, "Axel", 19, "axel@gmail.com", "Base de datos"));
+    }
+
+    public List<Student> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Student> resultado = new ArrayList<>(vivas);
+            for (int fila = 0; fila < filas; fila++) {
+                if (!borrados.get(fila)) {
+                    resultado.add(materializar(fila));
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Primer alumno cuyo nombre coincide sin distinguir mayúsculas
+    public Student findByName(String name) {
+        lock.readLock().lock();
+        try {
+            BitSet codigos = nombres.codigosIgnoreCase(name);
+            if (codigos.isEmpty()) {
+                return null;
+            }
+            for (int fila = 0; fila < filas; fila++) {
+                int codigo = nombreCodigos[fila];
+                if (codigo != NULO && codigos.get(codigo) && !borrados.get(fila)) {
+                    return materializar(fila);
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Student findById(int id) {
+        lock.readLock().lock();
+        try {
+            int fila = buscarFila(id);
+            return fila == NULO ? null : materializar(fila);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Student add(Student student) {
+        lock.writeLock().lock();
+        try {
+            asegurarCapacidad(filas + 1);
+            int fila = filas++;
+            vivas++;
+            emailLongitudes[fila] = NULO;
+            escribir(fila, student);
+            return student;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reemplaza los datos del alumno con el mismo id; null si no existe
+    public Student update(Student student) {
+        lock.writeLock().lock();
+        try {
+            int fila = buscarFila(student.getId());
+            if (fila == NULO) {
+                return null;
+            }
+            int cursoAnterior = cursoCodigos[fila];
+            int nombreAnterior = nombreCodigos[fila];
+            // Se codifica antes de liberar: si el texto no cambia no sale y vuelve a entrar
+            escribir(fila, student);
+            cursos.liberar(cursoAnterior);
+            nombres.liberar(nombreAnterior);
+            if (emailsLibres > CAPACIDAD_INICIAL * 16 && emailsLibres * 2 > emailsUsados) {
+                compactar();
+            }
+            return materializar(fila);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Student delete(int id) {
+        lock.writeLock().lock();
+        try {
+            int fila = buscarFila(id);
+            if (fila == NULO) {
+                return null;
+            }
+            Student borrado = materializar(fila);
+            borrar(fila);
+            if (filas > CAPACIDAD_INICIAL && vivas * 2 < filas) {
+                compactar();
+            }
+            return borrado;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Borra en una sola pasada los alumnos cuyo id cumple la condición y los devuelve
+    public List<Student> removeIf(IntPredicate condicionId) {
+        lock.writeLock().lock();
+        try {
+            List<Student> borrados = new ArrayList<>();
+            for (int fila = 0; fila < filas; fila++) {
+                if (!this.borrados.get(fila) && condicionId.test(ids[fila])) {
+                    borrados.add(materializar(fila));
+                    borrar(fila);
+                }
+            }
+            if (!borrados.isEmpty()) {
+                compactar();
+            }
+            return borrados;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return vivas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Textos distintos guardados en los diccionarios y bytes ocupados por emails (para los tests)
+    int textosDistintos() {
+        lock.readLock().lock();
+        try {
+            return cursos.size() + nombres.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int bytesEmails() {
+        lock.readLock().lock();
+        try {
+            return emailsUsados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void borrar(int fila) {
+        borrados.set(fila);
+        vivas--;
+        cursos.liberar(cursoCodigos[fila]);
+        nombres.liberar(nombreCodigos[fila]);
+        emailsLibres += Math.max(emailLongitudes[fila], 0);
+    }
+
+    private int buscarFila(int id) {
+        for (int fila = 0; fila < filas; fila++) {
+            if (ids[fila] == id && !borrados.get(fila)) {
+                return fila;
+            }
+        }
+        return NULO;
+    }
+
+    private void escribir(int fila, Student student) {
+        ids[fila] = student.getId();
+        edades[fila] = student.getAge();
+        cursoCodigos[fila] = cursos.codificar(student.getCourse());
+        nombreCodigos[fila] = nombres.codificar(student.getName());
+        escribirEmail(fila, student.getEmail());
+    }
+
+    private Student materializar(int fila) {
+        return new Student(ids[fila], nombres.valor(nombreCodigos[fila]), edades[fila],
+                leerEmail(fila), cursos.valor(cursoCodigos[fila]));
+    }
+
+    private void escribirEmail(int fila, String email) {
+        int anterior = Math.max(emailLongitudes[fila], 0);
+        if (email == null) {
+            emailsLibres += anterior;
+            emailOffsets[fila] = 0;
+            emailLongitudes[fila] = NULO;
+            return;
+        }
+        byte[] bytes = email.getBytes(StandardCharsets.UTF_8);
+        // Si cabe en el hueco anterior se reutiliza; si no, se añade al final
+        if (emailLongitudes[fila] >= bytes.length) {
+            System.arraycopy(bytes, 0, emails, emailOffsets[fila], bytes.length);
+            // El resto del hueco se pierde hasta la próxima compactación
+            emailsLibres += anterior - bytes.length;
+        } else {
+            emailsLibres += anterior;
+            if (emailsUsados + bytes.length > emails.length) {
+                emails = Arrays.copyOf(emails, Math.max(emails.length * 2, emailsUsados + bytes.length));
+            }
+            System.arraycopy(bytes, 0, emails, emailsUsados, bytes.length);
+            emailOffsets[fila] = emailsUsados;
+            emailsUsados += bytes.length;
+        }
+        emailLongitudes[fila] = bytes.length;
+    }
+
+    private String leerEmail(int fila) {
+        int longitud = emailLongitudes[fila];
+        return longitud == NULO ? null : new String(emails, emailOffsets[fila], longitud, StandardCharsets.UTF_8);
+    }
+
+    private void asegurarCapacidad(int minimo) {
+        if (minimo <= ids.length) {
+            return;
+        }
+        int capacidad = Math.max(minimo, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacidad);
+        edades = Arrays.copyOf(edades, capacidad);
+        cursoCodigos = Arrays.copyOf(cursoCodigos, capacidad);
+        nombreCodigos = Arrays.copyOf(nombreCodigos, capacidad);
+        emailOffsets = Arrays.copyOf(emailOffsets, capacidad);
+        emailLongitudes = Arrays.copyOf(emailLongitudes, capacidad);
+    }
+
+    // Elimina las filas borradas manteniendo el orden y reconstruye el byte[] de emails
+    private void compactar() {
+        byte[] nuevosEmails = new byte[Math.max(CAPACIDAD_INICIAL * 16, emailsUsados)];
+        int usados = 0;
+        int destino = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (borrados.get(fila)) {
+                continue;
+            }
+            ids[destino] = ids[fila];
+            edades[destino] = edades[fila];
+            cursoCodigos[destino] = cursoCodigos[fila];
+            nombreCodigos[destino] = nombreCodigos[fila];
+            int longitud = emailLongitudes[fila];
+            if (longitud > 0) {
+                System.arraycopy(emails, emailOffsets[fila], nuevosEmails, usados, longitud);
+            }
+            emailOffsets[destino] = usados;
+            emailLongitudes[destino] = longitud;
+            usados += Math.max(longitud, 0);
+            destino++;
+        }
+        emails = nuevosEmails;
+        emailsUsados = usados;
+        emailsLibres = 0;
+        filas = destino;
+        borrados.clear();
+    }
+
+    // Codificación por diccionario: cada texto distinto se guarda una sola vez.
+    // usos cuenta las filas que apuntan a cada código; al llegar a 0 el texto se
+    // quita y el código se reutiliza para el siguiente texto nuevo.
+    private static final class Diccionario {
+
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> valores = new ArrayList<>();
+        private int[] usos = new int[CAPACIDAD_INICIAL];
+        private final ArrayDeque<Integer> libres = new ArrayDeque<>();
+
+        int codificar(String valor) {
+            if (valor == null) {
+                return NULO;
+            }
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = libres.poll();
+                if (codigo == null) {
+                    codigo = valores.size();
+                    valores.add(valor);
+                    if (codigo == usos.length) {
+                        usos = Arrays.copyOf(usos, usos.length * 2);
+                    }
+                } else {
+                    valores.set(codigo, valor);
+                }
+                codigos.put(valor, codigo);
+            }
+            usos[codigo]++;
+            return codigo;
+        }
+
+        void liberar(int codigo) {
+            if (codigo == NULO) {
+                return;
+            }
+            if (--usos[codigo] == 0) {
+                codigos.remove(valores.get(codigo));
+                valores.set(codigo, null);
+                libres.push(codigo);
+            }
+        }
+
+        int size() {
+            return codigos.size();
+        }
+
+        String valor(int codigo) {
+            return codigo == NULO ? null : valores.get(codigo);
+        }
+
+        BitSet codigosIgnoreCase(String valor) {
+            BitSet resultado = new BitSet();
+            if (valor == null) {
+                return resultado;
+            }
+            for (int i = 0; i < valores.size(); i++) {
+                // Los códigos libres tienen null
+                if (valor.equalsIgnoreCase(valores.get(i))) {
+                    resultado.set(i);
+                }
+            }
+            return resultado;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.robermejia.crud_alumno;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "alumnos.grpc.puerto=0")
 class CrudAlumnoApplicationTests {
 
 	@Test
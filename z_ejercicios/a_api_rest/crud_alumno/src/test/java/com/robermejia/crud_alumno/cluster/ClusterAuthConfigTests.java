@@ -0,0 +1,34 @@
+package com.robermejia.crud_alumno.cluster;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Sin cluster configurado pero con token: /admin/cluster solo responde con la cabecera correcta
+@SpringBootTest(properties = { "alumnos.cluster.token=secreto", "alumnos.grpc.puerto=0" })
+@AutoConfigureMockMvc
+class ClusterAuthConfigTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void exigeLaCabeceraDelCluster() throws Exception {
+        mockMvc.perform(get("/admin/cluster/local")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/admin/cluster/local").header(ClusterAuthConfig.CABECERA, "otro"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/admin/cluster/local").header(ClusterAuthConfig.CABECERA, "secreto"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unAlumnoLlamadoClusterYaNoChocaConLaAdministracion() throws Exception {
+        // Antes /alumnos/_cluster era el listado de nodos
+        mockMvc.perform(get("/alumnos/_cluster")).andExpect(status().isOk());
+    }
+}
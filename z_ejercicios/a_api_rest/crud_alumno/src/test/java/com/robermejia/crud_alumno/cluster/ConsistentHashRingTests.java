@@ -0,0 +1,55 @@
+package com.robermejia.crud_alumno.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTests {
+
+    private static final int IDS = 30_000;
+    private static final List<String> TRES = List.of("http://a", "http://b", "http://c");
+
+    @Test
+    void repartePareja() {
+        ConsistentHashRing anillo = new ConsistentHashRing(TRES, 128);
+        Map<String, Integer> porNodo = new HashMap<>();
+        for (int id = 0; id < IDS; id++) {
+            porNodo.merge(anillo.owner(id), 1, Integer::sum);
+        }
+        assertEquals(TRES.size(), porNodo.size());
+        for (int n : porNodo.values()) {
+            // Un tercio ± 20 %
+            assertTrue(Math.abs(n - IDS / 3) < IDS / 3 / 5, porNodo.toString());
+        }
+    }
+
+    @Test
+    void unNodoNuevoSoloSeLlevaSuParte() {
+        ConsistentHashRing antes = new ConsistentHashRing(TRES, 128);
+        ConsistentHashRing despues = new ConsistentHashRing(List.of("http://a", "http://b", "http://c", "http://d"), 128);
+        int movidos = 0;
+        for (int id = 0; id < IDS; id++) {
+            String dueno = despues.owner(id);
+            if (!dueno.equals(antes.owner(id))) {
+                // Nada se mueve entre los nodos que ya estaban
+                assertEquals("http://d", dueno);
+                movidos++;
+            }
+        }
+        assertTrue(Math.abs(movidos - IDS / 4) < IDS / 4 / 5, "movidos=" + movidos);
+    }
+
+    @Test
+    void esDeterministaYNoDependeDelOrden() {
+        ConsistentHashRing uno = new ConsistentHashRing(TRES, 64);
+        ConsistentHashRing otro = new ConsistentHashRing(List.of("http://c", "http://a", "http://b"), 64);
+        for (int id = 0; id < 1_000; id++) {
+            assertEquals(uno.owner(id), otro.owner(id));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.robermejia.crud_alumno.cluster;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.robermejia.crud_alumno.CrudAlumnoApplication;
+
+// Rendimiento del modo cluster con 1, 2, 3 y 4 nodos en localhost (un contexto Spring por nodo,
+// todos en esta JVM). Cada ronda lanza PUT /alumnos sobre 2.000 alumnos de dos formas:
+// - balanceado: las peticiones se reparten entre nodos por turnos y el que no es dueño reenvía;
+// - directo: el cliente calcula el dueño con el mismo ConsistentHashRing y no hay reenvío.
+// Los nodos comparten las CPUs de esta máquina: solo hay escalado si hay núcleos libres.
+// No se ejecuta por defecto:
+// mvn test -Dtest=StudentClusterBenchmarkTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StudentClusterBenchmarkTests {
+
+    private static final int MAX_NODOS = 4;
+    private static final int ALUMNOS = 2_000;
+    private static final int CALENTAMIENTO = 2_000;
+    private static final int PETICIONES = 10_000;
+    private static final int HILOS = 16;
+    private static final String TOKEN = "secreto";
+
+    @Test
+    void peticionesPorSegundoSegunElNumeroDeNodos() throws Exception {
+        System.out.printf("CPUs disponibles: %d%n", Runtime.getRuntime().availableProcessors());
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            // La ronda 0 (un nodo, sin informe) solo calienta el JIT: todas las rondas comparten JVM
+            for (int n = 0; n <= MAX_NODOS; n++) {
+                List<String> nodos = new ArrayList<>();
+                for (int i = 0; i < Math.max(n, 1); i++) {
+                    nodos.add("http://localhost:" + puertoLibre());
+                }
+                List<ConfigurableApplicationContext> contextos = new ArrayList<>();
+                try {
+                    for (String nodo : nodos) {
+                        contextos.add(arrancar(nodo, nodos));
+                    }
+                    ronda(http, nodos, n > 0);
+                } finally {
+                    contextos.forEach(ConfigurableApplicationContext::close);
+                }
+            }
+        } finally {
+            http.close();
+        }
+    }
+
+    private static void ronda(HttpClient http, List<String> nodos, boolean informar) throws Exception {
+        // Altas por el primer nodo: cada alumno acaba en su dueño
+        for (int id = 1_000; id < 1_000 + ALUMNOS; id++) {
+            enviar(http, peticion(nodos.get(0), id, "POST"));
+        }
+        ConsistentHashRing anillo = new ConsistentHashRing(nodos, 128);
+        medir(http, nodos.size(), "balanceado", i -> nodos.get(i % nodos.size()), null, informar);
+        medir(http, nodos.size(), "directo", null, anillo, informar);
+    }
+
+    // destino(i) elige el nodo de la petición i; con anillo se envía al dueño del id
+    private static void medir(HttpClient http, int nodos, String modo, IntFunction<String> destino,
+            ConsistentHashRing anillo, boolean informar) throws Exception {
+        ejecutar(http, CALENTAMIENTO, destino, anillo, new long[CALENTAMIENTO]);
+        long[] tiempos = new long[PETICIONES];
+        long total = ejecutar(http, PETICIONES, destino, anillo, tiempos);
+        if (!informar) {
+            return;
+        }
+        Arrays.sort(tiempos);
+        System.out.printf("%d nodo(s), %s, %d hilos: %.0f peticiones/s, p50=%.3f ms p99=%.3f ms%n", nodos, modo,
+                HILOS, PETICIONES / (total / 1e9), tiempos[PETICIONES / 2] / 1e6,
+                tiempos[PETICIONES * 99 / 100] / 1e6);
+    }
+
+    private static long ejecutar(HttpClient http, int peticiones, IntFunction<String> destino,
+            ConsistentHashRing anillo, long[] tiempos) throws Exception {
+        int porHilo = peticiones / HILOS;
+        ExecutorService pool = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch fin = new CountDownLatch(HILOS);
+        long inicio = System.nanoTime();
+        for (int h = 0; h < HILOS; h++) {
+            int hilo = h;
+            pool.submit(() -> {
+                try {
+                    for (int i = 0; i < porHilo; i++) {
+                        int n = hilo * porHilo + i;
+                        // Recorre los ids con un paso primo para no repetir el mismo en hilos vecinos
+                        int id = 1_000 + (int) ((n * 7919L) % ALUMNOS);
+                        String nodo = anillo != null ? anillo.owner(id) : destino.apply(n);
+                        long t = System.nanoTime();
+                        enviar(http, peticion(nodo, id, "PUT"));
+                        tiempos[n] = System.nanoTime() - t;
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    fin.countDown();
+                }
+                return null;
+            });
+        }
+        fin.await();
+        long total = System.nanoTime() - inicio;
+        pool.shutdown();
+        return total;
+    }
+
+    private static void enviar(HttpClient http, HttpRequest peticion) throws IOException, InterruptedException {
+        HttpResponse<Void> respuesta = http.send(peticion, HttpResponse.BodyHandlers.discarding());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException(peticion.uri() + " respondió " + respuesta.statusCode());
+        }
+    }
+
+    private static HttpRequest peticion(String nodo, int id, String metodo) {
+        String json = "{\"id\":" + id + ",\"name\":\"Alumno" + id + "\",\"age\":20,\"email\":\"alumno" + id
+                + "@gmail.com\",\"course\":\"Redes\"}";
+        return HttpRequest.newBuilder(URI.create(nodo + "/alumnos")).header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static ConfigurableApplicationContext arrancar(String yo, List<String> nodos) {
+        return new SpringApplicationBuilder(CrudAlumnoApplication.class).run(
+                "--server.port=" + URI.create(yo).getPort(),
+                "--alumnos.cluster.yo=" + yo,
+                "--alumnos.cluster.nodos=" + String.join(",", nodos),
+                "--alumnos.cluster.token=" + TOKEN,
+                "--spring.jmx.enabled=false",
+                "--concurrencia.activo=false",
+                "--registro.acceso.activo=false");
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
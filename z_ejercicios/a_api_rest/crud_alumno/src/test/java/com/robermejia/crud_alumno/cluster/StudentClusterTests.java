@@ -0,0 +1,111 @@
+package com.robermejia.crud_alumno.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import com.robermejia.crud_alumno.model.Student;
+import com.robermejia.crud_alumno.service.StudentStore;
+
+// Cambios de miembros con los otros nodos simulados por MockRestServiceServer
+class StudentClusterTests {
+
+    private static final String A = "http://a";
+    private static final String B = "http://b";
+    private static final String C = "http://c";
+
+    private StudentStore store;
+    private MockRestServiceServer nodos;
+    private StudentCluster cluster;
+
+    @BeforeEach
+    void arrancar() {
+        store = new StudentStore();
+        for (int id = 100; id < 400; id++) {
+            store.add(new Student(id, "Alumno" + id, 20, "alumno" + id + "@gmail.com", "Redes"));
+        }
+        RestClient.Builder builder = RestClient.builder();
+        nodos = MockRestServiceServer.bindTo(builder).build();
+        cluster = new StudentCluster(store, builder, A, A + "," + B, 128, "secreto");
+    }
+
+    @Test
+    void avisaATodosYTransfiereLoQueYaNoEsSuyo() {
+        nodos.expect(requestTo(B + "/admin/cluster?propagar=false")).andExpect(method(HttpMethod.PUT))
+                .andExpect(header(ClusterAuthConfig.CABECERA, "secreto"))
+                .andExpect(content().json("[\"http://a\",\"http://b\",\"http://c\"]"))
+                .andRespond(withSuccess());
+        nodos.expect(requestTo(C + "/admin/cluster?propagar=false")).andRespond(withSuccess());
+        nodos.expect(requestTo(C + "/admin/cluster/recibir")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess());
+
+        cluster.cambiarMiembros(List.of(A, B, C), true);
+
+        nodos.verify();
+        assertEquals(List.of(A, B, C), cluster.getNodos());
+        ConsistentHashRing nuevo = new ConsistentHashRing(List.of(A, B, C), 128);
+        assertFalse(store.findAll().isEmpty());
+        for (Student s : store.findAll()) {
+            assertEquals(A, nuevo.owner(s.getId()));
+        }
+    }
+
+    @Test
+    void siUnNodoFallaDeshaceElCambio() {
+        List<Student> antes = store.findAll();
+        nodos.expect(requestTo(B + "/admin/cluster?propagar=false"))
+                .andExpect(content().json("[\"http://a\",\"http://b\",\"http://c\"]")).andRespond(withSuccess());
+        nodos.expect(requestTo(C + "/admin/cluster?propagar=false")).andRespond(withServerError());
+        // B vuelve a los miembros anteriores
+        nodos.expect(requestTo(B + "/admin/cluster?propagar=false"))
+                .andExpect(content().json("[\"http://a\",\"http://b\"]")).andRespond(withSuccess());
+
+        StudentCluster.CambioIncompletoException e = assertThrows(StudentCluster.CambioIncompletoException.class,
+                () -> cluster.cambiarMiembros(List.of(A, B, C), true));
+
+        nodos.verify();
+        assertEquals(List.of(C), e.getFallidos());
+        assertEquals(List.of(A, B), cluster.getNodos());
+        assertEquals(antes.size(), store.findAll().size());
+    }
+
+    @Test
+    void rebalanceaAunqueLlegaranAlumnosDuranteUnCambioDeshecho() {
+        ConsistentHashRing anillo = new ConsistentHashRing(List.of(A, B), 128);
+        int deB = 1_000;
+        while (!anillo.owner(deB).equals(B)) {
+            deB++;
+        }
+        // Alumno de B recibido mientras otro nodo creía que ya era de A
+        cluster.recibir(List.of(new Student(deB, "Prestado", 20, "prestado@gmail.com", "Redes")));
+        nodos.expect(requestTo(B + "/admin/cluster?propagar=false")).andRespond(withServerError());
+        nodos.expect(requestTo(B + "/admin/cluster/recibir"))
+                .andExpect(content().json("[{\"id\":" + deB + "}]")).andRespond(withSuccess());
+
+        assertThrows(StudentCluster.CambioIncompletoException.class, () -> cluster.cambiarMiembros(List.of(A), true));
+
+        nodos.verify();
+        assertNull(store.findById(deB));
+    }
+
+    @Test
+    void elModoClusterExigeToken() {
+        assertThrows(IllegalStateException.class,
+                () -> new StudentCluster(new StudentStore(), RestClient.builder(), A, A + "," + B, 128, ""));
+    }
+}
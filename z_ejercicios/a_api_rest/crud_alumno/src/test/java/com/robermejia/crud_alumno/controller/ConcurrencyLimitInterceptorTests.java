@@ -0,0 +1,86 @@
+package com.robermejia.crud_alumno.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.robermejia.comun.concurrencia.ConcurrencyLimitInterceptor;
+import com.robermejia.crud_alumno.cluster.StudentCluster;
+import com.robermejia.crud_alumno.model.Student;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Sobrecarga de GET /alumnos/{name} con un backend lento (100 ms por búsqueda)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "concurrencia.lectura.inicial=8", "concurrencia.lectura.maximo=8", "alumnos.grpc.puerto=0" })
+class ConcurrencyLimitInterceptorTests {
+
+    private static final String ENDPOINT = "GET /alumnos/{name}";
+
+    @LocalServerPort
+    int puerto;
+
+    @MockitoBean
+    StudentCluster students;
+
+    @Autowired
+    ConcurrencyLimitInterceptor limites;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void rechazaElExcesoConRetryAfterSinSuperarElLimite() throws Exception {
+        AtomicInteger dentro = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(students.findByName(anyString())).thenAnswer(invocacion -> {
+            maximo.accumulateAndGet(dentro.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            dentro.decrementAndGet();
+            return new Student(1, invocacion.getArgument(0), 20, "a@b.c", "Java");
+        });
+
+        HttpClient http = HttpClient.newHttpClient();
+        List<CompletableFuture<HttpResponse<String>>> respuestas = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            // Nombres distintos para que SingleFlight no agrupe las búsquedas
+            HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/alumnos/alumno" + i)).build();
+            respuestas.add(http.sendAsync(peticion, HttpResponse.BodyHandlers.ofString()));
+        }
+        int aceptadas = 0;
+        int rechazadas = 0;
+        for (CompletableFuture<HttpResponse<String>> r : respuestas) {
+            HttpResponse<String> respuesta = r.get();
+            if (respuesta.statusCode() == 200) {
+                aceptadas++;
+            } else {
+                assertEquals(503, respuesta.statusCode());
+                assertEquals("1", respuesta.headers().firstValue("Retry-After").orElse(null));
+                rechazadas++;
+            }
+        }
+
+        assertTrue(aceptadas > 0);
+        assertTrue(rechazadas > 0);
+        assertTrue(maximo.get() <= 8, "concurrencia en el backend: " + maximo.get());
+        assertEquals(0, limites.getLimite(ENDPOINT).getEnCurso());
+        assertEquals(rechazadas, registry.get("http.concurrencia.rechazadas").tag("endpoint", ENDPOINT).functionCounter().count());
+        assertTrue(registry.get("http.concurrencia.limite").tag("tipo", "lectura").gauge().value() <= 8);
+    }
+}
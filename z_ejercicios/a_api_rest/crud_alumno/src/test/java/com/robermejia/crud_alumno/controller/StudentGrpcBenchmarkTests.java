@@ -0,0 +1,224 @@
+package com.robermejia.crud_alumno.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.google.protobuf.Empty;
+import com.robermejia.crud_alumno.grpc.Alumno;
+import com.robermejia.crud_alumno.grpc.AlumnosGrpc;
+import com.robermejia.crud_alumno.grpc.Exportacion;
+import com.robermejia.crud_alumno.grpc.GrpcAuthInterceptor;
+import com.robermejia.crud_alumno.grpc.GrpcServer;
+import com.robermejia.crud_alumno.grpc.LoteAlumnos;
+import com.robermejia.crud_alumno.grpc.NombreAlumno;
+import com.robermejia.crud_alumno.grpc.ResumenAlta;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+
+// REST (Tomcat + JSON) frente a gRPC (Netty + protobuf) por loopback, sobre la misma
+// aplicación y el mismo almacén. Sin límite de concurrencia ni log de acceso, que solo
+// afectan a REST. No se ejecuta por defecto:
+// mvn test -Dtest=StudentGrpcBenchmarkTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "alumnos.grpc.activo=true", "alumnos.grpc.puerto=0", "alumnos.cluster.token=secreto",
+        "concurrencia.activo=false", "registro.acceso.activo=false" })
+class StudentGrpcBenchmarkTests {
+
+    private static final int CALENTAMIENTO = 2_000;
+    private static final int UNARIAS = 10_000;
+    private static final int HILOS = 8;
+    private static final int ALTAS = 10_000;
+    private static final int LISTADOS = 30;
+
+    @LocalServerPort
+    int puertoHttp;
+
+    @Autowired
+    GrpcServer grpcServer;
+
+    private HttpClient http;
+    private ManagedChannel canal;
+    private AlumnosGrpc.AlumnosBlockingStub bloqueante;
+    private AlumnosGrpc.AlumnosStub asincrono;
+
+    @BeforeEach
+    void conectar() {
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Metadata token = new Metadata();
+        token.put(GrpcAuthInterceptor.CABECERA, "secreto");
+        canal = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPuerto()).usePlaintext()
+                .intercept(MetadataUtils.newAttachHeadersInterceptor(token)).build();
+        bloqueante = AlumnosGrpc.newBlockingStub(canal);
+        asincrono = AlumnosGrpc.newStub(canal);
+    }
+
+    @AfterEach
+    void desconectar() throws InterruptedException {
+        canal.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        http.close();
+    }
+
+    @Test
+    void restFrenteAGrpc() throws Exception {
+        HttpRequest get = HttpRequest.newBuilder(url("/alumnos/Roberto")).GET().build();
+        NombreAlumno roberto = NombreAlumno.newBuilder().setName("Roberto").build();
+        Operacion rest = () -> http.send(get, HttpResponse.BodyHandlers.ofByteArray()).body();
+        Operacion grpc = () -> bloqueante.obtener(roberto);
+
+        unarias("REST GET /alumnos/{name}", rest, 1);
+        unarias("gRPC Obtener", grpc, 1);
+        unarias("REST GET /alumnos/{name}", rest, HILOS);
+        unarias("gRPC Obtener", grpc, HILOS);
+
+        // Altas: un POST por alumno frente a un único stream de cliente
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ALTAS; i++) {
+            HttpRequest post = HttpRequest.newBuilder(url("/alumnos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json(1_000 + i))).build();
+            http.send(post, HttpResponse.BodyHandlers.discarding());
+        }
+        informar("REST POST /alumnos x" + ALTAS, System.nanoTime() - inicio, ALTAS);
+        inicio = System.nanoTime();
+        int creados = crearVarios(100_000);
+        informar("gRPC CrearVarios (" + creados + " en un stream)", System.nanoTime() - inicio, ALTAS);
+
+        // Listado completo de ~20.000 alumnos
+        listados("REST GET /alumnos", () -> http.send(HttpRequest.newBuilder(url("/alumnos")).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray()).body().length);
+        listados("gRPC Listar", () -> {
+            int bytes = 0;
+            for (Iterator<Alumno> it = bloqueante.listar(Empty.getDefaultInstance()); it.hasNext();) {
+                bytes += it.next().getSerializedSize();
+            }
+            return bytes;
+        });
+        listados("gRPC Exportar", () -> {
+            int bytes = 0;
+            for (Iterator<LoteAlumnos> it = bloqueante.exportar(Exportacion.getDefaultInstance()); it.hasNext();) {
+                bytes += it.next().getSerializedSize();
+            }
+            return bytes;
+        });
+    }
+
+    private interface Operacion {
+        Object ejecutar() throws Exception;
+    }
+
+    private interface Listado {
+        int bytes() throws Exception;
+    }
+
+    private static void unarias(String nombre, Operacion operacion, int hilos) throws Exception {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            operacion.ejecutar();
+        }
+        int porHilo = UNARIAS / hilos;
+        long[] tiempos = new long[porHilo * hilos];
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        CountDownLatch fin = new CountDownLatch(hilos);
+        long inicio = System.nanoTime();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            pool.submit(() -> {
+                try {
+                    for (int i = 0; i < porHilo; i++) {
+                        long t = System.nanoTime();
+                        operacion.ejecutar();
+                        tiempos[hilo * porHilo + i] = System.nanoTime() - t;
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    fin.countDown();
+                }
+                return null;
+            });
+        }
+        fin.await();
+        long total = System.nanoTime() - inicio;
+        pool.shutdown();
+        Arrays.sort(tiempos);
+        System.out.printf("%s, %d hilos: %.0f peticiones/s, p50=%.3f ms p99=%.3f ms%n", nombre, hilos,
+                tiempos.length / (total / 1e9), tiempos[tiempos.length / 2] / 1e6,
+                tiempos[tiempos.length * 99 / 100] / 1e6);
+    }
+
+    private static void listados(String nombre, Listado listado) throws Exception {
+        for (int i = 0; i < LISTADOS / 3; i++) {
+            listado.bytes();
+        }
+        long[] tiempos = new long[LISTADOS];
+        int bytes = 0;
+        for (int i = 0; i < LISTADOS; i++) {
+            long t = System.nanoTime();
+            bytes = listado.bytes();
+            tiempos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(tiempos);
+        System.out.printf("%s: p50=%.1f ms por listado, %d KB de carga útil%n", nombre,
+                tiempos[LISTADOS / 2] / 1e6, bytes / 1024);
+    }
+
+    private int crearVarios(int primerId) throws Exception {
+        CompletableFuture<ResumenAlta> resumen = new CompletableFuture<>();
+        StreamObserver<Alumno> altas = asincrono.crearVarios(new StreamObserver<>() {
+            @Override
+            public void onNext(ResumenAlta value) {
+                resumen.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                resumen.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        for (int i = 0; i < ALTAS; i++) {
+            int id = primerId + i;
+            altas.onNext(Alumno.newBuilder().setId(id).setName("Alumno" + id).setAge(20)
+                    .setEmail("alumno" + id + "@gmail.com").setCourse("Redes").build());
+        }
+        altas.onCompleted();
+        return resumen.get(1, TimeUnit.MINUTES).getCreados();
+    }
+
+    private static void informar(String nombre, long nanos, int operaciones) {
+        System.out.printf("%s: %.0f ms, %.0f altas/s%n", nombre, nanos / 1e6, operaciones / (nanos / 1e9));
+    }
+
+    private static String json(int id) {
+        return "{\"id\":" + id + ",\"name\":\"Alumno" + id + "\",\"age\":20,\"email\":\"alumno" + id
+                + "@gmail.com\",\"course\":\"Redes\"}";
+    }
+
+    private URI url(String ruta) {
+        return URI.create("http://localhost:" + puertoHttp + ruta);
+    }
+}
@@ -0,0 +1,172 @@
+package com.robermejia.crud_alumno.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import com.google.protobuf.Empty;
+import com.robermejia.crud_alumno.cluster.StudentCluster;
+import com.robermejia.crud_alumno.grpc.Alumno;
+import com.robermejia.crud_alumno.grpc.AlumnosGrpc;
+import com.robermejia.crud_alumno.grpc.Exportacion;
+import com.robermejia.crud_alumno.grpc.GrpcAuthInterceptor;
+import com.robermejia.crud_alumno.grpc.IdAlumno;
+import com.robermejia.crud_alumno.grpc.LoteAlumnos;
+import com.robermejia.crud_alumno.grpc.NombreAlumno;
+import com.robermejia.crud_alumno.grpc.ResumenAlta;
+import com.robermejia.crud_alumno.service.StudentStore;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+
+// El servicio gRPC con transporte en memoria, sin red ni contexto de Spring
+class StudentGrpcServiceTests {
+
+    private StudentCluster students;
+    private Server server;
+    private ManagedChannel canal;
+    private AlumnosGrpc.AlumnosBlockingStub bloqueante;
+    private AlumnosGrpc.AlumnosStub asincrono;
+
+    @BeforeEach
+    void arrancar() throws Exception {
+        students = new StudentCluster(new StudentStore(), RestClient.builder(), "", "", 128, "");
+        String nombre = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(nombre).directExecutor()
+                .addService(new StudentGrpcService(students, 2)).build().start();
+        canal = InProcessChannelBuilder.forName(nombre).directExecutor().build();
+        bloqueante = AlumnosGrpc.newBlockingStub(canal);
+        asincrono = AlumnosGrpc.newStub(canal);
+    }
+
+    @AfterEach
+    void parar() throws Exception {
+        canal.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void operacionesUnarias() {
+        assertEquals("Redes", bloqueante.obtener(NombreAlumno.newBuilder().setName("manuel").build()).getCourse());
+
+        Alumno cambiado = Alumno.newBuilder().setId(2).setName("Manuel").setAge(24)
+                .setEmail("manuel@gmail.com").setCourse("Redes 2").build();
+        assertEquals(cambiado, bloqueante.guardar(cambiado));
+
+        assertEquals("Manuel", bloqueante.eliminar(IdAlumno.newBuilder().setId(2).build()).getName());
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> bloqueante.eliminar(IdAlumno.newBuilder().setId(2).build()));
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+        e = assertThrows(StatusRuntimeException.class,
+                () -> bloqueante.obtener(NombreAlumno.newBuilder().setName("Nadie").build()));
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+
+    // Como lo publica GrpcServer: con el interceptor del token del cluster
+    @Test
+    void exigeElTokenDelCluster() throws Exception {
+        NombreAlumno roberto = NombreAlumno.newBuilder().setName("Roberto").build();
+        String nombre = InProcessServerBuilder.generateName();
+        Server protegido = InProcessServerBuilder.forName(nombre).directExecutor()
+                .addService(ServerInterceptors.intercept(new StudentGrpcService(students, 2),
+                        new GrpcAuthInterceptor("secreto")))
+                .build().start();
+        ManagedChannel otro = InProcessChannelBuilder.forName(nombre).directExecutor().build();
+        try {
+            StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                    () -> AlumnosGrpc.newBlockingStub(otro).obtener(roberto));
+            assertEquals(Status.Code.UNAUTHENTICATED, e.getStatus().getCode());
+            assertEquals(Status.Code.UNAUTHENTICATED, assertThrows(StatusRuntimeException.class,
+                    () -> conToken(otro, "otro").obtener(roberto)).getStatus().getCode());
+            assertEquals("Roberto", conToken(otro, "secreto").obtener(roberto).getName());
+        } finally {
+            otro.shutdownNow();
+            protegido.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        // Sin token configurado no se atiende a nadie
+        nombre = InProcessServerBuilder.generateName();
+        Server cerrado = InProcessServerBuilder.forName(nombre).directExecutor()
+                .addService(ServerInterceptors.intercept(new StudentGrpcService(students, 2), new GrpcAuthInterceptor("")))
+                .build().start();
+        ManagedChannel canalCerrado = InProcessChannelBuilder.forName(nombre).directExecutor().build();
+        try {
+            StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                    () -> conToken(canalCerrado, "").obtener(roberto));
+            assertEquals(Status.Code.PERMISSION_DENIED, e.getStatus().getCode());
+        } finally {
+            canalCerrado.shutdownNow();
+            cerrado.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static AlumnosGrpc.AlumnosBlockingStub conToken(ManagedChannel canal, String token) {
+        Metadata cabeceras = new Metadata();
+        cabeceras.put(GrpcAuthInterceptor.CABECERA, token);
+        return AlumnosGrpc.newBlockingStub(canal).withInterceptors(MetadataUtils.newAttachHeadersInterceptor(cabeceras));
+    }
+
+    @Test
+    void listaYExportaEnStreaming() {
+        List<String> nombres = new ArrayList<>();
+        bloqueante.listar(Empty.getDefaultInstance()).forEachRemaining(a -> nombres.add(a.getName()));
+        assertEquals(List.of("Roberto", "Manuel", "Daniel", "Miguel", "Axel"), nombres);
+
+        // Lotes de 2 (tamaño por defecto del servicio) y de 4 si lo pide el cliente
+        List<Integer> tamanos = new ArrayList<>();
+        bloqueante.exportar(Exportacion.getDefaultInstance()).forEachRemaining(l -> tamanos.add(l.getAlumnosCount()));
+        assertEquals(List.of(2, 2, 1), tamanos);
+        tamanos.clear();
+        bloqueante.exportar(Exportacion.newBuilder().setTamanoLote(4).build())
+                .forEachRemaining((LoteAlumnos l) -> tamanos.add(l.getAlumnosCount()));
+        assertEquals(List.of(4, 1), tamanos);
+    }
+
+    @Test
+    void altaMasivaCompartidaConRest() throws Exception {
+        CompletableFuture<ResumenAlta> resumen = new CompletableFuture<>();
+        StreamObserver<Alumno> altas = asincrono.crearVarios(new StreamObserver<>() {
+            @Override
+            public void onNext(ResumenAlta value) {
+                resumen.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                resumen.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        for (int id = 10; id < 110; id++) {
+            altas.onNext(Alumno.newBuilder().setId(id).setName("Alumno" + id).setAge(20)
+                    .setEmail("alumno" + id + "@gmail.com").setCourse("Redes").build());
+        }
+        altas.onCompleted();
+
+        assertEquals(100, resumen.get(5, TimeUnit.SECONDS).getCreados());
+        // El controlador REST usa el mismo StudentCluster
+        StudentController rest = new StudentController(students, 2000);
+        assertEquals(105, rest.getStudent().size());
+        assertEquals(57, rest.getStudent("alumno57").getId());
+    }
+}
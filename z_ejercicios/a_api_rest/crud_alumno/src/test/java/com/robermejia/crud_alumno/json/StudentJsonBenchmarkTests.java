@@ -0,0 +1,65 @@
+package com.robermejia.crud_alumno.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robermejia.crud_alumno.model.Student;
+
+// StudentJson frente a la serialización por reflexión de Jackson, con listados como el de
+// GET /alumnos de distintos tamaños: en los pequeños pesa más el coste fijo por mensaje
+// (buscar el serializador, crear el generador) y en los grandes el de cada alumno.
+// Cada tamaño procesa el mismo total de alumnos. No se ejecuta por defecto:
+// mvn test -Dtest=StudentJsonBenchmarkTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StudentJsonBenchmarkTests {
+
+    private static final int TOTAL = 2_000_000;
+    private static final TypeReference<List<Student>> LISTA = new TypeReference<>() {
+    };
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 10_000, 100_000})
+    void codecAManoFrenteAReflexion(int tamano) throws Exception {
+        List<Student> alumnos = new ArrayList<>();
+        for (int i = 0; i < tamano; i++) {
+            alumnos.add(new Student(i, "Alumno" + i, 18 + i % 40, "alumno" + i + "@gmail.com", "Curso " + i % 20));
+        }
+        // Como el ObjectMapper de Spring Boot sin StudentJson: getters y constructor por nombres de parámetro
+        ObjectMapper reflexion = new ObjectMapper().findAndRegisterModules();
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            // La primera vuelta es de calentamiento
+            medir("reflexión", reflexion, alumnos, vuelta == 1);
+            medir("StudentJson", StudentJsonTests.MAPPER, alumnos, vuelta == 1);
+        }
+    }
+
+    private static void medir(String nombre, ObjectMapper mapper, List<Student> alumnos, boolean informar)
+            throws Exception {
+        int rondas = TOTAL / alumnos.size();
+        byte[] json = mapper.writeValueAsBytes(alumnos);
+        long escritura = 0;
+        long lectura = 0;
+        for (int i = 0; i < rondas; i++) {
+            long t = System.nanoTime();
+            json = mapper.writeValueAsBytes(alumnos);
+            escritura += System.nanoTime() - t;
+            t = System.nanoTime();
+            if (mapper.readValue(json, LISTA).size() != alumnos.size()) {
+                throw new AssertionError();
+            }
+            lectura += System.nanoTime() - t;
+        }
+        if (informar) {
+            double mb = (double) json.length * rondas / (1 << 20);
+            System.out.printf("%s, %d alumnos (%d bytes): escritura %.0f MB/s, lectura %.0f MB/s, %.0f listados/s%n",
+                    nombre, alumnos.size(), json.length, mb / (escritura / 1e9), mb / (lectura / 1e9),
+                    rondas / ((escritura + lectura) / 1e9));
+        }
+    }
+}
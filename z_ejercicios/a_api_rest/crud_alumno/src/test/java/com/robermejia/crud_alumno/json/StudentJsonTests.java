@@ -0,0 +1,91 @@
+package com.robermejia.crud_alumno.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.robermejia.crud_alumno.cluster.StudentCluster;
+import com.robermejia.crud_alumno.controller.StudentController;
+import com.robermejia.crud_alumno.model.Student;
+
+class StudentJsonTests {
+
+    static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(Student.class, new StudentJson.Serializer())
+            .addDeserializer(Student.class, new StudentJson.Deserializer()));
+
+    @Test
+    void idaYVuelta() throws Exception {
+        Student ana = new Student(7, "Ana \"la\" Ñandú", 21, "ana@gmail.com", null);
+        String json = MAPPER.writeValueAsString(ana);
+        assertEquals("{\"id\":7,\"name\":\"Ana \\\"la\\\" Ñandú\",\"age\":21,\"email\":\"ana@gmail.com\",\"course\":null}", json);
+
+        List<Student> leidos = MAPPER.readValue("[" + json + "," + json + "]", new TypeReference<List<Student>>() {
+        });
+        assertEquals(2, leidos.size());
+        Student leido = leidos.get(1);
+        assertEquals(7, leido.getId());
+        assertEquals("Ana \"la\" Ñandú", leido.getName());
+        assertEquals(21, leido.getAge());
+        assertEquals("ana@gmail.com", leido.getEmail());
+        assertNull(leido.getCourse());
+    }
+
+    @Test
+    void saltaCamposDesconocidosConObjetosYArrays() throws Exception {
+        Student leido = MAPPER.readValue("""
+                {"extra": {"a": [1, {"id": 99}], "b": {}}, "id": 7, "lista": [[1], {"age": 5}], "age": 21}
+                """, Student.class);
+        assertEquals(7, leido.getId());
+        assertEquals(21, leido.getAge());
+    }
+
+    @Test
+    void rechazaTiposIncorrectos() {
+        for (String json : List.of(
+                "{\"id\": \"abc\"}",
+                "{\"id\": {\"x\": 1}, \"name\": \"Ana\"}",
+                "{\"age\": [21]}",
+                "{\"age\": 21.5}",
+                "{\"name\": {\"nombre\": \"Ana\"}, \"id\": 7}",
+                "{\"email\": [\"a@b.c\"]}")) {
+            assertThrows(MismatchedInputException.class, () -> MAPPER.readValue(json, Student.class), json);
+        }
+        assertThrows(JsonProcessingException.class, () -> MAPPER.readValue("{\"id\": 99999999999}", Student.class));
+    }
+
+    @Test
+    void elControladorRespondeBadRequest() throws Exception {
+        StudentCluster students = mock(StudentCluster.class);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StudentController(students, 2000))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(MAPPER))
+                .build();
+
+        mockMvc.perform(post("/alumnos").contentType(MediaType.APPLICATION_JSON).content("{\"id\": \"siete\"}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(students);
+
+        mockMvc.perform(post("/alumnos").contentType(MediaType.APPLICATION_JSON).content("{\"id\": 7, \"name\": \"Ana\"}"))
+                .andExpect(status().isOk());
+        verify(students).add(any(Student.class));
+    }
+}
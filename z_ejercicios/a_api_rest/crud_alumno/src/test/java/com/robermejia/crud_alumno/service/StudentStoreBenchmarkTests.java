@@ -0,0 +1,61 @@
+package com.robermejia.crud_alumno.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.robermejia.crud_alumno.model.Student;
+
+// Memoria retenida por StudentStore frente a un List<Student> con los mismos alumnos
+// (cursos y nombres repetidos, emails distintos). No se ejecuta por defecto:
+// mvn test -Dtest=StudentStoreBenchmarkTests -Dbenchmark=true -DargLine=-Xmx2g
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StudentStoreBenchmarkTests {
+
+    private static final int ALUMNOS = 2_000_000;
+
+    @Test
+    void memoriaFrenteAUnaLista() {
+        long base = usada();
+        List<Student> lista = new ArrayList<>();
+        for (int i = 0; i < ALUMNOS; i++) {
+            lista.add(alumno(i));
+        }
+        long memoriaLista = usada() - base;
+        System.out.printf("List<Student>: %d MB para %d alumnos%n", memoriaLista >> 20, lista.size());
+        lista = null;
+
+        base = usada();
+        StudentStore store = new StudentStore();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ALUMNOS; i++) {
+            store.add(alumno(100 + i));
+        }
+        long carga = System.nanoTime() - inicio;
+        long memoriaStore = usada() - base;
+        System.out.printf("StudentStore: %d MB para %d alumnos (carga %.0f ms)%n", memoriaStore >> 20,
+                store.size(), carga / 1e6);
+
+        // Actualizaciones que cambian nombre, curso y email: la memoria no debe crecer
+        inicio = System.nanoTime();
+        for (int i = 0; i < 20_000; i++) {
+            store.update(new Student(100 + i, "Otro" + i, 20, "otro.email.mas.largo" + i + "@gmail.com", "Curso " + i));
+        }
+        System.out.printf("20.000 updates: %.0f ms, después %d MB%n", (System.nanoTime() - inicio) / 1e6,
+                (usada() - base) >> 20);
+    }
+
+    private static Student alumno(int i) {
+        return new Student(i, "Alumno" + (i % 5_000), 18 + i % 40, "alumno" + i + "@gmail.com", "Curso " + (i % 50));
+    }
+
+    private static long usada() {
+        Runtime r = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return r.totalMemory() - r.freeMemory();
+    }
+}
@@ -0,0 +1,72 @@
+package com.robermejia.crud_alumno.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.robermejia.crud_alumno.model.Student;
+
+class StudentStoreTests {
+
+    @Test
+    void guardaYDevuelveLasColumnas() {
+        StudentStore store = new StudentStore();
+        store.add(new Student(6, "Ana", 21, null, null));
+        assertEquals(6, store.size());
+        Student ana = store.findById(6);
+        assertEquals("Ana", ana.getName());
+        assertNull(ana.getEmail());
+        assertNull(ana.getCourse());
+        assertEquals(2, store.findByName("MANUEL").getId());
+
+        Student cambiado = store.update(new Student(2, "Manolo", 24, "m@gmail.com", "Redes"));
+        assertEquals("m@gmail.com", cambiado.getEmail());
+        assertNull(store.findByName("Manuel"));
+        assertNull(store.update(new Student(99, "Nadie", 1, null, null)));
+
+        assertEquals("Daniel", store.delete(3).getName());
+        assertNull(store.findById(3));
+        assertEquals(List.of(1, 2, 4, 5, 6), store.findAll().stream().map(Student::getId).toList());
+    }
+
+    @Test
+    void losDiccionariosNoCrecenConTextosQueYaNoSeUsan() {
+        StudentStore store = new StudentStore();
+        int inicial = store.textosDistintos();
+        for (int i = 0; i < 1_000; i++) {
+            store.update(new Student(1, "Roberto" + i, 25, "roberto@gmail.com", "Curso " + i));
+        }
+        // Solo cambian nombre y curso del alumno 1: siguen siendo los mismos textos distintos
+        assertEquals(inicial, store.textosDistintos());
+        assertEquals("Curso 999", store.findById(1).getCourse());
+
+        // "Redes" lo usa el alumno 2; al borrarlo se libera nombre y curso
+        store.delete(2);
+        assertEquals(inicial - 2, store.textosDistintos());
+        store.removeIf(id -> true);
+        assertEquals(0, store.textosDistintos());
+
+        // Los códigos libres se reutilizan sin mezclar textos
+        store.add(new Student(7, "Lucía", 22, null, "Redes"));
+        store.add(new Student(8, "Sara", 22, null, "Física"));
+        assertEquals("Lucía", store.findByName("lucía").getName());
+        assertEquals("Física", store.findById(8).getCourse());
+        assertNull(store.findByName("Roberto999"));
+    }
+
+    @Test
+    void losEmailsCambiadosNoSeAcumulan() {
+        StudentStore store = new StudentStore();
+        for (int i = 0; i < 10_000; i++) {
+            // Cada email es más largo que el hueco anterior: sin liberar se añadiría siempre al final
+            store.update(new Student(1, "Roberto", 25, "roberto" + "x".repeat(i % 50) + "@gmail.com", null));
+        }
+        assertTrue(store.bytesEmails() < 4 * 1024, "bytes=" + store.bytesEmails());
+        assertEquals("roberto" + "x".repeat(49) + "@gmail.com", store.findById(1).getEmail());
+        assertEquals("manuel@gmail.com", store.findById(2).getEmail());
+    }
+}
@@ -0,0 +1,65 @@
+package com.robermejia.palindromo.controller;
+
+import com.robermejia.palindromo.model.ResultadoCorpus;
+import com.robermejia.palindromo.service.CorpusScanner;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+// Estadísticas de palíndromos de archivos grandes que ya están en el servidor, dentro de
+// palindromo.corpus.directorio; la ruta no puede salir de ese directorio, tampoco con enlaces simbólicos.
+// Todas las peticiones comparten un pool de palindromo.corpus.hilos hilos (0 = uno por núcleo)
+@RestController
+@RequestMapping("corpus")
+public class CorpusController {
+
+    private final Path directorio;
+    private final CorpusScanner scanner;
+    private final ForkJoinPool pool;
+
+    public CorpusController(@Value("${palindromo.corpus.directorio:corpus}") Path directorio,
+                            @Value("${palindromo.corpus.fragmento:32MB}") DataSize fragmento,
+                            @Value("${palindromo.corpus.hilos:0}") int hilos) {
+        this.directorio = directorio.toAbsolutePath().normalize();
+        this.scanner = new CorpusScanner(fragmento.toBytes());
+        this.pool = new ForkJoinPool(hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors());
+    }
+
+    // GET /corpus/analizar?archivo=logs/2024.txt&top=10&minimo=3
+    @GetMapping("analizar")
+    public ResultadoCorpus analizar(@RequestParam String archivo,
+                                    @RequestParam(defaultValue = "10") int top,
+                                    @RequestParam(defaultValue = "2") int minimo) throws IOException {
+        Path ruta = directorio.resolve(archivo).normalize();
+        if (!ruta.startsWith(directorio)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El archivo debe estar dentro de " + directorio);
+        }
+        if (!Files.isRegularFile(ruta)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe " + archivo);
+        }
+        // Un enlace simbólico dentro del directorio puede apuntar fuera: se comparan las rutas reales
+        if (!ruta.toRealPath().startsWith(directorio.toRealPath())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El archivo debe estar dentro de " + directorio);
+        }
+        if (top < 0 || minimo < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "top >= 0 y minimo >= 1");
+        }
+        return scanner.analizar(ruta, pool, top, minimo);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        pool.shutdown();
+    }
+}
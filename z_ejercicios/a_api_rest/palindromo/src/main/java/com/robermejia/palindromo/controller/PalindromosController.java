@@ -0,0 +1,58 @@
+package com.robermejia.palindromo.controller;
+
+import com.robermejia.palindromo.model.CantidadPalindromos;
+import com.robermejia.palindromo.model.PaginaMaximales;
+import com.robermejia.palindromo.model.Palindromo;
+import com.robermejia.palindromo.model.PalindromoMasLargo;
+import com.robermejia.palindromo.service.Manacher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.Normalizer;
+
+// Subpalíndromos de un texto enviado en el cuerpo (text/plain), en tiempo lineal con Manacher.
+// Por POST y no en la ruta para admitir textos de varios MB.
+@RestController
+@RequestMapping(path = "palindromos", consumes = MediaType.TEXT_PLAIN_VALUE)
+public class PalindromosController {
+
+    static final int LIMITE_MAXIMO = 10_000;
+
+    @PostMapping("mas-largo")
+    public PalindromoMasLargo masLargo(@RequestBody(required = false) String texto) {
+        Manacher manacher = manacher(texto);
+        Palindromo p = manacher.masLargo();
+        return new PalindromoMasLargo(p.inicio(), p.longitud(), new String(manacher.getTexto(), p.inicio(), p.longitud()));
+    }
+
+    @PostMapping("cantidad")
+    public CantidadPalindromos cantidad(@RequestBody(required = false) String texto) {
+        Manacher manacher = manacher(texto);
+        return new CantidadPalindromos(manacher.getTexto().length, manacher.cantidad());
+    }
+
+    // Con minimo=1 incluye también los de un solo carácter. Hay hasta dos por carácter, así que
+    // van por páginas de "limite": la siguiente se pide con desde=siguiente y el mismo texto
+    @PostMapping("maximales")
+    public PaginaMaximales maximales(@RequestBody(required = false) String texto,
+                                     @RequestParam(defaultValue = "2") int minimo,
+                                     @RequestParam(defaultValue = "0") int desde,
+                                     @RequestParam(defaultValue = "1000") int limite) {
+        if (desde < 0 || limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "desde >= 0 y limite entre 1 y " + LIMITE_MAXIMO);
+        }
+        return manacher(texto).maximales(minimo, desde, limite);
+    }
+
+    // Misma normalización que validarPalindromo
+    private static Manacher manacher(String texto) {
+        String normalizado = Normalizer.normalize(texto == null ? "" : texto, Normalizer.Form.NFC);
+        return new Manacher(normalizado.codePoints().toArray());
+    }
+}
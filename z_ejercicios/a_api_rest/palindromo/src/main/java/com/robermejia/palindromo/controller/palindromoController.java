@@ -1,18 +1,50 @@
 package com.robermejia.palindromo.controller;
 
+import com.robermejia.palindromo.service.WTinyLfuCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+
 @RestController
 public class palindromoController {
 
+    private static final MediaType TEXTO = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    // Respuestas ya codificadas en UTF-8 por palabra normalizada. Desactivada por defecto
+    // (null): calcular la respuesta cuesta menos que buscarla en la caché (ver WTinyLfuCacheBenchmarkTests)
+    private final WTinyLfuCache cache;
+
+    public palindromoController(@Value("${palindromo.cache.tamano:0B}") DataSize tamano, MeterRegistry registry) {
+        if (tamano.toBytes() > 0) {
+            this.cache = new WTinyLfuCache(tamano.toBytes());
+            this.cache.registrarMetricas(registry, "palindromo.cache");
+        } else {
+            this.cache = null;
+        }
+    }
+
     @GetMapping("validarPalindromo/{word}")
-    public String palindromo(@PathVariable String word) {
+    public ResponseEntity<byte[]> palindromo(@PathVariable String word) {
+        // NFC: "ñ" compuesta y "n" + tilde combinante son la misma palabra y la misma entrada;
+        // además así la comparación carácter a carácter no separa la letra de su tilde
+        String normalizada = Normalizer.normalize(word, Normalizer.Form.NFC);
+        byte[] cuerpo = cache != null ? cache.get(normalizada, this::respuesta) : respuesta(normalizada);
+        return ResponseEntity.ok().contentType(TEXTO).body(cuerpo);
+    }
+
+    private byte[] respuesta(String word) {
         if (isPalindromo(word)) {
-            return "La palabra " + word + " es palindromo";
+            return ("La palabra " + word + " es palindromo").getBytes(StandardCharsets.UTF_8);
         }else {
-            return "La palabra " + word + " no es palindromo";
+            return ("La palabra " + word + " no es palindromo").getBytes(StandardCharsets.UTF_8);
         }
     }
 
@@ -26,4 +58,3 @@ public class palindromoController {
         return true;
     }
 }
-
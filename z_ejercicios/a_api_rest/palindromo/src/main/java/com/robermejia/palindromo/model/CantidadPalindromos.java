@@ -0,0 +1,5 @@
+package com.robermejia.palindromo.model;
+
+// cantidad cuenta apariciones: "aaa" tiene 6 (tres "a", dos "aa" y un "aaa")
+public record CantidadPalindromos(int longitudTexto, long cantidad) {
+}
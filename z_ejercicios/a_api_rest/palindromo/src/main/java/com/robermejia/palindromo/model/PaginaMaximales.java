@@ -0,0 +1,7 @@
+package com.robermejia.palindromo.model;
+
+import java.util.List;
+
+// siguiente: valor de "desde" para pedir la página siguiente; null si no quedan más
+public record PaginaMaximales(List<Palindromo> palindromos, Integer siguiente) {
+}
@@ -0,0 +1,5 @@
+package com.robermejia.palindromo.model;
+
+// Palíndromo dentro de un texto; posiciones y longitudes en code points del texto normalizado (NFC)
+public record Palindromo(int inicio, int longitud) {
+}
@@ -0,0 +1,5 @@
+package com.robermejia.palindromo.model;
+
+// longitud en code points
+public record PalindromoFrecuente(String palabra, int longitud, long apariciones) {
+}
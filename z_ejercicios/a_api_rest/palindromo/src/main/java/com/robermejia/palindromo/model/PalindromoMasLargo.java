@@ -0,0 +1,4 @@
+package com.robermejia.palindromo.model;
+
+public record PalindromoMasLargo(int inicio, int longitud, String texto) {
+}
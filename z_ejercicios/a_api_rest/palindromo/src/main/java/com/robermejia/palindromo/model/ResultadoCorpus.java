@@ -0,0 +1,8 @@
+package com.robermejia.palindromo.model;
+
+import java.util.List;
+
+public record ResultadoCorpus(String archivo, long bytes, long palabras, long palindromos,
+                              List<PalindromoFrecuente> masLargos, int fragmentos, int nucleos, long ms,
+                              double gbPorSegundo) {
+}
@@ -0,0 +1,310 @@
+package com.robermejia.palindromo.service;
+
+import com.robermejia.palindromo.model.PalindromoFrecuente;
+import com.robermejia.palindromo.model.ResultadoCorpus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Estadísticas de palabras palíndromas de un archivo de texto UTF-8 de cualquier tamaño.
+// El archivo se parte en fragmentos de unos "tamanoFragmento" bytes cuyo límite se corre hasta el
+// siguiente separador, para que ninguna palabra quede partida; cada fragmento se proyecta en
+// memoria (mmap) y se recorre en un ForkJoinPool de "nucleos" hilos.
+// Los bytes se agrupan en secuencias de letras o dígitos ASCII y bytes no ASCII (así una letra
+// UTF-8 de varios bytes nunca se separa); las que llevan bytes no ASCII se decodifican y se vuelven
+// a partir por los code points que no son letra ni dígito ("¡ala!", «radar», NBSP, raya...).
+// Igual que validarPalindromo, distingue mayúsculas.
+public class CorpusScanner {
+
+    // Clase de cada byte: separador, letra o dígito ASCII, o byte de un carácter no ASCII
+    // (que se decide al decodificar la secuencia)
+    private static final byte SEPARADOR = 0;
+    private static final byte ASCII = 1;
+    private static final byte NO_ASCII = 2;
+    private static final byte[] CLASE = new byte[256];
+
+    static {
+        for (int c = 0; c < 256; c++) {
+            CLASE[c] = c >= 128 ? NO_ASCII : Character.isLetterOrDigit(c) ? ASCII : SEPARADOR;
+        }
+    }
+
+    private final long tamanoFragmento;
+
+    public CorpusScanner(long tamanoFragmento) {
+        this.tamanoFragmento = tamanoFragmento;
+    }
+
+    // minimo: longitud mínima (en code points) para contar una palabra como palíndromo.
+    // top: cuántos palíndromos distintos más largos devolver
+    // Con un pool propio de "nucleos" hilos, que se cierra al terminar
+    public ResultadoCorpus analizar(Path archivo, int nucleos, int top, int minimo) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(nucleos);
+        try {
+            return analizar(archivo, pool, top, minimo);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // En un pool compartido: varios análisis a la vez se reparten sus hilos
+    public ResultadoCorpus analizar(Path archivo, ForkJoinPool pool, int top, int minimo) throws IOException {
+        long inicio = System.nanoTime();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long[] limites = limites(canal);
+            Resumen resumen;
+            try {
+                resumen = pool.invoke(new Tarea(canal, limites, 0, limites.length - 1, top, minimo));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            long nanos = System.nanoTime() - inicio;
+            long bytes = limites[limites.length - 1];
+            return new ResultadoCorpus(archivo.getFileName().toString(), bytes, resumen.palabras, resumen.palindromos,
+                    resumen.masLargos(top), limites.length - 1, pool.getParallelism(), nanos / 1_000_000,
+                    nanos == 0 ? 0 : bytes / (double) nanos);
+        }
+    }
+
+    // Misma comparación que palindromoController.isPalindromo, sobre los bytes [inicio, fin)
+    static boolean isPalindromo(ByteBuffer texto, int inicio, int fin) {
+        for (int i = inicio, j = fin - 1; i < j; i++, j--) {
+            if (texto.get(i) != texto.get(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Inicio de cada fragmento y, al final, el tamaño del archivo
+    private long[] limites(FileChannel canal) throws IOException {
+        long tamano = canal.size();
+        List<Long> limites = new ArrayList<>();
+        limites.add(0L);
+        long anterior = 0;
+        for (long nominal = tamanoFragmento; nominal < tamano; nominal = anterior + tamanoFragmento) {
+            long limite = siguienteSeparador(canal, nominal, tamano);
+            if (limite >= tamano) {
+                break;
+            }
+            if (limite - anterior > Integer.MAX_VALUE) {
+                throw new IOException("Palabra de más de 2 GB a partir del byte " + anterior);
+            }
+            limites.add(limite);
+            anterior = limite;
+        }
+        if (tamano - anterior > Integer.MAX_VALUE) {
+            throw new IOException("Palabra de más de 2 GB a partir del byte " + anterior);
+        }
+        limites.add(tamano);
+        return limites.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long siguienteSeparador(FileChannel canal, long desde, long tamano) throws IOException {
+        ByteBuffer bloque = ByteBuffer.allocate(8 * 1024);
+        long posicion = desde;
+        while (posicion < tamano) {
+            bloque.clear();
+            int leidos = canal.read(bloque, posicion);
+            for (int i = 0; i < leidos; i++) {
+                if (!esLetra(bloque.get(i))) {
+                    return posicion + i;
+                }
+            }
+            posicion += leidos;
+        }
+        return tamano;
+    }
+
+    private static boolean esLetra(byte b) {
+        return CLASE[b & 0xFF] != SEPARADOR;
+    }
+
+    // Divide los fragmentos [desde, hasta) por la mitad hasta quedarse con uno
+    private static final class Tarea extends RecursiveTask<Resumen> {
+        private final FileChannel canal;
+        private final long[] limites;
+        private final int desde;
+        private final int hasta;
+        private final int top;
+        private final int minimo;
+
+        Tarea(FileChannel canal, long[] limites, int desde, int hasta, int top, int minimo) {
+            this.canal = canal;
+            this.limites = limites;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.top = top;
+            this.minimo = minimo;
+        }
+
+        @Override
+        protected Resumen compute() {
+            if (hasta - desde == 1) {
+                return recorrer();
+            }
+            int medio = (desde + hasta) >>> 1;
+            Tarea izquierda = new Tarea(canal, limites, desde, medio, top, minimo);
+            izquierda.fork();
+            Resumen resumen = new Tarea(canal, limites, medio, hasta, top, minimo).compute();
+            resumen.combinar(izquierda.join(), top);
+            return resumen;
+        }
+
+        private Resumen recorrer() {
+            Resumen resumen = new Resumen();
+            long inicioFragmento = limites[desde];
+            int n = (int) (limites[hasta] - inicioFragmento);
+            if (n == 0) {
+                return resumen;
+            }
+            MappedByteBuffer texto;
+            try {
+                texto = canal.map(FileChannel.MapMode.READ_ONLY, inicioFragmento, n);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int i = 0;
+            while (i < n) {
+                while (i < n && !esLetra(texto.get(i))) {
+                    i++;
+                }
+                int inicio = i;
+                int clases = 0;
+                int clase;
+                while (i < n && (clase = CLASE[texto.get(i) & 0xFF]) != SEPARADOR) {
+                    clases |= clase;
+                    i++;
+                }
+                if (i == inicio) {
+                    continue;
+                }
+                if ((clases & NO_ASCII) != 0) {
+                    noAscii(texto, inicio, i, resumen);
+                    continue;
+                }
+                resumen.palabras++;
+                if (i - inicio >= minimo && isPalindromo(texto, inicio, i)) {
+                    resumen.palindromos++;
+                    if (i - inicio >= resumen.umbral) {
+                        resumen.agregar(ascii(texto, inicio, i), i - inicio, top);
+                    }
+                }
+            }
+            return resumen;
+        }
+
+        // Secuencias con bytes no ASCII: se decodifican y se parten por los code points que no son
+        // letra ni dígito (signos de apertura, comillas latinas, NBSP...). Al revés byte a byte no
+        // valen, cada palabra se compara por code points ya normalizados
+        private void noAscii(ByteBuffer texto, int inicio, int fin, Resumen resumen) {
+            byte[] bytes = new byte[fin - inicio];
+            texto.get(inicio, bytes);
+            String secuencia = Normalizer.normalize(new String(bytes, StandardCharsets.UTF_8), Normalizer.Form.NFC);
+            int[] cp = secuencia.codePoints().toArray();
+            int i = 0;
+            while (i < cp.length) {
+                while (i < cp.length && !Character.isLetterOrDigit(cp[i])) {
+                    i++;
+                }
+                int desde = i;
+                while (i < cp.length && Character.isLetterOrDigit(cp[i])) {
+                    i++;
+                }
+                if (i > desde) {
+                    resumen.palabras++;
+                    palabra(cp, desde, i, resumen);
+                }
+            }
+        }
+
+        private void palabra(int[] cp, int desde, int hasta, Resumen resumen) {
+            if (hasta - desde < minimo) {
+                return;
+            }
+            for (int i = desde, j = hasta - 1; i < j; i++, j--) {
+                if (cp[i] != cp[j]) {
+                    return;
+                }
+            }
+            resumen.palindromos++;
+            if (hasta - desde >= resumen.umbral) {
+                resumen.agregar(new String(cp, desde, hasta - desde), hasta - desde, top);
+            }
+        }
+
+        private static String ascii(ByteBuffer texto, int inicio, int fin) {
+            byte[] bytes = new byte[fin - inicio];
+            texto.get(inicio, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // Totales de uno o varios fragmentos. "candidatos" solo guarda palíndromos de al menos
+    // "umbral" code points: en cuanto hay "top" distintos de cierta longitud, los más cortos
+    // ya no pueden entrar en el resultado y ni siquiera se convierten en String.
+    private static final class Resumen {
+        long palabras;
+        long palindromos;
+        int umbral;
+        final Map<String, long[]> candidatos = new HashMap<>();
+
+        // apariciones y longitud
+        void agregar(String palabra, int longitud, int top) {
+            long[] datos = candidatos.computeIfAbsent(palabra, p -> new long[] {0, longitud});
+            datos[0]++;
+            if (candidatos.size() > Math.max(64, 4 * top)) {
+                podar(top);
+            }
+        }
+
+        void combinar(Resumen otro, int top) {
+            palabras += otro.palabras;
+            palindromos += otro.palindromos;
+            otro.candidatos.forEach((palabra, datos) -> candidatos.merge(palabra, datos, (a, b) -> {
+                a[0] += b[0];
+                return a;
+            }));
+            umbral = Math.max(umbral, otro.umbral);
+            podar(top);
+        }
+
+        private void podar(int top) {
+            if (top == 0) {
+                candidatos.clear();
+                umbral = Integer.MAX_VALUE;
+                return;
+            }
+            if (candidatos.size() <= top) {
+                return;
+            }
+            int[] longitudes = candidatos.values().stream().mapToInt(d -> (int) d[1]).sorted().toArray();
+            umbral = Math.max(umbral, longitudes[longitudes.length - top]);
+            candidatos.values().removeIf(d -> d[1] < umbral);
+        }
+
+        List<PalindromoFrecuente> masLargos(int top) {
+            return candidatos.entrySet().stream()
+                    .map(e -> new PalindromoFrecuente(e.getKey(), (int) e.getValue()[1], e.getValue()[0]))
+                    .sorted(Comparator.comparingInt(PalindromoFrecuente::longitud).reversed()
+                            .thenComparing(Comparator.comparingLong(PalindromoFrecuente::apariciones).reversed())
+                            .thenComparing(PalindromoFrecuente::palabra))
+                    .limit(top)
+                    .toList();
+        }
+    }
+}
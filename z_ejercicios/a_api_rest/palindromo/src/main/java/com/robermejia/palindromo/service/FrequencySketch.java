@@ -0,0 +1,67 @@
+package com.robermejia.palindromo.service;
+
+// Count-Min Sketch de contadores de 4 bits (máximo 15) que estima cuántas veces se pidió una
+// clave sin guardar la clave. Cada long guarda 16 contadores; una clave usa uno en cada una de
+// cuatro filas y su frecuencia es el mínimo de los cuatro.
+// Cada "muestra" incrementos todos los contadores se dividen entre dos, así la historia antigua
+// pesa cada vez menos y una clave que fue popular deja sitio a las nuevas.
+// No es seguro entre hilos: WTinyLfuCache solo lo usa con su cerrojo tomado.
+class FrequencySketch {
+
+    private static final long[] SEMILLAS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long MITAD = 0x7777777777777777L;
+
+    private final long[] tabla;
+    private final int mascara;
+    private final int muestra;
+    private int incrementos;
+
+    // capacidad = número aproximado de entradas que caben en la caché
+    FrequencySketch(int capacidad) {
+        int longitud = Integer.highestOneBit(Math.clamp(capacidad, 16, 1 << 24) - 1) << 1;
+        this.tabla = new long[longitud];
+        this.mascara = longitud - 1;
+        this.muestra = 10 * longitud;
+    }
+
+    int frecuencia(int hash) {
+        // Los dos bits bajos eligen en qué grupo de cuatro contadores del long cae la clave
+        int inicio = (hash & 3) << 2;
+        int minimo = 15;
+        for (int fila = 0; fila < 4; fila++) {
+            long contadores = tabla[indice(hash, fila)];
+            minimo = Math.min(minimo, (int) (contadores >>> ((inicio + fila) << 2)) & 15);
+        }
+        return minimo;
+    }
+
+    void incrementar(int hash) {
+        int inicio = (hash & 3) << 2;
+        boolean incrementado = false;
+        for (int fila = 0; fila < 4; fila++) {
+            int i = indice(hash, fila);
+            int desplazamiento = (inicio + fila) << 2;
+            if (((tabla[i] >>> desplazamiento) & 15) < 15) {
+                tabla[i] += 1L << desplazamiento;
+                incrementado = true;
+            }
+        }
+        if (incrementado && ++incrementos == muestra) {
+            envejecer();
+        }
+    }
+
+    private void envejecer() {
+        for (int i = 0; i < tabla.length; i++) {
+            tabla[i] = (tabla[i] >>> 1) & MITAD;
+        }
+        incrementos /= 2;
+    }
+
+    private int indice(int hash, int fila) {
+        long h = (hash + SEMILLAS[fila]) * SEMILLAS[fila];
+        h += h >>> 32;
+        return (int) h & mascara;
+    }
+}
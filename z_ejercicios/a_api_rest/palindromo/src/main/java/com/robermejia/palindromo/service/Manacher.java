@@ -0,0 +1,107 @@
+package com.robermejia.palindromo.service;
+
+import com.robermejia.palindromo.model.PaginaMaximales;
+import com.robermejia.palindromo.model.Palindromo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Algoritmo de Manacher: en O(n) calcula, para cada centro del texto, el radio del palíndromo
+// más largo centrado ahí. Con esos radios salen el palíndromo más largo, cuántos subpalíndromos
+// hay (cada centro aporta tantos como su radio) y la lista de palíndromos maximales.
+// Trabaja sobre code points para no partir caracteres fuera del BMP.
+public class Manacher {
+
+    private final int[] texto;
+    // impares[i]: cuántos palíndromos de longitud impar hay centrados en i ("aba" en i=1 -> 2)
+    private final int[] impares;
+    // pares[i]: cuántos palíndromos de longitud par hay centrados entre i-1 e i ("abba" en i=2 -> 2)
+    private final int[] pares;
+
+    public Manacher(int[] texto) {
+        this.texto = texto;
+        this.impares = radios(texto, 1);
+        this.pares = radios(texto, 0);
+    }
+
+    public int[] getTexto() {
+        return texto;
+    }
+
+    // El primero de los más largos; en un texto vacío, longitud 0
+    public Palindromo masLargo() {
+        int inicio = 0;
+        int longitud = 0;
+        for (int i = 0; i < texto.length; i++) {
+            if (2 * impares[i] - 1 > longitud) {
+                longitud = 2 * impares[i] - 1;
+                inicio = i - impares[i] + 1;
+            }
+            if (2 * pares[i] > longitud) {
+                longitud = 2 * pares[i];
+                inicio = i - pares[i];
+            }
+        }
+        return new Palindromo(inicio, longitud);
+    }
+
+    public long cantidad() {
+        long total = 0;
+        for (int i = 0; i < texto.length; i++) {
+            total += impares[i] + pares[i];
+        }
+        return total;
+    }
+
+    // Un palíndromo por centro, el más largo de ese centro, si mide al menos "minimo".
+    // En orden de centro, de izquierda a derecha.
+    public List<Palindromo> maximales(int minimo) {
+        return maximales(minimo, 0, Integer.MAX_VALUE).palindromos();
+    }
+
+    // Como maximales(minimo), pero como mucho "limite" palíndromos a partir del centro "desde".
+    // Los centros se numeran 2*i (entre i-1 e i) y 2*i+1 (en i), así que hay 2*n.
+    public PaginaMaximales maximales(int minimo, int desde, int limite) {
+        List<Palindromo> resultado = new ArrayList<>();
+        for (int centro = Math.max(desde, 0); centro < 2 * texto.length; centro++) {
+            int i = centro / 2;
+            Palindromo palindromo = null;
+            if (centro % 2 == 0) {
+                if (pares[i] > 0 && 2 * pares[i] >= minimo) {
+                    palindromo = new Palindromo(i - pares[i], 2 * pares[i]);
+                }
+            } else if (2 * impares[i] - 1 >= minimo) {
+                palindromo = new Palindromo(i - impares[i] + 1, 2 * impares[i] - 1);
+            }
+            if (palindromo != null) {
+                if (resultado.size() == limite) {
+                    return new PaginaMaximales(resultado, centro);
+                }
+                resultado.add(palindromo);
+            }
+        }
+        return new PaginaMaximales(resultado, null);
+    }
+
+    // impar = 1 para centros en un carácter, 0 para centros entre dos caracteres.
+    // [izquierda, derecha] es el palíndromo conocido que llega más a la derecha: dentro de él,
+    // el radio de i empieza como el de su espejo y solo se compara lo que queda fuera.
+    private static int[] radios(int[] s, int impar) {
+        int n = s.length;
+        int[] radio = new int[n];
+        int izquierda = 0;
+        int derecha = -1;
+        for (int i = 0; i < n; i++) {
+            int k = i > derecha ? impar : Math.min(radio[izquierda + derecha - i + 1 - impar], derecha - i + 1);
+            while (i - k - 1 + impar >= 0 && i + k < n && s[i - k - 1 + impar] == s[i + k]) {
+                k++;
+            }
+            radio[i] = k;
+            if (i + k - 1 > derecha) {
+                izquierda = i - k + impar;
+                derecha = i + k - 1;
+            }
+        }
+        return radio;
+    }
+}
@@ -0,0 +1,282 @@
+package com.robermejia.palindromo.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Caché de respuestas ya codificadas, limitada por bytes y con política W-TinyLFU (la de Caffeine):
+// - Las entradas nuevas entran en una ventana LRU pequeña (1 % del tamaño).
+// - Al salir de la ventana pasan a la zona principal, una LRU segmentada: "prueba" para las que
+//   aún no se han vuelto a pedir y "protegida" (80 % de la principal) para las que sí.
+// - Si no hay sitio, el candidato que sale de la ventana compite con la víctima más antigua de
+//   prueba y se queda el que más veces se ha pedido según FrequencySketch. Así un barrido de
+//   palabras que se piden una sola vez no echa a las palabras calientes.
+// Las lecturas no esperan: si el cerrojo está ocupado se salta la actualización de orden y
+// frecuencia de ese acierto, igual que Caffeine descarta eventos cuando su buffer se llena.
+public class WTinyLfuCache {
+
+    // Estimación de lo que ocupa una entrada además de los bytes de clave y valor:
+    // nodo, entrada del ConcurrentHashMap, cabeceras del String y del byte[]
+    static final int PESO_FIJO = 128;
+    // Tamaño medio supuesto de una entrada para dimensionar el sketch
+    private static final int PESO_MEDIO = 256;
+
+    private static final int VENTANA = 0;
+    private static final int PRUEBA = 1;
+    private static final int PROTEGIDA = 2;
+    private static final int FUERA = -1;
+
+    private static final class Nodo {
+        final String clave;
+        final byte[] valor;
+        final int hash;
+        final int peso;
+        int zona;
+        Nodo anterior;
+        Nodo siguiente;
+
+        Nodo(String clave, byte[] valor, int hash, int peso) {
+            this.clave = clave;
+            this.valor = valor;
+            this.hash = hash;
+            this.peso = peso;
+        }
+    }
+
+    // Lista doblemente enlazada en orden de uso: primero el menos reciente
+    private static final class Lista {
+        Nodo primero;
+        Nodo ultimo;
+        long peso;
+
+        void agregar(Nodo nodo) {
+            nodo.anterior = ultimo;
+            nodo.siguiente = null;
+            if (ultimo == null) {
+                primero = nodo;
+            } else {
+                ultimo.siguiente = nodo;
+            }
+            ultimo = nodo;
+            peso += nodo.peso;
+        }
+
+        void quitar(Nodo nodo) {
+            if (nodo.anterior == null) {
+                primero = nodo.siguiente;
+            } else {
+                nodo.anterior.siguiente = nodo.siguiente;
+            }
+            if (nodo.siguiente == null) {
+                ultimo = nodo.anterior;
+            } else {
+                nodo.siguiente.anterior = nodo.anterior;
+            }
+            nodo.anterior = null;
+            nodo.siguiente = null;
+            peso -= nodo.peso;
+        }
+
+        void alFinal(Nodo nodo) {
+            if (nodo != ultimo) {
+                quitar(nodo);
+                agregar(nodo);
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<String, Nodo> datos = new ConcurrentHashMap<>();
+    private final ReentrantLock cerrojo = new ReentrantLock();
+    private final long maximo;
+    private final long maximoVentana;
+    private final long maximoProtegida;
+
+    // Protegido por cerrojo
+    private final FrequencySketch sketch;
+    private final Lista ventana = new Lista();
+    private final Lista prueba = new Lista();
+    private final Lista protegida = new Lista();
+    private volatile long peso;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+    private final LongAdder bytesExpulsados = new LongAdder();
+
+    public WTinyLfuCache(long maximoBytes) {
+        this.maximo = maximoBytes;
+        this.maximoVentana = Math.max(1, maximoBytes / 100);
+        this.maximoProtegida = (maximoBytes - maximoVentana) * 8 / 10;
+        this.sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, maximoBytes / PESO_MEDIO));
+    }
+
+    // Devuelve el valor guardado o lo calcula y lo guarda. Dos hilos que fallan a la vez con la
+    // misma clave calculan los dos y se queda el primero: el cálculo es barato y sin efectos.
+    public byte[] get(String clave, Function<String, byte[]> calculo) {
+        Nodo nodo = datos.get(clave);
+        if (nodo != null) {
+            aciertos.increment();
+            if (cerrojo.tryLock()) {
+                try {
+                    sketch.incrementar(nodo.hash);
+                    alAcertar(nodo);
+                } finally {
+                    cerrojo.unlock();
+                }
+            }
+            return nodo.valor;
+        }
+        fallos.increment();
+        byte[] valor = calculo.apply(clave);
+        int hash = hash(clave);
+        long pesoNuevo = PESO_FIJO + 2L * clave.length() + valor.length;
+        cerrojo.lock();
+        try {
+            sketch.incrementar(hash);
+            // Una entrada que no cabe en la ventana vaciaría media caché: se devuelve sin guardar
+            if (pesoNuevo > maximoVentana || datos.containsKey(clave)) {
+                return valor;
+            }
+            nodo = new Nodo(clave, valor, hash, (int) pesoNuevo);
+            datos.put(clave, nodo);
+            nodo.zona = VENTANA;
+            ventana.agregar(nodo);
+            peso += nodo.peso;
+            vaciarVentana();
+        } finally {
+            cerrojo.unlock();
+        }
+        return valor;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public double getTasaAciertos() {
+        long a = aciertos.sum();
+        long total = a + fallos.sum();
+        return total == 0 ? 0 : (double) a / total;
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    public long getBytesExpulsados() {
+        return bytesExpulsados.sum();
+    }
+
+    // Bytes estimados ocupados ahora; nunca supera getMaximo()
+    public long getPeso() {
+        return peso;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public int getEntradas() {
+        return datos.size();
+    }
+
+    public void registrarMetricas(MeterRegistry registry, String nombre) {
+        FunctionCounter.builder(nombre + ".peticiones", this, WTinyLfuCache::getAciertos)
+                .tag("resultado", "acierto").register(registry);
+        FunctionCounter.builder(nombre + ".peticiones", this, WTinyLfuCache::getFallos)
+                .tag("resultado", "fallo").register(registry);
+        FunctionCounter.builder(nombre + ".expulsiones", this, WTinyLfuCache::getExpulsiones)
+                .register(registry);
+        FunctionCounter.builder(nombre + ".expulsiones.bytes", this, WTinyLfuCache::getBytesExpulsados)
+                .baseUnit("bytes").register(registry);
+        Gauge.builder(nombre + ".aciertos.tasa", this, WTinyLfuCache::getTasaAciertos)
+                .register(registry);
+        Gauge.builder(nombre + ".bytes", this, WTinyLfuCache::getPeso)
+                .baseUnit("bytes").register(registry);
+        Gauge.builder(nombre + ".bytes.maximo", this, WTinyLfuCache::getMaximo)
+                .baseUnit("bytes").register(registry);
+        Gauge.builder(nombre + ".entradas", this, WTinyLfuCache::getEntradas)
+                .register(registry);
+    }
+
+    private void alAcertar(Nodo nodo) {
+        switch (nodo.zona) {
+            case VENTANA -> ventana.alFinal(nodo);
+            case PROTEGIDA -> protegida.alFinal(nodo);
+            case PRUEBA -> {
+                // Segunda petición en la principal: pasa a protegida y, si esta se llena,
+                // sus entradas menos recientes vuelven a prueba
+                prueba.quitar(nodo);
+                nodo.zona = PROTEGIDA;
+                protegida.agregar(nodo);
+                while (protegida.peso > maximoProtegida && protegida.primero != nodo) {
+                    Nodo degradado = protegida.primero;
+                    protegida.quitar(degradado);
+                    degradado.zona = PRUEBA;
+                    prueba.agregar(degradado);
+                }
+            }
+            default -> {
+                // Expulsada mientras el lector la tenía: no hay nada que reordenar
+            }
+        }
+    }
+
+    private void vaciarVentana() {
+        while (ventana.peso > maximoVentana) {
+            Nodo candidato = ventana.primero;
+            ventana.quitar(candidato);
+            candidato.zona = PRUEBA;
+            prueba.agregar(candidato);
+            while (peso > maximo && candidato.zona != FUERA) {
+                Nodo victima = victima(candidato);
+                if (victima == null || sketch.frecuencia(candidato.hash) <= sketch.frecuencia(victima.hash)) {
+                    expulsar(candidato);
+                } else {
+                    expulsar(victima);
+                }
+            }
+        }
+        // Solo si la principal está vacía y la ventana sola supera el máximo
+        while (peso > maximo) {
+            expulsar(ventana.primero);
+        }
+    }
+
+    // La entrada menos reciente de la principal que no sea el propio candidato
+    private Nodo victima(Nodo candidato) {
+        Nodo victima = prueba.primero;
+        if (victima == candidato) {
+            victima = candidato.siguiente;
+        }
+        return victima != null ? victima : protegida.primero;
+    }
+
+    private void expulsar(Nodo nodo) {
+        switch (nodo.zona) {
+            case VENTANA -> ventana.quitar(nodo);
+            case PRUEBA -> prueba.quitar(nodo);
+            case PROTEGIDA -> protegida.quitar(nodo);
+            default -> throw new IllegalStateException("Nodo ya expulsado: " + nodo.clave);
+        }
+        nodo.zona = FUERA;
+        datos.remove(nodo.clave, nodo);
+        peso -= nodo.peso;
+        expulsiones.increment();
+        bytesExpulsados.add(nodo.peso);
+    }
+
+    private static int hash(String clave) {
+        int h = clave.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,13 +1,26 @@
 package com.robermejia.palindromo;
 
+import static org.junit.jupiter.api.Assertions.assertNull;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @SpringBootTest
 class PalindromoApplicationTests {
 
+	@Autowired
+	private MeterRegistry registry;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void laCacheEstaDesactivadaPorDefecto() {
+		assertNull(registry.find("palindromo.cache.peticiones").meter());
+	}
+
 }
@@ -0,0 +1,59 @@
+package com.robermejia.palindromo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CorpusController.class)
+class CorpusControllerTests {
+
+    // carpeta/corpus es el directorio permitido; carpeta/fuera.txt queda fuera
+    @TempDir
+    static Path carpeta;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void directorio(DynamicPropertyRegistry registro) throws IOException {
+        Path corpus = Files.createDirectories(carpeta.resolve("corpus"));
+        Files.writeString(corpus.resolve("dentro.txt"), "oso ala");
+        Files.writeString(carpeta.resolve("fuera.txt"), "secreto");
+        registro.add("palindromo.corpus.directorio", corpus::toString);
+        registro.add("palindromo.corpus.hilos", () -> "2");
+    }
+
+    @Test
+    void noSaleDelDirectorioDelCorpus() throws Exception {
+        mockMvc.perform(get("/corpus/analizar").param("archivo", "../fuera.txt"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/corpus/analizar").param("archivo", "no-existe.txt"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/corpus/analizar").param("archivo", "dentro.txt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.palindromos").value(2))
+                .andExpect(jsonPath("$.nucleos").value(2));
+    }
+
+    @Test
+    void noSigueEnlacesQueSalenDelDirectorio() throws Exception {
+        Path enlace = carpeta.resolve("corpus").resolve("enlace.txt");
+        Files.deleteIfExists(enlace);
+        Files.createSymbolicLink(enlace, carpeta.resolve("fuera.txt"));
+
+        mockMvc.perform(get("/corpus/analizar").param("archivo", "enlace.txt"))
+                .andExpect(status().isBadRequest());
+    }
+}
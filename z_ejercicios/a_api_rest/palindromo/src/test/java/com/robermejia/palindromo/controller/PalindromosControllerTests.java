@@ -0,0 +1,49 @@
+package com.robermejia.palindromo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PalindromosController.class)
+class PalindromosControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void masLargoCantidadYMaximales() throws Exception {
+        mockMvc.perform(post("/palindromos/mas-largo").contentType(MediaType.TEXT_PLAIN).content("xx reconocer yy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.texto").value(" reconocer "))
+                .andExpect(jsonPath("$.inicio").value(2));
+        mockMvc.perform(post("/palindromos/cantidad").contentType(MediaType.TEXT_PLAIN).content("aaa"))
+                .andExpect(jsonPath("$.cantidad").value(6))
+                .andExpect(jsonPath("$.longitudTexto").value(3));
+        mockMvc.perform(post("/palindromos/maximales").param("minimo", "3").contentType(MediaType.TEXT_PLAIN).content("xabax"))
+                .andExpect(jsonPath("$.palindromos.length()").value(1))
+                .andExpect(jsonPath("$.palindromos[0].longitud").value(5))
+                .andExpect(jsonPath("$.siguiente").doesNotExist());
+    }
+
+    @Test
+    void maximalesPorPaginas() throws Exception {
+        // "aaaa" con minimo=2: (0,2) (0,3) (0,4) (1,3) (2,2)
+        mockMvc.perform(post("/palindromos/maximales").param("limite", "3").contentType(MediaType.TEXT_PLAIN).content("aaaa"))
+                .andExpect(jsonPath("$.palindromos.length()").value(3))
+                .andExpect(jsonPath("$.palindromos[2].longitud").value(4))
+                .andExpect(jsonPath("$.siguiente").value(5));
+        mockMvc.perform(post("/palindromos/maximales").param("desde", "5").param("limite", "3")
+                        .contentType(MediaType.TEXT_PLAIN).content("aaaa"))
+                .andExpect(jsonPath("$.palindromos.length()").value(2))
+                .andExpect(jsonPath("$.palindromos[0].inicio").value(1))
+                .andExpect(jsonPath("$.siguiente").doesNotExist());
+        mockMvc.perform(post("/palindromos/maximales").param("limite", "10001").contentType(MediaType.TEXT_PLAIN).content("aaaa"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,40 @@
+package com.robermejia.palindromo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Con la caché activada; por defecto está desactivada
+@SpringBootTest(properties = "palindromo.cache.tamano=1MB")
+@AutoConfigureMockMvc
+class palindromoControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void respondeTextoDesdeLaCache() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/validarPalindromo/reconocer"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                    .andExpect(content().string("La palabra reconocer es palindromo"));
+        }
+        mockMvc.perform(get("/actuator/metrics/palindromo.cache.peticiones").param("tag", "resultado:acierto"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void normalizaLasTildesCombinantes() throws Exception {
+        // "añña" con la ñ escrita como n + U+0303: sin normalizar, la tilde quedaría del lado equivocado
+        mockMvc.perform(get("/validarPalindromo/{word}", "añña"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("La palabra añña es palindromo"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.robermejia.palindromo.service;
+
+import com.robermejia.palindromo.model.ResultadoCorpus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// GB/s de CorpusScanner con 1, 2, 4... núcleos hasta los disponibles (o -Dnucleos=N) sobre un
+// corpus generado de -Dcorpus.mb=1024 MB, ya en la caché de páginas. Solo corre con -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CorpusScannerBenchmarkTests {
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    void gbPorSegundo() throws IOException {
+        Path archivo = generar(carpeta.resolve("corpus.txt"), Long.getLong("corpus.mb", 1024) << 20);
+        int maximo = Integer.getInteger("nucleos", Runtime.getRuntime().availableProcessors());
+        CorpusScanner scanner = new CorpusScanner(32 << 20);
+
+        // Primera pasada para calentar el JIT y la caché de páginas
+        scanner.analizar(archivo, maximo, 10, 2);
+        for (int nucleos = 1; nucleos <= maximo; nucleos = nucleos * 2 > maximo && nucleos < maximo ? maximo : nucleos * 2) {
+            double mejor = 0;
+            ResultadoCorpus resultado = null;
+            for (int i = 0; i < 3; i++) {
+                resultado = scanner.analizar(archivo, nucleos, 10, 2);
+                mejor = Math.max(mejor, resultado.gbPorSegundo());
+            }
+            System.out.printf("nucleos=%2d  %.2f GB/s  bytes=%,d palabras=%,d palindromos=%,d mas largo=%s%n",
+                    nucleos, mejor, resultado.bytes(), resultado.palabras(), resultado.palindromos(),
+                    resultado.masLargos().getFirst().palabra());
+        }
+    }
+
+    // Palabras de un vocabulario aleatorio con un 5 % de palíndromos, en líneas de log
+    private static Path generar(Path archivo, long bytes) throws IOException {
+        Random random = new Random(11);
+        String[] vocabulario = new String[50_000];
+        for (int i = 0; i < vocabulario.length; i++) {
+            StringBuilder palabra = new StringBuilder();
+            int longitud = 1 + random.nextInt(12);
+            for (int j = 0; j < longitud; j++) {
+                palabra.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulario[i] = i % 20 == 0
+                    ? palabra + new StringBuilder(palabra).reverse().substring(1)
+                    : palabra.toString();
+        }
+        byte[][] palabras = new byte[vocabulario.length][];
+        for (int i = 0; i < palabras.length; i++) {
+            palabras[i] = vocabulario[i].getBytes(StandardCharsets.UTF_8);
+        }
+        long escritos = 0;
+        try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(archivo), 1 << 20)) {
+            while (escritos < bytes) {
+                byte[] palabra = palabras[random.nextInt(palabras.length)];
+                salida.write(palabra);
+                salida.write(random.nextInt(12) == 0 ? '\n' : ' ');
+                escritos += palabra.length + 1;
+            }
+        }
+        return archivo;
+    }
+}
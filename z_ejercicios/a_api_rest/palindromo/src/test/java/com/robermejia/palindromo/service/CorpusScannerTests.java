@@ -0,0 +1,82 @@
+package com.robermejia.palindromo.service;
+
+import com.robermejia.palindromo.model.PalindromoFrecuente;
+import com.robermejia.palindromo.model.ResultadoCorpus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CorpusScannerTests {
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    void cuentaYOrdenaLosMasLargos() throws IOException {
+        Path archivo = carpeta.resolve("corpus.txt");
+        Files.writeString(archivo, "Ana vio al oso; reconocer, reconocer y ñoñoñ... a 12321 abba\nsalas ñandú", StandardCharsets.UTF_8);
+
+        // Fragmentos de 8 bytes: varias palabras caen sobre un límite nominal
+        ResultadoCorpus resultado = new CorpusScanner(8).analizar(archivo, 2, 3, 2);
+
+        assertEquals(13, resultado.palabras());
+        // oso, reconocer x2, ñoñoñ, 12321, abba, salas ("Ana" distingue mayúsculas, "a" es corta)
+        assertEquals(7, resultado.palindromos());
+        assertEquals(List.of(new PalindromoFrecuente("reconocer", 9, 2), new PalindromoFrecuente("12321", 5, 1),
+                new PalindromoFrecuente("salas", 5, 1)), resultado.masLargos());
+        assertTrue(resultado.fragmentos() > 4);
+    }
+
+    @Test
+    void laPuntuacionNoAsciiSeparaPalabras() throws IOException {
+        Path archivo = carpeta.resolve("puntuacion.txt");
+        // Signos de apertura, comillas latinas, NBSP (U+00A0) y raya (U+2014) pegados a las palabras
+        Files.writeString(archivo, "¡ala! ¿oso? «radar» ala\u00A0oso—reconocer… ñoñoñ", StandardCharsets.UTF_8);
+
+        ResultadoCorpus resultado = new CorpusScanner(4).analizar(archivo, 2, 3, 2);
+
+        // ala, oso, radar, ala, oso, reconocer, ñoñoñ
+        assertEquals(7, resultado.palabras());
+        assertEquals(7, resultado.palindromos());
+        assertEquals(List.of(new PalindromoFrecuente("reconocer", 9, 1), new PalindromoFrecuente("radar", 5, 1),
+                new PalindromoFrecuente("ñoñoñ", 5, 1)), resultado.masLargos());
+    }
+
+    @Test
+    void daLoMismoConCualquierFragmentoYNucleos() throws IOException {
+        Random random = new Random(5);
+        StringBuilder texto = new StringBuilder();
+        String[] separadores = {" ", "\n", ", ", ".\t"};
+        for (int i = 0; i < 20_000; i++) {
+            int longitud = 1 + random.nextInt(7);
+            StringBuilder palabra = new StringBuilder();
+            for (int j = 0; j < longitud; j++) {
+                palabra.append("abñ".charAt(random.nextInt(3)));
+            }
+            texto.append(palabra).append(separadores[random.nextInt(separadores.length)]);
+        }
+        Path archivo = carpeta.resolve("aleatorio.txt");
+        Files.writeString(archivo, texto, StandardCharsets.UTF_8);
+
+        ResultadoCorpus unico = new CorpusScanner(Long.MAX_VALUE).analizar(archivo, 1, 5, 2);
+        assertEquals(1, unico.fragmentos());
+        assertEquals(20_000, unico.palabras());
+        for (long fragmento : new long[] {1, 7, 1000}) {
+            for (int nucleos : new int[] {1, 3}) {
+                ResultadoCorpus r = new CorpusScanner(fragmento).analizar(archivo, nucleos, 5, 2);
+                assertEquals(unico.palabras(), r.palabras());
+                assertEquals(unico.palindromos(), r.palindromos());
+                assertEquals(unico.masLargos(), r.masLargos());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.robermejia.palindromo.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Compara Manacher con expandir desde cada centro (O(n^2) en el peor caso) en textos aleatorios
+// y en el peor caso, "aaaa...". Solo corre con -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ManacherBenchmarkTests {
+
+    private static final int REPETICIONES = 7;
+
+    @Test
+    void tiempos() {
+        Random random = new Random(3);
+        for (int n : new int[] {1 << 16, 1 << 18, 1 << 20, 1 << 22, 1 << 24}) {
+            int[] aleatorio = random.ints(n, 'a', 'a' + 4).toArray();
+            int[] repetido = new int[n];
+            Arrays.fill(repetido, 'a');
+            for (String tipo : new String[] {"aleatorio", "aaaa"}) {
+                int[] texto = tipo.equals("aleatorio") ? aleatorio : repetido;
+                double manacher = mediana(() -> new Manacher(texto).cantidad());
+                // La expansión ingenua sobre "aaaa" de más de 256k code points tarda minutos
+                String ingenua = tipo.equals("aaaa") && n > 1 << 18
+                        ? "-" : String.format("%10.2f ms", mediana(() -> expandir(texto)));
+                System.out.printf("n=%,11d %-10s manacher %9.2f ms  ingenua %s%n", n, tipo, manacher, ingenua);
+            }
+        }
+    }
+
+    private static double mediana(java.util.function.LongSupplier tarea) {
+        double[] tiempos = new double[REPETICIONES];
+        long control = 0;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            control += tarea.getAsLong();
+            tiempos[i] = (System.nanoTime() - inicio) / 1e6;
+        }
+        if (control == 42) {
+            System.out.println();
+        }
+        Arrays.sort(tiempos);
+        return tiempos[REPETICIONES / 2];
+    }
+
+    // Cuenta subpalíndromos expandiendo desde cada uno de los 2n-1 centros
+    private static long expandir(int[] s) {
+        long total = 0;
+        for (int centro = 0; centro < 2 * s.length - 1; centro++) {
+            int izquierda = centro / 2;
+            int derecha = izquierda + centro % 2;
+            while (izquierda >= 0 && derecha < s.length && s[izquierda] == s[derecha]) {
+                total++;
+                izquierda--;
+                derecha++;
+            }
+        }
+        return total;
+    }
+}
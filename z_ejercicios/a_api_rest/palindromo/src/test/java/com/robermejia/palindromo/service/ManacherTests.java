@@ -0,0 +1,114 @@
+package com.robermejia.palindromo.service;
+
+import com.robermejia.palindromo.model.PaginaMaximales;
+import com.robermejia.palindromo.model.Palindromo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ManacherTests {
+
+    @Test
+    void casosConocidos() {
+        Manacher manacher = new Manacher("abacabadd".codePoints().toArray());
+        assertEquals(new Palindromo(0, 7), manacher.masLargo());
+        assertEquals(6, new Manacher("aaa".codePoints().toArray()).cantidad());
+        assertEquals(new Palindromo(0, 0), new Manacher(new int[0]).masLargo());
+        assertEquals(List.of(new Palindromo(0, 2), new Palindromo(0, 3), new Palindromo(1, 2)),
+                new Manacher("aaa".codePoints().toArray()).maximales(2));
+    }
+
+    @Test
+    void coincideConLaFuerzaBruta() {
+        Random random = new Random(1);
+        for (int caso = 0; caso < 3_000; caso++) {
+            // Alfabetos pequeños para que haya muchos palíndromos solapados
+            int alfabeto = 1 + random.nextInt(3);
+            int[] texto = random.ints(random.nextInt(40), 'a', 'a' + alfabeto).toArray();
+            Manacher manacher = new Manacher(texto);
+            String mensaje = new String(texto, 0, texto.length);
+
+            assertEquals(masLargo(texto), manacher.masLargo(), mensaje);
+            assertEquals(cantidad(texto), manacher.cantidad(), mensaje);
+            for (int minimo = 1; minimo <= 3; minimo++) {
+                List<Palindromo> esperados = maximales(texto, minimo);
+                List<Palindromo> obtenidos = new ArrayList<>(manacher.maximales(minimo));
+                obtenidos.sort(ORDEN);
+                assertEquals(esperados, obtenidos, mensaje);
+                assertEquals(manacher.maximales(minimo), porPaginas(manacher, minimo, 1 + random.nextInt(4)), mensaje);
+            }
+        }
+    }
+
+    // Las páginas seguidas dan la lista completa, sin huecos ni repetidos
+    private static List<Palindromo> porPaginas(Manacher manacher, int minimo, int limite) {
+        List<Palindromo> todos = new ArrayList<>();
+        Integer desde = 0;
+        while (desde != null) {
+            PaginaMaximales pagina = manacher.maximales(minimo, desde, limite);
+            assertTrue(pagina.palindromos().size() <= limite);
+            todos.addAll(pagina.palindromos());
+            desde = pagina.siguiente();
+        }
+        return todos;
+    }
+
+    private static final Comparator<Palindromo> ORDEN =
+            Comparator.comparingInt(Palindromo::inicio).thenComparingInt(Palindromo::longitud);
+
+    // Oráculo O(n^3): prueba cada subcadena
+
+    private static boolean esPalindromo(int[] s, int inicio, int fin) {
+        for (int i = inicio, j = fin - 1; i < j; i++, j--) {
+            if (s[i] != s[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Palindromo masLargo(int[] s) {
+        Palindromo mejor = new Palindromo(0, 0);
+        for (int inicio = 0; inicio < s.length; inicio++) {
+            for (int fin = inicio + 1; fin <= s.length; fin++) {
+                if (fin - inicio > mejor.longitud() && esPalindromo(s, inicio, fin)) {
+                    mejor = new Palindromo(inicio, fin - inicio);
+                }
+            }
+        }
+        return mejor;
+    }
+
+    private static long cantidad(int[] s) {
+        long total = 0;
+        for (int inicio = 0; inicio < s.length; inicio++) {
+            for (int fin = inicio + 1; fin <= s.length; fin++) {
+                if (esPalindromo(s, inicio, fin)) {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    // Maximal: palíndromo que no se puede ampliar un carácter por cada lado
+    private static List<Palindromo> maximales(int[] s, int minimo) {
+        List<Palindromo> resultado = new ArrayList<>();
+        for (int inicio = 0; inicio < s.length; inicio++) {
+            for (int fin = inicio + 1; fin <= s.length; fin++) {
+                boolean ampliable = inicio > 0 && fin < s.length && s[inicio - 1] == s[fin];
+                if (fin - inicio >= minimo && !ampliable && esPalindromo(s, inicio, fin)) {
+                    resultado.add(new Palindromo(inicio, fin - inicio));
+                }
+            }
+        }
+        resultado.sort(ORDEN);
+        return resultado;
+    }
+}
@@ -0,0 +1,88 @@
+package com.robermejia.palindromo.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.function.Function;
+
+// Mide el rendimiento de validarPalindromo (sin la capa HTTP) con palabras repartidas según Zipf,
+// con y sin caché. Solo corre con -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WTinyLfuCacheBenchmarkTests {
+
+    private static final int DISTINTAS = Integer.getInteger("distintas", 1_000_000);
+    private static final int PETICIONES = 5_000_000;
+    private static final double EXPONENTE = 1.0;
+    // Longitud máxima de las palabras; la mínima es la quinta parte
+    private static final int LONGITUD = Integer.getInteger("longitud", 40);
+
+    @Test
+    void zipf() {
+        String[] palabras = new String[DISTINTAS];
+        Random random = new Random(42);
+        for (int i = 0; i < DISTINTAS; i++) {
+            palabras[i] = palabra(random, LONGITUD / 5 + random.nextInt(LONGITUD - LONGITUD / 5 + 1));
+        }
+        int[] secuencia = zipf(new Random(7), PETICIONES);
+
+        Function<String, byte[]> calculo = WTinyLfuCacheBenchmarkTests::respuesta;
+        for (int ronda = 0; ronda < 2; ronda++) {
+            medir("sin caché", palabras, secuencia, calculo, null);
+            for (long mb : new long[] {4, 16, 64}) {
+                WTinyLfuCache cache = new WTinyLfuCache(mb << 20);
+                medir("caché " + mb + " MB", palabras, secuencia, w -> cache.get(w, calculo), cache);
+            }
+        }
+    }
+
+    private static void medir(String nombre, String[] palabras, int[] secuencia,
+                              Function<String, byte[]> fn, WTinyLfuCache cache) {
+        long bytes = 0;
+        long inicio = System.nanoTime();
+        for (int i : secuencia) {
+            // Como el controlador: la clave llega como un String nuevo, no el mismo objeto
+            bytes += fn.apply(new String(palabras[i])).length;
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("%-14s %,12.0f pet/s  bytes=%d%s%n", nombre, secuencia.length / segundos, bytes,
+                cache == null ? "" : String.format("  aciertos=%.1f%%  expulsiones=%,d  ocupado=%,d/%,d",
+                        cache.getTasaAciertos() * 100, cache.getExpulsiones(), cache.getPeso(), cache.getMaximo()));
+    }
+
+    private static byte[] respuesta(String word) {
+        int length = word.length();
+        boolean palindromo = true;
+        for (int i = 0; i < length / 2 && palindromo; i++) {
+            palindromo = word.charAt(i) == word.charAt(length - i - 1);
+        }
+        return ("La palabra " + word + (palindromo ? " es palindromo" : " no es palindromo"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String palabra(Random random, int longitud) {
+        StringBuilder sb = new StringBuilder(longitud);
+        for (int i = 0; i < longitud; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    // Rangos Zipf por inversión de la distribución acumulada
+    private static int[] zipf(Random random, int n) {
+        double[] acumulada = new double[DISTINTAS];
+        double suma = 0;
+        for (int i = 0; i < DISTINTAS; i++) {
+            suma += 1 / Math.pow(i + 1, EXPONENTE);
+            acumulada[i] = suma;
+        }
+        int[] secuencia = new int[n];
+        for (int i = 0; i < n; i++) {
+            double u = random.nextDouble() * suma;
+            int pos = java.util.Arrays.binarySearch(acumulada, u);
+            secuencia[i] = pos >= 0 ? pos : -pos - 1;
+        }
+        return secuencia;
+    }
+}
@@ -0,0 +1,80 @@
+package com.robermejia.palindromo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WTinyLfuCacheTests {
+
+    @Test
+    void calculaUnaVezYCuentaAciertos() {
+        WTinyLfuCache cache = new WTinyLfuCache(1 << 20);
+        AtomicInteger calculos = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            byte[] valor = cache.get("oso", clave -> {
+                calculos.incrementAndGet();
+                return clave.getBytes(StandardCharsets.UTF_8);
+            });
+            assertArrayEquals("oso".getBytes(StandardCharsets.UTF_8), valor);
+        }
+
+        assertEquals(1, calculos.get());
+        assertEquals(2, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+        assertEquals(2.0 / 3, cache.getTasaAciertos(), 1e-9);
+    }
+
+    @Test
+    void nuncaSuperaElMaximoDeBytes() {
+        long maximo = 64 * 1024;
+        WTinyLfuCache cache = new WTinyLfuCache(maximo);
+
+        for (int i = 0; i < 20_000; i++) {
+            int tamano = i % 200;
+            cache.get("palabra" + i, clave -> new byte[tamano]);
+            assertTrue(cache.getPeso() <= maximo);
+        }
+
+        assertTrue(cache.getExpulsiones() > 0);
+        assertTrue(cache.getPeso() > maximo / 2);
+    }
+
+    @Test
+    void unBarridoNoExpulsaLasClavesCalientes() {
+        // Caben unas 100 entradas de 300 bytes
+        WTinyLfuCache cache = new WTinyLfuCache(100 * (WTinyLfuCache.PESO_FIJO + 300));
+        for (int vuelta = 0; vuelta < 20; vuelta++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("caliente" + i, clave -> new byte[280]);
+            }
+        }
+
+        // 10.000 palabras distintas que se piden una sola vez: una LRU se quedaría sin las calientes
+        for (int i = 0; i < 10_000; i++) {
+            cache.get("barrido" + i, clave -> new byte[280]);
+        }
+
+        long fallosAntes = cache.getFallos();
+        for (int i = 0; i < 50; i++) {
+            cache.get("caliente" + i, clave -> new byte[280]);
+        }
+        assertTrue(cache.getFallos() - fallosAntes <= 2, "fallos: " + (cache.getFallos() - fallosAntes));
+    }
+
+    @Test
+    void noGuardaEntradasMasGrandesQueLaVentana() {
+        WTinyLfuCache cache = new WTinyLfuCache(10_000);
+
+        cache.get("grande", clave -> new byte[5_000]);
+        cache.get("grande", clave -> new byte[5_000]);
+
+        assertEquals(0, cache.getEntradas());
+        assertEquals(2, cache.getFallos());
+    }
+}
@@ -0,0 +1,72 @@
+package com.robermejia.carga_http;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robermejia.carga_http.model.Escenario;
+import com.robermejia.carga_http.model.Resultado;
+import com.robermejia.carga_http.service.GeneradorCarga;
+import com.robermejia.carga_http.service.Informe;
+import com.robermejia.carga_http.service.ProcesoObjetivo;
+
+// Uso: java -jar carga_http.jar escenarios/alumnos.json [más escenarios...]
+//        [--url=http://localhost:8080]   objetivo ya arrancado (si no, se arranca el módulo del escenario)
+//        [--salida=informes]             carpeta de los informes JSON y HTML
+//        [--comparar=informes/x.json]    ejecución con la que comparar (por defecto, la anterior)
+//        [--java=/ruta/al/jdk]           JDK de los módulos que arranca, si el escenario no indica otro
+@SpringBootApplication
+public class CargaHttpApplication implements ApplicationRunner {
+
+    private final ObjectMapper json;
+    private final GeneradorCarga generador;
+    private final Informe informe;
+
+    public CargaHttpApplication(ObjectMapper json, GeneradorCarga generador, Informe informe) {
+        this.json = json;
+        this.generador = generador;
+        this.informe = informe;
+    }
+
+    public static void main(String[] args) {
+        SpringApplication.run(CargaHttpApplication.class, args);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path salida = Path.of(opcion(args, "salida", "informes"));
+        String comparar = opcion(args, "comparar", null);
+        String url = opcion(args, "url", null);
+        String java = opcion(args, "java", null);
+        for (String fichero : args.getNonOptionArgs()) {
+            Path ruta = Path.of(fichero).toAbsolutePath();
+            Escenario escenario = json.readValue(ruta.toFile(), Escenario.class);
+            Resultado resultado;
+            if (url != null || escenario.objetivo().modulo() == null) {
+                URI base = URI.create(url != null ? url : escenario.objetivo().url());
+                resultado = generador.ejecutar(escenario, base);
+            } else {
+                Path log = salida.resolve(escenario.nombre() + "-objetivo.log");
+                try (ProcesoObjetivo objetivo = ProcesoObjetivo.arrancar(escenario.objetivo(), java, ruta.getParent(), log)) {
+                    resultado = generador.ejecutar(escenario, objetivo.getBase());
+                }
+            }
+            Path html = informe.guardar(resultado, salida, comparar != null ? Path.of(comparar) : null);
+            Resultado.Metricas total = resultado.total();
+            System.out.printf("%s: %d peticiones (%d errores), %.1f/s, p50=%.2f ms p99=%.2f ms p99.9=%.2f ms -> %s%n",
+                    escenario.nombre(), total.peticiones(), total.errores(), total.porSegundo(), total.p50Ms(),
+                    total.p99Ms(), total.p999Ms(), html);
+        }
+    }
+
+    private static String opcion(ApplicationArguments args, String nombre, String porDefecto) {
+        List<String> valores = args.getOptionValues(nombre);
+        return valores == null || valores.isEmpty() ? porDefecto : valores.get(0);
+    }
+}
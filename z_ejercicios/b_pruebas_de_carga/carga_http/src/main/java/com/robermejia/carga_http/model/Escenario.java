@@ -0,0 +1,57 @@
+package com.robermejia.carga_http.model;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Escenario de carga leído de un JSON (ver la carpeta escenarios).
+// Modelo abierto: las peticiones llegan a "tasa" por segundo pase lo que pase (como usuarios reales),
+// con "usuarios" como máximo de peticiones en vuelo. Modelo cerrado: "usuarios" hilos que repiten
+// petición tras petición; con "tasa" > 0 cada usuario se pauta a usuarios/tasa segundos entre peticiones.
+// La rampa sube la tasa (o arranca los usuarios) de forma lineal durante rampaSegundos.
+public record Escenario(String nombre, Objetivo objetivo, Modelo modelo, double tasa, int usuarios,
+        int rampaSegundos, int calentamientoSegundos, int duracionSegundos, long timeoutMs,
+        List<Peticion> peticiones) {
+
+    public enum Modelo {
+        @JsonProperty("abierto")
+        ABIERTO,
+        @JsonProperty("cerrado")
+        CERRADO
+    }
+
+    // url: aplicación ya arrancada. modulo: carpeta de un módulo con su jar en target/, que se arranca
+    // en "puerto" con las opciones de JVM "jvm". salud: ruta a la que se llama hasta que responde.
+    // java: JDK (su JAVA_HOME) o ejecutable java con el que arrancar el módulo; por defecto el de la
+    // opción --java o, si no, el de esta JVM. Hace falta si el módulo pide otra versión de Java.
+    public record Objetivo(String url, String modulo, int puerto, List<String> jvm, String salud, String java) {
+
+        public Objetivo {
+            jvm = jvm == null ? List.of() : jvm;
+        }
+    }
+
+    // En ruta y cuerpo, {seq} se sustituye por un contador y {clave} por un valor al azar de valores[clave]
+    public record Peticion(String nombre, String metodo, String ruta, String cuerpo, int peso,
+            Map<String, List<String>> valores) {
+
+        public Peticion {
+            metodo = metodo == null ? "GET" : metodo;
+            peso = peso <= 0 ? 1 : peso;
+            valores = valores == null ? Map.of() : valores;
+        }
+    }
+
+    public Escenario {
+        modelo = modelo == null ? Modelo.ABIERTO : modelo;
+        usuarios = usuarios <= 0 ? 16 : usuarios;
+        timeoutMs = timeoutMs <= 0 ? 5000 : timeoutMs;
+        if (modelo == Modelo.ABIERTO && tasa <= 0) {
+            throw new IllegalArgumentException("El modelo abierto necesita una tasa > 0");
+        }
+        if (peticiones == null || peticiones.isEmpty()) {
+            throw new IllegalArgumentException("El escenario " + nombre + " no tiene peticiones");
+        }
+    }
+}
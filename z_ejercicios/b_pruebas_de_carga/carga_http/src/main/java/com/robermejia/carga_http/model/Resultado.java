@@ -0,0 +1,18 @@
+package com.robermejia.carga_http.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Resultado de una ejecución; se guarda como JSON para compararlo con ejecuciones posteriores.
+// Las latencias están en milisegundos. Con corregida = true se miden desde el momento en que la
+// petición debía salir y no desde que salió, así que incluyen la espera que provoca un servidor
+// lento (omisión coordinada).
+public record Resultado(String escenario, String modelo, Instant fecha, double segundos, boolean corregida,
+        Metricas total, Map<String, Metricas> peticiones) {
+
+    // histograma: HdrHistogram comprimido en Base64, en microsegundos
+    public record Metricas(long peticiones, long errores, Map<String, Long> estados, double porSegundo,
+            double mediaMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs,
+            String histograma) {
+    }
+}
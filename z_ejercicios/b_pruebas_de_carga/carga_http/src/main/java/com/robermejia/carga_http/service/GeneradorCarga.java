@@ -0,0 +1,242 @@
+package com.robermejia.carga_http.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Service;
+
+import com.robermejia.carga_http.model.Escenario;
+import com.robermejia.carga_http.model.Resultado;
+
+// Ejecuta un escenario contra una URL base. Cada petición usa un hilo virtual y su latencia se
+// mide desde el instante en que estaba prevista (modelo abierto, o cerrado con tasa): si el
+// servidor se atasca, las peticiones que tenían que salir durante el atasco cuentan esa espera.
+@Service
+public class GeneradorCarga {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    // Histograma y códigos de estado de un tipo de petición
+    private static final class Medidas {
+        private final Histogram histograma = new ConcurrentHistogram(MAX_MICROS, 3);
+        private final Map<Integer, LongAdder> estados = new ConcurrentHashMap<>();
+        private final LongAdder errores = new LongAdder();
+
+        private void registrar(long micros, int estado) {
+            histograma.recordValue(Math.min(micros, MAX_MICROS));
+            estados.computeIfAbsent(estado, e -> new LongAdder()).increment();
+            // 0 = sin respuesta (timeout, conexión rechazada...)
+            if (estado == 0 || estado >= 400) {
+                errores.increment();
+            }
+        }
+    }
+
+    // Estado compartido de una ejecución
+    private final class Ejecucion {
+        private final Escenario escenario;
+        private final URI base;
+        private final int[] pesosAcumulados;
+        private final Map<String, Medidas> medidas = new LinkedHashMap<>();
+        private final Medidas total = new Medidas();
+        private final AtomicLong secuencia = new AtomicLong();
+        private final long inicio = System.nanoTime();
+        private final long medirDesde;
+        private final long fin;
+
+        private Ejecucion(Escenario escenario, URI base) {
+            this.escenario = escenario;
+            this.base = base;
+            List<Escenario.Peticion> peticiones = escenario.peticiones();
+            pesosAcumulados = new int[peticiones.size()];
+            int suma = 0;
+            for (int i = 0; i < peticiones.size(); i++) {
+                suma += peticiones.get(i).peso();
+                pesosAcumulados[i] = suma;
+                medidas.put(peticiones.get(i).nombre(), new Medidas());
+            }
+            medirDesde = inicio + TimeUnit.SECONDS.toNanos(escenario.calentamientoSegundos());
+            fin = medirDesde + TimeUnit.SECONDS.toNanos(escenario.duracionSegundos());
+        }
+
+        private Escenario.Peticion elegir() {
+            int r = ThreadLocalRandom.current().nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+            for (int i = 0; i < pesosAcumulados.length; i++) {
+                if (r < pesosAcumulados[i]) {
+                    return escenario.peticiones().get(i);
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        // Envía la petición y registra su latencia desde "previsto" (System.nanoTime())
+        private void enviar(Escenario.Peticion peticion, long previsto) {
+            Map<String, String> marcas = marcas(peticion);
+            HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(sustituir(peticion.ruta(), marcas)))
+                    .timeout(Duration.ofMillis(escenario.timeoutMs()));
+            if (peticion.cuerpo() != null) {
+                builder.header("Content-Type", "application/json")
+                        .method(peticion.metodo(), HttpRequest.BodyPublishers.ofString(sustituir(peticion.cuerpo(), marcas)));
+            } else {
+                builder.method(peticion.metodo(), HttpRequest.BodyPublishers.noBody());
+            }
+            int estado;
+            try {
+                estado = http.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                estado = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (previsto >= medirDesde) {
+                long micros = (System.nanoTime() - previsto) / 1000;
+                medidas.get(peticion.nombre()).registrar(micros, estado);
+                total.registrar(micros, estado);
+            }
+        }
+
+        // Un valor por marca y petición: ruta y cuerpo llevan el mismo {seq} y el mismo {clave}
+        private Map<String, String> marcas(Escenario.Peticion peticion) {
+            Map<String, String> marcas = new HashMap<>();
+            marcas.put("{seq}", String.valueOf(secuencia.incrementAndGet()));
+            for (Map.Entry<String, List<String>> valores : peticion.valores().entrySet()) {
+                List<String> opciones = valores.getValue();
+                marcas.put("{" + valores.getKey() + "}", opciones.get(ThreadLocalRandom.current().nextInt(opciones.size())));
+            }
+            return marcas;
+        }
+
+        private static String sustituir(String plantilla, Map<String, String> marcas) {
+            String texto = plantilla;
+            for (Map.Entry<String, String> marca : marcas.entrySet()) {
+                texto = texto.replace(marca.getKey(), marca.getValue());
+            }
+            return texto;
+        }
+    }
+
+    public Resultado ejecutar(Escenario escenario, URI base) throws InterruptedException {
+        Ejecucion ejecucion = new Ejecucion(escenario, base);
+        boolean corregida = escenario.modelo() == Escenario.Modelo.ABIERTO || escenario.tasa() > 0;
+        if (escenario.modelo() == Escenario.Modelo.ABIERTO) {
+            abierto(ejecucion);
+        } else {
+            cerrado(ejecucion);
+        }
+        // Tiempo real medido: si el objetivo no da abasto, las últimas respuestas llegan después del fin previsto
+        double segundos = (System.nanoTime() - ejecucion.medirDesde) / 1e9;
+        Map<String, Resultado.Metricas> porPeticion = new LinkedHashMap<>();
+        ejecucion.medidas.forEach((nombre, m) -> porPeticion.put(nombre, metricas(m, segundos)));
+        return new Resultado(escenario.nombre(), escenario.modelo().name().toLowerCase(), Instant.now(), segundos,
+                corregida, metricas(ejecucion.total, segundos), porPeticion);
+    }
+
+    // Las llegadas siguen el calendario; si ya hay "usuarios" peticiones en vuelo se espera hueco,
+    // pero la latencia se sigue midiendo desde el instante previsto
+    private void abierto(Ejecucion ejecucion) throws InterruptedException {
+        Escenario escenario = ejecucion.escenario;
+        Semaphore huecos = new Semaphore(escenario.usuarios());
+        double t = 0;
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                long previsto = ejecucion.inicio + (long) (t * 1e9);
+                // Si el envío va retrasado no se recupera más allá del fin: lo que falte ya se nota en la latencia
+                if (previsto >= ejecucion.fin || System.nanoTime() >= ejecucion.fin) {
+                    break;
+                }
+                dormirHasta(previsto);
+                huecos.acquire();
+                Escenario.Peticion peticion = ejecucion.elegir();
+                hilos.submit(() -> {
+                    try {
+                        ejecucion.enviar(peticion, previsto);
+                    } finally {
+                        huecos.release();
+                    }
+                });
+                t += 1.0 / tasa(escenario, t);
+            }
+        }
+    }
+
+    // Cada usuario envía una petición tras otra; los usuarios arrancan repartidos a lo largo de la rampa
+    private void cerrado(Ejecucion ejecucion) throws InterruptedException {
+        Escenario escenario = ejecucion.escenario;
+        int usuarios = escenario.usuarios();
+        long intervalo = escenario.tasa() > 0 ? (long) (usuarios / escenario.tasa() * 1e9) : 0;
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < usuarios; u++) {
+                long arranque = ejecucion.inicio + TimeUnit.SECONDS.toNanos(escenario.rampaSegundos()) * u / usuarios;
+                hilos.submit(() -> {
+                    long previsto = arranque;
+                    while (previsto < ejecucion.fin && System.nanoTime() < ejecucion.fin) {
+                        dormirHasta(previsto);
+                        // Sin tasa no hay calendario: la petición sale cuando termina la anterior
+                        long salida = intervalo > 0 ? previsto : System.nanoTime();
+                        ejecucion.enviar(ejecucion.elegir(), salida);
+                        previsto = intervalo > 0 ? previsto + intervalo : System.nanoTime();
+                    }
+                });
+            }
+        }
+    }
+
+    private static double tasa(Escenario escenario, double t) {
+        if (escenario.rampaSegundos() > 0 && t < escenario.rampaSegundos()) {
+            return Math.max(1, escenario.tasa() * t / escenario.rampaSegundos());
+        }
+        return escenario.tasa();
+    }
+
+    private static void dormirHasta(long instante) {
+        long espera;
+        while ((espera = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(espera);
+        }
+    }
+
+    private static Resultado.Metricas metricas(Medidas m, double segundos) {
+        Histogram h = m.histograma;
+        Map<String, Long> estados = new TreeMap<>();
+        m.estados.forEach((estado, n) -> estados.put(String.valueOf(estado), n.sum()));
+        ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+        int longitud = h.encodeIntoCompressedByteBuffer(buffer);
+        String codificado = Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), longitud));
+        return new Resultado.Metricas(h.getTotalCount(), m.errores.sum(), estados, h.getTotalCount() / segundos,
+                h.getMean() / 1000, ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0, codificado);
+    }
+
+    private static double ms(Histogram h, double percentil) {
+        return h.getValueAtPercentile(percentil) / 1000.0;
+    }
+}
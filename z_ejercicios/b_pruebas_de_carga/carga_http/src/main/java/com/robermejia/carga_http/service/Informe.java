@@ -0,0 +1,138 @@
+package com.robermejia.carga_http.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.robermejia.carga_http.model.Resultado;
+
+// Guarda cada resultado como <escenario>-<fecha>.json y .html en la carpeta de informes.
+// El HTML compara con otra ejecución: la indicada o, si no, la anterior del mismo escenario.
+@Service
+public class Informe {
+
+    private static final DateTimeFormatter FECHA = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+
+    private static final Map<String, ToDoubleFunction<Resultado.Metricas>> COLUMNAS = new LinkedHashMap<>();
+
+    static {
+        COLUMNAS.put("peticiones", Resultado.Metricas::peticiones);
+        COLUMNAS.put("errores", Resultado.Metricas::errores);
+        COLUMNAS.put("peticiones/s", Resultado.Metricas::porSegundo);
+        COLUMNAS.put("media ms", Resultado.Metricas::mediaMs);
+        COLUMNAS.put("p50 ms", Resultado.Metricas::p50Ms);
+        COLUMNAS.put("p90 ms", Resultado.Metricas::p90Ms);
+        COLUMNAS.put("p99 ms", Resultado.Metricas::p99Ms);
+        COLUMNAS.put("p99.9 ms", Resultado.Metricas::p999Ms);
+        COLUMNAS.put("máx ms", Resultado.Metricas::maxMs);
+    }
+
+    private final ObjectMapper json;
+
+    public Informe(ObjectMapper json) {
+        this.json = json.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    // Devuelve la ruta del HTML
+    public Path guardar(Resultado resultado, Path carpeta, Path comparar) throws IOException {
+        Files.createDirectories(carpeta);
+        Optional<Resultado> anterior = comparar != null ? Optional.of(leer(comparar)) : anterior(resultado, carpeta);
+        String base = resultado.escenario() + "-" + FECHA.format(resultado.fecha());
+        json.writeValue(carpeta.resolve(base + ".json").toFile(), resultado);
+        Path html = carpeta.resolve(base + ".html");
+        Files.writeString(html, html(resultado, anterior.orElse(null)), StandardCharsets.UTF_8);
+        return html;
+    }
+
+    public Resultado leer(Path fichero) throws IOException {
+        return json.readValue(fichero.toFile(), Resultado.class);
+    }
+
+    // Último JSON del mismo escenario que ya estaba en la carpeta (el nombre lleva la fecha, se ordena bien).
+    // Nombre exacto y fecha: alumnos-lectura-<fecha>.json no es una ejecución anterior de "alumnos"
+    private Optional<Resultado> anterior(Resultado resultado, Path carpeta) throws IOException {
+        Pattern nombre = Pattern.compile(Pattern.quote(resultado.escenario()) + "-\\d{8}-\\d{6}\\.json");
+        Optional<Path> ultimo;
+        try (Stream<Path> ficheros = Files.list(carpeta)) {
+            ultimo = ficheros.filter(f -> nombre.matcher(f.getFileName().toString()).matches())
+                    .max(Comparator.comparing(f -> f.getFileName().toString()));
+        }
+        return ultimo.isPresent() ? Optional.of(leer(ultimo.get())) : Optional.empty();
+    }
+
+    private static String html(Resultado actual, Resultado anterior) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html lang=\"es\"><head><meta charset=\"utf-8\"><title>")
+                .append(escapar(actual.escenario())).append("</title>\n<style>")
+                .append("body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}")
+                .append("th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}")
+                .append(".peor{color:#b00}.mejor{color:#070}</style></head><body>\n")
+                .append("<h1>").append(escapar(actual.escenario())).append("</h1>\n<p>Modelo ").append(actual.modelo())
+                .append(", ").append(actual.segundos()).append(" s medidos, ").append(actual.fecha()).append(". Latencias ")
+                .append(actual.corregida() ? "corregidas por omisión coordinada (desde el instante previsto)."
+                        : "sin corregir (modelo cerrado sin tasa).")
+                .append("</p>\n");
+        if (anterior != null) {
+            html.append("<p>Comparado con la ejecución del ").append(anterior.fecha()).append(".</p>\n");
+        }
+        tabla(html, "Total", actual.total(), anterior != null ? anterior.total() : null);
+        actual.peticiones().forEach((nombre, metricas) -> tabla(html, nombre, metricas,
+                anterior != null ? anterior.peticiones().get(nombre) : null));
+        return html.append("</body></html>\n").toString();
+    }
+
+    private static void tabla(StringBuilder html, String nombre, Resultado.Metricas actual, Resultado.Metricas anterior) {
+        html.append("<h2>").append(escapar(nombre)).append("</h2>\n<table><tr><th></th><th>actual</th>");
+        if (anterior != null) {
+            html.append("<th>anterior</th><th>cambio</th>");
+        }
+        html.append("</tr>\n");
+        COLUMNAS.forEach((columna, valor) -> {
+            double a = valor.applyAsDouble(actual);
+            html.append("<tr><td>").append(columna).append("</td><td>").append(formato(a)).append("</td>");
+            if (anterior != null) {
+                double b = valor.applyAsDouble(anterior);
+                html.append("<td>").append(formato(b)).append("</td>").append(cambio(columna, a, b));
+            }
+            html.append("</tr>\n");
+        });
+        html.append("<tr><td>estados</td><td>").append(escapar(actual.estados().toString())).append("</td>");
+        if (anterior != null) {
+            html.append("<td>").append(escapar(anterior.estados().toString())).append("</td><td></td>");
+        }
+        html.append("</tr></table>\n");
+    }
+
+    // Más peticiones/s es mejor; en el resto de columnas, menos
+    private static String cambio(String columna, double actual, double anterior) {
+        if (anterior == 0 || columna.equals("peticiones")) {
+            return "<td></td>";
+        }
+        double porcentaje = (actual - anterior) / anterior * 100;
+        boolean mejor = columna.equals("peticiones/s") ? porcentaje > 0 : porcentaje < 0;
+        String clase = Math.abs(porcentaje) < 5 ? "" : mejor ? " class=\"mejor\"" : " class=\"peor\"";
+        return String.format("<td%s>%+.1f%%</td>", clase, porcentaje);
+    }
+
+    private static String formato(double valor) {
+        return valor == Math.rint(valor) ? String.valueOf((long) valor) : String.format("%.2f", valor);
+    }
+
+    private static String escapar(String texto) {
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,113 @@
+package com.robermejia.carga_http.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.robermejia.carga_http.model.Escenario;
+
+// Arranca en otro proceso el jar de un módulo (mvn package en su carpeta) en localhost y espera a que
+// responda. Va en una JVM aparte porque cada ejercicio es un proyecto Spring Boot independiente,
+// con su propia versión de Java y sus dependencias.
+public class ProcesoObjetivo implements AutoCloseable {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(90);
+
+    private final Process proceso;
+    private final URI base;
+
+    private ProcesoObjetivo(Process proceso, URI base) {
+        this.proceso = proceso;
+        this.base = base;
+    }
+
+    // carpeta: directorio de referencia para la ruta relativa del módulo (la del escenario).
+    // java: JDK o ejecutable si el escenario no indica uno; null = el de esta JVM
+    public static ProcesoObjetivo arrancar(Escenario.Objetivo objetivo, String java, Path carpeta, Path log)
+            throws IOException, InterruptedException {
+        Path modulo = carpeta.resolve(objetivo.modulo()).normalize();
+        Path jar = buscarJar(modulo);
+        List<String> comando = new ArrayList<>();
+        comando.add(java(objetivo, java).toString());
+        comando.addAll(objetivo.jvm());
+        comando.add("-jar");
+        comando.add(jar.toString());
+        comando.add("--server.port=" + objetivo.puerto());
+        Files.createDirectories(log.getParent());
+        Process proceso = new ProcessBuilder(comando)
+                .directory(modulo.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ProcesoObjetivo objetivoArrancado = new ProcesoObjetivo(proceso, URI.create("http://localhost:" + objetivo.puerto() + "/"));
+        try {
+            objetivoArrancado.esperar(objetivo.salud() == null ? "/" : objetivo.salud(), log);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            objetivoArrancado.close();
+            throw e;
+        }
+        return objetivoArrancado;
+    }
+
+    // Acepta tanto la carpeta del JDK (JAVA_HOME) como el ejecutable
+    static Path java(Escenario.Objetivo objetivo, String porDefecto) {
+        String java = objetivo.java() != null ? objetivo.java()
+                : porDefecto != null ? porDefecto : System.getProperty("java.home");
+        Path ruta = Path.of(java);
+        return Files.isDirectory(ruta) ? ruta.resolve("bin").resolve("java") : ruta;
+    }
+
+    public URI getBase() {
+        return base;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        proceso.destroy();
+        if (!proceso.waitFor(10, TimeUnit.SECONDS)) {
+            proceso.destroyForcibly();
+        }
+    }
+
+    // Cualquier respuesta HTTP vale: la aplicación ya atiende peticiones
+    private void esperar(String salud, Path log) throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest peticion = HttpRequest.newBuilder(base.resolve(salud.startsWith("/") ? salud.substring(1) : salud)).build();
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!proceso.isAlive()) {
+                throw new IllegalStateException("El objetivo terminó al arrancar (código " + proceso.exitValue() + "), ver " + log);
+            }
+            try {
+                http.send(peticion, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("El objetivo no respondió en " + ESPERA_MAXIMA.toSeconds() + " s, ver " + log);
+    }
+
+    private static Path buscarJar(Path modulo) throws IOException {
+        Path target = modulo.resolve("target");
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> ficheros = Files.list(target)) {
+                List<Path> jars = ficheros.filter(f -> f.getFileName().toString().endsWith(".jar")
+                        && !f.getFileName().toString().endsWith("-plain.jar")).toList();
+                if (jars.size() == 1) {
+                    return jars.get(0);
+                }
+            }
+        }
+        throw new IllegalStateException("No hay un jar en " + target + ": ejecuta mvn package en " + modulo);
+    }
+}
@@ -0,0 +1,160 @@
+package com.robermejia.carga_http.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robermejia.carga_http.model.Escenario;
+import com.robermejia.carga_http.model.Resultado;
+import com.sun.net.httpserver.HttpServer;
+
+// Contra un servidor HTTP mínimo del JDK (atiende de una en una) que puede atascarse 500 ms una vez
+class GeneradorCargaTests {
+
+    private HttpServer servidor;
+    private final AtomicBoolean atascar = new AtomicBoolean();
+    private final AtomicInteger recibidas = new AtomicInteger();
+    private final Queue<String> ecos = new ConcurrentLinkedQueue<>();
+
+    @TempDir
+    Path carpeta;
+
+    @BeforeEach
+    void arrancar() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/", intercambio -> {
+            int n = recibidas.incrementAndGet();
+            if (n == 150 && atascar.get()) {
+                dormir(500);
+            }
+            if (intercambio.getRequestURI().getPath().startsWith("/eco/")) {
+                ecos.add(intercambio.getRequestURI().getPath() + " "
+                        + new String(intercambio.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            }
+            int estado = intercambio.getRequestURI().getPath().endsWith("/nadie") ? 404 : 200;
+            intercambio.sendResponseHeaders(estado, -1);
+            intercambio.close();
+        });
+        servidor.start();
+    }
+
+    @AfterEach
+    void parar() {
+        servidor.stop(0);
+    }
+
+    @Test
+    void laLatenciaIncluyeLaEsperaDeLasPeticionesRetrasadas() throws Exception {
+        atascar.set(true);
+        // 100 peticiones/s con 1 s de calentamiento: el atasco llega a mitad de la medición
+        Resultado resultado = new GeneradorCarga().ejecutar(escenario(Escenario.Modelo.ABIERTO, 100, 16, 1), base());
+
+        Resultado.Metricas total = resultado.total();
+        assertTrue(resultado.corregida());
+        assertTrue(total.peticiones() >= 180 && total.peticiones() <= 220, "peticiones: " + total.peticiones());
+        // Midiendo desde el envío solo verían el atasco las 16 peticiones en vuelo; desde el instante
+        // previsto, las ~50 que debían salir durante el atasco (un 25 %) esperan entre 0 y 500 ms
+        assertTrue(total.p99Ms() >= 300, "p99: " + total.p99Ms());
+        assertTrue(total.p50Ms() < 100, "p50: " + total.p50Ms());
+    }
+
+    @Test
+    void cuentaLosErroresYComparaConLaEjecucionAnterior() throws Exception {
+        GeneradorCarga generador = new GeneradorCarga();
+        Informe informe = new Informe(new ObjectMapper().findAndRegisterModules());
+        Escenario escenario = escenario(Escenario.Modelo.CERRADO, 0, 4, 0);
+
+        Resultado primero = generador.ejecutar(escenario, base());
+        Map<String, Resultado.Metricas> porPeticion = primero.peticiones();
+        assertEquals(porPeticion.get("nadie").peticiones(), porPeticion.get("nadie").errores());
+        assertEquals(0, porPeticion.get("hola").errores());
+        assertEquals(porPeticion.get("nadie").peticiones(), primero.total().estados().get("404"));
+        informe.guardar(primero, carpeta, null);
+
+        Thread.sleep(1000);
+        Resultado segundo = generador.ejecutar(escenario, base());
+        Path html = informe.guardar(segundo, carpeta, null);
+        String contenido = Files.readString(html);
+        assertTrue(contenido.contains("Comparado con la ejecución del " + primero.fecha()), contenido);
+        assertTrue(contenido.contains("Latencias sin corregir"));
+        try (var ficheros = Files.list(carpeta)) {
+            assertEquals(4, ficheros.count());
+        }
+        // El JSON guardado se vuelve a leer igual
+        Path json = carpeta.resolve(html.getFileName().toString().replace(".html", ".json"));
+        assertEquals(segundo.total().peticiones(), informe.leer(json).total().peticiones());
+    }
+
+    @Test
+    void rutaYCuerpoLlevanLosMismosValores() throws Exception {
+        Escenario.Peticion eco = new Escenario.Peticion("eco", "POST", "/eco/{seq}/{quien}",
+                "{seq} {quien}", 1, Map.of("quien", List.of("ana", "luis", "eva")));
+        Escenario escenario = new Escenario("eco", new Escenario.Objetivo(null, null, 0, null, null, null),
+                Escenario.Modelo.CERRADO, 0, 2, 0, 0, 1, 2000, List.of(eco));
+
+        new GeneradorCarga().ejecutar(escenario, base());
+
+        assertFalse(ecos.isEmpty());
+        for (String recibido : ecos) {
+            // "/eco/7/ana 7 ana"
+            String[] partes = recibido.split(" ");
+            assertEquals("/eco/" + partes[1] + "/" + partes[2], partes[0]);
+        }
+        assertEquals(ecos.size(), ecos.stream().distinct().count());
+    }
+
+    @Test
+    void noComparaConOtroEscenarioQueEmpiezaIgual() throws Exception {
+        Informe informe = new Informe(new ObjectMapper().findAndRegisterModules());
+        Resultado resultado = new GeneradorCarga().ejecutar(escenario(Escenario.Modelo.CERRADO, 0, 4, 0), base());
+
+        informe.guardar(renombrar(resultado, "prueba-lectura"), carpeta, null);
+        String contenido = Files.readString(informe.guardar(resultado, carpeta, null));
+
+        assertFalse(contenido.contains("Comparado con"), contenido);
+    }
+
+    private static Resultado renombrar(Resultado resultado, String escenario) {
+        return new Resultado(escenario, resultado.modelo(), resultado.fecha(), resultado.segundos(),
+                resultado.corregida(), resultado.total(), resultado.peticiones());
+    }
+
+    private Escenario escenario(Escenario.Modelo modelo, double tasa, int usuarios, int calentamiento) {
+        List<Escenario.Peticion> peticiones = List.of(
+                new Escenario.Peticion("hola", null, "/hola/{seq}", null, 3, null),
+                new Escenario.Peticion("nadie", "GET", "/{quien}", null, 1, Map.of("quien", List.of("nadie"))));
+        return new Escenario("prueba", new Escenario.Objetivo(null, null, 0, null, null, null), modelo, tasa, usuarios,
+                0, calentamiento, 2, 2000, peticiones);
+    }
+
+    private URI base() {
+        return URI.create("http://localhost:" + servidor.getAddress().getPort() + "/");
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
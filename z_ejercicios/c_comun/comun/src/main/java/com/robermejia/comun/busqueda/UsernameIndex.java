@@ -0,0 +1,343 @@
+package com.robermejia.comun.busqueda;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Índice de usernames para búsquedas por prefijo (autocompletado) y aproximadas (errores de tipeo).
+// - Trie comprimido (radix tree): cada arista guarda un tramo del username, no una sola letra.
+// - Índice de trigramas: candidatos para la búsqueda aproximada, luego se filtran por distancia de Levenshtein.
+// Se actualiza de forma incremental: remove() antes de modificar un elemento y add() después.
+// Genérico para que lo usen los distintos modelos de cliente: username extrae la clave de cada elemento.
+public class UsernameIndex<T> {
+
+    private final Function<T, String> username;
+    private final Nodo<T> raiz = new Nodo<>("");
+    private final Map<String, Set<T>> trigramas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public UsernameIndex(Function<T, String> username) {
+        this.username = username;
+    }
+
+    public void add(T customer) {
+        String clave = normalizar(username.apply(customer));
+        if (clave == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            insertar(clave, customer);
+            for (String t : trigramas(clave)) {
+                trigramas.computeIfAbsent(t, k -> new LinkedHashSet<>()).add(customer);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(T customer) {
+        String clave = normalizar(username.apply(customer));
+        if (clave == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            eliminar(clave, customer);
+            for (String t : trigramas(clave)) {
+                Set<T> lista = trigramas.get(t);
+                if (lista != null && lista.remove(customer) && lista.isEmpty()) {
+                    trigramas.remove(t);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Coincidencia exacta sin distinguir mayúsculas (equivalente al equalsIgnoreCase anterior)
+    public T exact(String username) {
+        String clave = normalizar(username);
+        if (clave == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Nodo<T> n = raiz;
+            int i = 0;
+            while (i < clave.length()) {
+                Nodo<T> h = n.hijos.get(clave.charAt(i));
+                if (h == null || !clave.startsWith(h.etiqueta, i)) {
+                    return null;
+                }
+                i += h.etiqueta.length();
+                n = h;
+            }
+            return n.valores == null ? null : n.valores.iterator().next();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Usernames que empiezan por el prefijo, en orden alfabético
+    public List<T> prefix(String prefijo, int limite) {
+        String clave = normalizar(prefijo);
+        List<T> resultado = new ArrayList<>();
+        if (clave == null || limite <= 0) {
+            return resultado;
+        }
+        lock.readLock().lock();
+        try {
+            Nodo<T> n = raiz;
+            int i = 0;
+            while (i < clave.length()) {
+                Nodo<T> h = n.hijos.get(clave.charAt(i));
+                if (h == null) {
+                    return resultado;
+                }
+                int resto = clave.length() - i;
+                if (resto <= h.etiqueta.length()) {
+                    // El prefijo termina dentro de esta arista
+                    if (!h.etiqueta.startsWith(clave.substring(i))) {
+                        return resultado;
+                    }
+                } else if (!clave.startsWith(h.etiqueta, i)) {
+                    return resultado;
+                }
+                i += h.etiqueta.length();
+                n = h;
+            }
+            recolectar(n, resultado, limite);
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Usernames a distancia de edición <= maxDistancia, ordenados por distancia
+    public List<T> fuzzy(String consulta, int maxDistancia, int limite) {
+        String clave = normalizar(consulta);
+        if (clave == null || limite <= 0) {
+            return new ArrayList<>();
+        }
+        List<String> grams = trigramas(clave);
+        // Cada edición destruye como máximo 3 trigramas de la consulta. Si con maxDistancia
+        // ediciones pueden desaparecer todos (consultas cortas), un username válido podría no
+        // compartir ninguno: entonces se recorren todos en lugar de usar el índice.
+        int minimo = grams.size() - 3 * maxDistancia;
+        lock.readLock().lock();
+        try {
+            Iterable<T> candidatos;
+            if (minimo < 1) {
+                List<T> todos = new ArrayList<>();
+                recolectar(raiz, todos, Integer.MAX_VALUE);
+                candidatos = todos;
+            } else {
+                Map<T, Integer> coincidencias = new HashMap<>();
+                for (String t : grams) {
+                    Set<T> lista = trigramas.get(t);
+                    if (lista != null) {
+                        for (T c : lista) {
+                            coincidencias.merge(c, 1, Integer::sum);
+                        }
+                    }
+                }
+                coincidencias.values().removeIf(n -> n < minimo);
+                candidatos = coincidencias.keySet();
+            }
+            List<Map.Entry<T, Integer>> cercanos = new ArrayList<>();
+            for (T c : candidatos) {
+                int d = levenshtein(clave, normalizar(username.apply(c)), maxDistancia);
+                if (d <= maxDistancia) {
+                    cercanos.add(Map.entry(c, d));
+                }
+            }
+            cercanos.sort(Comparator.<Map.Entry<T, Integer>>comparingInt(Map.Entry::getValue)
+                    .thenComparing(e -> username.apply(e.getKey()), String.CASE_INSENSITIVE_ORDER));
+            List<T> resultado = new ArrayList<>();
+            for (int i = 0; i < cercanos.size() && i < limite; i++) {
+                resultado.add(cercanos.get(i).getKey());
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Nodos del trie sin contar la raíz (para comprobar que se parte y se compacta bien)
+    int nodos() {
+        lock.readLock().lock();
+        try {
+            return contar(raiz) - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int contar(Nodo<?> n) {
+        int total = 1;
+        for (Nodo<?> h : n.hijos.values()) {
+            total += contar(h);
+        }
+        return total;
+    }
+
+    private void insertar(String clave, T customer) {
+        Nodo<T> n = raiz;
+        int i = 0;
+        while (i < clave.length()) {
+            Nodo<T> h = n.hijos.get(clave.charAt(i));
+            if (h == null) {
+                Nodo<T> hoja = new Nodo<>(clave.substring(i));
+                n.hijos.put(hoja.etiqueta.charAt(0), hoja);
+                n = hoja;
+                break;
+            }
+            int comun = prefijoComun(h.etiqueta, clave, i);
+            if (comun < h.etiqueta.length()) {
+                // Se parte la arista en el punto donde deja de coincidir
+                Nodo<T> medio = new Nodo<>(h.etiqueta.substring(0, comun));
+                h.etiqueta = h.etiqueta.substring(comun);
+                medio.hijos.put(h.etiqueta.charAt(0), h);
+                n.hijos.put(medio.etiqueta.charAt(0), medio);
+                h = medio;
+            }
+            i += comun;
+            n = h;
+        }
+        if (n.valores == null) {
+            n.valores = new LinkedHashSet<>();
+        }
+        n.valores.add(customer);
+    }
+
+    private void eliminar(String clave, T customer) {
+        List<Nodo<T>> camino = new ArrayList<>();
+        camino.add(raiz);
+        Nodo<T> n = raiz;
+        int i = 0;
+        while (i < clave.length()) {
+            Nodo<T> h = n.hijos.get(clave.charAt(i));
+            if (h == null || !clave.startsWith(h.etiqueta, i)) {
+                return;
+            }
+            i += h.etiqueta.length();
+            n = h;
+            camino.add(n);
+        }
+        if (n.valores == null || !n.valores.remove(customer)) {
+            return;
+        }
+        if (n.valores.isEmpty()) {
+            n.valores = null;
+        }
+        // Se compacta el camino: nodos vacíos se borran y los de un solo hijo se fusionan
+        for (int k = camino.size() - 1; k > 0; k--) {
+            Nodo<T> actual = camino.get(k);
+            Nodo<T> padre = camino.get(k - 1);
+            if (actual.valores != null) {
+                break;
+            }
+            if (actual.hijos.isEmpty()) {
+                padre.hijos.remove(actual.etiqueta.charAt(0));
+            } else if (actual.hijos.size() == 1) {
+                Nodo<T> unico = actual.hijos.values().iterator().next();
+                unico.etiqueta = actual.etiqueta + unico.etiqueta;
+                padre.hijos.put(unico.etiqueta.charAt(0), unico);
+                break;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private static <T> void recolectar(Nodo<T> n, List<T> resultado, int limite) {
+        if (n.valores != null) {
+            for (T c : n.valores) {
+                if (resultado.size() >= limite) {
+                    return;
+                }
+                resultado.add(c);
+            }
+        }
+        for (Nodo<T> h : n.hijos.values()) {
+            if (resultado.size() >= limite) {
+                return;
+            }
+            recolectar(h, resultado, limite);
+        }
+    }
+
+    private static int prefijoComun(String etiqueta, String clave, int desde) {
+        int max = Math.min(etiqueta.length(), clave.length() - desde);
+        int i = 0;
+        while (i < max && etiqueta.charAt(i) == clave.charAt(desde + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static List<String> trigramas(String clave) {
+        String s = "^" + clave + "$";
+        if (s.length() < 3) {
+            return Collections.singletonList(s);
+        }
+        List<String> grams = new ArrayList<>(s.length() - 2);
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            grams.add(s.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Levenshtein con corte temprano: devuelve max + 1 en cuanto se supera el máximo
+    private static int levenshtein(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previa = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previa[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int minFila = actual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int coste = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                actual[j] = Math.min(Math.min(actual[j - 1] + 1, previa[j] + 1), previa[j - 1] + coste);
+                minFila = Math.min(minFila, actual[j]);
+            }
+            if (minFila > max) {
+                return max + 1;
+            }
+            int[] tmp = previa;
+            previa = actual;
+            actual = tmp;
+        }
+        return previa[b.length()];
+    }
+
+    private static String normalizar(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Nodo<T> {
+        private final TreeMap<Character, Nodo<T>> hijos = new TreeMap<>();
+        private String etiqueta;
+        private Set<T> valores;
+
+        private Nodo(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.robermejia.comun.concurrencia;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Límite de concurrencia adaptativo al estilo TCP Vegas (como VegasLimit de Netflix concurrency-limits).
+// Cada ventana estima cuántas peticiones esperan en cola comparando la latencia media con la latencia
+// sin carga: cola = límite * (1 - rttSinCarga / rtt). Con poca cola el límite sube, con mucha baja,
+// y entre ALFA y BETA (en múltiplos de log10 del límite) se queda como está.
+// Las peticiones que no caben se rechazan al momento.
+public class AdaptiveLimit {
+
+    private static final int ALFA = 3;
+    private static final int BETA = 6;
+    private static final long DURACION_VENTANA = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int MUESTRAS_VENTANA = 10;
+
+    private final int minimo;
+    private final int maximo;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final LongAdder rechazadas = new LongAdder();
+    private volatile int limite;
+
+    // Estado de la ventana, protegido por this
+    private double limiteExacto;
+    private double rttSinCarga;
+    private long sumaRtt;
+    private int muestras;
+    private int maxEnCurso;
+    private long inicioVentana = Long.MIN_VALUE;
+
+    public AdaptiveLimit(int inicial, int minimo, int maximo) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.limiteExacto = Math.clamp(inicial, minimo, maximo);
+        this.limite = (int) limiteExacto;
+    }
+
+    // true si la petición cabe; entonces hay que llamar a liberar() al terminar
+    public boolean adquirir() {
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= limite) {
+                rechazadas.increment();
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Tiempos en System.nanoTime() de una petición admitida
+    public void liberar(long inicio, long fin) {
+        int concurrentes = enCurso.getAndDecrement();
+        registrar(fin - inicio, concurrentes, fin);
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    public long getRechazadas() {
+        return rechazadas.sum();
+    }
+
+    private synchronized void registrar(long rtt, int concurrentes, long ahora) {
+        if (inicioVentana == Long.MIN_VALUE) {
+            inicioVentana = ahora;
+        }
+        sumaRtt += rtt;
+        muestras++;
+        maxEnCurso = Math.max(maxEnCurso, concurrentes);
+        if (muestras < MUESTRAS_VENTANA || ahora - inicioVentana < DURACION_VENTANA) {
+            return;
+        }
+        double rttVentana = (double) Math.max(sumaRtt, 1) / muestras;
+        int usados = maxEnCurso;
+        sumaRtt = 0;
+        muestras = 0;
+        maxEnCurso = 0;
+        inicioVentana = ahora;
+
+        if (rttSinCarga == 0 || rttVentana < rttSinCarga) {
+            rttSinCarga = rttVentana;
+        }
+        if (usados < limiteExacto / 2) {
+            // Con menos de la mitad del límite en uso no hay cola: no se sabe si cabría más, pero la latencia
+            // observada es la de sin carga y la referencia se acerca a ella (por si ha cambiado)
+            rttSinCarga += (rttVentana - rttSinCarga) * 0.1;
+            return;
+        }
+        double log = Math.max(1, Math.log10(limiteExacto));
+        double cola = limiteExacto * (1 - rttSinCarga / rttVentana);
+        double nuevo;
+        if (cola <= log) {
+            nuevo = limiteExacto + BETA * log;
+        } else if (cola < ALFA * log) {
+            nuevo = limiteExacto + log;
+        } else if (cola > BETA * log) {
+            // Se recorta la mitad del exceso de cola para salir rápido de una sobrecarga fuerte
+            nuevo = limiteExacto - Math.max(log, (cola - BETA * log) / 2);
+        } else {
+            return;
+        }
+        limiteExacto = Math.clamp(nuevo, minimo, maximo);
+        limite = (int) limiteExacto;
+    }
+}
@@ -0,0 +1,46 @@
+package com.robermejia.comun.concurrencia;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Límite de concurrencia por endpoint (ConcurrencyLimitInterceptor). Hay que activarlo en cada módulo
+// con concurrencia.activo=true; los límites se ajustan con concurrencia.lectura.* y concurrencia.escritura.*
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@ConditionalOnProperty(name = "concurrencia.activo", havingValue = "true")
+public class ConcurrenciaAutoConfiguration {
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor(MeterRegistry registry,
+            @Value("${concurrencia.lectura.inicial:50}") int lecturaInicial,
+            @Value("${concurrencia.lectura.minimo:4}") int lecturaMinimo,
+            @Value("${concurrencia.lectura.maximo:400}") int lecturaMaximo,
+            @Value("${concurrencia.escritura.inicial:20}") int escrituraInicial,
+            @Value("${concurrencia.escritura.minimo:2}") int escrituraMinimo,
+            @Value("${concurrencia.escritura.maximo:100}") int escrituraMaximo) {
+        return new ConcurrencyLimitInterceptor(registry,
+                new ConcurrencyLimitInterceptor.Limites(lecturaInicial, lecturaMinimo, lecturaMaximo),
+                new ConcurrencyLimitInterceptor.Limites(escrituraInicial, escrituraMinimo, escrituraMaximo));
+    }
+
+    // Va el primero para rechazar antes de que trabajen los demás interceptores
+    @Bean
+    public WebMvcConfigurer concurrencyLimitConfigurer(ConcurrencyLimitInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
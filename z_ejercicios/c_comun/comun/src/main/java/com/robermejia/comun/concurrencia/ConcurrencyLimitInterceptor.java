@@ -0,0 +1,129 @@
+package com.robermejia.comun.concurrencia;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Límite de concurrencia adaptativo (ver AdaptiveLimit) por endpoint (método HTTP + patrón, p. ej. "GET /alumnos/{name}").
+// Lo que no cabe se responde al momento con 503 y Retry-After en lugar de esperar en la cola de Tomcat.
+// Lecturas (GET, HEAD, OPTIONS) y escrituras tienen límites inicial, mínimo y máximo distintos.
+// Los streams (SSE) no se limitan y las peticiones asíncronas cuentan hasta que terminan.
+// Es un interceptor y no un filtro para usar el controlador que ya ha resuelto el DispatcherServlet
+// (las rutas sin controlador, 404, 405..., no llegan aquí).
+// Métricas: http.concurrencia.limite, http.concurrencia.en_curso y http.concurrencia.rechazadas.
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    public record Limites(int inicial, int minimo, int maximo) {
+    }
+
+    // Petición admitida: se libera en afterCompletion o, si es asíncrona, al completarse
+    private record Admitida(AdaptiveLimit limite, long inicio) {
+    }
+
+    private static final String ADMITIDA = ConcurrencyLimitInterceptor.class.getName() + ".admitida";
+
+    private final MeterRegistry registry;
+    private final Limites lectura;
+    private final Limites escritura;
+    private final ConcurrentHashMap<String, AdaptiveLimit> limites = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(MeterRegistry registry, Limites lectura, Limites escritura) {
+        this.registry = registry;
+        this.lectura = lectura;
+        this.escritura = escritura;
+    }
+
+    // Límite de un endpoint, o null si aún no ha recibido peticiones
+    public AdaptiveLimit getLimite(String endpoint) {
+        return limites.get(endpoint);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // El despacho que reanuda una petición asíncrona ya se contó al empezar
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod metodo)
+                || ResponseBodyEmitter.class.isAssignableFrom(metodo.getReturnType().getParameterType())) {
+            return true;
+        }
+        String endpoint = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        AdaptiveLimit limite = limites.computeIfAbsent(endpoint, e -> crear(e, esLectura(request.getMethod())));
+        if (!limite.adquirir()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Servidor ocupado, inténtelo más tarde");
+            return false;
+        }
+        request.setAttribute(ADMITIDA, new Admitida(limite, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(request.getAttribute(ADMITIDA) instanceof Admitida admitida)) {
+            return;
+        }
+        request.removeAttribute(ADMITIDA);
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                admitida.limite().liberar(admitida.inicio(), System.nanoTime());
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITIDA) instanceof Admitida admitida) {
+            request.removeAttribute(ADMITIDA);
+            admitida.limite().liberar(admitida.inicio(), System.nanoTime());
+        }
+    }
+
+    private AdaptiveLimit crear(String endpoint, boolean esLectura) {
+        Limites l = esLectura ? lectura : escritura;
+        AdaptiveLimit limite = new AdaptiveLimit(l.inicial(), l.minimo(), l.maximo());
+        String tipo = esLectura ? "lectura" : "escritura";
+        Gauge.builder("http.concurrencia.limite", limite, AdaptiveLimit::getLimite)
+                .tags("endpoint", endpoint, "tipo", tipo).register(registry);
+        Gauge.builder("http.concurrencia.en_curso", limite, AdaptiveLimit::getEnCurso)
+                .tags("endpoint", endpoint, "tipo", tipo).register(registry);
+        FunctionCounter.builder("http.concurrencia.rechazadas", limite, AdaptiveLimit::getRechazadas)
+                .tags("endpoint", endpoint, "tipo", tipo).register(registry);
+        return limite;
+    }
+
+    private static boolean esLectura(String metodo) {
+        return metodo.equals("GET") || metodo.equals("HEAD") || metodo.equals("OPTIONS");
+    }
+}
@@ -0,0 +1,100 @@
+package com.robermejia.comun.concurrencia;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Agrupa lecturas concurrentes de la misma clave en una sola ejecución ("single flight"):
+// el primer hilo que llega calcula el valor y los que llegan mientras tanto esperan y
+// comparten su resultado, o su excepción. No es una caché: en cuanto termina el cálculo
+// la siguiente petición vuelve a ejecutarlo.
+// Los que esperan lo hacen como mucho "timeout"; un cálculo que supera ese tiempo deja de
+// recibir compañía y la siguiente petición de la clave inicia otro.
+public class SingleFlight<K, V> {
+
+    // Un cálculo de una clave y cuándo empezó
+    private record Vuelo<V>(CompletableFuture<V> resultado, long inicio) {
+    }
+
+    // Se lanza en los hilos que esperan cuando el cálculo compartido tarda más que el timeout
+    public static class TiempoAgotadoException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public TiempoAgotadoException(Object clave, Duration timeout) {
+            super("Sin respuesta para " + clave + " en " + timeout.toMillis() + " ms");
+        }
+    }
+
+    private final ConcurrentHashMap<K, Vuelo<V>> enVuelo = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final LongAdder ejecuciones = new LongAdder();
+    private final LongAdder compartidas = new LongAdder();
+
+    public SingleFlight(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public V get(K clave, Supplier<V> calculo) {
+        Vuelo<V> propio = new Vuelo<>(new CompletableFuture<>(), System.nanoTime());
+        while (true) {
+            Vuelo<V> actual = enVuelo.putIfAbsent(clave, propio);
+            if (actual == null) {
+                return ejecutar(clave, propio, calculo);
+            }
+            if (System.nanoTime() - actual.inicio() < timeout.toNanos()) {
+                compartidas.increment();
+                return esperar(clave, actual.resultado());
+            }
+            // El cálculo en curso lleva demasiado: se sustituye por uno nuevo
+            if (enVuelo.replace(clave, actual, propio)) {
+                return ejecutar(clave, propio, calculo);
+            }
+        }
+    }
+
+    // Cálculos ejecutados de verdad
+    public long getEjecuciones() {
+        return ejecuciones.sum();
+    }
+
+    // Peticiones que se ahorraron el cálculo uniéndose a uno en curso
+    public long getCompartidas() {
+        return compartidas.sum();
+    }
+
+    private V ejecutar(K clave, Vuelo<V> vuelo, Supplier<V> calculo) {
+        ejecuciones.increment();
+        try {
+            V valor = calculo.get();
+            vuelo.resultado().complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            vuelo.resultado().completeExceptionally(e);
+            throw e;
+        } finally {
+            enVuelo.remove(clave, vuelo);
+        }
+    }
+
+    private V esperar(K clave, CompletableFuture<V> resultado) {
+        try {
+            return resultado.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new TiempoAgotadoException(clave, timeout);
+        } catch (ExecutionException e) {
+            // La misma excepción que recibió el hilo que hizo el cálculo
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw (Error) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando " + clave, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.robermejia.comun.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+// Lectura estricta de valores para los deserializadores escritos a mano (StudentJson,
+// CustomerJson...). Un tipo de token inesperado es un MismatchedInputException, que Spring
+// responde con 400, igual que haría Jackson por reflexión.
+public final class JsonTokens {
+
+    private JsonTokens() {
+    }
+
+    // null cuenta como 0, el valor por defecto de un int
+    public static int entero(JsonParser p, JsonToken valor, String campo) throws IOException {
+        if (valor == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        if (valor != JsonToken.VALUE_NUMBER_INT) {
+            throw MismatchedInputException.from(p, int.class, "'" + campo + "' debe ser un número entero");
+        }
+        // Fuera del rango de int lanza InputCoercionException (también 400)
+        return p.getIntValue();
+    }
+
+    // Como Jackson por defecto: cualquier escalar vale como texto, pero no un objeto ni un array
+    public static String texto(JsonParser p, JsonToken valor, String campo) throws IOException {
+        if (valor == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!valor.isScalarValue()) {
+            throw MismatchedInputException.from(p, String.class, "'" + campo + "' debe ser un texto");
+        }
+        return p.getValueAsString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.robermejia.comun.logging;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Una línea de acceso por petición en el logger "acceso", que logback-spring.xml escribe en JSON:
+// método, ruta, patrón del endpoint, estado y duración. Va el primero de la cadena para medir
+// también los demás filtros; las peticiones asíncronas se registran al completarse.
+// Lo registra RegistroAutoConfiguration si registro.acceso.activo no es false.
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger ACCESO = LoggerFactory.getLogger("acceso");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!ACCESO.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        registrar(request, response, inicio);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                registrar(request, response, inicio);
+            }
+        }
+    }
+
+    private static void registrar(HttpServletRequest request, HttpServletResponse response, long inicio) {
+        double ms = (System.nanoTime() - inicio) / 1e6;
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        ACCESO.atInfo()
+                .addKeyValue("metodo", request.getMethod())
+                .addKeyValue("ruta", request.getRequestURI())
+                .addKeyValue("patron", patron != null ? patron.toString() : null)
+                .addKeyValue("estado", response.getStatus())
+                .addKeyValue("ms", Math.round(ms * 1000) / 1000.0)
+                .addKeyValue("cliente", request.getRemoteAddr())
+                .log("{} {} {}", request.getMethod(), request.getRequestURI(), response.getStatus());
+    }
+}
@@ -0,0 +1,31 @@
+package com.robermejia.comun.logging;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Métricas de los RingBufferAppender configurados en logback-spring.xml:
+// registro.descartados (eventos perdidos con la política "descartar") y registro.pendientes
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext contexto)) {
+            return;
+        }
+        contexto.getLoggerList().forEach(logger -> logger.iteratorForAppenders().forEachRemaining(appender -> {
+            if (appender instanceof RingBufferAppender anillo) {
+                FunctionCounter.builder("registro.descartados", anillo, RingBufferAppender::getDescartados)
+                        .tag("appender", anillo.getName())
+                        .register(registry);
+                Gauge.builder("registro.pendientes", anillo, RingBufferAppender::getPendientes)
+                        .tag("appender", anillo.getName())
+                        .register(registry);
+            }
+        }));
+    }
+}
@@ -0,0 +1,36 @@
+package com.robermejia.comun.logging;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Lo que necesita Spring del registro asíncrono; la parte de Logback está en
+// com/robermejia/comun/logging/logback-registro.xml, que se incluye desde el logback-spring.xml de cada módulo
+@AutoConfiguration
+public class RegistroAutoConfiguration {
+
+    // Va el primero de la cadena para medir también los demás filtros
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "registro.acceso.activo", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter() {
+        FilterRegistrationBean<AccessLogFilter> registro = new FilterRegistrationBean<>(new AccessLogFilter());
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class Metricas {
+
+        @Bean
+        public LoggingMetrics loggingMetrics() {
+            return new LoggingMetrics();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.robermejia.comun.logging;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+// Appender asíncrono de Logback: los hilos de las peticiones solo dejan el evento en un buffer
+// circular de tamaño fijo y un único hilo lo escribe en los appenders anidados (consola, archivo...).
+// A diferencia del AsyncAppender de Logback (ArrayBlockingQueue con un solo cerrojo), cada productor
+// reserva su hueco con un CAS, así que los hilos no se serializan entre sí al registrar.
+// Con el buffer lleno, la política decide:
+// - descartar: los eventos DEBUG/INFO se pierden (y se cuentan); WARN y ERROR esperan hueco.
+// - bloquear: todos esperan hueco, el registro nunca pierde nada pero frena las peticiones.
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    public enum Politica {
+        DESCARTAR, BLOQUEAR
+    }
+
+    // Pausa de los productores cuando esperan hueco (el consumidor duerme hasta que le despiertan)
+    private static final long ESPERA_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long CIERRE_MS = 2_000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder descartados = new LongAdder();
+    private int capacidad = 8192;
+    private Politica politica = Politica.DESCARTAR;
+
+    // Buffer de Vyukov: secuencias[i] dice si el hueco i está libre para la vuelta "pos" (== pos)
+    // o lleno con el evento de la posición pos (== pos + 1)
+    private AtomicReferenceArray<ILoggingEvent> eventos;
+    private AtomicLongArray secuencias;
+    private int mascara;
+    private final AtomicLong siguiente = new AtomicLong();
+    private volatile long leido;
+    private volatile boolean activo;
+    // El consumidor está (o va a estar) dormido: el productor que publique un evento lo despierta
+    private volatile boolean esperando;
+    private Thread consumidor;
+
+    // Potencia de dos; se redondea hacia arriba
+    public void setCapacidad(int capacidad) {
+        this.capacidad = capacidad;
+    }
+
+    public void setPolitica(String politica) {
+        this.politica = Politica.valueOf(politica.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    public long getPendientes() {
+        return Math.max(0, siguiente.get() - leido);
+    }
+
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+
+    @Override
+    public void start() {
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("RingBufferAppender " + getName() + " necesita al menos un appender-ref");
+            return;
+        }
+        int tamano = Integer.highestOneBit(Math.max(2, capacidad) - 1) << 1;
+        mascara = tamano - 1;
+        eventos = new AtomicReferenceArray<>(tamano);
+        secuencias = new AtomicLongArray(tamano);
+        for (int i = 0; i < tamano; i++) {
+            secuencias.set(i, i);
+        }
+        activo = true;
+        consumidor = new Thread(this::consumir, "registro-" + getName());
+        consumidor.setDaemon(true);
+        consumidor.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        activo = false;
+        LockSupport.unpark(consumidor);
+        try {
+            consumidor.join(CIERRE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent evento) {
+        // Mensaje, MDC y nombre del hilo se fijan ahora: luego se escriben desde otro hilo
+        evento.prepareForDeferredProcessing();
+        boolean puedeEsperar = politica == Politica.BLOQUEAR || evento.getLevel().isGreaterOrEqual(Level.WARN);
+        while (!ofrecer(evento)) {
+            if (!puedeEsperar || !activo) {
+                descartados.increment();
+                return;
+            }
+            LockSupport.parkNanos(ESPERA_NANOS);
+        }
+    }
+
+    private boolean ofrecer(ILoggingEvent evento) {
+        while (true) {
+            long pos = siguiente.get();
+            int i = (int) pos & mascara;
+            long diferencia = secuencias.get(i) - pos;
+            if (diferencia < 0) {
+                // El hueco aún tiene el evento de la vuelta anterior: lleno
+                return false;
+            }
+            if (diferencia == 0 && siguiente.compareAndSet(pos, pos + 1)) {
+                eventos.set(i, evento);
+                // Escritura volatile (no solo release) para que no se adelante la lectura de "esperando"
+                secuencias.set(i, pos + 1);
+                if (esperando) {
+                    LockSupport.unpark(consumidor);
+                }
+                return true;
+            }
+        }
+    }
+
+    private void consumir() {
+        long pos = leido;
+        while (true) {
+            int i = (int) pos & mascara;
+            if (secuencias.getAcquire(i) == pos + 1) {
+                ILoggingEvent evento = eventos.get(i);
+                eventos.set(i, null);
+                secuencias.setRelease(i, pos + mascara + 1);
+                leido = ++pos;
+                escribir(evento);
+            } else if (activo) {
+                // Vacío, o un productor reservó el hueco y aún no lo ha llenado
+                dormir(i, pos);
+            } else if (siguiente.get() > pos) {
+                // Cerrando: solo falta que un productor termine de publicar
+                Thread.onSpinWait();
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Se anuncia antes de volver a mirar el hueco: o el productor ve "esperando" y hace unpark,
+    // o este hilo ve su evento y no llega a dormir. stop() también hace unpark.
+    private void dormir(int i, long pos) {
+        esperando = true;
+        if (secuencias.get(i) != pos + 1 && activo) {
+            LockSupport.park(this);
+        }
+        esperando = false;
+    }
+
+    private void escribir(ILoggingEvent evento) {
+        try {
+            appenders.appendLoopOnAppenders(evento);
+        } catch (RuntimeException e) {
+            addError("Error escribiendo un evento en " + getName(), e);
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String nombre) {
+        return appenders.getAppender(nombre);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String nombre) {
+        return appenders.detachAppender(nombre);
+    }
+}
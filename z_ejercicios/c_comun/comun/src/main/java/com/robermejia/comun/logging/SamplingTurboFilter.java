@@ -0,0 +1,56 @@
+package com.robermejia.comun.logging;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+// Deja pasar al azar uno de cada "unoDe" eventos DEBUG y TRACE de los loggers indicados (prefijos
+// separados por comas; vacío = todos), para poder activar trazas muy ruidosas como el SQL de
+// Hibernate en producción sin ahogar el registro. INFO y superiores no se muestrean nunca.
+public class SamplingTurboFilter extends TurboFilter {
+
+    private int unoDe = 1;
+    private String[] prefijos = new String[0];
+
+    public void setUnoDe(int unoDe) {
+        this.unoDe = Math.max(1, unoDe);
+    }
+
+    public void setLoggers(String loggers) {
+        this.prefijos = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    // Con el nivel efectivo y no isEnabledFor, que volvería a pasar por los TurboFilter.
+    // format == null es una consulta isDebugEnabled()/isTraceEnabled(), no un evento: se deja pasar
+    // y se muestrea solo la llamada que registra. Si no, un log protegido con
+    // if (isDebugEnabled()) (como hace jboss-logging en Hibernate) se sortearía dos veces: 1/N².
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (unoDe == 1 || format == null || level == null || level.isGreaterOrEqual(Level.INFO) || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !aplica(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(unoDe) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean aplica(String nombre) {
+        if (prefijos.length == 0) {
+            return true;
+        }
+        for (String prefijo : prefijos) {
+            if (nombre.startsWith(prefijo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
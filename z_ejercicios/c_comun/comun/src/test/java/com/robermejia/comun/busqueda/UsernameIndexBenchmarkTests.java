@@ -0,0 +1,76 @@
+package com.robermejia.comun.busqueda;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.robermejia.comun.busqueda.UsernameIndexTests.Cliente;
+
+// Autocompletado y búsqueda aproximada con 1M de usernames. No se ejecuta por defecto
+// (necesita -Xmx1g o más):
+// mvn test -Dtest=UsernameIndexBenchmarkTests -Dbenchmark=true -DargLine=-Xmx2g
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UsernameIndexBenchmarkTests {
+
+    private static final int CLIENTES = 1_000_000;
+    private static final int CONSULTAS = 20_000;
+    // La aproximada recorre las listas de trigramas, mucho más largas: menos consultas
+    private static final int CONSULTAS_FUZZY = 500;
+    private static final String[] SILABAS = { "ro", "ber", "to", "a", "gus", "ta", "vo", "e", "ri", "ca", "ma",
+            "nu", "el", "da", "ni", "mi", "x", "lu", "sa", "pe" };
+
+    @Test
+    void unMillonDeUsernames() {
+        Random random = new Random(42);
+        String[] usernames = new String[CLIENTES];
+        UsernameIndex<Cliente> index = new UsernameIndex<>(Cliente::username);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CLIENTES; i++) {
+            usernames[i] = username(random) + i;
+            index.add(new Cliente(i, usernames[i]));
+        }
+        System.out.printf("Carga de %d usernames: %.0f ms%n", CLIENTES, (System.nanoTime() - inicio) / 1e6);
+
+        medir("prefix (3 letras, 10 resultados)", i -> index.prefix(usernames[i].substring(0, 3), 10).size(),
+                CONSULTAS, random);
+        medir("prefix (6 letras, 10 resultados)",
+                i -> index.prefix(usernames[i].substring(0, Math.min(6, usernames[i].length())), 10).size(),
+                CONSULTAS, random);
+        medir("exact", i -> index.exact(usernames[i]) == null ? 0 : 1, CONSULTAS, random);
+        medir("fuzzy (1 error, distancia 2)", i -> index.fuzzy(conError(usernames[i], random), 2, 10).size(),
+                CONSULTAS_FUZZY, random);
+    }
+
+    private static void medir(String nombre, IntFunction<Integer> consulta, int consultas, Random random) {
+        for (int i = 0; i < consultas / 4; i++) {
+            consulta.apply(random.nextInt(CLIENTES));
+        }
+        long[] tiempos = new long[consultas];
+        for (int i = 0; i < consultas; i++) {
+            int n = random.nextInt(CLIENTES);
+            long t = System.nanoTime();
+            consulta.apply(n);
+            tiempos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(tiempos);
+        System.out.printf("%s: p50=%.3f ms p99=%.3f ms max=%.3f ms%n", nombre, tiempos[consultas / 2] / 1e6,
+                tiempos[consultas * 99 / 100] / 1e6, tiempos[consultas - 1] / 1e6);
+    }
+
+    private static String username(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int s = 2 + random.nextInt(3); s > 0; s--) {
+            sb.append(SILABAS[random.nextInt(SILABAS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String conError(String username, Random random) {
+        char[] c = username.toCharArray();
+        c[random.nextInt(c.length)] = (char) ('a' + random.nextInt(26));
+        return new String(c);
+    }
+}
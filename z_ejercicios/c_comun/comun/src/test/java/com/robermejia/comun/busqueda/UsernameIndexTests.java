@@ -0,0 +1,89 @@
+package com.robermejia.comun.busqueda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class UsernameIndexTests {
+
+    record Cliente(int id, String username) {
+    }
+
+    private static UsernameIndex<Cliente> indice(Cliente... clientes) {
+        UsernameIndex<Cliente> index = new UsernameIndex<>(Cliente::username);
+        for (Cliente c : clientes) {
+            index.add(c);
+        }
+        return index;
+    }
+
+    private static List<String> usernames(List<Cliente> clientes) {
+        return clientes.stream().map(Cliente::username).toList();
+    }
+
+    @Test
+    void parteLasAristasYLasVuelveAFusionar() {
+        Cliente roberto = new Cliente(1, "roberto");
+        Cliente robin = new Cliente(2, "robin");
+        Cliente rob = new Cliente(3, "rob");
+        UsernameIndex<Cliente> index = indice(roberto);
+        assertEquals(1, index.nodos());
+
+        // "rob" + {"erto", "in"}
+        index.add(robin);
+        assertEquals(3, index.nodos());
+        // "rob" ya es un nodo: solo se le asigna el valor
+        index.add(rob);
+        assertEquals(3, index.nodos());
+        assertEquals(List.of("rob", "roberto", "robin"), usernames(index.prefix("ROB", 10)));
+        assertEquals(List.of("roberto"), usernames(index.prefix("robe", 10)));
+        assertEquals(List.of(), usernames(index.prefix("robx", 10)));
+
+        // Sin valor y con dos hijos, "rob" se queda
+        index.remove(rob);
+        assertNull(index.exact("rob"));
+        assertEquals(3, index.nodos());
+        // Con un solo hijo se fusiona: vuelve a ser una arista "roberto"
+        index.remove(robin);
+        assertEquals(1, index.nodos());
+        assertSame(roberto, index.exact("Roberto"));
+        index.remove(roberto);
+        assertEquals(0, index.nodos());
+        assertEquals(List.of(), index.prefix("", 10));
+    }
+
+    @Test
+    void quitarUnoNoBorraAlQueComparteElUsername() {
+        Cliente a = new Cliente(1, "eri");
+        Cliente b = new Cliente(2, "ERI");
+        UsernameIndex<Cliente> index = indice(a, b);
+        index.remove(a);
+        assertSame(b, index.exact("eri"));
+        assertEquals(List.of(b), index.fuzzy("ery", 1, 10));
+        // Quitar algo que no está no cambia nada
+        index.remove(new Cliente(3, "erika"));
+        assertSame(b, index.exact("eri"));
+    }
+
+    @Test
+    void aproximadaOrdenaPorDistancia() {
+        UsernameIndex<Cliente> index = indice(new Cliente(1, "roberto"), new Cliente(2, "alberto"),
+                new Cliente(3, "robert"), new Cliente(4, "agus"));
+        assertEquals(List.of("roberto", "robert", "alberto"), usernames(index.fuzzy("roberto", 2, 10)));
+        assertEquals(List.of("roberto"), usernames(index.fuzzy("robrto", 1, 10)));
+        assertEquals(List.of("roberto", "robert"), usernames(index.fuzzy("robrto", 2, 10)));
+        assertEquals(List.of("roberto"), usernames(index.fuzzy("robrto", 2, 1)));
+    }
+
+    @Test
+    void aproximadaEncuentraUsernamesCortosSinTrigramasComunes() {
+        // "ab" y "ba" (distancia 2) no comparten ningún trigrama: ^ab, ab$ frente a ^ba, ba$
+        UsernameIndex<Cliente> index = indice(new Cliente(1, "ba"), new Cliente(2, "tavo"), new Cliente(3, "x"));
+        assertEquals(List.of("ba", "x"), usernames(index.fuzzy("ab", 2, 10)));
+        assertEquals(List.of("tavo"), usernames(index.fuzzy("tabo", 1, 10)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.robermejia.comun.concurrencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// Simulación con reloj propio de un servidor que atiende "capacidad" peticiones a la vez en 10 ms;
+// por encima de eso la latencia crece en proporción (las demás esperan en cola).
+class AdaptiveLimitTests {
+
+    private static final long RTT_BASE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private long reloj;
+
+    @Test
+    void sinColaElLimiteCreceHastaElMaximo() {
+        AdaptiveLimit limite = new AdaptiveLimit(50, 4, 400);
+        simular(limite, 300, 1000, 3000);
+        assertEquals(400, limite.getLimite());
+    }
+
+    @Test
+    void enSobrecargaBajaCercaDeLaCapacidadYRechazaElResto() {
+        AdaptiveLimit limite = new AdaptiveLimit(50, 4, 400);
+        // Primero poca carga: aprende la latencia sin cola
+        simular(limite, 10, 20, 200);
+        assertEquals(0, limite.getRechazadas());
+
+        int rttSobrecarga = simular(limite, 300, 20, 2000);
+        assertTrue(limite.getLimite() >= 20 && limite.getLimite() <= 35, "límite " + limite.getLimite());
+        assertTrue(limite.getRechazadas() > 0);
+        // La latencia de lo admitido se queda cerca de la base en lugar de crecer con la demanda (x15)
+        assertTrue(rttSobrecarga < 2 * RTT_BASE, "rtt " + rttSobrecarga);
+
+        // Acaba la sobrecarga y hay más capacidad: vuelve a subir
+        simular(limite, 300, 1000, 3000);
+        assertEquals(400, limite.getLimite());
+    }
+
+    @Test
+    void conPocaCargaNoCambia() {
+        AdaptiveLimit limite = new AdaptiveLimit(50, 4, 400);
+        simular(limite, 10, 1000, 1000);
+        assertEquals(50, limite.getLimite());
+    }
+
+    // Devuelve la latencia del último paso
+    private int simular(AdaptiveLimit limite, int demanda, int capacidad, int pasos) {
+        long rtt = 0;
+        for (int paso = 0; paso < pasos; paso++) {
+            int admitidas = 0;
+            while (admitidas < demanda && limite.adquirir()) {
+                admitidas++;
+            }
+            rtt = (long) (RTT_BASE * Math.max(1.0, admitidas / (double) capacidad));
+            for (int i = 0; i < admitidas; i++) {
+                limite.liberar(reloj, reloj + rtt);
+            }
+            reloj += rtt;
+        }
+        return (int) rtt;
+    }
+}
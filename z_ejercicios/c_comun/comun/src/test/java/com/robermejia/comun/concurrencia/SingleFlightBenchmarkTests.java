@@ -0,0 +1,89 @@
+package com.robermejia.comun.concurrencia;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// Contención: muchos hilos piden unos pocos nombres populares a un backend lento
+// (p. ej. la búsqueda en todos los nodos del cluster de crud_alumno). No se ejecuta por defecto:
+// mvn test -Dtest=SingleFlightBenchmarkTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SingleFlightBenchmarkTests {
+
+    private static final int HILOS = 64;
+    private static final int PETICIONES_POR_HILO = 200;
+    private static final int CLAVES = 8;
+    // Hilos que el backend atiende a la vez, como un pool de conexiones
+    private static final int CAPACIDAD_BACKEND = 8;
+    private static final long LATENCIA_BACKEND_MS = 5;
+
+    @Test
+    void conYSinCoalescencia() throws Exception {
+        medir("sin coalescencia", (clave, calculo) -> calculo.get());
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(2));
+        medir("con coalescencia", flight::get);
+    }
+
+    private interface Lectura {
+        String get(String clave, Supplier<String> calculo);
+    }
+
+    private static void medir(String nombre, Lectura lectura) throws Exception {
+        Semaphore backend = new Semaphore(CAPACIDAD_BACKEND);
+        AtomicLong llamadas = new AtomicLong();
+        Function<String, String> consulta = clave -> {
+            llamadas.incrementAndGet();
+            backend.acquireUninterruptibly();
+            try {
+                Thread.sleep(LATENCIA_BACKEND_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                backend.release();
+            }
+            return clave.toUpperCase();
+        };
+        long[] tiempos = new long[HILOS * PETICIONES_POR_HILO];
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        CountDownLatch fin = new CountDownLatch(HILOS);
+        for (int h = 0; h < HILOS; h++) {
+            int hilo = h;
+            hilos.submit(() -> {
+                Random random = new Random(hilo);
+                try {
+                    salida.await();
+                    for (int i = 0; i < PETICIONES_POR_HILO; i++) {
+                        String clave = "alumno" + random.nextInt(CLAVES);
+                        long t = System.nanoTime();
+                        lectura.get(clave, () -> consulta.apply(clave));
+                        tiempos[hilo * PETICIONES_POR_HILO + i] = System.nanoTime() - t;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    fin.countDown();
+                }
+            });
+        }
+        long inicio = System.nanoTime();
+        salida.countDown();
+        fin.await();
+        long total = System.nanoTime() - inicio;
+        hilos.shutdown();
+        Arrays.sort(tiempos);
+        System.out.printf("%s: %d peticiones, %d llamadas al backend, %.0f peticiones/s, p50=%.2f ms p99=%.2f ms%n",
+                nombre, tiempos.length, llamadas.get(), tiempos.length / (total / 1e9),
+                tiempos[tiempos.length / 2] / 1e6, tiempos[tiempos.length * 99 / 100] / 1e6);
+    }
+}
@@ -0,0 +1,114 @@
+package com.robermejia.comun.concurrencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+    private final ExecutorService hilos = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void cerrar() {
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void lasLecturasSimultaneasCompartenUnaEjecucion() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        AtomicInteger llamadas = new AtomicInteger();
+
+        Future<String> primero = hilos.submit(() -> flight.get("ana", () -> {
+            llamadas.incrementAndGet();
+            dentro.countDown();
+            esperar(soltar);
+            return "Ana";
+        }));
+        dentro.await();
+        List<Future<String>> resto = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            resto.add(hilos.submit(() -> flight.get("ana", () -> "otro cálculo")));
+        }
+        // Otra clave no espera a la primera
+        assertEquals("Luis", flight.get("luis", () -> "Luis"));
+        while (flight.getCompartidas() < 7) {
+            Thread.sleep(1);
+        }
+        soltar.countDown();
+
+        assertEquals("Ana", primero.get());
+        for (Future<String> f : resto) {
+            assertEquals("Ana", f.get());
+        }
+        assertEquals(1, llamadas.get());
+        assertEquals(2, flight.getEjecuciones());
+        // Terminado el cálculo, la siguiente lectura vuelve a ejecutarse
+        assertEquals("nuevo", flight.get("ana", () -> "nuevo"));
+    }
+
+    @Test
+    void elErrorLlegaATodosLosQueEsperan() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        IllegalStateException error = new IllegalStateException("nodo caído");
+
+        Future<String> primero = hilos.submit(() -> flight.get("ana", () -> {
+            dentro.countDown();
+            esperar(soltar);
+            throw error;
+        }));
+        dentro.await();
+        Future<String> segundo = hilos.submit(() -> flight.get("ana", () -> "no se ejecuta"));
+        while (flight.getCompartidas() < 1) {
+            Thread.sleep(1);
+        }
+        soltar.countDown();
+
+        assertSame(error, assertThrows(Exception.class, primero::get).getCause());
+        assertSame(error, assertThrows(Exception.class, segundo::get).getCause());
+        assertEquals("Ana", flight.get("ana", () -> "Ana"));
+    }
+
+    @Test
+    void unCalculoColgadoNoBloqueaMasAllaDelTimeout() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMillis(100));
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        hilos.submit(() -> flight.get("ana", () -> {
+            dentro.countDown();
+            esperar(soltar);
+            return "tarde";
+        }));
+        dentro.await();
+
+        // Quien se une espera como mucho el timeout
+        assertThrows(SingleFlight.TiempoAgotadoException.class, () -> flight.get("ana", () -> "no se ejecuta"));
+        // Pasado el timeout, una petición nueva no se une al cálculo colgado sino que lanza otro
+        assertEquals("Ana", flight.get("ana", () -> "Ana"));
+        soltar.countDown();
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
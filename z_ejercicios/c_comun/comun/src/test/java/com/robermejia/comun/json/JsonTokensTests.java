@@ -0,0 +1,54 @@
+package com.robermejia.comun.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.InputCoercionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+class JsonTokensTests {
+
+    private static final JsonFactory JSON = new ObjectMapper().getFactory();
+
+    @Test
+    void leeEnterosYTextos() throws IOException {
+        assertEquals(42, entero("42"));
+        assertEquals(0, entero("null"));
+        assertEquals("hola", texto("\"hola\""));
+        assertEquals("7", texto("7"));
+        assertEquals("true", texto("true"));
+        assertNull(texto("null"));
+    }
+
+    @Test
+    void rechazaTiposInesperados() {
+        assertThrows(MismatchedInputException.class, () -> entero("\"42\""));
+        assertThrows(MismatchedInputException.class, () -> entero("4.2"));
+        assertThrows(InputCoercionException.class, () -> entero("3000000000"));
+        assertThrows(MismatchedInputException.class, () -> texto("{\"a\":1}"));
+        assertThrows(MismatchedInputException.class, () -> texto("[\"a\"]"));
+    }
+
+    private static int entero(String json) throws IOException {
+        try (JsonParser p = JSON.createParser(json)) {
+            JsonToken valor = p.nextToken();
+            return JsonTokens.entero(p, valor, "id");
+        }
+    }
+
+    private static String texto(String json) throws IOException {
+        try (JsonParser p = JSON.createParser(json)) {
+            JsonToken valor = p.nextToken();
+            return JsonTokens.texto(p, valor, "name");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.robermejia.comun.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+
+class RingBufferAppenderTests {
+
+    // Appender de destino que no escribe nada hasta que se abre la puerta
+    private static class Lento extends AppenderBase<ILoggingEvent> {
+        final CountDownLatch puerta = new CountDownLatch(1);
+        final List<String> mensajes = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent evento) {
+            try {
+                puerta.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            mensajes.add(evento.getFormattedMessage());
+        }
+    }
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final Lento destino = new Lento();
+
+    private Logger logger(String politica) {
+        contexto.setMDCAdapter(new LogbackMDCAdapter());
+        destino.setContext(contexto);
+        destino.start();
+        RingBufferAppender anillo = new RingBufferAppender();
+        anillo.setContext(contexto);
+        anillo.setName("ASYNC");
+        anillo.setCapacidad(4);
+        anillo.setPolitica(politica);
+        anillo.addAppender(destino);
+        anillo.start();
+        Logger logger = contexto.getLogger("prueba");
+        logger.addAppender(anillo);
+        return logger;
+    }
+
+    @Test
+    void entregaTodoEnOrden() {
+        Logger logger = logger("bloquear");
+        destino.puerta.countDown();
+        for (int i = 0; i < 1000; i++) {
+            logger.info("evento {}", i);
+        }
+        contexto.stop();
+
+        assertEquals(1000, destino.mensajes.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("evento " + i, destino.mensajes.get(i));
+        }
+    }
+
+    @Test
+    void descartaInfoPeroNoWarnConElBufferLleno() throws InterruptedException {
+        Logger logger = logger("descartar");
+        RingBufferAppender anillo = (RingBufferAppender) logger.getAppender("ASYNC");
+        // El consumidor se queda con el primero esperando la puerta; después caben 4 más
+        logger.info("info 0");
+        esperar(() -> anillo.getPendientes() == 0);
+        for (int i = 1; i < 10; i++) {
+            logger.info("info {}", i);
+        }
+        assertEquals(5, anillo.getDescartados());
+
+        Thread aviso = Thread.ofVirtual().start(() -> logger.warn("aviso"));
+        aviso.join(200);
+        assertTrue(aviso.isAlive(), "WARN espera hueco en vez de perderse");
+
+        destino.puerta.countDown();
+        aviso.join(5_000);
+        contexto.stop();
+        assertEquals(6, destino.mensajes.size());
+        assertEquals("aviso", destino.mensajes.getLast());
+        assertEquals(5, anillo.getDescartados());
+    }
+
+    @Test
+    void bloquearNoPierdeNada() throws InterruptedException {
+        Logger logger = logger("bloquear");
+        RingBufferAppender anillo = (RingBufferAppender) logger.getAppender("ASYNC");
+        Thread productor = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 50; i++) {
+                logger.debug("debug {}", i);
+                logger.info("info {}", i);
+            }
+        });
+        productor.join(200);
+        assertTrue(productor.isAlive());
+
+        destino.puerta.countDown();
+        productor.join(5_000);
+        contexto.stop();
+        assertEquals(100, destino.mensajes.size());
+        assertEquals(0, anillo.getDescartados());
+    }
+
+    @Test
+    void despiertaAlConsumidorDormido() throws InterruptedException {
+        Logger logger = logger("descartar");
+        destino.puerta.countDown();
+        for (int i = 0; i < 5; i++) {
+            // Entre evento y evento el consumidor no tiene nada que hacer y se duerme
+            Thread.sleep(20);
+            logger.info("evento {}", i);
+            int esperados = i + 1;
+            esperar(() -> destino.mensajes.size() == esperados);
+            assertEquals(esperados, destino.mensajes.size());
+        }
+        contexto.stop();
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.robermejia.comun.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class SamplingTurboFilterTests {
+
+    private static final int EVENTOS = 20_000;
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final ListAppender<ILoggingEvent> destino = new ListAppender<>();
+    private Logger sql;
+    private Logger otro;
+
+    @BeforeEach
+    void configurar() {
+        SamplingTurboFilter filtro = new SamplingTurboFilter();
+        filtro.setUnoDe(10);
+        filtro.setLoggers("org.hibernate.SQL, org.hibernate.orm.jdbc");
+        filtro.start();
+        contexto.addTurboFilter(filtro);
+        destino.setContext(contexto);
+        destino.start();
+        sql = contexto.getLogger("org.hibernate.SQL");
+        sql.setLevel(Level.DEBUG);
+        sql.addAppender(destino);
+        otro = contexto.getLogger("com.robermejia");
+        otro.setLevel(Level.DEBUG);
+        otro.addAppender(destino);
+    }
+
+    @Test
+    void muestreaSoloDebugDeLosLoggersIndicados() {
+        for (int i = 0; i < EVENTOS; i++) {
+            sql.debug("select {}", i);
+        }
+        assertAproximado(EVENTOS / 10, destino.list.size());
+
+        destino.list.clear();
+        for (int i = 0; i < 100; i++) {
+            sql.info("info {}", i);
+            otro.debug("debug {}", i);
+        }
+        assertEquals(200, destino.list.size());
+    }
+
+    // Como jboss-logging (Hibernate): isDebugEnabled() y después debug(). La consulta no cuenta
+    // como evento, así que la proporción sigue siendo 1 de 10 y no 1 de 100
+    @Test
+    void unLogProtegidoSeMuestreaUnaSolaVez() {
+        for (int i = 0; i < EVENTOS; i++) {
+            if (sql.isDebugEnabled()) {
+                sql.debug("select {}", i);
+            }
+        }
+        assertAproximado(EVENTOS / 10, destino.list.size());
+    }
+
+    private static void assertAproximado(int esperado, int real) {
+        assertTrue(real > esperado * 0.8 && real < esperado * 1.2, "esperados ~" + esperado + ", pasan " + real);
+    }
+}